@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.mapper.ObjectMapperFactory;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.model.ActivityStreamMessage;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaActivityStreamMessageDeserializer;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaActivityStreamMessageSerializer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the Kafka serialization of ActivityStream messages as sent for a KOD with its external
+ * Beschreibungen, all compressed.
+ * <p>
+ * The number of Beschreibungen in the message is given by the input size. The legacy benchmarks
+ * configure the ObjectMapper for every message as the serializers did before, the other
+ * benchmarks use the serializers with their pre-bound ObjectWriter and ObjectReader.
+ *
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ActivityStreamSerializerBenchmark {
+
+  static final String TOPIC = "tei-index";
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public InputSize size;
+
+  private final KafkaActivityStreamMessageSerializer serializer = new KafkaActivityStreamMessageSerializer();
+
+  private final KafkaActivityStreamMessageDeserializer deserializer = new KafkaActivityStreamMessageDeserializer();
+
+  private ActivityStream message;
+
+  private byte[] messageBytes;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    String kodXML = new String(TEIFixtures.read("tei-HSP-kodms1.xml"), StandardCharsets.UTF_8);
+    String beschreibungXML = new String(TEIFixtures.read("tei-msDesc_Westphal_hsp.xml"), StandardCharsets.UTF_8);
+
+    message = ActivityStream.builder()
+        .withId("HSP-kod-benchmark")
+        .withType(ActivityStreamAction.UPDATE)
+        .withActorName("benchmark")
+        .withPublished(LocalDateTime.now())
+        .addObject(ActivityStreamObject.builder()
+            .withId("HSP-kod-benchmark")
+            .withType(ActivityStreamsDokumentTyp.KOD)
+            .withContent(kodXML)
+            .withCompressed(true)
+            .build())
+        .build();
+
+    for (int i = 0; i < size.getCount(); i++) {
+      message.addObject(ActivityStreamObject.builder()
+          .withId("HSP-beschreibung-benchmark-" + i)
+          .withType(ActivityStreamsDokumentTyp.BESCHREIBUNG)
+          .withContent(beschreibungXML)
+          .withCompressed(true)
+          .build());
+    }
+
+    messageBytes = serializer.serialize(TOPIC, message);
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serializer.serialize(TOPIC, message);
+  }
+
+  @Benchmark
+  public byte[] serializeLegacy() throws Exception {
+    ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    objectMapper.findAndRegisterModules();
+    return objectMapper.writeValueAsBytes(message);
+  }
+
+  @Benchmark
+  public ActivityStreamMessage deserialize() {
+    return deserializer.deserialize(TOPIC, messageBytes);
+  }
+
+  @Benchmark
+  public ActivityStreamMessage deserializeLegacy() throws Exception {
+    ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    objectMapper.findAndRegisterModules();
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    return objectMapper.readValue(messageBytes, ActivityStreamMessage.class);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+/**
+ * Size of the TEI input of a benchmark, given as number of repeated elements, e.g. msDesc elements
+ * in the sourceDesc of a Beschreibung or div elements in the body of a Katalog. LARGE gives inputs
+ * of several MB up to about 70 MB, as they are uploaded for whole catalogues.
+ *
+ * @since 17.10.2026
+ */
+public enum InputSize {
+
+  SMALL(1),
+  MEDIUM(100),
+  LARGE(2000);
+
+  private final int count;
+
+  InputSize(int count) {
+    this.count = count;
+  }
+
+  public int getCount() {
+    return count;
+  }
+}
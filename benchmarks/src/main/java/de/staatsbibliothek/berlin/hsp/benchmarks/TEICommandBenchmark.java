@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.IdentTyp;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikation;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PURL;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PURLTyp;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIKODAttributsReferenzCommand;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIKulturObjektDokumentCommand;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.KODTemplateMapper;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Benchmarks the TEI commands which update the TEI of a KulturObjektDokument when a Beschreibung
+ * is imported, and the creation of the initial KOD TEI.
+ * <p>
+ * The Beschreibungen are scaled by the number of msDesc elements, the KulturObjektDokument for
+ * {@link KODTemplateMapper} by the number of its Beschreibungen. The commands change the TEI of the
+ * KulturObjektDokument, so every invocation works on a new KulturObjektDokument.
+ *
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TEICommandBenchmark {
+
+  static final String KOD_ID = "HSP-0037fea7-58e0-3df9-a45c-488a7ee7e752";
+  static final String BESCHREIBUNG_ID = "HSP-b4dec8f6-88d3-329f-8bc9-cecd6d13c001";
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public InputSize size;
+
+  private String kodAttributsReferenzenXML;
+
+  private String kodXML;
+
+  private Beschreibung attributsReferenzenBeschreibung;
+
+  private Beschreibung beschreibung;
+
+  private Set<String> beschreibungIDs;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    kodAttributsReferenzenXML = new String(TEIFixtures.read("tei-kod-attributsreferenzen_leer.xml"),
+        StandardCharsets.UTF_8);
+    kodXML = new String(TEIFixtures.read("tei-HSP-kodms1.xml"), StandardCharsets.UTF_8);
+
+    attributsReferenzenBeschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId(BESCHREIBUNG_ID)
+        .withVerwaltungsTyp(VerwaltungsTyp.EXTERN)
+        .withKodID(KOD_ID)
+        .withTEIXml(new String(
+            TEIFixtures.scale("tei-beschreibung-attributsreferenzen.xml", "body", "msDesc", size),
+            StandardCharsets.UTF_8))
+        .addPURL(new PURL(URI.create("https://resolver.url/HSP-123"),
+            URI.create("https://target.url/" + BESCHREIBUNG_ID), PURLTyp.INTERNAL))
+        .build();
+
+    beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("mss_36-23-aug-2f_tei-msDesc_Westphal")
+        .withTEIXml(new String(TEIFixtures.scale("tei-msDesc_Westphal_hsp.xml", "body", "msDesc", size),
+            StandardCharsets.UTF_8))
+        .build();
+
+    beschreibungIDs = IntStream.range(0, size.getCount())
+        .mapToObj(i -> "HSP-" + i)
+        .collect(Collectors.toSet());
+  }
+
+  @Benchmark
+  public KulturObjektDokument updateAttributsReferenzen() throws Exception {
+    KulturObjektDokument kod = new KulturObjektDokument.KulturObjektDokumentBuilder()
+        .withId(KOD_ID)
+        .withTEIXml(kodAttributsReferenzenXML)
+        .withBeschreibungsdokumentIDs(Set.of(BESCHREIBUNG_ID))
+        .build();
+
+    TEIKODAttributsReferenzCommand.updateAttributsReferenzen(kod, attributsReferenzenBeschreibung);
+    return kod;
+  }
+
+  @Benchmark
+  public KulturObjektDokument updateKODSourceDescWithAddBeschreibungMsDesc() throws Exception {
+    KulturObjektDokument kod = new KulturObjektDokument.KulturObjektDokumentBuilder()
+        .withId("HSP-12123123")
+        .withTEIXml(kodXML)
+        .withBeschreibungsdokumentIDs(Set.of(beschreibung.getId()))
+        .build();
+
+    TEIKulturObjektDokumentCommand.updateKODSourceDescWithAddBeschreibungMsDesc(kod, beschreibung);
+    return kod;
+  }
+
+  @Benchmark
+  public TEI createTEIFromInitialTemplate() throws Exception {
+    NormdatenReferenz besitzer = new NormdatenReferenz("1",
+        "Sächsische Landesbibliothek - Staats- und Universitätsbibliothek Dresden", "");
+    NormdatenReferenz aufbewahrungsort = new NormdatenReferenz("1", "Dresden", "");
+
+    KulturObjektDokument kod = new KulturObjektDokument.KulturObjektDokumentBuilder()
+        .withId("HSP12345")
+        .withGueltigerIdentifikation(new Identifikation.IdentifikationBuilder()
+            .withIdent("Mscr.Dresd.A.111")
+            .withIdentTyp(IdentTyp.GUELTIGE_SIGNATUR)
+            .withBesitzer(besitzer)
+            .withAufbewahrungsOrt(aufbewahrungsort)
+            .build())
+        .withBeschreibungsdokumentIDs(beschreibungIDs)
+        .build();
+
+    return KODTemplateMapper.createTEIFromInitialTemplate(kod);
+  }
+}
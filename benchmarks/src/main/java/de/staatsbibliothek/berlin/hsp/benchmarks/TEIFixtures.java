@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Builds benchmark inputs from the TEI test fixtures of the domainmodel-tei-mapper module.
+ * <p>
+ * Larger inputs are created by repeating child elements of a container element, e.g. the msDesc
+ * elements of a sourceDesc. The xml:id attributes of repeated elements get a suffix, so the
+ * resulting documents stay valid.
+ *
+ * @since 17.10.2026
+ */
+final class TEIFixtures {
+
+  private TEIFixtures() {
+  }
+
+  static byte[] read(String name) throws IOException {
+    try (InputStream is = TEIFixtures.class.getResourceAsStream("/tei/" + name)) {
+      Objects.requireNonNull(is, "Missing benchmark resource " + name);
+      return is.readAllBytes();
+    }
+  }
+
+  static byte[] scale(String name, String container, String child, InputSize size) throws Exception {
+    return scale(read(name), container, child, size.getCount());
+  }
+
+  static byte[] scale(byte[] teiXML, String container, String child, int count) throws Exception {
+    DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+    factory.setNamespaceAware(true);
+    factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(teiXML));
+
+    Node containerNode = document.getElementsByTagNameNS("*", container).item(0);
+    Objects.requireNonNull(containerNode, "Missing element " + container);
+
+    List<Element> children = new ArrayList<>();
+    for (Node node = containerNode.getFirstChild(); node != null; node = node.getNextSibling()) {
+      if (node instanceof Element && child.equals(node.getLocalName())) {
+        children.add((Element) node);
+      }
+    }
+    if (children.isEmpty()) {
+      throw new IllegalArgumentException("Missing element " + child + " in " + container);
+    }
+
+    Node insertBefore = children.get(children.size() - 1).getNextSibling();
+    children.forEach(containerNode::removeChild);
+
+    for (int i = 0; i < count; i++) {
+      Element copy = (Element) children.get(i % children.size()).cloneNode(true);
+      if (i >= children.size()) {
+        suffixIds(copy, "_" + i);
+      }
+      containerNode.insertBefore(copy, insertBefore);
+    }
+
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+    ByteArrayOutputStream out = new ByteArrayOutputStream(teiXML.length);
+    transformer.transform(new DOMSource(document), new StreamResult(out));
+    return out.toByteArray();
+  }
+
+  private static void suffixIds(Element element, String suffix) {
+    Attr id = element.getAttributeNodeNS(XMLConstants.XML_NS_URI, "id");
+    if (Objects.nonNull(id)) {
+      id.setValue(id.getValue() + suffix);
+    }
+    for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+      if (node instanceof Element) {
+        suffixIds((Element) node, suffix);
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Katalog;
+import de.staatsbibliothek.berlin.hsp.domainmodel.entities.AttributsReferenz;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.AttributsTyp;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEI2AttributsReferenzMapper;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEI2BeschreibungMapper;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEI2KatalogMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Benchmarks the mapping of TEI documents to Beschreibungen, Katalogen and AttributsReferenzen as
+ * done during the import.
+ * <p>
+ * Beschreibungen are scaled by the number of msDesc elements, the Katalog by the number of div
+ * elements in its body (1, 100 and 2000 of the 195 divs of the Aurich catalogue).
+ *
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TEIMapperBenchmark {
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public InputSize size;
+
+  private final TEI2BeschreibungMapper beschreibungMapper = new TEI2BeschreibungMapper();
+
+  private final TEI2KatalogMapper katalogMapper = new TEI2KatalogMapper();
+
+  private byte[] beschreibungXML;
+
+  private String attributsReferenzenXML;
+
+  private TEI katalogTEI;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    beschreibungXML = TEIFixtures.scale("tei-msDesc_Westphal_hsp.xml", "body", "msDesc", size);
+
+    attributsReferenzenXML = new String(
+        TEIFixtures.scale("tei-beschreibung-attributsreferenzen.xml", "body", "msDesc", size),
+        StandardCharsets.UTF_8);
+
+    byte[] katalogXML = TEIFixtures.scale(TEIFixtures.read("tei-katalog_Aurich.xml"), "body", "div",
+        size.getCount());
+    katalogTEI = PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(katalogXML)).get(0);
+  }
+
+  @Benchmark
+  public List<Beschreibung> mapBeschreibung() throws Exception {
+    return beschreibungMapper.map(beschreibungXML);
+  }
+
+  @Benchmark
+  public Katalog mapKatalog() throws Exception {
+    return katalogMapper.map(katalogTEI);
+  }
+
+  @Benchmark
+  public Map<AttributsTyp, AttributsReferenz> mapAttributsReferenzen() throws Exception {
+    return TEI2AttributsReferenzMapper.map(attributsReferenzenXML);
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.benchmarks;
+
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.TEIMarshallerPool;
+import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Compares unmarshalling and marshalling of TEI documents with {@link TEIObjectFactory} and the
+ * pooled {@link PooledTEIObjectFactory}.
+ * <p>
+ * Run with <code>java -jar benchmarks/target/benchmarks.jar TEIObjectFactoryBenchmark</code>.
+ *
+ * @since 17.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class TEIObjectFactoryBenchmark {
+
+  private static final Logger log = LoggerFactory.getLogger(TEIObjectFactoryBenchmark.class);
+
+  @Param({"tei-msDesc_Westphal.xml", "tei-kod-beschreibung.xml", "tei-katalog_Aurich.xml"})
+  public String file;
+
+  private byte[] teiXML;
+
+  private TEI tei;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    teiXML = TEIFixtures.read(file);
+    tei = TEIObjectFactory.unmarshal(new ByteArrayInputStream(teiXML)).get(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    TEIMarshallerPool pool = TEIMarshallerPool.getDefault();
+    log.info("TEIMarshallerPool hits={} misses={}", pool.getHits(), pool.getMisses());
+  }
+
+  @Benchmark
+  public List<TEI> unmarshal() throws Exception {
+    return TEIObjectFactory.unmarshal(new ByteArrayInputStream(teiXML));
+  }
+
+  @Benchmark
+  public List<TEI> unmarshalPooled() throws Exception {
+    return PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(teiXML));
+  }
+
+  @Benchmark
+  public String marshal() throws Exception {
+    return TEIObjectFactory.marshal(tei);
+  }
+
+  @Benchmark
+  public String marshalPooled() throws Exception {
+    return PooledTEIObjectFactory.marshal(tei);
+  }
+}
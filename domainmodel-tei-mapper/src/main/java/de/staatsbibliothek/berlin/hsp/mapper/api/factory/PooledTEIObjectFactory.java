@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.api.factory;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.bind.JAXBException;
+import javax.xml.validation.Schema;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Drop-in replacement for the static methods of TEIObjectFactory, backed by the default
+ * {@link TEIMarshallerPool}. Schema validation of unmarshalled documents is switched off by
+ * default and can be switched on for all callers with {@link #setSchemaValidation(Schema)}.
+ *
+ * @since 17.10.2026
+ */
+public class PooledTEIObjectFactory {
+
+  private PooledTEIObjectFactory() {
+  }
+
+  public static List<TEI> unmarshal(InputStream inputStream) throws JAXBException {
+    return TEIMarshallerPool.getDefault().unmarshal(inputStream);
+  }
+
+  public static Optional<TEI> unmarshalOne(InputStream inputStream) throws JAXBException {
+    return TEIMarshallerPool.getDefault().unmarshalOne(inputStream);
+  }
+
+  public static String marshal(TEI tei) throws JAXBException {
+    return TEIMarshallerPool.getDefault().marshal(tei);
+  }
+
+  public static void setSchemaValidation(Schema schema) {
+    TEIMarshallerPool.setDefault(new TEIMarshallerPool(schema, TEIMarshallerPool.DEFAULT_POOL_SIZE));
+  }
+
+  public static boolean isSchemaValidation() {
+    return TEIMarshallerPool.getDefault().isSchemaValidation();
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.api.factory;
+
+import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.JAXBIntrospector;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.validation.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Thread-safe pool of JAXB Marshaller and Unmarshaller instances for the TEI JAXBContext.
+ * <p>
+ * JAXBContext creation is expensive and Marshaller/Unmarshaller instances are not thread-safe,
+ * so instead of creating new instances for every call they are borrowed from a bounded pool and
+ * returned after use. A borrow served from the pool counts as hit, a newly created instance as
+ * miss. If a Schema is given, unmarshalled documents are validated against it.
+ *
+ * @since 17.10.2026
+ */
+public class TEIMarshallerPool {
+
+  public static final int DEFAULT_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+  private static final Logger log = LoggerFactory.getLogger(TEIMarshallerPool.class);
+
+  private static volatile JAXBContext jaxbContext;
+
+  private static volatile TEIMarshallerPool defaultPool = new TEIMarshallerPool(null, DEFAULT_POOL_SIZE);
+
+  private final Schema schema;
+
+  private final BlockingQueue<Marshaller> marshallers;
+
+  private final BlockingQueue<Unmarshaller> unmarshallers;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  public TEIMarshallerPool(Schema schema, int poolSize) {
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be greater than 0, was " + poolSize);
+    }
+    this.schema = schema;
+    this.marshallers = new ArrayBlockingQueue<>(poolSize);
+    this.unmarshallers = new ArrayBlockingQueue<>(poolSize);
+  }
+
+  public static TEIMarshallerPool getDefault() {
+    return defaultPool;
+  }
+
+  public static void setDefault(TEIMarshallerPool pool) {
+    defaultPool = Objects.requireNonNull(pool);
+  }
+
+  static JAXBContext getJAXBContext() throws JAXBException {
+    JAXBContext context = jaxbContext;
+    if (Objects.isNull(context)) {
+      synchronized (TEIMarshallerPool.class) {
+        context = jaxbContext;
+        if (Objects.isNull(context)) {
+          log.info("Create JAXBContext for {}", TEI.class.getPackageName());
+          context = JAXBContext.newInstance(TEI.class.getPackageName(), TEI.class.getClassLoader());
+          jaxbContext = context;
+        }
+      }
+    }
+    return context;
+  }
+
+  public List<TEI> unmarshal(InputStream inputStream) throws JAXBException {
+    Objects.requireNonNull(inputStream);
+
+    Unmarshaller unmarshaller = borrowUnmarshaller();
+    Object result;
+    try {
+      result = JAXBIntrospector.getValue(unmarshaller.unmarshal(inputStream));
+    } finally {
+      unmarshallers.offer(unmarshaller);
+    }
+
+    if (result instanceof TEI) {
+      return new ArrayList<>(Collections.singletonList((TEI) result));
+    }
+
+    List<TEI> teis = new ArrayList<>();
+    try {
+      TEICommon.findAll(TEI.class, result, teis);
+    } catch (Exception e) {
+      throw new JAXBException("Error finding TEI in " + result.getClass().getSimpleName(), e);
+    }
+    return teis;
+  }
+
+  public Optional<TEI> unmarshalOne(InputStream inputStream) throws JAXBException {
+    return unmarshal(inputStream).stream().findFirst();
+  }
+
+  public String marshal(TEI tei) throws JAXBException {
+    Objects.requireNonNull(tei);
+
+    StringWriter writer = new StringWriter();
+    Marshaller marshaller = borrowMarshaller();
+    try {
+      marshaller.marshal(tei, writer);
+    } finally {
+      marshallers.offer(marshaller);
+    }
+    return writer.toString();
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public int getIdleMarshallers() {
+    return marshallers.size();
+  }
+
+  public int getIdleUnmarshallers() {
+    return unmarshallers.size();
+  }
+
+  public boolean isSchemaValidation() {
+    return Objects.nonNull(schema);
+  }
+
+  private Marshaller borrowMarshaller() throws JAXBException {
+    Marshaller marshaller = marshallers.poll();
+    if (Objects.nonNull(marshaller)) {
+      hits.increment();
+      return marshaller;
+    }
+
+    misses.increment();
+    marshaller = getJAXBContext().createMarshaller();
+    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+    marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+    return marshaller;
+  }
+
+  private Unmarshaller borrowUnmarshaller() throws JAXBException {
+    Unmarshaller unmarshaller = unmarshallers.poll();
+    if (Objects.nonNull(unmarshaller)) {
+      hits.increment();
+      return unmarshaller;
+    }
+
+    misses.increment();
+    unmarshaller = getJAXBContext().createUnmarshaller();
+    unmarshaller.setSchema(schema);
+    return unmarshaller;
+  }
+}
@@ -41,8 +41,8 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.entities.Titel;
 import de.staatsbibliothek.berlin.hsp.domainmodel.entities.Umfang;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.AttributsTyp;
 import de.staatsbibliothek.berlin.hsp.mapper.api.exceptions.HSPMapperException;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -104,7 +104,7 @@ public class TEI2AttributsReferenzMapper {
     Objects.requireNonNull(teiXML, "teiXML is required!");
 
     try (InputStream is = new ByteArrayInputStream(teiXML.getBytes(StandardCharsets.UTF_8))) {
-      return TEIObjectFactory.unmarshalOne(is)
+      return PooledTEIObjectFactory.unmarshalOne(is)
           .orElseThrow(() -> new Exception("teiXML contains no TEI!"));
     } catch (Exception e) {
       throw new HSPMapperException("Error unmarshalling teiXML", e);
@@ -44,10 +44,11 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PublikationsTyp;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
 import de.staatsbibliothek.berlin.hsp.mapper.api.Mapper;
 import de.staatsbibliothek.berlin.hsp.mapper.api.exceptions.HSPMapperException;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.domainfactories.AutorenFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.PtrFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
+import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -211,7 +212,7 @@ public class TEI2BeschreibungMapper implements Mapper<TEI, List<Beschreibung>> {
     for (MsDesc msDesc : TEIQuery.queryForMsDescAsBeschreibung(tei)) {
       Beschreibung beschreibung = new BeschreibungsBuilder()
           .withId(msDesc.getId())
-          .withTEIXml(TEIObjectFactory.marshal(tei))
+          .withTEIXml(PooledTEIObjectFactory.marshal(tei))
           .withAenderungsDatum(findAenderungsdatumInTEIHeaderAndFiledesc(tei))
           .withBeschreibungssprache(getSchreibsprache(tei.getLang(), msDesc.getLang()))
           .withErstellungsDatum(findErstellungsDatum(tei))
@@ -250,6 +251,26 @@ public class TEI2BeschreibungMapper implements Mapper<TEI, List<Beschreibung>> {
     return beschreibungList;
   }
 
+  /**
+   * Maps a TEI document with any number of msDesc elements. The document is split into one TEI
+   * fragment per msDesc with {@link TEIMsDescSplitter} and each fragment is mapped on its own, so
+   * every Beschreibung only holds the TEI of its own msDesc.
+   */
+  public List<Beschreibung> map(byte[] teiXML) throws Exception {
+    if (Objects.isNull(teiXML)) {
+      throw new HSPMapperException("TEI XML is null");
+    }
+    List<Beschreibung> beschreibungList = new ArrayList<>();
+
+    TEIMsDescSplitter.split(teiXML, fragment -> {
+      for (TEI tei : PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(fragment))) {
+        beschreibungList.addAll(map(tei));
+      }
+    });
+
+    return beschreibungList;
+  }
+
   public Optional<String> findKODIdentifier(Beschreibung beschreibung, MsDesc msDesc) {
 
     return msDesc.getMsIdentifier().getMsNamesAndObjectNamesAndAltIdentifiers().stream()
@@ -36,9 +36,9 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.DigitalisatTyp;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.mapper.api.Mapper;
 import de.staatsbibliothek.berlin.hsp.mapper.api.exceptions.HSPMapperException;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.domainfactories.AutorenFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -190,7 +190,7 @@ public class TEI2KatalogMapper implements Mapper<TEI, Katalog> {
         .withDigitalisat(getDigitalisat(publicationStmt))
         .withLizenzURI(getLizenzURI(publicationStmt))
         .withPublikationsJahr(getPublikationsJahr(publicationStmt))
-        .withTEIXML(TEIObjectFactory.marshal(tei))
+        .withTEIXML(PooledTEIObjectFactory.marshal(tei))
         .withErstelldatum(now)
         .withAenderungsdatum(now);
 
@@ -30,7 +30,7 @@ import static de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues.LOCAL_DATE_FOR
 import static de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues.MSPART_TYPE_OTHER;
 import static de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues.PTR_TYPE_HSP;
 import static de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues.PUBLICATION_DATE_SECONDARY;
-import static de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory.unmarshalOne;
+import static de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory.unmarshalOne;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
@@ -40,7 +40,6 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikation;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PublikationsTyp;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.AltIdentifierFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
@@ -92,49 +91,56 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
     if (Objects.nonNull(beschreibung) && Objects.nonNull(beschreibung.getTeiXML()) && Objects
         .nonNull(beschreibung.getId())) {
 
-      logger.info("Update Beschreibungen ID {} ", beschreibung.getId());
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
 
-      List<TEI> tei = TEIObjectFactory
-          .unmarshal(
-              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
+      if (document.isPresent()) {
+        updateBeschreibungsIDAndType(document.get());
+        document.get().write();
+      }
+    }
+  }
 
-      if (tei.size() == 1) {
+  public static void updateBeschreibungsIDAndType(TEIWorkingDocument document) {
 
-        TEI t = tei.get(0);
+    Beschreibung beschreibung = document.getBeschreibung();
 
-        List<MsDesc> msDescList = TEIQuery.queryForMsDescAsBeschreibung(t);
+    if (Objects.isNull(beschreibung.getId())) {
+      return;
+    }
 
-        for (MsDesc msDesc : msDescList) {
-          MsIdentifier msIdentifier = msDesc.getMsIdentifier();
+    logger.info("Update Beschreibungen ID {} ", beschreibung.getId());
 
-          if (Objects.isNull(msDesc.getMsIdentifier())) {
-            msIdentifier = new MsIdentifier();
-          }
+    List<MsDesc> msDescList = TEIQuery.queryForMsDescAsBeschreibung(document.getTEI());
 
-          msIdentifier.getMsNamesAndObjectNamesAndAltIdentifiers()
-              .add(AltIdentifierFactory.build(msDesc.getId(), TEIValues.HSP_ALTIDENTIFIER_MXML));
+    for (MsDesc msDesc : msDescList) {
+      MsIdentifier msIdentifier = msDesc.getMsIdentifier();
 
-          msIdentifier.getMsNamesAndObjectNamesAndAltIdentifiers().add(AltIdentifierFactory.build(
-              beschreibung.getKodID(), TEIValues.HSP_ALTIDENTIFIER_HSPID,
-              TEIValues.KOD_ID_COLLECTION));
+      if (Objects.isNull(msDesc.getMsIdentifier())) {
+        msIdentifier = new MsIdentifier();
+      }
 
-          msDesc.setId(beschreibung.getId());
+      msIdentifier.getMsNamesAndObjectNamesAndAltIdentifiers()
+          .add(AltIdentifierFactory.build(msDesc.getId(), TEIValues.HSP_ALTIDENTIFIER_MXML));
 
-          if (msDesc.getType() == null || msDesc.getType().isEmpty()) {
-            msDesc.setType(DokumentObjektTyp.HSP_DESCRIPTION.toString());
-          }
+      msIdentifier.getMsNamesAndObjectNamesAndAltIdentifiers().add(AltIdentifierFactory.build(
+          beschreibung.getKodID(), TEIValues.HSP_ALTIDENTIFIER_HSPID,
+          TEIValues.KOD_ID_COLLECTION));
 
-          if (beschreibung.getVerwaltungsTyp() != null) {
-            msDesc.setStatus(beschreibung.getVerwaltungsTyp().name().toLowerCase());
-          }
+      msDesc.setId(beschreibung.getId());
 
-          if (beschreibung.getBeschreibungsTyp() != null) {
-            msDesc.setSubtype(beschreibung.getBeschreibungsTyp().toString());
-          }
+      if (msDesc.getType() == null || msDesc.getType().isEmpty()) {
+        msDesc.setType(DokumentObjektTyp.HSP_DESCRIPTION.toString());
+      }
 
-          beschreibung.setTeiXML(TEIObjectFactory.marshal(t));
-        }
+      if (beschreibung.getVerwaltungsTyp() != null) {
+        msDesc.setStatus(beschreibung.getVerwaltungsTyp().name().toLowerCase());
       }
+
+      if (beschreibung.getBeschreibungsTyp() != null) {
+        msDesc.setSubtype(beschreibung.getBeschreibungsTyp().toString());
+      }
+
+      document.markModified();
     }
   }
 
@@ -144,44 +150,48 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
 
     if (Objects.nonNull(beschreibung) && Objects.nonNull(beschreibung.getTeiXML())) {
 
-      logger.info("Update settlement and repository for beschreibung {} ", beschreibung.getId());
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
 
-      List<TEI> tei = TEIObjectFactory
-          .unmarshal(
-              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
+      if (document.isPresent()) {
+        updateSettlementAndRepositoryIDs(document.get(), kod);
+        document.get().write();
+      }
+    }
+  }
+
+  public static void updateSettlementAndRepositoryIDs(TEIWorkingDocument document,
+      KulturObjektDokument kod) {
 
-      if (tei.size() == 1) {
+    Beschreibung beschreibung = document.getBeschreibung();
 
-        TEI t = tei.get(0);
+    logger.info("Update settlement and repository for beschreibung {} ", beschreibung.getId());
 
-        List<MsDesc> msDescList = TEIQuery.queryForMsDescAsBeschreibung(t);
+    List<MsDesc> msDescList = TEIQuery.queryForMsDescAsBeschreibung(document.getTEI());
 
-        for (MsDesc m : msDescList) {
-          MsIdentifier msIdentifier = m.getMsIdentifier();
+    for (MsDesc m : msDescList) {
+      MsIdentifier msIdentifier = m.getMsIdentifier();
 
-          Identifikation KODIdentifikation = kod.getGueltigeIdentifikation();
+      Identifikation KODIdentifikation = kod.getGueltigeIdentifikation();
 
-          if (Objects.nonNull(msIdentifier) && KODIdentifikation != null && Objects
-              .nonNull(KODIdentifikation.getBesitzer()) && Objects
-              .nonNull(KODIdentifikation.getAufbewahrungsOrt())) {
+      if (Objects.nonNull(msIdentifier) && KODIdentifikation != null && Objects
+          .nonNull(KODIdentifikation.getBesitzer()) && Objects
+          .nonNull(KODIdentifikation.getAufbewahrungsOrt())) {
 
-            logger.debug("Trying to add settlement and repository ids {} , {}",
-                KODIdentifikation.getAufbewahrungsOrt().getName(), KODIdentifikation.getBesitzer()
-                    .getName());
+        logger.debug("Trying to add settlement and repository ids {} , {}",
+            KODIdentifikation.getAufbewahrungsOrt().getName(), KODIdentifikation.getBesitzer()
+                .getName());
 
-            msIdentifier.getSettlement().setKey(KODIdentifikation.getAufbewahrungsOrt().getId());
+        msIdentifier.getSettlement().setKey(KODIdentifikation.getAufbewahrungsOrt().getId());
 
-            beschreibung.getGueltigeIdentifikation()
-                .ifPresent(i -> i.setAufbewahrungsOrt(KODIdentifikation.getAufbewahrungsOrt()));
+        beschreibung.getGueltigeIdentifikation()
+            .ifPresent(i -> i.setAufbewahrungsOrt(KODIdentifikation.getAufbewahrungsOrt()));
 
-            msIdentifier.getRepository().setKey(KODIdentifikation.getBesitzer().getId());
+        msIdentifier.getRepository().setKey(KODIdentifikation.getBesitzer().getId());
 
-            beschreibung.getGueltigeIdentifikation()
-                .ifPresent(i -> i.setBesitzer(KODIdentifikation.getBesitzer()));
+        beschreibung.getGueltigeIdentifikation()
+            .ifPresent(i -> i.setBesitzer(KODIdentifikation.getBesitzer()));
 
-            beschreibung.setTeiXML(TEIObjectFactory.marshal(t));
-          }
-        }
+        document.markModified();
       }
     }
   }
@@ -191,76 +201,92 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
         && Objects.nonNull(beschreibung.getTeiXML())
         && Objects.nonNull(katalogID)) {
 
-      List<TEI> teis = TEIObjectFactory
-          .unmarshal(
-              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
-
-      if (teis.size() == 1) {
-        logger.info("Update katalogId {} for beschreibung {} ", katalogID, beschreibung.getId());
-
-        TEI tei = teis.get(0);
-
-        PubPlace pubPlace;
-        Optional<PubPlace> pubPlaceOptional = TEICommon.findFirst(PubPlace.class, tei);
-        if (pubPlaceOptional.isPresent()) {
-          pubPlace = pubPlaceOptional.get();
-        } else {
-          PublicationStmt publicationStmt = TEICommon.findFirst(PublicationStmt.class, tei)
-              .orElseThrow(() -> new Exception("TEI contains no publicationStmt"));
-          pubPlace = new PubPlace();
-          publicationStmt.getPublishersAndDistributorsAndAuthorities().add(pubPlace);
-        }
-
-        List<Ptr> ptrs = new ArrayList<>();
-        TEICommon.findAll(Ptr.class, pubPlace, ptrs);
-
-        Optional<Ptr> hspPtr = ptrs.stream()
-            .filter(ptr -> PTR_TYPE_HSP.equals(ptr.getType()))
-            .findFirst();
-
-        if (hspPtr.isPresent()) {
-          hspPtr.get().getTargets().clear();
-          hspPtr.get().getTargets().add(katalogID);
-        } else {
-          Ptr ptr = new Ptr();
-          ptr.setType(PTR_TYPE_HSP);
-          ptr.getTargets().add(katalogID);
-          pubPlace.getContent().add(ptr);
-        }
-
-        beschreibung.setTeiXML(TEIObjectFactory.marshal(tei));
-        beschreibung.setKatalogID(katalogID);
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
+
+      if (document.isPresent()) {
+        updateKatalogId(document.get(), katalogID);
+        document.get().write();
       }
     }
   }
 
+  public static void updateKatalogId(TEIWorkingDocument document, String katalogID) throws Exception {
+    if (Objects.isNull(katalogID)) {
+      return;
+    }
+
+    Beschreibung beschreibung = document.getBeschreibung();
+    logger.info("Update katalogId {} for beschreibung {} ", katalogID, beschreibung.getId());
+
+    TEI tei = document.getTEI();
+
+    PubPlace pubPlace;
+    Optional<PubPlace> pubPlaceOptional = TEICommon.findFirst(PubPlace.class, tei);
+    if (pubPlaceOptional.isPresent()) {
+      pubPlace = pubPlaceOptional.get();
+    } else {
+      PublicationStmt publicationStmt = TEICommon.findFirst(PublicationStmt.class, tei)
+          .orElseThrow(() -> new Exception("TEI contains no publicationStmt"));
+      pubPlace = new PubPlace();
+      publicationStmt.getPublishersAndDistributorsAndAuthorities().add(pubPlace);
+    }
+
+    List<Ptr> ptrs = new ArrayList<>();
+    TEICommon.findAll(Ptr.class, pubPlace, ptrs);
+
+    Optional<Ptr> hspPtr = ptrs.stream()
+        .filter(ptr -> PTR_TYPE_HSP.equals(ptr.getType()))
+        .findFirst();
+
+    if (hspPtr.isPresent()) {
+      hspPtr.get().getTargets().clear();
+      hspPtr.get().getTargets().add(katalogID);
+    } else {
+      Ptr ptr = new Ptr();
+      ptr.setType(PTR_TYPE_HSP);
+      ptr.getTargets().add(katalogID);
+      pubPlace.getContent().add(ptr);
+    }
+
+    document.markModified();
+    beschreibung.setKatalogID(katalogID);
+  }
+
   public static void updateVolltext(Beschreibung beschreibung, Div volltext) throws Exception {
     if (Objects.nonNull(beschreibung)
         && Objects.nonNull(beschreibung.getTeiXML())
         && Objects.nonNull(volltext)) {
 
-      Optional<TEI> optionalTEI = openTEIDokument(beschreibung);
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
+
+      if (document.isPresent()) {
+        updateVolltext(document.get(), volltext);
+        document.get().write();
+      }
+    }
+  }
 
-      if (optionalTEI.isPresent()) {
-        logger.info("Update volltext for beschreibung {} ", beschreibung.getId());
+  public static void updateVolltext(TEIWorkingDocument document, Div volltext) throws Exception {
+    if (Objects.isNull(volltext)) {
+      return;
+    }
 
-        TEI tei = optionalTEI.get();
+    Beschreibung beschreibung = document.getBeschreibung();
+    logger.info("Update volltext for beschreibung {} ", beschreibung.getId());
 
-        MsDesc msDesc = TEICommon.findFirst(MsDesc.class, tei)
-            .orElseThrow(() -> new Exception(
-                "TEI for Beschreibung " + beschreibung.getId() + " contains no msDesc"));
+    MsDesc msDesc = TEICommon.findFirst(MsDesc.class, document.getTEI())
+        .orElseThrow(() -> new Exception(
+            "TEI for Beschreibung " + beschreibung.getId() + " contains no msDesc"));
 
-        MsPart msPartOther = findAndClearMsPartOther(msDesc);
+    MsPart msPartOther = findAndClearMsPartOther(msDesc);
 
-        volltext.getMeetingsAndBylinesAndDatelines()
-            .stream()
-            .filter(P.class::isInstance)
-            .map(P.class::cast)
-            .forEachOrdered(p -> msPartOther.getPSAndAbs().add(p));
+    volltext.getMeetingsAndBylinesAndDatelines()
+        .stream()
+        .filter(P.class::isInstance)
+        .map(P.class::cast)
+        .forEachOrdered(p -> msPartOther.getPSAndAbs().add(p));
 
-        beschreibung.setTeiXML(TEIObjectFactory.marshal(tei));
-      }
-    }
+    document.markModified();
   }
 
   private static MsPart findAndClearMsPartOther(MsDesc msDesc) {
@@ -294,15 +320,20 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
   public static void updateKatalogReferences(URI rangeIdentifier,
       Beschreibung beschreibung, URI katalogManifestURI) throws Exception {
 
-    checkKatalogRequirements(rangeIdentifier, beschreibung, katalogManifestURI);
-
-    TEI teiXML = unmarshalOne(
-            new ByteArrayInputStream(
-                beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)))
+    TEIWorkingDocument document = TEIWorkingDocument.open(beschreibung)
         .orElseThrow(()-> new IllegalArgumentException("No TEI XML Found"));
 
+    updateKatalogReferences(rangeIdentifier, document, katalogManifestURI);
+    document.write();
+  }
+
+  public static void updateKatalogReferences(URI rangeIdentifier,
+      TEIWorkingDocument document, URI katalogManifestURI) throws Exception {
+
+    checkKatalogRequirements(rangeIdentifier, document.getBeschreibung(), katalogManifestURI);
+
     Optional<SourceDesc> sourceDesc = TEICommon.findFirst(SourceDesc.class,
-        teiXML);
+        document.getTEI());
 
     sourceDesc.flatMap(sourceD -> sourceD.getBiblsAndBiblStructsAndListBibls().stream()
         .filter(Bibl.class::isInstance)
@@ -313,7 +344,7 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
       updateBibl(katalogManifestURI, bibl);
     });
 
-    beschreibung.setTeiXML(TEIObjectFactory.marshal(teiXML));
+    document.markModified();
   }
 
   static void checkKatalogRequirements(URI rangeIdentifier, Beschreibung beschreibung, URI katalogManifestURI) {
@@ -372,73 +403,99 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
         && Objects.nonNull(beschreibung.getTeiXML())
         && Objects.nonNull(beschreibung.getAenderungsDatum())) {
 
-      List<TEI> teis = TEIObjectFactory
-          .unmarshal(
-              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
-
-      if (teis.size() == 1) {
-        logger.info("Update aenderungsdatum for beschreibung {} ", beschreibung.getId());
-
-        TeiHeader teiHeader = teis.stream()
-            .findFirst()
-            .map(TEI::getTeiHeader)
-            .orElseThrow(() -> new Exception("TEI contains no header!"));
-
-        if (Objects.isNull(teiHeader.getRevisionDesc())) {
-          teiHeader.setRevisionDesc(new RevisionDesc());
-        }
-        RevisionDesc revisionDesc = teiHeader.getRevisionDesc();
-
-        if (revisionDesc.getRevisionChangeAttribute().isEmpty()) {
-          revisionDesc.getRevisionChangeAttribute().add(new Change());
-        }
-        Change change = revisionDesc.getRevisionChangeAttribute().get(0);
-
-        Date changeDate = change.getContent().stream()
-            .filter(Date.class::isInstance)
-            .map(Date.class::cast)
-            .findFirst()
-            .orElseGet(() -> {
-              Date date = new Date();
-              change.getContent().add(date);
-              return date;
-            });
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
 
-        updateDate(changeDate, beschreibung.getAenderungsDatum());
-        beschreibung.setTeiXML(TEIObjectFactory.marshal(teis.get(0)));
+      if (document.isPresent()) {
+        updateAenderungsdatum(document.get());
+        document.get().write();
       }
     }
   }
 
+  public static void updateAenderungsdatum(TEIWorkingDocument document) throws Exception {
+    Beschreibung beschreibung = document.getBeschreibung();
+
+    if (Objects.isNull(beschreibung.getAenderungsDatum())) {
+      return;
+    }
+
+    logger.info("Update aenderungsdatum for beschreibung {} ", beschreibung.getId());
+
+    TeiHeader teiHeader = Optional.ofNullable(document.getTEI().getTeiHeader())
+        .orElseThrow(() -> new Exception("TEI contains no header!"));
+
+    if (Objects.isNull(teiHeader.getRevisionDesc())) {
+      teiHeader.setRevisionDesc(new RevisionDesc());
+    }
+    RevisionDesc revisionDesc = teiHeader.getRevisionDesc();
+
+    if (revisionDesc.getRevisionChangeAttribute().isEmpty()) {
+      revisionDesc.getRevisionChangeAttribute().add(new Change());
+    }
+    Change change = revisionDesc.getRevisionChangeAttribute().get(0);
+
+    Date changeDate = change.getContent().stream()
+        .filter(Date.class::isInstance)
+        .map(Date.class::cast)
+        .findFirst()
+        .orElseGet(() -> {
+          Date date = new Date();
+          change.getContent().add(date);
+          return date;
+        });
+
+    updateDate(changeDate, beschreibung.getAenderungsDatum());
+    document.markModified();
+  }
+
   public static void updatePublikationsdatumHSP(Beschreibung beschreibung) throws Exception {
     if (Objects.nonNull(beschreibung)
         && Objects.nonNull(beschreibung.getTeiXML())
         && Objects.nonNull(beschreibung.getPublikationen())) {
 
-      Optional<Publikation> publikationHsp = beschreibung.getPublikationen()
-          .stream()
-          .filter(p -> PublikationsTyp.PUBLIKATION_HSP == p.getPublikationsTyp())
-          .findFirst();
-
-      if (publikationHsp.isEmpty()) {
+      if (findPublikationHSP(beschreibung).isEmpty()) {
         logger.info("No publikationsDatumHSP to update for beschreibung {} ", beschreibung.getId());
         return;
       }
 
-      Optional<TEI> optionalTEI = openTEIDokument(beschreibung);
+      Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
 
-      if (optionalTEI.isPresent()) {
-        TEI tei = optionalTEI.get();
-        logger.info("Update publikationsDatumHSP for beschreibung {} ", beschreibung.getId());
+      if (document.isPresent()) {
+        updatePublikationsdatumHSP(document.get());
+        document.get().write();
+      }
+    }
+  }
 
-        PublicationStmt publicationStmt = findPublicationStmt(tei, beschreibung.getId());
+  public static void updatePublikationsdatumHSP(TEIWorkingDocument document) throws Exception {
+    Beschreibung beschreibung = document.getBeschreibung();
 
-        Date publicationDate = findPublicationDate(publicationStmt);
+    if (Objects.isNull(beschreibung.getPublikationen())) {
+      return;
+    }
 
-        updateDate(publicationDate, publikationHsp.get().getDatumDerVeroeffentlichung());
-        beschreibung.setTeiXML(TEIObjectFactory.marshal(tei));
-      }
+    Optional<Publikation> publikationHsp = findPublikationHSP(beschreibung);
+
+    if (publikationHsp.isEmpty()) {
+      logger.info("No publikationsDatumHSP to update for beschreibung {} ", beschreibung.getId());
+      return;
     }
+
+    logger.info("Update publikationsDatumHSP for beschreibung {} ", beschreibung.getId());
+
+    PublicationStmt publicationStmt = findPublicationStmt(document.getTEI(), beschreibung.getId());
+
+    Date publicationDate = findPublicationDate(publicationStmt);
+
+    updateDate(publicationDate, publikationHsp.get().getDatumDerVeroeffentlichung());
+    document.markModified();
+  }
+
+  private static Optional<Publikation> findPublikationHSP(Beschreibung beschreibung) {
+    return beschreibung.getPublikationen()
+        .stream()
+        .filter(p -> PublikationsTyp.PUBLIKATION_HSP == p.getPublikationsTyp())
+        .findFirst();
   }
 
   private static Date findPublicationDate(PublicationStmt publicationStmt) {
@@ -475,13 +532,20 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
       String preferredName)
       throws Exception {
 
+    TEIWorkingDocument document = TEIWorkingDocument.open(beschreibung)
+        .orElseThrow(() -> new IllegalArgumentException("No TEI XML Found"));
+
+    updateEntstehungsortID(document, placeID, preferredName);
+    document.write();
+  }
+
+  public static void updateEntstehungsortID(TEIWorkingDocument document, String placeID,
+      String preferredName) throws Exception {
+
     List<Term> termList = new ArrayList<>();
     List<MsDesc> msDescList = new ArrayList<>();
-    List<TEI> teis = TEIObjectFactory
-        .unmarshal(
-            new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
 
-    TEICommon.findAll(MsDesc.class, teis.get(0), msDescList);
+    TEICommon.findAll(MsDesc.class, document.getTEI(), msDescList);
     TEICommon.findAll(Term.class, msDescList.get(0).getHeads().get(0), termList);
     termList.stream().filter(t -> ORIG_PLACE_NORM.equals(t.getType())).findFirst()
         .ifPresent(term -> {
@@ -490,8 +554,7 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
           term.getContent().add(preferredName);
         });
 
-    beschreibung.setTeiXML(TEIObjectFactory.marshal(teis.get(0)));
-
+    document.markModified();
   }
 
   static Optional<TEI> openTEIDokument(Beschreibung beschreibung) throws IOException, JAXBException {
@@ -505,13 +568,17 @@ public class TEIBeschreibungCommand implements TEIUpdatePURLsCommand {
   }
 
   public static void updatePURLs(Beschreibung beschreibung) throws Exception {
-    Optional<TEI> teiOptional = openTEIDokument(beschreibung);
+    Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
 
-    if (teiOptional.isPresent()) {
-      TEI tei = teiOptional.get();
-      TEIUpdatePURLsCommand.updatePURLs(teiOptional.get(), beschreibung.getPURLs());
-      beschreibung.setTeiXML(TEIObjectFactory.marshal(tei));
+    if (document.isPresent()) {
+      updatePURLs(document.get());
+      document.get().write();
     }
   }
 
+  public static void updatePURLs(TEIWorkingDocument document) throws Exception {
+    TEIUpdatePURLsCommand.updatePURLs(document.getTEI(), document.getBeschreibung().getPURLs());
+    document.markModified();
+  }
+
 }
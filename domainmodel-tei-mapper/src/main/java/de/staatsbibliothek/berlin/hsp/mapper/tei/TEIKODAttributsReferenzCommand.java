@@ -46,9 +46,9 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PURLTyp;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
 import de.staatsbibliothek.berlin.hsp.mapper.api.exceptions.HSPCommandException;
 import de.staatsbibliothek.berlin.hsp.mapper.api.exceptions.HSPMapperException;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.IndexFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -361,7 +361,7 @@ public class TEIKODAttributsReferenzCommand {
     Optional<TEI> tei;
 
     try (ByteArrayInputStream inputStream = new ByteArrayInputStream(teiXML.getBytes(StandardCharsets.UTF_8))) {
-      tei = TEIObjectFactory.unmarshalOne(inputStream);
+      tei = PooledTEIObjectFactory.unmarshalOne(inputStream);
     } catch (Exception e) {
       throw new HSPCommandException("Error reading TEI-XML: " + e.getMessage(), e);
     }
@@ -381,7 +381,7 @@ public class TEIKODAttributsReferenzCommand {
 
   private static String marshalTEI(TEI tei) throws HSPCommandException {
     try {
-      return TEIObjectFactory.marshal(tei);
+      return PooledTEIObjectFactory.marshal(tei);
     } catch (Exception e) {
       throw new HSPCommandException("Error marshalling TEI: " + e.getMessage(), e);
     }
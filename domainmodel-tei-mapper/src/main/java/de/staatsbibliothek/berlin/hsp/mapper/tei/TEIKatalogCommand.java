@@ -25,8 +25,8 @@
 package de.staatsbibliothek.berlin.hsp.mapper.tei;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Katalog;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -54,7 +54,7 @@ public class TEIKatalogCommand {
 
       logger.info("Update Katalog ID {} ", katalog.getId());
 
-      List<TEI> tei = TEIObjectFactory
+      List<TEI> tei = PooledTEIObjectFactory
           .unmarshal(new ByteArrayInputStream(katalog.getTeiXML().getBytes(StandardCharsets.UTF_8)));
 
       if (tei.size() == 1) {
@@ -82,7 +82,7 @@ public class TEIKatalogCommand {
           logger.info("Added new idno with id {}", katalog.getId());
         }
 
-        katalog.setTeiXML(TEIObjectFactory.marshal(t));
+        katalog.setTeiXML(PooledTEIObjectFactory.marshal(t));
       }
     }
   }
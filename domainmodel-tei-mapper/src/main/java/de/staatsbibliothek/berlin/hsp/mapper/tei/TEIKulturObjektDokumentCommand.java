@@ -27,10 +27,10 @@ package de.staatsbibliothek.berlin.hsp.mapper.tei;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.DokumentObjektTyp;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.BiblFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.SurrogatesFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -66,7 +66,7 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
     if (Objects.nonNull(kod.getTeiXML()) && !kod.getTeiXML().isEmpty()
         && kod.getDigitalisate() != null) {
 
-      List<TEI> tei = TEIObjectFactory
+      List<TEI> tei = PooledTEIObjectFactory
           .unmarshal(new ByteArrayInputStream(kod.getTeiXML().getBytes(StandardCharsets.UTF_8)));
 
       if (tei.size() == 1) {
@@ -85,7 +85,7 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
 
   protected static void updateKODTEI(KulturObjektDokument kod, TEI teikod)
       throws JAXBException {
-    String xml = TEIObjectFactory.marshal(teikod);
+    String xml = PooledTEIObjectFactory.marshal(teikod);
     kod.setTeiXML(xml);
   }
 
@@ -101,10 +101,10 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
           ByteArrayInputStream beschreibungInputStream = new ByteArrayInputStream(
               beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8))) {
 
-        List<TEI> kodTEIList = TEIObjectFactory
+        List<TEI> kodTEIList = PooledTEIObjectFactory
             .unmarshal(kodInputStream);
 
-        List<TEI> beschreibungTEIList = TEIObjectFactory
+        List<TEI> beschreibungTEIList = PooledTEIObjectFactory
             .unmarshal(beschreibungInputStream);
 
         logger
@@ -155,7 +155,7 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
       try (ByteArrayInputStream kodInputStream = new ByteArrayInputStream(
           kod.getTeiXML().getBytes(StandardCharsets.UTF_8))) {
 
-        List<TEI> kodTEIList = TEIObjectFactory.unmarshal(kodInputStream);
+        List<TEI> kodTEIList = PooledTEIObjectFactory.unmarshal(kodInputStream);
         logger.info("Update KOD sourceDesc Remove Beschreibung msDesc KOD ID {} Beschreibungs ID {} ",
             kod.getId(), beschreibungId);
 
@@ -217,7 +217,7 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
       try (ByteArrayInputStream inputStream = new ByteArrayInputStream(
           kod.getTeiXML().getBytes(StandardCharsets.UTF_8))) {
 
-        List<TEI> tei = TEIObjectFactory
+        List<TEI> tei = PooledTEIObjectFactory
             .unmarshal(inputStream);
 
         logger.info("Update KOD List Bibl Add Beschreibungen ID {} ", kod.getId());
@@ -261,7 +261,7 @@ public class TEIKulturObjektDokumentCommand implements TEIUpdatePURLsCommand {
   static Optional<TEI> openTEIDokument(String teiXML) throws IOException, JAXBException {
     if (Objects.nonNull(teiXML)) {
       try (ByteArrayInputStream inputStream = new ByteArrayInputStream(teiXML.getBytes(StandardCharsets.UTF_8))) {
-        return TEIObjectFactory.unmarshalOne(inputStream);
+        return PooledTEIObjectFactory.unmarshalOne(inputStream);
       }
     }
     return Optional.empty();
@@ -0,0 +1,300 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.tei;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a TEI document with several msDesc elements into self-contained TEI documents with exactly
+ * one msDesc each. Each msDesc stays at its original position, all other msDesc elements are left
+ * out and all other parts of the TEI (teiHeader, facsimile, text) are copied into every fragment.
+ * <p>
+ * A fragment is written for every msDesc with an xml:id, the same msDesc elements
+ * {@link TEIQuery#queryForMsDescAsBeschreibung(org.tei_c.ns._1.TEI)} maps to Beschreibungen. An
+ * msDesc nested inside such an msDesc (e.g. in msPart) stays in the fragment of its outer msDesc,
+ * so every Beschreibung is mapped exactly once.
+ * <p>
+ * The input is read twice with StAX: the first pass collects everything except the msDesc
+ * elements, the second pass streams the msDesc elements one after the other into the collected
+ * skeleton. Only the skeleton and one fragment are held in memory at the same time.
+ *
+ * @since 17.10.2026
+ */
+public class TEIMsDescSplitter {
+
+  static final String ELEMENT_TEI = "TEI";
+  static final String ELEMENT_MS_DESC = "msDesc";
+  static final QName ATTRIBUTE_XML_ID = new QName(XMLConstants.XML_NS_URI, "id");
+
+  private static final Logger log = LoggerFactory.getLogger(TEIMsDescSplitter.class);
+
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+  private static final XMLOutputFactory OUTPUT_FACTORY = createOutputFactory();
+  private static final XMLEventFactory EVENT_FACTORY = XMLEventFactory.newInstance();
+
+  private TEIMsDescSplitter() {
+  }
+
+  public static int split(byte[] teiXML, FragmentConsumer consumer) throws Exception {
+    Objects.requireNonNull(teiXML);
+    return split(() -> new ByteArrayInputStream(teiXML), consumer);
+  }
+
+  public static int split(Path teiFile, FragmentConsumer consumer) throws Exception {
+    Objects.requireNonNull(teiFile);
+    return split(() -> Files.newInputStream(teiFile), consumer);
+  }
+
+  static int split(InputStreamSource source, FragmentConsumer consumer) throws Exception {
+    Objects.requireNonNull(consumer);
+
+    List<Skeleton> skeletons;
+    try (InputStream inputStream = source.open()) {
+      skeletons = collectSkeletons(inputStream);
+    }
+
+    int fragments;
+    try (InputStream inputStream = source.open()) {
+      fragments = writeFragments(inputStream, skeletons, consumer);
+    }
+
+    log.info("Split {} TEI into {} fragments", skeletons.size(), fragments);
+    return fragments;
+  }
+
+  static List<Skeleton> collectSkeletons(InputStream inputStream) throws XMLStreamException {
+    List<Skeleton> skeletons = new ArrayList<>();
+    XMLEventReader reader = INPUT_FACTORY.createXMLEventReader(inputStream);
+
+    try {
+      Deque<String> path = new ArrayDeque<>();
+      Skeleton skeleton = null;
+
+      while (reader.hasNext()) {
+        XMLEvent event = reader.nextEvent();
+
+        if (event.isStartElement()) {
+          String name = event.asStartElement().getName().getLocalPart();
+
+          if (ELEMENT_TEI.equals(name) && Objects.isNull(skeleton)) {
+            skeleton = new Skeleton();
+          } else if (Objects.nonNull(skeleton) && isSplitMsDesc(event.asStartElement())) {
+            skeleton.addMsDesc();
+            skipElement(reader);
+            continue;
+          }
+          path.push(name);
+        } else if (event.isEndElement()) {
+          path.pop();
+        }
+
+        if (Objects.nonNull(skeleton) && !event.isStartDocument() && !event.isEndDocument()) {
+          skeleton.events.add(event);
+
+          if (event.isEndElement() && ELEMENT_TEI.equals(event.asEndElement().getName().getLocalPart())
+              && !path.contains(ELEMENT_TEI)) {
+            skeletons.add(skeleton);
+            skeleton = null;
+          }
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return skeletons;
+  }
+
+  static int writeFragments(InputStream inputStream, List<Skeleton> skeletons,
+      FragmentConsumer consumer) throws Exception {
+
+    int fragments = 0;
+    int teiIndex = -1;
+    int msDescIndex = 0;
+    boolean inTEI = false;
+    XMLEventReader reader = INPUT_FACTORY.createXMLEventReader(inputStream);
+
+    try {
+      Deque<String> path = new ArrayDeque<>();
+
+      while (reader.hasNext()) {
+        XMLEvent event = reader.nextEvent();
+
+        if (event.isStartElement()) {
+          String name = event.asStartElement().getName().getLocalPart();
+
+          if (ELEMENT_TEI.equals(name) && !inTEI) {
+            inTEI = true;
+            teiIndex++;
+            msDescIndex = 0;
+          } else if (inTEI && isSplitMsDesc(event.asStartElement())) {
+            consumer.accept(writeFragment(skeletons.get(teiIndex), msDescIndex++, event.asStartElement(),
+                reader));
+            fragments++;
+            continue;
+          }
+          path.push(name);
+        } else if (event.isEndElement()) {
+          path.pop();
+          if (inTEI && !path.contains(ELEMENT_TEI)) {
+            inTEI = false;
+          }
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return fragments;
+  }
+
+  private static byte[] writeFragment(Skeleton skeleton, int msDescIndex, StartElement msDesc,
+      XMLEventReader reader) throws XMLStreamException {
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    XMLEventWriter writer = OUTPUT_FACTORY
+        .createXMLEventWriter(outputStream, StandardCharsets.UTF_8.name());
+
+    try {
+      writer.add(EVENT_FACTORY.createStartDocument(StandardCharsets.UTF_8.name(), "1.0"));
+
+      for (XMLEvent event : skeleton.prefix(msDescIndex)) {
+        writer.add(event);
+      }
+
+      writer.add(msDesc);
+      int depth = 1;
+      while (depth > 0) {
+        XMLEvent event = reader.nextEvent();
+        if (event.isStartElement()) {
+          depth++;
+        } else if (event.isEndElement()) {
+          depth--;
+        }
+        writer.add(event);
+      }
+
+      for (XMLEvent event : skeleton.suffix(msDescIndex)) {
+        writer.add(event);
+      }
+
+      writer.add(EVENT_FACTORY.createEndDocument());
+      writer.flush();
+    } finally {
+      writer.close();
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static boolean isSplitMsDesc(StartElement element) {
+    if (!ELEMENT_MS_DESC.equals(element.getName().getLocalPart())) {
+      return false;
+    }
+    Attribute id = element.getAttributeByName(ATTRIBUTE_XML_ID);
+    return Objects.nonNull(id) && !id.getValue().isEmpty();
+  }
+
+  private static void skipElement(XMLEventReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      XMLEvent event = reader.nextEvent();
+      if (event.isStartElement()) {
+        depth++;
+      } else if (event.isEndElement()) {
+        depth--;
+      }
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+
+  private static XMLOutputFactory createOutputFactory() {
+    XMLOutputFactory factory = XMLOutputFactory.newInstance();
+    factory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    return factory;
+  }
+
+  @FunctionalInterface
+  public interface FragmentConsumer {
+
+    void accept(byte[] fragment) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface InputStreamSource {
+
+    InputStream open() throws IOException;
+  }
+
+  static class Skeleton {
+
+    private final List<XMLEvent> events = new ArrayList<>();
+    private final List<Integer> msDescPositions = new ArrayList<>();
+
+    void addMsDesc() {
+      msDescPositions.add(events.size());
+    }
+
+    int getMsDescCount() {
+      return msDescPositions.size();
+    }
+
+    List<XMLEvent> prefix(int msDescIndex) {
+      return events.subList(0, msDescPositions.get(msDescIndex));
+    }
+
+    List<XMLEvent> suffix(int msDescIndex) {
+      return events.subList(msDescPositions.get(msDescIndex), events.size());
+    }
+  }
+}
@@ -25,8 +25,8 @@
 package de.staatsbibliothek.berlin.hsp.mapper.tei;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -77,16 +77,27 @@ public class TEIQuery {
   }
 
   public static Optional<String> queryForTermOriginGNDID(Beschreibung beschreibung) {
+    try {
+
+      List<TEI> teis = PooledTEIObjectFactory
+          .unmarshal(
+              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
+      return queryForTermOriginGNDID(teis.get(0));
+
+    } catch (Exception e) {
+      log.error("Error during find GNDID of Entstehungsort", e);
+    }
+    return Optional.empty();
+  }
+
+  public static Optional<String> queryForTermOriginGNDID(TEI tei) {
     List<Term> termList = new ArrayList<>();
     List<MsDesc> msDescList = new ArrayList<>();
     AtomicReference<Optional<String>> result = new AtomicReference<>(Optional.empty());
 
     try {
 
-      List<TEI> teis = TEIObjectFactory
-          .unmarshal(
-              new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
-      TEICommon.findAll(MsDesc.class, teis.get(0), msDescList);
+      TEICommon.findAll(MsDesc.class, tei, msDescList);
       TEICommon.findAll(Term.class, msDescList.get(0).getHeads().get(0), termList);
       termList.stream().filter(t -> ORIG_PLACE_NORM.equals(t.getType()))
           .findFirst()
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.tei;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.xml.bind.JAXBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * Holds the unmarshalled TEI of a Beschreibung while several TEI commands are applied to it. The
+ * TEI XML is parsed once in {@link #open(Beschreibung)} and written back to the Beschreibung
+ * only once in {@link #write()}, and only if one of the commands has changed the document.
+ *
+ * @since 17.10.2026
+ */
+public class TEIWorkingDocument {
+
+  private static final Logger logger = LoggerFactory.getLogger(TEIWorkingDocument.class);
+
+  private final Beschreibung beschreibung;
+
+  private final TEI tei;
+
+  private boolean modified;
+
+  TEIWorkingDocument(Beschreibung beschreibung, TEI tei) {
+    this.beschreibung = Objects.requireNonNull(beschreibung);
+    this.tei = Objects.requireNonNull(tei);
+  }
+
+  public static Optional<TEIWorkingDocument> open(Beschreibung beschreibung) throws JAXBException {
+    if (Objects.isNull(beschreibung) || Objects.isNull(beschreibung.getTeiXML())) {
+      return Optional.empty();
+    }
+
+    List<TEI> teis = PooledTEIObjectFactory
+        .unmarshal(new ByteArrayInputStream(beschreibung.getTeiXML().getBytes(StandardCharsets.UTF_8)));
+
+    if (teis.size() != 1) {
+      logger.warn("Unable to open TEI of beschreibung {}, found {} TEI elements", beschreibung.getId(),
+          teis.size());
+      return Optional.empty();
+    }
+
+    return Optional.of(new TEIWorkingDocument(beschreibung, teis.get(0)));
+  }
+
+  public Beschreibung getBeschreibung() {
+    return beschreibung;
+  }
+
+  public TEI getTEI() {
+    return tei;
+  }
+
+  public boolean isModified() {
+    return modified;
+  }
+
+  void markModified() {
+    this.modified = true;
+  }
+
+  public void write() throws JAXBException {
+    if (modified) {
+      logger.debug("Write TEI of beschreibung {}", beschreibung.getId());
+      beschreibung.setTeiXML(PooledTEIObjectFactory.marshal(tei));
+      modified = false;
+    }
+  }
+}
@@ -26,8 +26,8 @@ package de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.BeschreibungsTyp;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
@@ -69,7 +69,7 @@ public class BeschreibungsTemplateMapper {
     try (InputStream inputStream = BeschreibungsTemplateMapper.class.getClassLoader()
         .getResourceAsStream("tei/" + templateName)) {
 
-      List<TEI> teiList = TEIObjectFactory.unmarshal(inputStream);
+      List<TEI> teiList = PooledTEIObjectFactory.unmarshal(inputStream);
 
       if (teiList.size() == 1) {
 
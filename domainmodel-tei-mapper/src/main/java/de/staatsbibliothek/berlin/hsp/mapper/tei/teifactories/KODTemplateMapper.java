@@ -25,10 +25,10 @@
 package de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIUpdatePURLsCommand;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -52,7 +52,7 @@ public class KODTemplateMapper {
 
   public static TEI createTEIFromInitialTemplate(KulturObjektDokument kod) throws Exception {
 
-    List<TEI> teiList = TEIObjectFactory
+    List<TEI> teiList = PooledTEIObjectFactory
         .unmarshal(KODTemplateMapper.class.getClassLoader()
             .getResourceAsStream("tei/" + KOD_INITIAL_TEMPLATE));
 
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.api.factory;
+
+import static java.nio.file.Files.newInputStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBException;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.tei_c.ns._1.TEI;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.diff.Diff;
+
+/**
+ * @since 17.10.2026
+ */
+class TEIMarshallerPoolTest {
+
+  static TEI tei;
+
+  @BeforeAll
+  static void init() throws Exception {
+    Path teiFilePath = Paths.get("src", "test", "resources", "tei", "tei-msDesc_Westphal.xml");
+    try (InputStream is = newInputStream(teiFilePath)) {
+      tei = TEIObjectFactory.unmarshal(is).get(0);
+    }
+  }
+
+  @Test
+  void testMarshalLikeTEIObjectFactory() throws Exception {
+    TEIMarshallerPool pool = new TEIMarshallerPool(null, 2);
+
+    String expected = TEIObjectFactory.marshal(tei);
+
+    assertSimilar(expected, pool.marshal(tei));
+
+    List<TEI> teis = pool.unmarshal(new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(1, teis.size());
+    assertSimilar(expected, TEIObjectFactory.marshal(teis.get(0)));
+    assertFalse(pool.isSchemaValidation());
+  }
+
+  @Test
+  void testHitsAndMisses() throws Exception {
+    TEIMarshallerPool pool = new TEIMarshallerPool(null, 1);
+
+    String xml = pool.marshal(tei);
+    assertEquals(0, pool.getHits());
+    assertEquals(1, pool.getMisses());
+    assertEquals(1, pool.getIdleMarshallers());
+
+    pool.marshal(tei);
+    assertEquals(1, pool.getHits());
+    assertEquals(1, pool.getMisses());
+
+    pool.unmarshalOne(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    pool.unmarshalOne(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(2, pool.getHits());
+    assertEquals(2, pool.getMisses());
+    assertEquals(1, pool.getIdleUnmarshallers());
+  }
+
+  @Test
+  void testConcurrentUse() throws Exception {
+    TEIMarshallerPool pool = new TEIMarshallerPool(null, 2);
+    String expected = pool.marshal(tei);
+
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<String>> tasks = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        tasks.add(() -> pool.marshal(pool
+            .unmarshalOne(new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)))
+            .orElseThrow()));
+      }
+      for (Future<String> result : executorService.invokeAll(tasks)) {
+        assertEquals(expected, result.get());
+      }
+    } finally {
+      executorService.shutdown();
+    }
+
+    assertEquals(33, pool.getHits() + pool.getMisses());
+    assertTrue(pool.getIdleMarshallers() <= 2);
+  }
+
+  @ParameterizedTest
+  @MethodSource("teiFiles")
+  void testUnmarshalLikeTEIObjectFactory(Path teiFile) throws Exception {
+    TEIMarshallerPool pool = new TEIMarshallerPool(null, 1);
+
+    List<TEI> expected;
+    try (InputStream is = newInputStream(teiFile)) {
+      expected = TEIObjectFactory.unmarshal(is);
+    } catch (Exception e) {
+      try (InputStream is = newInputStream(teiFile)) {
+        assertThrows(JAXBException.class, () -> pool.unmarshal(is));
+      }
+      return;
+    }
+
+    List<TEI> actual;
+    try (InputStream is = newInputStream(teiFile)) {
+      actual = pool.unmarshal(is);
+    }
+
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSimilar(TEIObjectFactory.marshal(expected.get(i)), pool.marshal(actual.get(i)));
+    }
+  }
+
+  @Test
+  void testSchemaValidation() throws Exception {
+    String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" "
+        + "targetNamespace=\"http://www.tei-c.org/ns/1.0\"><xs:element name=\"teiCorpus\"/></xs:schema>";
+    Schema schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+        .newSchema(new StreamSource(new StringReader(xsd)));
+    byte[] xml = TEIObjectFactory.marshal(tei).getBytes(StandardCharsets.UTF_8);
+
+    TEIMarshallerPool pool = new TEIMarshallerPool(schema, 1);
+    assertTrue(pool.isSchemaValidation());
+    assertThrows(JAXBException.class, () -> pool.unmarshal(new ByteArrayInputStream(xml)));
+
+    TEIMarshallerPool defaultPool = TEIMarshallerPool.getDefault();
+    try {
+      PooledTEIObjectFactory.setSchemaValidation(schema);
+      assertTrue(PooledTEIObjectFactory.isSchemaValidation());
+      assertThrows(JAXBException.class, () -> PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(xml)));
+
+      PooledTEIObjectFactory.setSchemaValidation(null);
+      assertFalse(PooledTEIObjectFactory.isSchemaValidation());
+      assertEquals(1, PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(xml)).size());
+    } finally {
+      TEIMarshallerPool.setDefault(defaultPool);
+    }
+  }
+
+  @Test
+  void testInvalidPoolSize() {
+    assertThrows(IllegalArgumentException.class, () -> new TEIMarshallerPool(null, 0));
+  }
+
+  static Stream<Path> teiFiles() throws IOException {
+    try (Stream<Path> files = Files.list(Paths.get("src", "test", "resources", "tei"))) {
+      return files.filter(file -> file.toString().endsWith(".xml"))
+          .sorted()
+          .collect(Collectors.toList())
+          .stream();
+    }
+  }
+
+  private static void assertSimilar(String expected, String actual) {
+    Diff diff = DiffBuilder.compare(expected)
+        .withTest(actual)
+        .ignoreComments()
+        .ignoreWhitespace()
+        .build();
+
+    assertFalse(diff.hasDifferences(), diff.toString());
+  }
+}
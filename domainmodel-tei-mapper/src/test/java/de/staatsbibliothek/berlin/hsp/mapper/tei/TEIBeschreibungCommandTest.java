@@ -356,6 +356,20 @@ class TEIBeschreibungCommandTest {
     assertTrue(beschreibung.getTeiXML().contains(KATALOG_MANIFEST_URL));
   }
 
+  @Test
+  void testUpdateKatalogRangeReference_missingRangeIdentifier() throws Exception {
+    String teiXML = TEIObjectFactory.marshal(tei_Aurich);
+    Beschreibung beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("HSP123")
+        .withTEIXml(teiXML)
+        .withVerwaltungsTyp(VerwaltungsTyp.EXTERN)
+        .build();
+
+    assertThrows(IllegalArgumentException.class, () -> TEIBeschreibungCommand.updateKatalogReferences(
+        null, beschreibung, new URI(KATALOG_MANIFEST_URL)));
+    assertEquals(teiXML, beschreibung.getTeiXML());
+  }
+
   @Test
   void testUpdateKatalogRangeReference_noBiblScope_noBiblN() throws Exception {
     Path teiFilePathNoBiblScope = Paths.get("src", "test", "resources", "tei",
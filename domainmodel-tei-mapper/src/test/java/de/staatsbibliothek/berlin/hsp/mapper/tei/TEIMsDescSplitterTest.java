@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.tei;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tei_c.ns._1.MsDesc;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * @since 17.10.2026
+ */
+class TEIMsDescSplitterTest {
+
+  static final Path TEI_KOD_BESCHREIBUNG = Paths.get("src", "test", "resources", "tei",
+      "tei-kod-beschreibung.xml");
+
+  static final String ID_KOD = "HSP-0037fea7-58e0-3df9-a45c-488a7ee7e752";
+  static final String ID_BESCHREIBUNG = "HSP-b4dec8f6-88d3-329f-8bc9-cecd6d13c001";
+
+  @Test
+  void testSplit() throws Exception {
+    List<String> fragments = new ArrayList<>();
+
+    int count = TEIMsDescSplitter.split(TEI_KOD_BESCHREIBUNG,
+        fragment -> fragments.add(new String(fragment, StandardCharsets.UTF_8)));
+
+    assertEquals(2, count);
+    assertEquals(2, fragments.size());
+
+    assertTrue(fragments.get(0).contains(ID_KOD));
+    assertFalse(fragments.get(0).contains(ID_BESCHREIBUNG));
+    assertTrue(fragments.get(1).contains(ID_BESCHREIBUNG));
+    assertFalse(fragments.get(1).contains(ID_KOD));
+
+    for (String fragment : fragments) {
+      List<TEI> teis = TEIObjectFactory
+          .unmarshal(new ByteArrayInputStream(fragment.getBytes(StandardCharsets.UTF_8)));
+
+      assertEquals(1, teis.size());
+
+      List<MsDesc> msDescs = TEIQuery.queryForMsDescAsBeschreibung(teis.get(0));
+      assertEquals(1, msDescs.size());
+      assertTrue(fragment.contains("<revisionDesc"));
+      assertTrue(fragment.contains("<publicationStmt"));
+    }
+  }
+
+  @Test
+  void testSplitTEICorpus() throws Exception {
+    String corpus = "<teiCorpus xmlns=\"http://www.tei-c.org/ns/1.0\"><teiHeader/>"
+        + "<TEI><teiHeader><fileDesc><sourceDesc>"
+        + "<msDesc xml:id=\"a\"><p>a</p></msDesc><msDesc xml:id=\"b\"/>"
+        + "</sourceDesc></fileDesc></teiHeader><text/></TEI>"
+        + "<TEI><teiHeader><fileDesc><sourceDesc><msDesc xml:id=\"c\"/></sourceDesc></fileDesc></teiHeader></TEI>"
+        + "</teiCorpus>";
+
+    List<String> fragments = new ArrayList<>();
+
+    int count = TEIMsDescSplitter.split(corpus.getBytes(StandardCharsets.UTF_8),
+        fragment -> fragments.add(new String(fragment, StandardCharsets.UTF_8)));
+
+    assertEquals(3, count);
+    assertTrue(fragments.get(0).contains("<TEI xmlns=\"http://www.tei-c.org/ns/1.0\">"));
+    assertTrue(fragments.get(0).contains("<msDesc xml:id=\"a\"><p>a</p></msDesc></sourceDesc>"));
+    assertTrue(fragments.get(0).contains("<text"));
+    assertTrue(fragments.get(1).contains("<sourceDesc><msDesc xml:id=\"b\">"));
+    assertFalse(fragments.get(2).contains("<text"));
+  }
+
+  @Test
+  void testSplitBody() throws Exception {
+    String tei = "<TEI xmlns=\"http://www.tei-c.org/ns/1.0\"><teiHeader><fileDesc><sourceDesc>"
+        + "<msDesc xml:id=\"a\"/></sourceDesc></fileDesc></teiHeader>"
+        + "<text><body><msDesc xml:id=\"b\"/><msDesc xml:id=\"c\"/></body></text></TEI>";
+
+    List<String> fragments = new ArrayList<>();
+
+    int count = TEIMsDescSplitter.split(tei.getBytes(StandardCharsets.UTF_8),
+        fragment -> fragments.add(new String(fragment, StandardCharsets.UTF_8)));
+
+    assertEquals(3, count);
+    assertTrue(fragments.get(0).contains("<sourceDesc><msDesc xml:id=\"a\"></msDesc></sourceDesc>"));
+    assertTrue(fragments.get(0).contains("<body></body>"));
+    assertTrue(fragments.get(1).contains("<sourceDesc></sourceDesc>"));
+    assertTrue(fragments.get(1).contains("<body><msDesc xml:id=\"b\"></msDesc></body>"));
+    assertTrue(fragments.get(2).contains("<body><msDesc xml:id=\"c\"></msDesc></body>"));
+  }
+
+  @Test
+  void testSplitNestedMsDesc() throws Exception {
+    String tei = "<TEI xmlns=\"http://www.tei-c.org/ns/1.0\"><teiHeader><fileDesc><sourceDesc>"
+        + "<msDesc xml:id=\"a\"><msPart><msDesc xml:id=\"b\"/></msPart></msDesc>"
+        + "<msDesc><msContents><msDesc xml:id=\"c\"/></msContents></msDesc>"
+        + "</sourceDesc></fileDesc></teiHeader></TEI>";
+
+    List<String> fragments = new ArrayList<>();
+
+    int count = TEIMsDescSplitter.split(tei.getBytes(StandardCharsets.UTF_8),
+        fragment -> fragments.add(new String(fragment, StandardCharsets.UTF_8)));
+
+    assertEquals(2, count);
+    assertTrue(fragments.get(0).contains("<msDesc xml:id=\"a\"><msPart><msDesc xml:id=\"b\"></msDesc></msPart>"));
+    assertTrue(fragments.get(0).contains("<msDesc><msContents></msContents></msDesc>"));
+    assertFalse(fragments.get(0).contains("xml:id=\"c\""));
+    assertTrue(fragments.get(1).contains("<msDesc><msContents><msDesc xml:id=\"c\"></msDesc></msContents>"));
+    assertFalse(fragments.get(1).contains("xml:id=\"a\""));
+    assertFalse(fragments.get(1).contains("xml:id=\"b\""));
+  }
+
+  @Test
+  void testMapFragmentsOfBody() throws Exception {
+    TEI2BeschreibungMapper mapper = new TEI2BeschreibungMapper();
+
+    List<Beschreibung> beschreibungen = mapper.map(Files.readAllBytes(
+        Paths.get("src", "test", "resources", "tei", "tei-msDesc_Westphal.xml")));
+
+    assertEquals(1, beschreibungen.size());
+    assertEquals("mss_36-23-aug-2f_tei-msDesc_Westphal", beschreibungen.get(0).getId());
+  }
+
+  @Test
+  void testMapFragments() throws Exception {
+    TEI2BeschreibungMapper mapper = new TEI2BeschreibungMapper();
+
+    List<Beschreibung> beschreibungen = mapper.map(Files.readAllBytes(TEI_KOD_BESCHREIBUNG));
+
+    assertEquals(2, beschreibungen.size());
+    assertEquals(ID_KOD, beschreibungen.get(0).getId());
+    assertFalse(beschreibungen.get(0).getTeiXML().contains(ID_BESCHREIBUNG));
+    assertEquals(ID_BESCHREIBUNG, beschreibungen.get(1).getId());
+    assertFalse(beschreibungen.get(1).getTeiXML().contains(ID_KOD));
+  }
+}
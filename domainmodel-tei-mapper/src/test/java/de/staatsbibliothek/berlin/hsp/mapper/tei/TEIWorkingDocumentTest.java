@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.mapper.tei;
+
+import static java.nio.file.Files.newInputStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.domainmodel.entities.Publikation;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PublikationsTyp;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tei_c.ns._1.TEI;
+
+/**
+ * @since 17.10.2026
+ */
+class TEIWorkingDocumentTest {
+
+  static TEI tei;
+
+  @BeforeAll
+  static void init() throws Exception {
+    Path teiFilePath = Paths.get("src", "test", "resources", "tei", "tei-msDesc_Westphal.xml");
+    try (InputStream is = newInputStream(teiFilePath)) {
+      tei = TEIObjectFactory.unmarshal(is).get(0);
+    }
+  }
+
+  @Test
+  void testOpen() throws Exception {
+    assertTrue(TEIWorkingDocument.open(null).isEmpty());
+    assertTrue(TEIWorkingDocument.open(new Beschreibung.BeschreibungsBuilder().build()).isEmpty());
+
+    Beschreibung beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("HSP123")
+        .withTEIXml(TEIObjectFactory.marshal(tei))
+        .build();
+
+    Optional<TEIWorkingDocument> document = TEIWorkingDocument.open(beschreibung);
+
+    assertTrue(document.isPresent());
+    assertSame(beschreibung, document.get().getBeschreibung());
+    assertFalse(document.get().isModified());
+  }
+
+  @Test
+  void testWriteOnlyIfModified() throws Exception {
+    String teiXML = TEIObjectFactory.marshal(tei);
+    Beschreibung beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("HSP123")
+        .withTEIXml(teiXML)
+        .build();
+
+    TEIWorkingDocument document = TEIWorkingDocument.open(beschreibung).orElseThrow();
+    document.write();
+
+    assertSame(teiXML, beschreibung.getTeiXML());
+
+    document.markModified();
+    document.write();
+
+    assertFalse(document.isModified());
+  }
+
+  @Test
+  void testApplySeveralCommands() throws Exception {
+    LocalDateTime datum = LocalDateTime.of(2020, Month.FEBRUARY, 1, 20, 2);
+
+    Beschreibung beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("HSP123")
+        .withTEIXml(TEIObjectFactory.marshal(tei))
+        .withVerwaltungsTyp(VerwaltungsTyp.INTERN)
+        .withKodID("HSP-123456")
+        .withAenderungsDatum(datum)
+        .addPublikation(new Publikation("123", datum, PublikationsTyp.PUBLIKATION_HSP))
+        .build();
+
+    Beschreibung expected = new Beschreibung.BeschreibungsBuilder()
+        .withId("HSP123")
+        .withTEIXml(beschreibung.getTeiXML())
+        .withVerwaltungsTyp(VerwaltungsTyp.INTERN)
+        .withKodID("HSP-123456")
+        .withAenderungsDatum(datum)
+        .addPublikation(new Publikation("123", datum, PublikationsTyp.PUBLIKATION_HSP))
+        .build();
+
+    TEIBeschreibungCommand.updatePublikationsdatumHSP(expected);
+    TEIBeschreibungCommand.updateAenderungsdatum(expected);
+    TEIBeschreibungCommand.updateBeschreibungsIDAndType(expected);
+
+    TEIWorkingDocument document = TEIWorkingDocument.open(beschreibung).orElseThrow();
+    TEIBeschreibungCommand.updatePublikationsdatumHSP(document);
+    TEIBeschreibungCommand.updateAenderungsdatum(document);
+    TEIBeschreibungCommand.updateBeschreibungsIDAndType(document);
+
+    assertTrue(document.isModified());
+    document.write();
+
+    assertEquals(expected.getTeiXML(), beschreibung.getTeiXML());
+    assertTrue(beschreibung.getTeiXML().contains("id=\"HSP123\""));
+    assertTrue(beschreibung.getTeiXML()
+        .contains("<date when=\"2020-02-01\" type=\"secondary\">2020-02-01 20:02:00</date>"));
+  }
+}
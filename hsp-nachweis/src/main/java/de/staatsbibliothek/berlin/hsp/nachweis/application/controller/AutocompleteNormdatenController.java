@@ -26,10 +26,12 @@ package de.staatsbibliothek.berlin.hsp.nachweis.application.controller;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.faces.view.ViewScoped;
 import javax.inject.Inject;
@@ -50,11 +52,18 @@ public class AutocompleteNormdatenController implements Serializable {
 
   private transient NormdatenReferenzBoundary normdatenReferenzBoundary;
 
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   @Inject
   public AutocompleteNormdatenController(NormdatenReferenzBoundary normdatenReferenzBoundary) {
     this.normdatenReferenzBoundary = normdatenReferenzBoundary;
   }
 
+  @Inject
+  public void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   public List<NormdatenReferenz> autocompleteOrt(String keyValue) {
     log.info("Autocomplete for Ort: keyValue {} ", keyValue);
 
@@ -78,6 +87,12 @@ public class AutocompleteNormdatenController implements Serializable {
       return List.of();
     }
 
+    Optional<List<NormdatenReferenz>> fromSnapshot = Objects.isNull(normdatenSnapshot) ? Optional.empty()
+        : normdatenSnapshot.findByPrefix(idOrName, type);
+    if (fromSnapshot.isPresent()) {
+      return fromSnapshot.get();
+    }
+
     return normdatenReferenzBoundary.findAllByIdOrNameAndType(idOrName, type, false)
         .stream()
         .sorted(Comparator.comparing(NormdatenReferenz::getName))
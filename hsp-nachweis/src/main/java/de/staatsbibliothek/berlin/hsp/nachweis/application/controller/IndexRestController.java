@@ -37,6 +37,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -96,14 +97,46 @@ public class IndexRestController {
     return processAsyncIndexJobEvent(indexJob);
   }
 
+  /**
+   * @param from if set, only KODs with IDs greater than {@code from} are indexed
+   * @param to   if set, only KODs with IDs less than or equal to {@code to} are indexed
+   */
   @POST()
   @Produces({MediaType.APPLICATION_JSON})
-  public Response indexingKods() {
-    logger.info("REST API indexkods Request for indexing KODs");
-    IndexJob indexJob = new IndexJob(indexJobStatusBoundry);
+  public Response indexingKods(@QueryParam("from") String from, @QueryParam("to") String to) {
+    logger.info("REST API indexkods Request for indexing KODs from {} to {}", from, to);
+    IndexJob indexJob = new IndexJob(indexJobStatusBoundry, from, to);
     return processAsyncIndexJobEvent(indexJob);
   }
 
+  @POST()
+  @Path("/status/{id}/resume")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response resumeIndexJob(@PathParam("id") long id) {
+    logger.info("REST API indexkods Request for resuming IndexJob with id {} ", id);
+
+    if (indexJobStatusBoundry.findById(id).isEmpty()) {
+      return Response.status(Status.NOT_FOUND).entity("Entity not found for indexJobStatus: " + id).build();
+    }
+    return indexJobStatusBoundry.claimForResume(id)
+        .map(indexJobStatus -> processAsyncIndexJobEvent(new IndexJob(indexJobStatus)))
+        .orElseGet(() -> Response.status(Status.CONFLICT).entity("IndexJob can't be resumed: " + id).build());
+  }
+
+  @POST()
+  @Path("/status/{id}/cancel")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response cancelIndexJob(@PathParam("id") long id) {
+    logger.info("REST API indexkods Request for cancelling IndexJob with id {} ", id);
+
+    if (indexJobStatusBoundry.findById(id).isEmpty()) {
+      return Response.status(Status.NOT_FOUND).entity("Entity not found for indexJobStatus: " + id).build();
+    }
+    return indexJobStatusBoundry.cancel(id)
+        .map(indexJobStatus -> Response.status(Status.OK).entity(indexJobStatus).build())
+        .orElseGet(() -> Response.status(Status.CONFLICT).entity("IndexJob isn't running: " + id).build());
+  }
+
   private Response processAsyncIndexJobEvent(IndexJob indexJob) {
     Response response;
     try {
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.application.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintrag;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintragConsumer;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * REST API to export all results of a search as CSV or JSON. The results are read from SOLR page by page with
+ * cursorMarks and written to the response while the export is running, so neither SOLR nor this service has to hold
+ * the whole result.
+ *
+ * @since 17.10.2026
+ */
+@Path("/suche")
+public class SucheRestController {
+
+  static final String FORMAT_CSV = "csv";
+  static final String FORMAT_JSON = "json";
+  static final String MEDIA_TYPE_CSV = "text/csv";
+  static final char CSV_SEPARATOR = ';';
+  static final List<String> CSV_HEADER = Arrays.asList("id", "typ", "signatur", "titel",
+      "bestandhaltendeInstitutionName", "bestandhaltendeInstitutionOrt", "jahrDerPublikation", "lastUpdate",
+      "verwaltungsTyp", "publiziert", "containsDigitalisat", "containsBeschreibung", "containsBuchschmuck",
+      "autoren");
+
+  private static final Logger logger = LoggerFactory.getLogger(SucheRestController.class);
+
+  private final SuchDokumentBoundary suchDokumentBoundary;
+
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public SucheRestController(SuchDokumentBoundary suchDokumentBoundary, ObjectMapper objectMapper) {
+    this.suchDokumentBoundary = suchDokumentBoundary;
+    this.objectMapper = objectMapper;
+  }
+
+  static String toCsvLine(List<?> values) {
+    StringBuilder line = new StringBuilder();
+    for (Object value : values) {
+      if (line.length() > 0) {
+        line.append(CSV_SEPARATOR);
+      }
+      if (Objects.nonNull(value)) {
+        line.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+      }
+    }
+    return line.append("\r\n").toString();
+  }
+
+  static List<Object> toCsvValues(ErgebnisEintrag eintrag) {
+    return Arrays.asList(eintrag.getId(), eintrag.getTyp(), eintrag.getSignatur(), eintrag.getTitle(),
+        eintrag.getBestandhaltendeInstitutionName(), eintrag.getBestandhaltendeInstitutionOrt(),
+        eintrag.getJahrDerPublikation(), eintrag.getLastUpdate(), eintrag.getVerwaltungsTyp(),
+        eintrag.getPubliziert(), eintrag.getContainsDigitalisat(), eintrag.getContainsBeschreibung(),
+        eintrag.getContainsBuchschmuck(),
+        Objects.nonNull(eintrag.getAutoren()) ? String.join(", ", eintrag.getAutoren()) : null);
+  }
+
+  /**
+   * Exports the results of a search with the same filters as the search in the UI. Several institutions and authors
+   * are given as repeated parameters, the dates of the last update as ISO dates (yyyy-MM-dd).
+   */
+  @GET
+  @Path("/export")
+  @Produces({MEDIA_TYPE_CSV, MediaType.APPLICATION_JSON})
+  public Response export(@QueryParam("query") String query,
+      @QueryParam("typ") String typ,
+      @QueryParam("containsDigitalisat") boolean containsDigitalisat,
+      @QueryParam("containsBuchschmuck") boolean containsBuchschmuck,
+      @QueryParam("containsBeschreibung") boolean containsBeschreibung,
+      @QueryParam("publiziert") boolean publiziert,
+      @QueryParam("verwaltungsTyp") String verwaltungsTyp,
+      @QueryParam("institution") List<String> institutionen,
+      @QueryParam("autor") List<String> autoren,
+      @QueryParam("lastUpdateFrom") String lastUpdateFrom,
+      @QueryParam("lastUpdateTo") String lastUpdateTo,
+      @QueryParam("format") @DefaultValue(FORMAT_CSV) String format) {
+
+    logger.info("REST API export search results for query {}, typ {} as {}", query, typ, format);
+
+    Suche suche;
+    try {
+      suche = Suche.builder()
+          .withQuery(query)
+          .withFilterSuchDokumentTyp(Objects.nonNull(typ) ? SuchDokumentTyp.fromString(typ) : null)
+          .withFilterContainsDigitalisat(containsDigitalisat)
+          .withFilterContainsBuchschmuck(containsBuchschmuck)
+          .withFilterContainsBeschreibung(containsBeschreibung)
+          .withFilterPubliziert(publiziert)
+          .withFilterVerwaltungsTyp(toVerwaltungsTyp(verwaltungsTyp))
+          .withFilterBestandshaltendeInstitutionen(toArray(institutionen))
+          .withFilterAutoren(toArray(autoren))
+          .withFilterLastUpdateFrom(Objects.nonNull(lastUpdateFrom) ? LocalDate.parse(lastUpdateFrom) : null)
+          .withFilterLastUpdateTo(Objects.nonNull(lastUpdateTo) ? LocalDate.parse(lastUpdateTo) : null)
+          .build();
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return Response.status(Status.BAD_REQUEST).entity("Invalid filter: " + e.getMessage()).build();
+    }
+
+    if (FORMAT_CSV.equalsIgnoreCase(format)) {
+      return Response.ok(createCsvOutput(suche), MEDIA_TYPE_CSV + ";charset=UTF-8")
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"suche.csv\"")
+          .build();
+    }
+    if (FORMAT_JSON.equalsIgnoreCase(format)) {
+      return Response.ok(createJsonOutput(suche), MediaType.APPLICATION_JSON)
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"suche.json\"")
+          .build();
+    }
+    return Response.status(Status.BAD_REQUEST).entity("Unknown format " + format).build();
+  }
+
+  private static VerwaltungsTyp toVerwaltungsTyp(String verwaltungsTyp) {
+    if (Objects.isNull(verwaltungsTyp)) {
+      return null;
+    }
+    return VerwaltungsTyp.fromString(verwaltungsTyp)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown verwaltungsTyp " + verwaltungsTyp));
+  }
+
+  private static String[] toArray(List<String> values) {
+    return Objects.isNull(values) ? null : values.stream()
+        .filter(value -> Objects.nonNull(value) && !value.isBlank())
+        .toArray(String[]::new);
+  }
+
+  StreamingOutput createCsvOutput(Suche suche) {
+    return outputStream -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      writer.write(toCsvLine(CSV_HEADER));
+      export(suche, eintrag -> writer.write(toCsvLine(toCsvValues(eintrag))));
+      writer.flush();
+    };
+  }
+
+  StreamingOutput createJsonOutput(Suche suche) {
+    return outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.writeStartArray();
+        export(suche, generator::writeObject);
+        generator.writeEndArray();
+      }
+    };
+  }
+
+  private void export(Suche suche, ErgebnisEintragConsumer consumer) throws IOException {
+    try {
+      long exported = suchDokumentBoundary.export(suche, consumer);
+      logger.info("Exported {} search results", exported);
+    } catch (IOException e) {
+      logger.warn("Export of search results aborted: {}", e.getMessage());
+      throw e;
+    } catch (Exception e) {
+      logger.error("Error during export of search results", e);
+      throw new WebApplicationException(e, Status.INTERNAL_SERVER_ERROR);
+    }
+  }
+}
@@ -28,6 +28,7 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikator;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.controller.common.DataTableStoreController;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.javaee.authentication.interceptor.LoginCheck;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -38,7 +39,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 import javax.faces.application.FacesMessage;
@@ -89,6 +89,8 @@ public class KoerperschaftModel extends DataTableStoreController implements Seri
 
   private transient NormdatenReferenzBoundary normdatenReferenzBoundary;
 
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   private List<NormdatenReferenz> allKoerperschaften;
 
   private List<NormdatenReferenz> filteredKoerperschaften;
@@ -104,13 +106,19 @@ public class KoerperschaftModel extends DataTableStoreController implements Seri
     this.normdatenReferenzBoundary = normdatenReferenzBoundary;
   }
 
+  @Inject
+  public void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   @PostConstruct
   void setup() {
     allKoerperschaften = new ArrayList<>();
     filteredKoerperschaften = null;
 
-    Set<NormdatenReferenz> newKoerperschaften = normdatenReferenzBoundary
-        .findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+    Collection<NormdatenReferenz> newKoerperschaften = Objects.isNull(normdatenSnapshot)
+        ? normdatenReferenzBoundary.findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true)
+        : normdatenSnapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
 
     if (Objects.isNull(newKoerperschaften) || newKoerperschaften.isEmpty()) {
       FacesMessage msg = new FacesMessage(FacesMessage.SEVERITY_ERROR,
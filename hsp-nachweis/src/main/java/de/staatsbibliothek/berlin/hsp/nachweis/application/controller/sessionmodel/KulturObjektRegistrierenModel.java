@@ -41,8 +41,10 @@ import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import java.io.IOException;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.enterprise.context.SessionScoped;
@@ -92,6 +94,10 @@ public class KulturObjektRegistrierenModel implements Serializable {
 
   private boolean renderProgressbar = false;
 
+  private volatile long registrierungGesamt;
+
+  private volatile long registrierungFortschritt;
+
   @Inject
   public KulturObjektRegistrierenModel(KulturObjektDokumentBoundary kulturObjektDokumentBoundary,
       BearbeiterBoundary bearbeiterBoundary, NormdatenReferenzBoundary normdatenReferenzBoundary) {
@@ -113,7 +119,11 @@ public class KulturObjektRegistrierenModel implements Serializable {
 
     regisrierungsZeit = LocalDateTime.now();
     registrierteKODs = null;
+    registrierungGesamt = 0;
+    registrierungFortschritt = 0;
 
+    List<KulturObjektDokumentViewModel> kods = new ArrayList<>();
+    List<KulturObjektDokumentViewModel> committedKods = new ArrayList<>();
     try {
 
       UploadedFile file = event.getFile();
@@ -131,20 +141,32 @@ public class KulturObjektRegistrierenModel implements Serializable {
             .findOneByIdOrNameAndType(koerperschaftViewModel.getId(), GNDEntityFact.CORPORATE_BODY_TYPE_NAME)
             .orElse(koerperschaftViewModel);
 
-        registrierteKODs = kulturObjektDokumentBoundary
-            .registrieren(bearbeiterBoundary.getLoggedBearbeiter(), ort, koerperschaftAllFields,
-                file.getContent()).stream()
-            .map(kod -> KulturObjektDokumentViewModelBuilder.KulturObjektDokumentViewModel()
-                .withId(kod.getId())
-                .withSignatur(kod.getGueltigeIdentifikation().getIdent())
-                .withAlternativeSignaturen(kod.getAlternativeIdentifikationen().stream()
-                    .map(i -> i.getIdent())
-                    .collect(Collectors.toList()))
-                .build())
-            .collect(Collectors.toList());
+        kulturObjektDokumentBoundary.registrieren(bearbeiterBoundary.getLoggedBearbeiter(), ort,
+            koerperschaftAllFields, file::getInputStream, (batch, registriert, gesamt, committed) -> {
+              List<KulturObjektDokumentViewModel> registrierteBatch = batch.stream()
+                  .map(kod -> KulturObjektDokumentViewModelBuilder.KulturObjektDokumentViewModel()
+                      .withId(kod.getId())
+                      .withSignatur(kod.getGueltigeIdentifikation().getIdent())
+                      .withAlternativeSignaturen(kod.getAlternativeIdentifikationen().stream()
+                          .map(i -> i.getIdent())
+                          .collect(Collectors.toList()))
+                      .build())
+                  .collect(Collectors.toList());
+              kods.addAll(registrierteBatch);
+              if (committed) {
+                committedKods.addAll(registrierteBatch);
+              }
+              registrierungGesamt = gesamt;
+              registrierungFortschritt = registriert;
+            });
+        registrierteKODs = kods;
       }
     } catch (KulturObjektDokumentRegistrierenException e) {
       handleRegistrationError(e);
+      // KODs of batches committed before the failure stay registered and are shown with the error
+      if (!committedKods.isEmpty()) {
+        registrierteKODs = committedKods;
+      }
     } catch (Exception error) {
       log.error("Error during file upload.", error);
     }
@@ -32,6 +32,7 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikator;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.controller.common.DataTableStoreController;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.javaee.authentication.interceptor.CheckPermission;
 import de.staatsbibliothek.berlin.javaee.authentication.interceptor.LoginCheck;
 import java.io.Serializable;
@@ -43,7 +44,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 import javax.faces.application.FacesMessage;
@@ -92,6 +92,8 @@ public class OrteModel extends DataTableStoreController implements Serializable
 
   private NormdatenReferenzBoundary normdatenReferenzBoundary;
 
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   OrteModel() {
     super(DATATABLE_WIDGET_VAR, ROOT_CLIENT_ID, COLUMS_INDEX,
         INITIAL_SORTING, COLUMNS_WIDTH, COLUMNS_VISABLE, INIT_HIT_PRO_PAGE, ALL_POSSIBLE_HIT_PRO_PAGE);
@@ -104,13 +106,19 @@ public class OrteModel extends DataTableStoreController implements Serializable
     this.normdatenReferenzBoundary = normdatenReferenzBoundary;
   }
 
+  @Inject
+  public void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   @PostConstruct
   public void setup() {
     allOrte = new ArrayList<>();
     filteredOrte = null;
 
-    Set<NormdatenReferenz> newOrte = normdatenReferenzBoundary
-        .findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true);
+    Collection<NormdatenReferenz> newOrte = Objects.isNull(normdatenSnapshot)
+        ? normdatenReferenzBoundary.findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true)
+        : normdatenSnapshot.findAll(NormdatenReferenz.ORT_TYPE_NAME);
 
     if (Objects.isNull(newOrte) || newOrte.isEmpty()) {
       FacesMessage msg = new FacesMessage(FacesMessage.SEVERITY_ERROR,
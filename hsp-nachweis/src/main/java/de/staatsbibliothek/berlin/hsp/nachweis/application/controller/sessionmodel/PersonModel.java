@@ -27,13 +27,15 @@ package de.staatsbibliothek.berlin.hsp.nachweis.application.controller.sessionmo
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.controller.common.DataTableStoreController;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
+import java.util.Objects;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
@@ -71,6 +73,8 @@ public class PersonModel extends DataTableStoreController implements Serializabl
 
   private transient NormdatenReferenzBoundary normdatenReferenzBoundary;
 
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   private transient List<NormdatenReferenz> normdatenPersonViews;
   private transient List<NormdatenReferenz> filteredPersons;
 
@@ -86,12 +90,18 @@ public class PersonModel extends DataTableStoreController implements Serializabl
     this.normdatenReferenzBoundary = normdatenReferenzBoundary;
   }
 
+  @Inject
+  public void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   @PostConstruct
   public void setup() {
     log.debug("Start setup");
 
-    Set<NormdatenReferenz> allPersons = normdatenReferenzBoundary
-        .findAllByIdOrNameAndType(null, NormdatenReferenz.PERSON_TYPE_NAME, true);
+    Collection<NormdatenReferenz> allPersons = Objects.isNull(normdatenSnapshot)
+        ? normdatenReferenzBoundary.findAllByIdOrNameAndType(null, NormdatenReferenz.PERSON_TYPE_NAME, true)
+        : normdatenSnapshot.findAll(NormdatenReferenz.PERSON_TYPE_NAME);
 
     normdatenPersonViews = new ArrayList<>(allPersons);
 
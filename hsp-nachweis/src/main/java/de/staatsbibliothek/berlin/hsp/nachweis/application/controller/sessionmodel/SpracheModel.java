@@ -31,10 +31,12 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikator;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.controller.common.DataTableStoreController;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.javaee.authentication.interceptor.LoginCheck;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -97,6 +99,8 @@ public class SpracheModel extends DataTableStoreController implements Serializab
 
   private transient NormdatenReferenzBoundary normdatenReferenzBoundary;
 
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   SpracheModel() {
     super(DATATABLE_WIDGET_VAR, ROOT_CLIENT_ID, COLUMS_INDEX,
         INITIAL_SORTING, COLUMNS_WIDTH, COLUMNS_VISABLE, INIT_HIT_PRO_PAGE,
@@ -109,13 +113,19 @@ public class SpracheModel extends DataTableStoreController implements Serializab
     this.normdatenReferenzBoundary = normdatenReferenzBoundary;
   }
 
+  @Inject
+  public void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   @PostConstruct
   void setup() {
     allSprachen.clear();
     filteredSprachen = null;
 
-    Set<NormdatenReferenz> newSprachen = normdatenReferenzBoundary
-        .findAllByIdOrNameAndType(null, NormdatenReferenz.SPRACHE_TYPE_NAME, true);
+    Collection<NormdatenReferenz> newSprachen = Objects.isNull(normdatenSnapshot)
+        ? normdatenReferenzBoundary.findAllByIdOrNameAndType(null, NormdatenReferenz.SPRACHE_TYPE_NAME, true)
+        : normdatenSnapshot.findAll(NormdatenReferenz.SPRACHE_TYPE_NAME);
 
     if (Objects.isNull(newSprachen) || newSprachen.isEmpty()) {
       FacesMessage msg = new FacesMessage(FacesMessage.SEVERITY_ERROR,
@@ -31,6 +31,7 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentBoundary
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrServiceException;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -54,6 +55,13 @@ public class LazyResearchErgebnisViewModel extends LazyDataModel<ErgebnisEintrag
 
   transient Suche suche;
 
+  /**
+   * CursorMarks of the pages that can be loaded with cursor paging, by the offset of the page.
+   */
+  transient Map<Integer, String> cursorMarks = new HashMap<>();
+
+  transient int cursorPageSize;
+
   private transient SuchDokumentBoundary suchDokumentBoundary;
 
   public LazyResearchErgebnisViewModel(final SuchDokumentBoundary suchDokumentBoundary) {
@@ -61,6 +69,11 @@ public class LazyResearchErgebnisViewModel extends LazyDataModel<ErgebnisEintrag
   }
 
   public List<ErgebnisEintrag> search(final Suche suche) throws SolrServiceException {
+    getCursorMarks().clear();
+    return searchPage(suche);
+  }
+
+  private List<ErgebnisEintrag> searchPage(final Suche suche) throws SolrServiceException {
     List<ErgebnisEintrag> result = null;
 
     this.suche = suche;
@@ -113,10 +126,19 @@ public class LazyResearchErgebnisViewModel extends LazyDataModel<ErgebnisEintrag
     List<ErgebnisEintrag> result = null;
 
     if (Objects.nonNull(suche)) {
-      suche.setPage(new Page(pageSize, first));
+      if (pageSize != cursorPageSize) {
+        getCursorMarks().clear();
+        cursorPageSize = pageSize;
+      }
+
+      String cursorMark = first == 0 ? Page.CURSOR_MARK_START : getCursorMarks().get(first);
+      suche.setPage(Objects.nonNull(cursorMark) ? new Page(pageSize, cursorMark) : new Page(pageSize, first));
 
       try {
-        result = search(suche);
+        result = searchPage(suche);
+        if (Objects.nonNull(ergebnis) && Objects.nonNull(ergebnis.getNextCursorMark())) {
+          getCursorMarks().put(first + pageSize, ergebnis.getNextCursorMark());
+        }
       } catch (SolrServiceException e) {
         log.warn("Unable to obtain search results {}", e.getMessage(), e);
       }
@@ -125,4 +147,11 @@ public class LazyResearchErgebnisViewModel extends LazyDataModel<ErgebnisEintrag
     return result;
   }
 
+  private Map<Integer, String> getCursorMarks() {
+    if (Objects.isNull(cursorMarks)) {
+      cursorMarks = new HashMap<>();
+    }
+    return cursorMarks;
+  }
+
 }
@@ -27,6 +27,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.BeschreibungListDTO;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.CRUDRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,6 +45,16 @@ public interface BeschreibungsRepository extends CRUDRepository<Beschreibung, St
 
   List<Beschreibung> findByKatalogId(String katalogId);
 
+  /**
+   * Keyset cursor over all IDs in ascending order.
+   *
+   * @param lastId last ID of the previous chunk, null for the first chunk
+   * @param limit  maximum number of IDs
+   */
+  List<String> findIdsAfter(String lastId, int limit);
+
+  List<Beschreibung> findByIds(Collection<String> ids);
+
   List<BeschreibungListDTO> findFilteredBeschreibungListDTOs(int first, int pageSize,
       Map<String, String> filterBy, Map<String, Boolean> sortByAsc);
 
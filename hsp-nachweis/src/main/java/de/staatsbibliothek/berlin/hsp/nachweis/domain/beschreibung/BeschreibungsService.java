@@ -573,7 +573,7 @@ public class BeschreibungsService implements BeschreibungsBoundary, Serializable
 
       beschreibung = beschreibungsRepository.save(beschreibung);
 
-      suchDokumentService.beschreibungUebernehmen(beschreibung);
+      suchDokumentService.beschreibungTeilweiseUebernehmen(beschreibung);
 
     } catch (Exception e) {
       throw new BeschreibungsException(getMessage("beschreibungservice_error_create_purl",
@@ -45,13 +45,13 @@ import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIKODAttributsReferenzCommand;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIKulturObjektDokumentCommand;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIQuery;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues;
+import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIWorkingDocument;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.exceptions.ActivityStreamsException;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamObjectTagId;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.controller.common.I18NController;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.event.DomainEvents.neueImporte;
@@ -73,9 +73,10 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgan
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgangBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaIndexingProducer;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenBatchResolver;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenBatchResolver.Batch;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenUpdateService;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
-import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -98,7 +99,6 @@ import javax.transaction.Transactional;
 import javax.transaction.Transactional.TxType;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.tei_c.ns._1.TEI;
 
 /**
  * Created by konrad.eichstaedt@sbb.spk-berlin.de on 06.06.2019.
@@ -140,6 +140,8 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
 
   private transient NormdatenUpdateService normdatenUpdateService;
 
+  private transient NormdatenBatchResolver normdatenBatchResolver;
+
   private transient PURLBoundary purlBoundary;
   private boolean purlAutogenerateEnabled;
 
@@ -155,15 +157,12 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
     List<Beschreibung> beschreibungen = new ArrayList<>();
 
     if (streamObject.getContent() != null) {
-      List<TEI> content = TEIObjectFactory
-          .unmarshal(new ByteArrayInputStream(streamObject.getContent()));
-      for (TEI tei : content) {
-        List<Beschreibung> mappedBeschreibungen = beschreibungMapper.map(tei);
-        for (Beschreibung beschreibung : mappedBeschreibungen) {
-          enhanceNormdatenReferenzSprache(beschreibung);
-        }
-        beschreibungen.addAll(mappedBeschreibungen);
+      List<Beschreibung> mappedBeschreibungen = beschreibungMapper.map(streamObject.getContent());
+      prefetchNormdatenReferenzSprachen(mappedBeschreibungen);
+      for (Beschreibung beschreibung : mappedBeschreibungen) {
+        enhanceNormdatenReferenzSprache(beschreibung);
       }
+      beschreibungen.addAll(mappedBeschreibungen);
     }
     return beschreibungen;
   }
@@ -300,6 +299,8 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
           activityStreamObject);
       if (importFile != null) {
 
+        prefetchEntstehungsorte(mappedBeschreibungen);
+
         for (Beschreibung beschreibung : mappedBeschreibungen) {
 
           Optional<Beschreibung> oldBeschreibungState = checkIfBeschreibungAlreadyExists(
@@ -385,27 +386,36 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
   void updateTEIDocuments(KulturObjektDokument kod, Beschreibung beschreibung)
       throws Exception {
 
-    TEIBeschreibungCommand.updatePublikationsdatumHSP(beschreibung);
-    TEIBeschreibungCommand.updateAenderungsdatum(beschreibung);
-    TEIBeschreibungCommand.updateBeschreibungsIDAndType(beschreibung);
     TEIKulturObjektDokumentCommand.updateKODBeschreibungenReferenzes(kod);
-    TEIBeschreibungCommand.updateSettlementAndRepositoryIDs(beschreibung, kod);
-    if (!beschreibung.getPURLs().isEmpty()) {
-      TEIBeschreibungCommand.updatePURLs(beschreibung);
-    }
-    Optional<String> gndid = TEIQuery.queryForTermOriginGNDID(beschreibung);
 
-    if (gndid.isPresent()) {
-      Optional<GNDEntityFact> gndEntityFact = normdatenUpdateService.createPlaceIfNotExist(
-          gndid.get());
+    Optional<TEIWorkingDocument> workingDocument = TEIWorkingDocument.open(beschreibung);
 
-      log.debug("Update Beschreibung with GNDEntity {0} " + gndEntityFact.isPresent());
+    if (workingDocument.isPresent()) {
+      TEIWorkingDocument document = workingDocument.get();
 
-      if (gndEntityFact.isPresent()) {
-        log.debug("Update Beschreibung with GNDEntity {0} " + gndEntityFact.get());
-        TEIBeschreibungCommand.updateEntstehungsortID(beschreibung,
-            gndEntityFact.get().getId(), gndEntityFact.get().getPreferredName());
+      TEIBeschreibungCommand.updatePublikationsdatumHSP(document);
+      TEIBeschreibungCommand.updateAenderungsdatum(document);
+      TEIBeschreibungCommand.updateBeschreibungsIDAndType(document);
+      TEIBeschreibungCommand.updateSettlementAndRepositoryIDs(document, kod);
+      if (!beschreibung.getPURLs().isEmpty()) {
+        TEIBeschreibungCommand.updatePURLs(document);
       }
+      Optional<String> gndid = TEIQuery.queryForTermOriginGNDID(document.getTEI());
+
+      if (gndid.isPresent()) {
+        Optional<GNDEntityFact> gndEntityFact = normdatenUpdateService.createPlaceIfNotExist(
+            gndid.get());
+
+        log.debug("Update Beschreibung with GNDEntity {0} " + gndEntityFact.isPresent());
+
+        if (gndEntityFact.isPresent()) {
+          log.debug("Update Beschreibung with GNDEntity {0} " + gndEntityFact.get());
+          TEIBeschreibungCommand.updateEntstehungsortID(document,
+              gndEntityFact.get().getId(), gndEntityFact.get().getPreferredName());
+        }
+      }
+
+      document.write();
     }
 
     teiXmlTransformationBoundary.transformTei2Hsp(beschreibung);
@@ -671,6 +681,28 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
             + " nicht gefunden werden!");
   }
 
+  void prefetchNormdatenReferenzSprachen(List<Beschreibung> beschreibungen) {
+    if (Objects.isNull(normdatenBatchResolver) || !normdatenBatchResolver.isEnabled()) {
+      return;
+    }
+    Batch batch = normdatenBatchResolver.createBatch();
+    beschreibungen.stream()
+        .map(Beschreibung::getBeschreibungsSprache)
+        .filter(Objects::nonNull)
+        .forEach(sprache -> batch.addLanguageId(sprache.getName()));
+    normdatenBatchResolver.resolve(batch);
+  }
+
+  void prefetchEntstehungsorte(List<Beschreibung> beschreibungen) {
+    if (Objects.isNull(normdatenBatchResolver) || !normdatenBatchResolver.isEnabled()) {
+      return;
+    }
+    Batch batch = normdatenBatchResolver.createBatch();
+    beschreibungen.forEach(beschreibung -> TEIQuery.queryForTermOriginGNDID(beschreibung)
+        .ifPresent(gndid -> batch.addIdOrName(gndid, GNDEntityFact.PLACE_TYPE_NAME)));
+    normdatenBatchResolver.resolve(batch);
+  }
+
   protected void enhanceNormdatenReferenzSprache(Beschreibung beschreibung)
       throws BeschreibungImportException {
     if (Objects.isNull(beschreibung.getBeschreibungsSprache())
@@ -815,6 +847,11 @@ public class BeschreibungImportService implements ImportBoundary, Serializable {
     this.normdatenUpdateService = normdatenUpdateService;
   }
 
+  @Inject
+  public void setNormdatenBatchResolver(NormdatenBatchResolver normdatenBatchResolver) {
+    this.normdatenBatchResolver = normdatenBatchResolver;
+  }
+
   @Inject
   public void setPURLBoundary(
       PURLBoundary purlBoundary) {
@@ -34,11 +34,11 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.SperreDokumentTyp;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.SperreEintrag;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.SperreTyp;
+import de.staatsbibliothek.berlin.hsp.mapper.api.factory.PooledTEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.exceptions.ActivityStreamsException;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
 import de.staatsbibliothek.berlin.hsp.messaging.common.TEICommon;
-import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.model.DigitalisatViewModel;
 import de.staatsbibliothek.berlin.hsp.nachweis.application.model.KulturObjektDokumentViewModel;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.event.DomainEvents.neueImporte;
@@ -54,6 +54,8 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportFile;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportServiceAPI.IMPORTJOB_RESULT_VALUES;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgang;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgangBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenBatchResolver;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenBatchResolver.Batch;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
@@ -106,6 +108,7 @@ public class DigitalisatImportService {
   private NormdatenReferenzBoundary normdatenReferenzBoundary;
   private ImportVorgangBoundary importVorgangBoundary;
   private DokumentSperreBoundary dokumentSperreService;
+  private NormdatenBatchResolver normdatenBatchResolver;
 
   @Inject
   public DigitalisatImportService(
@@ -123,6 +126,11 @@ public class DigitalisatImportService {
     this.praesentationBaseUrl = praesentationBaseUrl;
   }
 
+  @Inject
+  void setNormdatenBatchResolver(NormdatenBatchResolver normdatenBatchResolver) {
+    this.normdatenBatchResolver = normdatenBatchResolver;
+  }
+
   public void onImportMessage(@Observes @neueImporte DigitalisatImport importe) {
     logger.info("Neuer Digitalisat Import erhalten {} ", importe.getMessageDTO());
     try {
@@ -146,7 +154,10 @@ public class DigitalisatImportService {
     AtomicReference<Boolean> error = new AtomicReference<>();
     error.set(false);
 
-    for (Bibl bibl : findAllTEIDigitalisate(extractTEIFromMessage(importe.getMessageDTO()))) {
+    List<Bibl> bibls = findAllTEIDigitalisate(extractTEIFromMessage(importe.getMessageDTO()));
+    prefetchNormdaten(bibls);
+
+    for (Bibl bibl : bibls) {
 
       String kodIDorSignatur = extraxtKODIDFromBibl(bibl);
 
@@ -403,6 +414,25 @@ public class DigitalisatImportService {
                 .equals(r.getType()));
   }
 
+  void prefetchNormdaten(List<Bibl> bibls) throws Exception {
+    if (Objects.isNull(normdatenBatchResolver) || !normdatenBatchResolver.isEnabled()) {
+      return;
+    }
+    List<PlaceName> placeNames = new ArrayList<>();
+    List<OrgName> orgNames = new ArrayList<>();
+    for (Bibl bibl : bibls) {
+      TEICommon.findAll(PlaceName.class, bibl, placeNames);
+      TEICommon.findAll(OrgName.class, bibl, orgNames);
+    }
+
+    Batch batch = normdatenBatchResolver.createBatch();
+    placeNames.forEach(placeName -> placeName.getReves().stream().findFirst()
+        .ifPresent(placeId -> batch.addIdOrName(placeId, NormdatenReferenz.ORT_TYPE_NAME)));
+    orgNames.forEach(orgName -> orgName.getReves().stream().findFirst()
+        .ifPresent(koerperschaftId -> batch.addIdOrName(koerperschaftId, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME)));
+    normdatenBatchResolver.resolve(batch);
+  }
+
   public Optional<NormdatenReferenz> findNormDatenOrt(Bibl bibl, String ortType)
       throws DigitalisatImportException {
     List<PlaceName> placeNames = new ArrayList<>();
@@ -465,7 +495,7 @@ public class DigitalisatImportService {
     if (activityStreamMessage != null && activityStreamMessage.getObjects() != null) {
       for (ActivityStreamObjectDTO o : activityStreamMessage.getObjects()) {
         if (ActivityStreamsDokumentTyp.DIGITALISAT.equals(o.getType())) {
-          teiList.addAll(TEIObjectFactory.unmarshal(new ByteArrayInputStream(o.getContent())));
+          teiList.addAll(PooledTEIObjectFactory.unmarshal(new ByteArrayInputStream(o.getContent())));
         }
       }
     }
@@ -35,6 +35,8 @@ import de.staatsbibliothek.berlin.hsp.nachweis.application.model.DigitalisatView
 import de.staatsbibliothek.berlin.hsp.nachweis.application.model.KulturObjektDokumentViewModel;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.SignatureValue;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierenException;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierungListener;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.SignaturDatei;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.sperre.exception.DokumentSperreException;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.sperre.exception.SperreAlreadyExistException;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SolrUebernahmeException;
@@ -69,6 +71,16 @@ public interface KulturObjektDokumentBoundary {
   List<KulturObjektDokument> registrieren(Bearbeiter bearbeiter, List<KulturObjektDokument> kods)
       throws KulturObjektDokumentRegistrierenException;
 
+  /**
+   * Registers the KODs of the signature file in batches while reading it, instead of creating all KODs first.
+   *
+   * @param listener is called after each registered batch
+   * @return the number of registered KODs
+   */
+  long registrieren(Bearbeiter bearbeiter, NormdatenReferenz ort, NormdatenReferenz koerperschaft,
+      SignaturDatei signaturDatei, KulturObjektDokumentRegistrierungListener listener)
+      throws KulturObjektDokumentRegistrierenException;
+
   Optional<KulturObjektDokumentViewModel> buildKulturObjektDokumentViewModel(String id);
 
   Optional<KulturObjektDokument> digitalisatHinzufuegen(
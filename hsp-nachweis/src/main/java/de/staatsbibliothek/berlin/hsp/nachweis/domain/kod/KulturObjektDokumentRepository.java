@@ -25,8 +25,10 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.kod;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikation;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.CRUDRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.KulturObjektDokumentListDTO;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -52,6 +54,14 @@ public interface KulturObjektDokumentRepository extends
   List<KulturObjektDokument> findByIdentifikationIdentAndBesitzerIDAndAufbewahrungsortID(String ident,
       String besitzerID, String aufbewahrungsOrtID);
 
+  /**
+   * Bulk variant of {@link #findByIdentifikationIdentAndBesitzerIDAndAufbewahrungsortID(String, String, String)}.
+   *
+   * @return the KODs whose gültige Identifikation has the ident, Besitzer ID and Aufbewahrungsort ID of one of the
+   * given Identifikationen
+   */
+  List<KulturObjektDokument> findByGueltigeIdentifikationen(Collection<Identifikation> identifikationen);
+
   Optional<KulturObjektDokument> findByIdentifikationIdentAndBesitzerNameAndAufbewahrungsortName(String ident,
       String besitzerName, String aufbewahrungsOrtName);
 
@@ -60,6 +70,36 @@ public interface KulturObjektDokumentRepository extends
 
   Map<String, List<String>> getAllBeschreibungsIdsWithKodIDs();
 
+  /**
+   * Keyset cursor over all IDs in ascending order.
+   *
+   * @param lastId last ID of the previous chunk, null for the first chunk
+   * @param limit  maximum number of IDs
+   */
+  List<String> findIdsAfter(String lastId, int limit);
+
+  /**
+   * Keyset cursor over the IDs up to {@code toId} in ascending order.
+   *
+   * @param lastId last ID of the previous chunk, null for the first chunk
+   * @param toId   inclusive upper bound, null for no upper bound
+   * @param limit  maximum number of IDs
+   */
+  List<String> findIdsAfter(String lastId, String toId, int limit);
+
+  /**
+   * @param fromId exclusive lower bound, null for no lower bound
+   * @param toId   inclusive upper bound, null for no upper bound
+   */
+  long countIdsBetween(String fromId, String toId);
+
+  List<KulturObjektDokument> findByIds(Collection<String> ids);
+
+  /**
+   * Like {@link #findByIds(Collection)}, but also fetches the IDs of the Beschreibungen with the same query.
+   */
+  List<KulturObjektDokument> findByIdsWithBeschreibungenIDs(Collection<String> ids);
+
   List<KulturObjektDokumentListDTO> findFilteredKulturObjektDokumentListDTOs(int first, int pageSize,
       Map<String, String> filterBy, Map<String, Boolean> sortByAsc);
 
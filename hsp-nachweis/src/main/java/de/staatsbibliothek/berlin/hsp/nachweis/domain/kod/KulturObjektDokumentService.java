@@ -74,7 +74,11 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.Beschreibungs
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.SignatureValue;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierenException;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierenException.ERROR_TYPE;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierungListener;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistry;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.SignaturDatei;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.SignaturHashSet;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.SignaturenCsvReader;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.IdentifikationRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.papierkorb.PapierkorbBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.purl.PURLBoundary;
@@ -91,11 +95,14 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.validation.TeiXmlValidatio
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaIndexingProducer;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.KulturObjektDokumentListDTO;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -129,6 +136,8 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
   public static final Pattern PATTERN_END_CSV_LINE = Pattern.compile("(?<=\")\\v");
   public static final String KEY_MANIFEST = "manifest";
   public static final String KEY_ALTERNATIVE = "alternative";
+  static final int DEFAULT_REGISTRIERUNG_BATCH_SIZE = 500;
+  static final int ENCODING_PREFIX_SIZE = 64 * 1024;
   private static final long serialVersionUID = 7896727068740214139L;
   private transient KulturObjektDokumentRepository kulturObjektDokumentRepository;
 
@@ -153,6 +162,10 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
 
   private transient TeiXmlValidationBoundary teiXmlValidationService;
 
+  private int registrierungChunkSize;
+
+  private int registrierungFlushSize = 50;
+
   public KulturObjektDokumentService() {
   }
 
@@ -185,6 +198,14 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
     this.teiXmlValidationService = teiXmlValidationService;
   }
 
+  @Inject
+  void setRegistrierungConfig(
+      @ConfigProperty(name = "kod.registrierung.chunk_size", defaultValue = "0") int registrierungChunkSize,
+      @ConfigProperty(name = "kod.registrierung.flush_size", defaultValue = "50") int registrierungFlushSize) {
+    this.registrierungChunkSize = registrierungChunkSize;
+    this.registrierungFlushSize = Math.max(1, registrierungFlushSize);
+  }
+
   public static void addKulturObjektDokumentToActivityStreamMessage(ActivityStream message, KulturObjektDokument kod)
       throws ActivityStreamsException {
 
@@ -360,23 +381,188 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
     }
   }
 
+  /**
+   * Registers the KODs of the signature file without holding the file or all of its KODs in memory. The file is read
+   * twice: the first time every line is parsed and the gültigen Signaturen are checked for duplicates in the file
+   * and, in batches, for KODs already in the system. The second time the KODs are created again and registered in
+   * batches of {@code kod.registrierung.chunk_size} KODs, or of {@value #DEFAULT_REGISTRIERUNG_BATCH_SIZE} KODs if no
+   * chunk size is configured. Nothing is registered if a check fails.
+   *
+   * @return the number of registered KODs
+   */
+  @Transactional(rollbackOn = {Exception.class})
+  @TransactionConfiguration(timeout = 7200)
+  @Override
+  public long registrieren(Bearbeiter bearbeiter, NormdatenReferenz ort, NormdatenReferenz koerperschaft,
+      SignaturDatei signaturDatei, KulturObjektDokumentRegistrierungListener listener)
+      throws KulturObjektDokumentRegistrierenException {
+
+    int batchSize = registrierungChunkSize > 0 ? registrierungChunkSize : DEFAULT_REGISTRIERUNG_BATCH_SIZE;
+
+    try {
+      long gesamt = checkSignaturDatei(ort, koerperschaft, signaturDatei, batchSize);
+      log.info("Signaturdatei checked, registering {} KOD's in batches of {}", gesamt, batchSize);
+
+      long registriert = 0;
+      try (SignaturenCsvReader reader = openSignaturDatei(signaturDatei)) {
+        List<KulturObjektDokument> batch = new ArrayList<>(batchSize);
+        List<String> signaturen;
+        while ((signaturen = reader.readSignaturen()) != null) {
+          batch.add(KulturObjektDokumentRegistry.create(ort, koerperschaft, signaturen));
+          if (batch.size() >= batchSize) {
+            registriert = registriereBatch(batch, registriert, gesamt, listener);
+            batch = new ArrayList<>(batchSize);
+          }
+        }
+        if (!batch.isEmpty()) {
+          registriert = registriereBatch(batch, registriert, gesamt, listener);
+        }
+      }
+      return registriert;
+
+    } catch (KulturObjektDokumentRegistrierenException kodrex) {
+      throw kodrex;
+    } catch (Exception error) {
+      throw new KulturObjektDokumentRegistrierenException(
+          "Fehler bei der Verarbeitung der Signaturdatei!,  " + error.getMessage(),
+          ERROR_TYPE.TECHNICAL, error);
+    }
+  }
+
+  /**
+   * @return the number of KODs in the signature file
+   */
+  long checkSignaturDatei(NormdatenReferenz ort, NormdatenReferenz koerperschaft, SignaturDatei signaturDatei,
+      int batchSize) throws KulturObjektDokumentRegistrierenException, IOException {
+    SignaturHashSet gueltigeSignaturen = new SignaturHashSet();
+    Set<String> mehrfacheSignaturen = new HashSet<>();
+    List<KulturObjektDokument> gueltigeSignaturInSystem = new ArrayList<>();
+    List<KulturObjektDokument> batch = new ArrayList<>(batchSize);
+    long gesamt = 0;
+
+    try (SignaturenCsvReader reader = openSignaturDatei(signaturDatei)) {
+      List<String> signaturen;
+      while ((signaturen = reader.readSignaturen()) != null) {
+        KulturObjektDokument kod = KulturObjektDokumentRegistry.create(ort, koerperschaft, signaturen);
+        gesamt++;
+        if (!gueltigeSignaturen.add(kod.getGueltigeSignatur())) {
+          mehrfacheSignaturen.add(kod.getGueltigeSignatur());
+        }
+        batch.add(kod);
+        if (batch.size() >= batchSize) {
+          gueltigeSignaturInSystem.addAll(checkIfKulturObjektAlreadyExists(batch));
+          batch.clear();
+        }
+      }
+    } catch (CharacterCodingException e) {
+      throw new KulturObjektDokumentRegistrierenException(
+          I18NController.getMessage("kodservice_error_wrong_encoding", e.getMessage()));
+    }
+    gueltigeSignaturInSystem.addAll(checkIfKulturObjektAlreadyExists(batch));
+
+    List<KulturObjektDokument> gueltigeSignaturInDatei = mehrfacheSignaturen.isEmpty() ? List.of()
+        : findMehrfacheSignaturen(ort, koerperschaft, signaturDatei, mehrfacheSignaturen);
+    if (!gueltigeSignaturInDatei.isEmpty()) {
+      throw new KulturObjektDokumentRegistrierenException(
+          "Gültige Signatur mehrfach in Datei vorhanden: " +
+              gueltigeSignaturInDatei.stream()
+                  .map(KulturObjektDokument::getGueltigeSignatur)
+                  .collect(Collectors.joining(",")),
+          gueltigeSignaturInDatei,
+          ERROR_TYPE.GUELTIGE_SIGNATUR_IN_DATEI);
+    }
+
+    if (!gueltigeSignaturInSystem.isEmpty()) {
+      throw new KulturObjektDokumentRegistrierenException(
+          "Kulturobjekt mit gültiger Signatur bereits im System: " +
+              gueltigeSignaturInSystem.stream()
+                  .map(KulturObjektDokument::getGueltigeSignatur)
+                  .collect(Collectors.joining(",")),
+          gueltigeSignaturInSystem, ERROR_TYPE.GUELTIGE_SIGNATUR_IN_SYSTEM);
+    }
+    return gesamt;
+  }
+
+  /**
+   * Confirms the candidates of the {@link SignaturHashSet} by comparing the Signaturen.
+   *
+   * @return the KODs whose gültige Signatur occurs in an earlier line of the signature file
+   */
+  List<KulturObjektDokument> findMehrfacheSignaturen(NormdatenReferenz ort, NormdatenReferenz koerperschaft,
+      SignaturDatei signaturDatei, Set<String> kandidaten) throws KulturObjektDokumentRegistrierenException,
+      IOException {
+    Set<String> gefunden = new HashSet<>();
+    List<KulturObjektDokument> mehrfach = new ArrayList<>();
+
+    try (SignaturenCsvReader reader = openSignaturDatei(signaturDatei)) {
+      List<String> signaturen;
+      while ((signaturen = reader.readSignaturen()) != null) {
+        String gueltigeSignatur = signaturen.get(0);
+        if (kandidaten.contains(gueltigeSignatur) && !gefunden.add(gueltigeSignatur)) {
+          mehrfach.add(KulturObjektDokumentRegistry.create(ort, koerperschaft, signaturen));
+        }
+      }
+    }
+    return mehrfach;
+  }
+
+  long registriereBatch(List<KulturObjektDokument> batch, long registriert, long gesamt,
+      KulturObjektDokumentRegistrierungListener listener) throws KulturObjektDokumentRegistrierenException {
+    createAndAddInternalPURLs(batch);
+    registriert = saveKulturObjektDokumentBatch(batch, registriert, gesamt);
+    if (Objects.nonNull(listener)) {
+      listener.registriert(batch, registriert, gesamt, registrierungChunkSize > 0);
+    }
+    return registriert;
+  }
+
+  /**
+   * Checks the encoding of the beginning of the signature file and reads the file as strict UTF-8, so that invalid
+   * bytes after the beginning cause a {@link CharacterCodingException}.
+   */
+  SignaturenCsvReader openSignaturDatei(SignaturDatei signaturDatei)
+      throws IOException, KulturObjektDokumentRegistrierenException {
+    BufferedInputStream inputStream = new BufferedInputStream(signaturDatei.open(), ENCODING_PREFIX_SIZE);
+    try {
+      inputStream.mark(ENCODING_PREFIX_SIZE);
+      byte[] prefix = inputStream.readNBytes(ENCODING_PREFIX_SIZE);
+      inputStream.reset();
+      checkEncoding(prefix, prefix.length);
+
+      return new SignaturenCsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8.newDecoder()));
+    } catch (IOException | KulturObjektDokumentRegistrierenException | RuntimeException e) {
+      inputStream.close();
+      throw e;
+    }
+  }
+
   protected void checkEncoding(byte[] data) throws KulturObjektDokumentRegistrierenException {
 
     String encoding;
     try (ByteArrayInputStream inputStream = new ByteArrayInputStream(data)) {
       encoding = UniversalDetector.detectCharset(inputStream);
-
-      log.info("Check CSV Encoding: {}", encoding);
-
-      if (encoding != null && !"UTF-8|US-ASCII".contains(encoding)) {
-        throw new KulturObjektDokumentRegistrierenException(
-            I18NController.getMessage("kodservice_error_wrong_encoding", encoding));
-      }
+      checkEncoding(encoding);
     } catch (IOException e) {
       log.error("Error during determine CSV Encoding", e);
     }
   }
 
+  void checkEncoding(byte[] prefix, int length) throws KulturObjektDokumentRegistrierenException {
+    UniversalDetector detector = new UniversalDetector();
+    detector.handleData(prefix, 0, length);
+    detector.dataEnd();
+    checkEncoding(detector.getDetectedCharset());
+  }
+
+  private void checkEncoding(String encoding) throws KulturObjektDokumentRegistrierenException {
+    log.info("Check CSV Encoding: {}", encoding);
+
+    if (encoding != null && !"UTF-8|US-ASCII".contains(encoding)) {
+      throw new KulturObjektDokumentRegistrierenException(
+          I18NController.getMessage("kodservice_error_wrong_encoding", encoding));
+    }
+  }
+
   private boolean findAnEmptyRow(String signaturLine) {
     return signaturLine.trim().isEmpty();
   }
@@ -481,16 +667,103 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
     }
   }
 
+  /**
+   * Saves the KODs in transactions of {@code kod.registrierung.chunk_size} KODs, or all KODs in the current
+   * transaction if no chunk size is configured. If a chunk fails, the chunks saved before stay committed.
+   */
   @Transactional(rollbackOn = {Exception.class})
+  @TransactionConfiguration(timeout = 7200)
   protected void saveKulturObjektDokumentInSystem(List<KulturObjektDokument> kodsSucess)
       throws KulturObjektDokumentRegistrierenException {
-    for (KulturObjektDokument kod : kodsSucess) {
+    if (registrierungChunkSize <= 0 || kodsSucess.size() <= registrierungChunkSize) {
+      saveKulturObjektDokumentChunk(kodsSucess);
+      return;
+    }
+
+    List<List<KulturObjektDokument>> chunks = Lists.partition(kodsSucess, registrierungChunkSize);
+    log.info("Saving {} KOD's in {} chunks.", kodsSucess.size(), chunks.size());
+
+    long saved = 0;
+    for (List<KulturObjektDokument> chunk : chunks) {
+      saved = saveKulturObjektDokumentBatch(chunk, saved, kodsSucess.size());
+    }
+  }
+
+  /**
+   * Saves the batch in a new transaction if {@code kod.registrierung.chunk_size} is configured, otherwise in the
+   * current transaction.
+   *
+   * @return the number of KODs saved so far including the batch
+   */
+  long saveKulturObjektDokumentBatch(List<KulturObjektDokument> batch, long saved, long gesamt)
+      throws KulturObjektDokumentRegistrierenException {
+    try {
+      if (registrierungChunkSize > 0) {
+        saveKulturObjektDokumentChunkInNewTransaction(batch);
+      } else {
+        saveKulturObjektDokumentChunk(batch);
+      }
+    } catch (KulturObjektDokumentRegistrierenException e) {
+      if (saved == 0 || registrierungChunkSize <= 0) {
+        throw e;
+      }
+      throw new KulturObjektDokumentRegistrierenException(e.getMessage()
+          + " Bereits gespeichert wurden " + saved + " von " + gesamt + " Kulturobjektdokumenten.",
+          ERROR_TYPE.TECHNICAL, e.getCause());
+    }
+    saved += batch.size();
+    log.info("Saved {} of {} KOD's.", saved, gesamt);
+    return saved;
+  }
+
+  @Transactional(value = TxType.REQUIRES_NEW, rollbackOn = {Exception.class})
+  @TransactionConfiguration(timeout = 7200)
+  void saveKulturObjektDokumentChunkInNewTransaction(List<KulturObjektDokument> chunk)
+      throws KulturObjektDokumentRegistrierenException {
+    saveKulturObjektDokumentChunk(chunk);
+  }
+
+  /**
+   * Inserts the KODs with JDBC batches, clearing the persistence context every {@code kod.registrierung.flush_size}
+   * KODs, and sends the SuchDokumente of all KODs with one Solr update. The Kafka messages are sent in the Kafka
+   * transaction of the current JTA transaction.
+   */
+  void saveKulturObjektDokumentChunk(List<KulturObjektDokument> chunk)
+      throws KulturObjektDokumentRegistrierenException {
+    int unflushed = 0;
+    for (KulturObjektDokument kod : chunk) {
       try {
 
         KulturObjektDokumentRegistry.addTEI(kod);
+        transformValidateAndSave(kod);
+
+        if (++unflushed >= registrierungFlushSize) {
+          kulturObjektDokumentRepository.flushAndClear();
+          unflushed = 0;
+        }
+      } catch (Exception e) {
+        throw new KulturObjektDokumentRegistrierenException(
+            "Kulturobjektdokument " + kod.getGueltigeSignatur()
+                + " konnte nicht gespeichert werden! " + e.getMessage(),
+            ERROR_TYPE.TECHNICAL, e);
+      }
+    }
 
-        saveKulturObjektDokument(kod, ActivityStreamAction.ADD);
+    try {
+      if (unflushed > 0) {
+        kulturObjektDokumentRepository.flushAndClear();
+      }
+      suchDokumentService.kodsUebernehmen(chunk);
+    } catch (Exception e) {
+      throw new KulturObjektDokumentRegistrierenException(
+          chunk.size() + " Kulturobjektdokumente konnten nicht gespeichert werden! " + e.getMessage(),
+          ERROR_TYPE.TECHNICAL, e);
+    }
 
+    for (KulturObjektDokument kod : chunk) {
+      try {
+        kafkaIndexingProducer.sendKulturobjektDokumentAsActivityStreamMessage(kod, ActivityStreamAction.ADD, true,
+            SYSTEM_USERNAME);
       } catch (Exception e) {
         throw new KulturObjektDokumentRegistrierenException(
             "Kulturobjektdokument " + kod.getGueltigeSignatur()
@@ -535,12 +808,36 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
   public void saveKulturObjektDokument(KulturObjektDokument kod, ActivityStreamAction action)
       throws TeiXmlTransformationException, TeiXmlValidationException, SolrUebernahmeException,
       ActivityStreamsException {
+    saveKulturObjektDokument(kod, action, false);
+  }
+
+  /**
+   * @param teilweiseIndexieren only the Digitalisate or PURLs of the KOD have changed, so only the affected fields of
+   *                            the SuchDokument are updated
+   */
+  @Transactional
+  void saveKulturObjektDokument(KulturObjektDokument kod, ActivityStreamAction action, boolean teilweiseIndexieren)
+      throws TeiXmlTransformationException, TeiXmlValidationException, SolrUebernahmeException,
+      ActivityStreamsException {
+
+    transformValidateAndSave(kod);
+    if (teilweiseIndexieren) {
+      suchDokumentService.kodTeilweiseUebernehmen(kod);
+    } else {
+      suchDokumentService.kodUebernehmen(kod);
+    }
+    kafkaIndexingProducer.sendKulturobjektDokumentAsActivityStreamMessage(kod, action, true, SYSTEM_USERNAME);
+  }
 
+  /**
+   * Transforms the TEI of the KOD to the HSP format, validates it and saves the KOD. Shared by the single save and the
+   * registration in chunks.
+   */
+  private void transformValidateAndSave(KulturObjektDokument kod)
+      throws TeiXmlTransformationException, TeiXmlValidationException {
     teiXmlTransformationService.transformTei2Hsp(kod);
     teiXmlValidationService.validateTeiXml(kod);
     kulturObjektDokumentRepository.save(kod);
-    suchDokumentService.kodUebernehmen(kod);
-    kafkaIndexingProducer.sendKulturobjektDokumentAsActivityStreamMessage(kod, action, true, SYSTEM_USERNAME);
   }
 
   protected List<KulturObjektDokument> checkIfKulturObjektAlreadyInDatei(List<KulturObjektDokument> kods) {
@@ -561,19 +858,12 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
   }
 
   protected List<KulturObjektDokument> checkIfKulturObjektAlreadyExists(List<KulturObjektDokument> kods) {
-    List<KulturObjektDokument> kodsFailureWithGueltigeSignature = new ArrayList<>();
-
-    for (KulturObjektDokument kod : kods) {
-      kulturObjektDokumentRepository.findByIdentifikationIdentAndBesitzerIDAndAufbewahrungsortID(
-              kod.getGueltigeIdentifikation().getIdent(),
-              kod.getGueltigeIdentifikation().getBesitzer().getId(),
-              kod.getGueltigeIdentifikation().getAufbewahrungsOrt().getId())
-          .stream()
-          .findAny()
-          .ifPresent(kodsFailureWithGueltigeSignature::add);
+    if (kods.isEmpty()) {
+      return new ArrayList<>();
     }
-
-    return kodsFailureWithGueltigeSignature;
+    return kulturObjektDokumentRepository.findByGueltigeIdentifikationen(kods.stream()
+        .map(KulturObjektDokument::getGueltigeIdentifikation)
+        .collect(Collectors.toList()));
   }
 
   @Override
@@ -619,7 +909,7 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
 
         TEIKulturObjektDokumentCommand.updateSurrogatesDigitalisate(kod);
 
-        saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE);
+        saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE, true);
 
       } catch (Exception error) {
         log.error("Error during Digiatlisate hinzufuegen to kod!", error);
@@ -654,7 +944,7 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
 
           TEIKulturObjektDokumentCommand.updateSurrogatesDigitalisate(kod);
 
-          saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE);
+          saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE, true);
 
         } catch (Exception error) {
           log.error("Error during Digiatlisate loeschen to kod!", error);
@@ -717,7 +1007,7 @@ public class KulturObjektDokumentService implements KulturObjektDokumentBoundary
     try {
       kod.getPURLs().add(purl);
       TEIKulturObjektDokumentCommand.updatePURLs(kod);
-      saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE);
+      saveKulturObjektDokument(kod, ActivityStreamAction.UPDATE, true);
     } catch (Exception e) {
       throw new KulturObjektDokumentException(
           getMessage("kodservice_error_create_purl", purl.getPurl(), kodId, e.getMessage()), e);
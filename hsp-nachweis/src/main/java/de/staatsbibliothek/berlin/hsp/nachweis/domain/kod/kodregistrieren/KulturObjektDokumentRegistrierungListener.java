@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import java.util.List;
+
+/**
+ * Receives the KODs of a signature file as soon as a batch of them is registered.
+ *
+ * @since 17.10.2026
+ */
+@FunctionalInterface
+public interface KulturObjektDokumentRegistrierungListener {
+
+  /**
+   * @param kods        the KODs of the registered batch
+   * @param registriert the number of KODs registered so far
+   * @param gesamt      the number of KODs in the signature file
+   * @param committed   true if the batch is committed in its own transaction and stays registered if a later batch
+   *                    fails, false if all KODs are rolled back on failure
+   */
+  void registriert(List<KulturObjektDokument> kods, long registriert, long gesamt, boolean committed);
+
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren;
+
+/**
+ * Set of 64 bit hashes of Signaturen, stored with open addressing in a long array. It needs about 16 bytes per
+ * Signatur instead of the String and the entry of a HashSet. Different Signaturen with the same hash can not be
+ * told apart, so a Signatur that is reported as already added has to be confirmed by comparing the Signaturen.
+ *
+ * @since 17.10.2026
+ */
+public class SignaturHashSet {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] hashes = new long[INITIAL_CAPACITY];
+  private boolean containsZero;
+  private int size;
+
+  static long hash(String signatur) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < signatur.length(); i++) {
+      hash ^= signatur.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  /**
+   * @return false if the Signatur or another Signatur with the same hash was added before
+   */
+  public boolean add(String signatur) {
+    return add(hash(signatur));
+  }
+
+  boolean add(long hash) {
+    if (hash == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+
+    if (2 * (size + 1) > hashes.length) {
+      resize();
+    }
+    if (!insert(hashes, hash)) {
+      return false;
+    }
+    size++;
+    return true;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  private static boolean insert(long[] table, long hash) {
+    int mask = table.length - 1;
+    int index = (int) hash & mask;
+    while (table[index] != 0) {
+      if (table[index] == hash) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+    table[index] = hash;
+    return true;
+  }
+
+  private void resize() {
+    long[] resized = new long[hashes.length * 2];
+    for (long hash : hashes) {
+      if (hash != 0) {
+        insert(resized, hash);
+      }
+    }
+    hashes = resized;
+  }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the Signaturen of a signature file line by line without regular expressions. Each line holds the gültige
+ * Signatur and the alternative Signaturen of one KOD, every Signatur enclosed in double quotes and separated by
+ * {@code $}. Blank lines, byte order marks and white space outside of the quotes are skipped, line breaks inside of
+ * the quotes are removed. An empty alternative Signatur ends the Signaturen of the line.
+ * <p>
+ * Skipping blank lines matches the {@link java.util.Scanner} based reading of the byte array variant: there a line
+ * ends only at a line break after a quote, so blank lines in between belong to the following line and are trimmed
+ * away, and a blank row ends the reading only at the end of the file.
+ *
+ * @since 17.10.2026
+ */
+public class SignaturenCsvReader implements Closeable {
+
+  static final char QUOTE = '"';
+  static final char SEPARATOR = '$';
+  static final char BYTE_ORDER_MARK = '\uFEFF';
+
+  private final Reader reader;
+  private final StringBuilder line = new StringBuilder();
+  private final StringBuilder signatur = new StringBuilder();
+  private long lineNumber;
+
+  public SignaturenCsvReader(Reader reader) {
+    this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+  }
+
+  static boolean isLineBreak(char c) {
+    return c == '\n' || c == '\r' || c == '\u000B' || c == '\f' || c == '\u0085' || c == '\u2028'
+        || c == '\u2029';
+  }
+
+  /**
+   * @return the Signaturen of the next line starting with the gültige Signatur, or null at the end of the file
+   */
+  public List<String> readSignaturen() throws IOException, KulturObjektDokumentRegistrierenException {
+    List<String> signaturen = new ArrayList<>();
+    line.setLength(0);
+    State state = State.BEFORE_SIGNATUR;
+    boolean started = false;
+    boolean ignoreRest = false;
+    int read;
+
+    while ((read = reader.read()) != -1) {
+      char c = (char) read;
+      if (c == BYTE_ORDER_MARK) {
+        continue;
+      }
+      if (isLineBreak(c)) {
+        if (state == State.AFTER_SIGNATUR) {
+          lineNumber++;
+          return signaturen;
+        }
+        if (!started) {
+          line.setLength(0);
+        } else if (state == State.BEFORE_SIGNATUR) {
+          throw lineError("Line has to start with \" and it has to end with \"  Line=");
+        }
+        continue;
+      }
+
+      line.append(c);
+      switch (state) {
+        case BEFORE_SIGNATUR:
+          if (c == QUOTE) {
+            signatur.setLength(0);
+            started = true;
+            state = State.IN_SIGNATUR;
+          } else if (!Character.isWhitespace(c)) {
+            throw lineError("Line has to start with \" and it has to end with \"  Line=");
+          }
+          break;
+        case IN_SIGNATUR:
+          if (c == QUOTE) {
+            ignoreRest = addSignatur(signaturen, ignoreRest);
+            state = State.AFTER_SIGNATUR;
+          } else {
+            signatur.append(c);
+          }
+          break;
+        default:
+          if (c == SEPARATOR) {
+            state = State.BEFORE_SIGNATUR;
+          } else if (c == QUOTE) {
+            throw lineError("More or less then two quotes. Line=");
+          } else if (!Character.isWhitespace(c)) {
+            throw lineError("Line has to start with \" and it has to end with \"  Line=");
+          }
+      }
+    }
+
+    if (state == State.IN_SIGNATUR) {
+      throw lineError("More or less then two quotes. Line=");
+    }
+    if (state == State.AFTER_SIGNATUR) {
+      lineNumber++;
+      return signaturen;
+    }
+    if (started) {
+      throw lineError("Line has to start with \" and it has to end with \"  Line=");
+    }
+    return null;
+  }
+
+  /**
+   * @return the number of lines with Signaturen read so far
+   */
+  public long getLineNumber() {
+    return lineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  /**
+   * @return true if the following Signaturen of the line are ignored
+   */
+  private boolean addSignatur(List<String> signaturen, boolean ignoreRest)
+      throws KulturObjektDokumentRegistrierenException {
+    if (ignoreRest) {
+      return true;
+    }
+    if (signatur.length() == 0) {
+      if (signaturen.isEmpty()) {
+        throw lineError("Wrong CSV Signatur file. -> GültigeSignatur is leer. Line=");
+      }
+      return true;
+    }
+    signaturen.add(signatur.toString());
+    return false;
+  }
+
+  private KulturObjektDokumentRegistrierenException lineError(String message) {
+    return new KulturObjektDokumentRegistrierenException(message + line + " (" + (lineNumber + 1) + ")");
+  }
+
+  private enum State {
+    BEFORE_SIGNATUR, IN_SIGNATUR, AFTER_SIGNATUR
+  }
+
+}
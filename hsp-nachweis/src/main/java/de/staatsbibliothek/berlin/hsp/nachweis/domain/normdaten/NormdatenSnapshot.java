@@ -0,0 +1,383 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VarianterName;
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Snapshot of all NormdatenReferenzen of a type, shared by all sessions for the Normdaten lists and the autocomplete.
+ * <p>
+ * A type is loaded on its first use and loaded again when Normdaten of the type are created by this instance. A type
+ * older than {@code normdaten.snapshot.refresh} milliseconds is fetched again in the background on its next use, to
+ * see the changes of other instances, while the old snapshot is still returned. Unchanged NormdatenReferenzen are kept
+ * and the index of a type is only rebuilt if it has changed. The prefix index holds the names, variant names and IDs in
+ * one sorted array, so an autocomplete is answered without a call to the Normdatenservice.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class NormdatenSnapshot {
+
+  static final Comparator<NormdatenReferenz> BY_NAME = Comparator.comparing(NormdatenReferenz::getName,
+      Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final Map<String, PrefixIndex> indexes = new ConcurrentHashMap<>();
+  private final Map<String, Long> loadedAt = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final Map<String, Object> locks = new ConcurrentHashMap<>();
+  private NormdatenReferenzBoundary normdatenReferenzBoundary;
+  private boolean enabled;
+  private long refreshMillis;
+  private LongSupplier clock;
+  private Executor executor;
+  private ExecutorService refreshExecutor;
+
+  NormdatenSnapshot() {
+  }
+
+  @Inject
+  public NormdatenSnapshot(NormdatenReferenzBoundary normdatenReferenzBoundary,
+      @ConfigProperty(name = "normdaten.snapshot.enabled", defaultValue = "true") boolean enabled,
+      @ConfigProperty(name = "normdaten.snapshot.refresh", defaultValue = "3600000") long refreshMillis) {
+    this(normdatenReferenzBoundary, enabled, refreshMillis, System::currentTimeMillis, null);
+  }
+
+  /**
+   * @param executor runs the background refreshes, null for a daemon thread of the snapshot
+   */
+  NormdatenSnapshot(NormdatenReferenzBoundary normdatenReferenzBoundary, boolean enabled, long refreshMillis,
+      LongSupplier clock, Executor executor) {
+    this.normdatenReferenzBoundary = normdatenReferenzBoundary;
+    this.enabled = enabled;
+    this.refreshMillis = refreshMillis;
+    this.clock = clock;
+    this.executor = executor;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return all NormdatenReferenzen of the type sorted by name, empty if they could not be loaded
+   */
+  public List<NormdatenReferenz> findAll(String type) {
+    if (!enabled) {
+      return Optional.ofNullable(normdatenReferenzBoundary.findAllByIdOrNameAndType(null, type, true))
+          .map(all -> all.stream().sorted(BY_NAME).collect(Collectors.toList()))
+          .orElse(Collections.emptyList());
+    }
+    return getIndex(type).map(PrefixIndex::getEntries).orElse(Collections.emptyList());
+  }
+
+  /**
+   * Finds the NormdatenReferenzen with a name, variant name, ID or GND-ID that, or one of its words, starts with the
+   * prefix. Case and surrounding whitespace are ignored.
+   *
+   * @return the NormdatenReferenzen sorted by name, empty if the snapshot of the type is not available
+   */
+  public Optional<List<NormdatenReferenz>> findByPrefix(String prefix, String type) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    return getIndex(type).map(index -> index.findByPrefix(normalize(prefix)));
+  }
+
+  /**
+   * Removes the snapshot of a type whose Normdaten were changed, so it is loaded again on its next use.
+   */
+  public void invalidate(String type) {
+    if (Objects.isNull(type)) {
+      return;
+    }
+    synchronized (locks.computeIfAbsent(type, t -> new Object())) {
+      if (Objects.nonNull(indexes.remove(type))) {
+        loadedAt.remove(type);
+        log.info("Invalidated normdaten snapshot of {}", type);
+      }
+    }
+  }
+
+  /**
+   * Fetches the NormdatenReferenzen of a loaded type again and rebuilds its index if it has changed.
+   */
+  void refresh(String type) {
+    synchronized (locks.computeIfAbsent(type, t -> new Object())) {
+      PrefixIndex current = indexes.get(type);
+      if (Objects.isNull(current)) {
+        return;
+      }
+      Optional.ofNullable(load(type, current)).ifPresent(index -> indexes.put(type, index));
+      loadedAt.put(type, clock.getAsLong());
+    }
+  }
+
+  @PreDestroy
+  void destroy() {
+    if (Objects.nonNull(refreshExecutor)) {
+      refreshExecutor.shutdownNow();
+    }
+  }
+
+  private Optional<PrefixIndex> getIndex(String type) {
+    PrefixIndex index = indexes.get(type);
+    if (Objects.isNull(index)) {
+      synchronized (locks.computeIfAbsent(type, t -> new Object())) {
+        index = indexes.get(type);
+        if (Objects.isNull(index)) {
+          index = load(type, null);
+          if (Objects.nonNull(index)) {
+            indexes.put(type, index);
+            loadedAt.put(type, clock.getAsLong());
+          }
+        }
+      }
+    } else if (isStale(type) && refreshing.add(type)) {
+      getExecutor().execute(() -> refreshSafely(type));
+    }
+    return Optional.ofNullable(index);
+  }
+
+  private boolean isStale(String type) {
+    Long loaded = loadedAt.get(type);
+    return refreshMillis > 0 && Objects.nonNull(loaded) && clock.getAsLong() - loaded >= refreshMillis;
+  }
+
+  /**
+   * @return the new index, null if the NormdatenReferenzen could not be loaded or have not changed
+   */
+  private PrefixIndex load(String type, PrefixIndex current) {
+    Set<NormdatenReferenz> loaded;
+    try {
+      loaded = normdatenReferenzBoundary.findAllByIdOrNameAndType(null, type, true);
+    } catch (Exception e) {
+      log.error("Error during loading of normdaten snapshot for {}", type, e);
+      return null;
+    }
+    if (Objects.isNull(loaded) || loaded.isEmpty()) {
+      log.warn("No normdaten found for snapshot of {}", type);
+      return null;
+    }
+
+    Map<String, NormdatenReferenz> previous = Objects.isNull(current) ? Collections.emptyMap()
+        : current.getEntries().stream()
+            .filter(entry -> Objects.nonNull(entry.getId()))
+            .collect(Collectors.toMap(NormdatenReferenz::getId, entry -> entry, (first, second) -> first));
+
+    int changed = 0;
+    List<NormdatenReferenz> entries = new ArrayList<>(loaded.size());
+    for (NormdatenReferenz normdatenReferenz : loaded) {
+      NormdatenReferenz old = previous.get(normdatenReferenz.getId());
+      if (Objects.nonNull(old) && fingerprint(old).equals(fingerprint(normdatenReferenz))) {
+        entries.add(old);
+      } else {
+        entries.add(normdatenReferenz);
+        changed++;
+      }
+    }
+
+    if (changed == 0 && entries.size() == previous.size()) {
+      log.debug("Normdaten snapshot of {} has not changed", type);
+      return null;
+    }
+
+    entries.sort(BY_NAME);
+    PrefixIndex index = PrefixIndex.build(entries);
+    log.info("Loaded normdaten snapshot of {} with {} entries, {} changed, {} keys", type, entries.size(), changed,
+        index.keys.length);
+    return index;
+  }
+
+  private synchronized Executor getExecutor() {
+    if (Objects.isNull(executor)) {
+      refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "normdaten-snapshot");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor = refreshExecutor;
+    }
+    return executor;
+  }
+
+  private void refreshSafely(String type) {
+    try {
+      refresh(type);
+    } catch (Exception e) {
+      log.error("Error during refresh of normdaten snapshot of {}", type, e);
+    } finally {
+      refreshing.remove(type);
+    }
+  }
+
+  private static String fingerprint(NormdatenReferenz normdatenReferenz) {
+    return Stream.of(
+            Stream.of(normdatenReferenz.getId(), normdatenReferenz.getName(), normdatenReferenz.getGndID(),
+                normdatenReferenz.getTypeName()),
+            Stream.ofNullable(normdatenReferenz.getVarianterName()).flatMap(Collection::stream)
+                .map(variant -> variant.getName() + "@" + variant.getLanguageCode()).sorted(),
+            Stream.ofNullable(normdatenReferenz.getIdentifikator()).flatMap(Collection::stream)
+                .map(identifikator -> identifikator.getType() + ":" + identifikator.getText() + "@"
+                    + identifikator.getUrl()).sorted())
+        .flatMap(values -> values)
+        .map(String::valueOf)
+        .collect(Collectors.joining("|"));
+  }
+
+  static String normalize(String value) {
+    if (Objects.isNull(value)) {
+      return "";
+    }
+    return Normalizer.normalize(value, Form.NFC).toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+  }
+
+  /**
+   * Sorted keys with the position of their NormdatenReferenz in the entries, which are sorted by name.
+   */
+  static class PrefixIndex {
+
+    private final List<NormdatenReferenz> entries;
+    private final String[] keys;
+    private final int[] positions;
+
+    private PrefixIndex(List<NormdatenReferenz> entries, String[] keys, int[] positions) {
+      this.entries = entries;
+      this.keys = keys;
+      this.positions = positions;
+    }
+
+    static PrefixIndex build(List<NormdatenReferenz> entries) {
+      List<Entry<String, Integer>> keyList = new ArrayList<>();
+      for (int position = 0; position < entries.size(); position++) {
+        NormdatenReferenz entry = entries.get(position);
+        Set<String> keysOfEntry = new HashSet<>();
+        Stream.concat(Stream.of(entry.getName()),
+                Stream.ofNullable(entry.getVarianterName()).flatMap(Collection::stream).map(VarianterName::getName))
+            .map(NormdatenSnapshot::normalize)
+            .flatMap(PrefixIndex::wordSuffixes)
+            .forEach(keysOfEntry::add);
+        Stream.of(entry.getId(), entry.getGndID())
+            .map(NormdatenSnapshot::normalize)
+            .filter(key -> !key.isEmpty())
+            .forEach(keysOfEntry::add);
+        for (String key : keysOfEntry) {
+          keyList.add(new SimpleImmutableEntry<>(key, position));
+        }
+      }
+      keyList.sort(Entry.comparingByKey());
+
+      String[] keys = new String[keyList.size()];
+      int[] positions = new int[keyList.size()];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = keyList.get(i).getKey();
+        positions[i] = keyList.get(i).getValue();
+      }
+      return new PrefixIndex(Collections.unmodifiableList(entries), keys, positions);
+    }
+
+    List<NormdatenReferenz> getEntries() {
+      return entries;
+    }
+
+    List<NormdatenReferenz> findByPrefix(String prefix) {
+      if (prefix.isEmpty()) {
+        return Collections.emptyList();
+      }
+
+      BitSet found = new BitSet(entries.size());
+      for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix); i++) {
+        found.set(positions[i]);
+      }
+
+      List<NormdatenReferenz> result = new ArrayList<>(found.cardinality());
+      for (int position = found.nextSetBit(0); position >= 0; position = found.nextSetBit(position + 1)) {
+        result.add(entries.get(position));
+      }
+      return result;
+    }
+
+    private int lowerBound(String prefix) {
+      int low = 0;
+      int high = keys.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (keys[middle].compareTo(prefix) < 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * @return the name and every part of it that starts with a word, e.g. "martin" for "luther, martin"
+     */
+    private static Stream<String> wordSuffixes(String name) {
+      if (name.isEmpty()) {
+        return Stream.empty();
+      }
+      List<String> suffixes = new ArrayList<>();
+      suffixes.add(name);
+      for (int i = 1; i < name.length(); i++) {
+        if (!Character.isLetterOrDigit(name.charAt(i - 1)) && Character.isLetterOrDigit(name.charAt(i))) {
+          suffixes.add(name.substring(i));
+        }
+      }
+      return suffixes.stream();
+    }
+  }
+}
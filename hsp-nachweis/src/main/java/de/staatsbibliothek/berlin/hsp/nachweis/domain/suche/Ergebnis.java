@@ -47,6 +47,8 @@ public class Ergebnis implements Serializable {
 
   private Page page = null;
 
+  private String nextCursorMark;
+
   private List<ErgebnisEintrag> eintragListe = new ArrayList<>();
 
   private int facetCountTypeKOD;
@@ -68,13 +70,46 @@ public class Ergebnis implements Serializable {
     eintragListe.add(eintrag);
   }
 
+  public void copyFacetCounts(final Ergebnis source) {
+    this.facetCountTypeKOD = source.facetCountTypeKOD;
+    this.facetCountTypeBeschreibung = source.facetCountTypeBeschreibung;
+    this.facetCountVerwaltungIntern = source.facetCountVerwaltungIntern;
+    this.facetCountVerwaltungExtern = source.facetCountVerwaltungExtern;
+    this.facetCountContainsDigitalisat = source.facetCountContainsDigitalisat;
+    this.facetCountContainsBeschreibung = source.facetCountContainsBeschreibung;
+    this.facetCountContainsBuchschmuck = source.facetCountContainsBuchschmuck;
+    this.facetCountPubliziert = source.facetCountPubliziert;
+    this.institutionen = new TreeMap<>(source.institutionen);
+    this.autoren = new TreeMap<>(source.autoren);
+  }
+
+  /**
+   * Deep copy, e.g. for results that are cached and handed out to several callers.
+   */
+  public Ergebnis copy() {
+    Ergebnis copy = new Ergebnis();
+    copy.nOfErgebnis = nOfErgebnis;
+    copy.nextCursorMark = nextCursorMark;
+    if (Objects.nonNull(page)) {
+      copy.page = new Page(page.getNumberOfRows(), page.getOffset());
+      copy.page.setCursorMark(page.getCursorMark());
+    }
+    for (ErgebnisEintrag eintrag : eintragListe) {
+      copy.eintragListe.add(eintrag.copy());
+    }
+    copy.copyFacetCounts(this);
+    return copy;
+  }
+
   public void addErgebnisePageEnries(final SolrDocumentList solrDocuments,
       Page page) {
     if (Objects.nonNull(solrDocuments.getNumFound())) {
       this.setNOfErgebnis((int) solrDocuments.getNumFound());
     }
 
-    if (Objects.nonNull(solrDocuments.getStart())) {
+    if (page.isCursorPaging()) {
+      this.setPage(page);
+    } else if (Objects.nonNull(solrDocuments.getStart())) {
       this.setPage(new Page(page.getNumberOfRows(), (int) solrDocuments.getStart()));
     }
   }
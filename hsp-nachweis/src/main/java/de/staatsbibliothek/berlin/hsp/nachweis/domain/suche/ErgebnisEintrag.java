@@ -26,7 +26,9 @@ package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -71,4 +73,25 @@ public class ErgebnisEintrag implements Serializable {
 
   private List<String> autoren;
 
+  public ErgebnisEintrag copy() {
+    ErgebnisEintrag copy = new ErgebnisEintrag();
+    copy.id = id;
+    copy.typ = typ;
+    copy.signatur = signatur;
+    copy.title = title;
+    copy.sichtbarkeit = sichtbarkeit;
+    copy.verwaltungsTyp = verwaltungsTyp;
+    copy.bearbeiter = bearbeiter;
+    copy.bestandhaltendeInstitutionName = bestandhaltendeInstitutionName;
+    copy.bestandhaltendeInstitutionOrt = bestandhaltendeInstitutionOrt;
+    copy.jahrDerPublikation = jahrDerPublikation;
+    copy.lastUpdate = lastUpdate;
+    copy.containsDigitalisat = containsDigitalisat;
+    copy.containsBuchschmuck = containsBuchschmuck;
+    copy.containsBeschreibung = containsBeschreibung;
+    copy.publiziert = publiziert;
+    copy.autoren = Objects.isNull(autoren) ? null : new ArrayList<>(autoren);
+    return copy;
+  }
+
 }
@@ -24,20 +24,40 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
 
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI;
 import java.io.Serializable;
-import lombok.AllArgsConstructor;
+import java.util.Objects;
 import lombok.Data;
 
 /**
  * Created by udo.boysen@sbb.spk-berlin.de on 26.02.2020.
+ * <p>
+ * A page is either addressed by its offset or by the cursorMark returned with the previous page. Cursor paging does
+ * not get slower for deep pages, because SOLR does not have to sort all documents before the offset.
  */
 @Data
-@AllArgsConstructor
 public class Page implements Serializable {
 
+  public static final String CURSOR_MARK_START = SolrAPI.CURSOR_MARK_START;
+
   private static final long serialVersionUID = -2364598440258189353L;
 
   private int numberOfRows;
   private int offset;
+  private String cursorMark;
+
+  public Page(int numberOfRows, int offset) {
+    this.numberOfRows = numberOfRows;
+    this.offset = offset;
+  }
+
+  public Page(int numberOfRows, String cursorMark) {
+    this.numberOfRows = numberOfRows;
+    this.cursorMark = Objects.requireNonNull(cursorMark, "cursorMark is required");
+  }
+
+  public boolean isCursorPaging() {
+    return Objects.nonNull(cursorMark);
+  }
 
 }
@@ -27,6 +27,8 @@ package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrServiceException;
+import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Created by udo.boysen@sbb.spk-berlin.de on 14.02.2020.
@@ -35,14 +37,39 @@ public interface SuchDokumentBoundary {
 
   Ergebnis search(final Suche suche) throws SolrServiceException;
 
+  /**
+   * Passes all results of the Suche to the consumer without holding the whole result in memory. Page and
+   * highlighting of the Suche are ignored.
+   *
+   * @return the number of exported results
+   */
+  long export(final Suche suche, ErgebnisEintragConsumer consumer) throws SolrServiceException, IOException;
+
   void reindexAllKulturObjektDokumente() throws SolrUebernahmeException;
 
   void reindexAllBeschreibungen() throws SolrUebernahmeException;
 
   void kodUebernehmen(final KulturObjektDokument kod) throws SolrUebernahmeException;
 
+  /**
+   * Adds the SuchDokumente of all KODs to the index with one update request.
+   */
+  void kodsUebernehmen(final Collection<KulturObjektDokument> kods) throws SolrUebernahmeException;
+
   void beschreibungUebernehmen(final Beschreibung beschreibung) throws SolrUebernahmeException;
 
+  /**
+   * Updates only the index fields of the KOD that depend on its Digitalisate and PURLs, without deleting and adding
+   * the whole SuchDokument.
+   */
+  void kodTeilweiseUebernehmen(final KulturObjektDokument kod) throws SolrUebernahmeException;
+
+  /**
+   * Updates only the index fields of the Beschreibung that depend on its PURLs, without deleting and adding the
+   * whole SuchDokument.
+   */
+  void beschreibungTeilweiseUebernehmen(final Beschreibung beschreibung) throws SolrUebernahmeException;
+
   void dokumentLoeschen(String... iDs) throws SolrUebernahmeException;
 
 }
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Dokument;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * Creates SuchDokumente for KulturObjektDokumente and Beschreibungen. For the reindex the entities
+ * are loaded chunk by chunk, each chunk in its own transaction, so the persistence context only
+ * holds the entities of one chunk.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+public class SuchDokumentLoader {
+
+  private final KulturObjektDokumentRepository kulturObjektDokumentRepository;
+  private final BeschreibungsRepository beschreibungsRepository;
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public SuchDokumentLoader(KulturObjektDokumentRepository kulturObjektDokumentRepository,
+      BeschreibungsRepository beschreibungsRepository,
+      ObjectMapper objectMapper) {
+    this.kulturObjektDokumentRepository = kulturObjektDokumentRepository;
+    this.beschreibungsRepository = beschreibungsRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  @Transactional
+  public List<String> findKulturObjektDokumentIds(String lastId, int limit) {
+    return kulturObjektDokumentRepository.findIdsAfter(lastId, limit);
+  }
+
+  @Transactional
+  public List<String> findBeschreibungIds(String lastId, int limit) {
+    return beschreibungsRepository.findIdsAfter(lastId, limit);
+  }
+
+  @Transactional(rollbackOn = {Exception.class})
+  public List<SuchDokument> loadKulturObjektDokumente(List<String> kodIds) throws SolrUebernahmeException {
+    List<SuchDokument> suchDokumente = new ArrayList<>(kodIds.size());
+    for (KulturObjektDokument kod : kulturObjektDokumentRepository.findByIds(kodIds)) {
+      suchDokumente.add(erzeugeSuchDokument(kod));
+    }
+    return suchDokumente;
+  }
+
+  @Transactional(rollbackOn = {Exception.class})
+  public List<SuchDokument> loadBeschreibungen(List<String> beschreibungIds) throws SolrUebernahmeException {
+    List<SuchDokument> suchDokumente = new ArrayList<>(beschreibungIds.size());
+    for (Beschreibung beschreibung : beschreibungsRepository.findByIds(beschreibungIds)) {
+      suchDokumente.add(erzeugeSuchDokument(beschreibung));
+    }
+    return suchDokumente;
+  }
+
+  public SuchDokument erzeugeSuchDokument(final KulturObjektDokument kod) throws SolrUebernahmeException {
+    if (Objects.isNull(kod)) {
+      throw new SolrUebernahmeException("KulturObjektDokument must not be null!");
+    }
+
+    return SuchDokumentMapper.map(kod, mapDokumentToJson(kod, kod.getId()));
+  }
+
+  public SuchDokument erzeugeSuchDokument(final Beschreibung beschreibung) throws SolrUebernahmeException {
+    if (Objects.isNull(beschreibung)) {
+      throw new SolrUebernahmeException("Beschreibung must not be null!");
+    }
+    return SuchDokumentMapper.map(beschreibung, mapDokumentToJson(beschreibung, beschreibung.getId()));
+  }
+
+  public String mapDokumentToJson(Dokument dokument, String id) throws SolrUebernahmeException {
+    try {
+      return objectMapper.writeValueAsString(dokument);
+    } catch (JsonProcessingException e) {
+      throw new SolrUebernahmeException("Could not write JSON String of Dokument: " + id, e);
+    }
+  }
+}
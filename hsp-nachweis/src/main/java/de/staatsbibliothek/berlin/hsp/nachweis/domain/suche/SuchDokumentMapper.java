@@ -91,6 +91,27 @@ class SuchDokumentMapper {
         .build();
   }
 
+  static SuchDokumentUpdate mapTeilweise(final KulturObjektDokument kod, String kodAsJSON) {
+    Objects.requireNonNull(kod, "KulturObjektDokument is required");
+    Objects.requireNonNull(kodAsJSON, "kodAsJSON is required");
+
+    return SuchDokumentUpdate.builder(kod.getId())
+        .withContainsDigitalisat(!kod.getDigitalisate().isEmpty())
+        .withSearchableValues(kodAsJSON)
+        .withSuchDokument(map(kod, kodAsJSON))
+        .build();
+  }
+
+  static SuchDokumentUpdate mapTeilweise(final Beschreibung beschreibung, final String beschreibungAsJson) {
+    Objects.requireNonNull(beschreibung, "beschreibung is required");
+    Objects.requireNonNull(beschreibungAsJson, "beschreibungAsJson is required");
+
+    return SuchDokumentUpdate.builder(beschreibung.getId())
+        .withSearchableValues(beschreibungAsJson)
+        .withSuchDokument(map(beschreibung, beschreibungAsJson))
+        .build();
+  }
+
   static Boolean mapPubliziert(Beschreibung beschreibung) {
     return Objects.nonNull(beschreibung.getPublikationen()) && !beschreibung.getPublikationen().isEmpty();
   }
@@ -0,0 +1,192 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pipeline for the full reindex of one document type.
+ * <p>
+ * The IDs are read chunk by chunk with a keyset cursor. Each chunk is loaded and mapped to
+ * SuchDokumente by one of at most {@code parallelism} workers, and a single sender takes the
+ * SuchDokumente from a bounded queue and sends them to SOLR. The cursor waits for a free worker and
+ * the workers wait for free space in the queue, so only a bounded number of chunks is held in memory.
+ * <p>
+ * Without an ExecutorService or with a parallelism of 1 all chunks are processed one after the
+ * other in the calling thread.
+ *
+ * @since 17.10.2026
+ */
+@Slf4j
+class SuchDokumentReindexer {
+
+  private static final List<SuchDokument> END_OF_QUEUE = new ArrayList<>(0);
+
+  private final ExecutorService executorService;
+  private final int parallelism;
+  private final int chunkSize;
+  private final int queueSize;
+
+  SuchDokumentReindexer(ExecutorService executorService, int parallelism, int chunkSize, int queueSize) {
+    if (parallelism < 1 || chunkSize < 1 || queueSize < 1) {
+      throw new IllegalArgumentException("parallelism, chunkSize and queueSize must be greater than 0");
+    }
+    this.executorService = executorService;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+    this.queueSize = queueSize;
+  }
+
+  long reindex(IdCursor idCursor, ChunkLoader chunkLoader, ChunkSender chunkSender) throws Exception {
+    Objects.requireNonNull(idCursor, "idCursor is required");
+    Objects.requireNonNull(chunkLoader, "chunkLoader is required");
+    Objects.requireNonNull(chunkSender, "chunkSender is required");
+
+    if (Objects.isNull(executorService) || parallelism == 1) {
+      return reindexSequential(idCursor, chunkLoader, chunkSender);
+    }
+    return reindexParallel(idCursor, chunkLoader, chunkSender);
+  }
+
+  long reindexSequential(IdCursor idCursor, ChunkLoader chunkLoader, ChunkSender chunkSender)
+      throws Exception {
+    long count = 0;
+    int chunks = 0;
+    String lastId = null;
+    List<String> ids;
+
+    while (!(ids = idCursor.next(lastId, chunkSize)).isEmpty()) {
+      lastId = ids.get(ids.size() - 1);
+      List<SuchDokument> suchDokumente = chunkLoader.load(ids);
+      chunkSender.send(suchDokumente);
+      count += suchDokumente.size();
+      log.info("Indexed chunk {} with {} documents.", ++chunks, suchDokumente.size());
+    }
+    return count;
+  }
+
+  long reindexParallel(IdCursor idCursor, ChunkLoader chunkLoader, ChunkSender chunkSender)
+      throws Exception {
+    BlockingQueue<List<SuchDokument>> queue = new ArrayBlockingQueue<>(queueSize);
+    Semaphore workers = new Semaphore(parallelism);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    AtomicLong count = new AtomicLong();
+
+    Future<?> sender = executorService.submit(() -> {
+      List<SuchDokument> suchDokumente;
+      while ((suchDokumente = queue.take()) != END_OF_QUEUE) {
+        if (Objects.isNull(failure.get())) {
+          try {
+            chunkSender.send(suchDokumente);
+            count.addAndGet(suchDokumente.size());
+          } catch (Exception e) {
+            failure.compareAndSet(null, e);
+          }
+        }
+      }
+      return null;
+    });
+
+    int chunks = 0;
+    try {
+      String lastId = null;
+      List<String> ids;
+
+      while (Objects.isNull(failure.get()) && !(ids = idCursor.next(lastId, chunkSize)).isEmpty()) {
+        lastId = ids.get(ids.size() - 1);
+        workers.acquire();
+        submitChunk(ids, chunkLoader, queue, workers, failure);
+        if (++chunks % 100 == 0) {
+          log.info("Submitted {} chunks, indexed {} documents.", chunks, count.get());
+        }
+      }
+    } catch (Exception e) {
+      failure.compareAndSet(null, e);
+    } finally {
+      workers.acquireUninterruptibly(parallelism);
+      queue.put(END_OF_QUEUE);
+      sender.get();
+    }
+
+    if (Objects.nonNull(failure.get())) {
+      throw failure.get();
+    }
+    log.info("Indexed {} chunks with {} documents.", chunks, count.get());
+    return count.get();
+  }
+
+  private void submitChunk(List<String> ids, ChunkLoader chunkLoader,
+      BlockingQueue<List<SuchDokument>> queue, Semaphore workers, AtomicReference<Exception> failure) {
+    try {
+      executorService.execute(() -> {
+        try {
+          if (Objects.isNull(failure.get())) {
+            queue.put(chunkLoader.load(ids));
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          failure.compareAndSet(null, e);
+        } catch (Exception e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          workers.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      workers.release();
+      throw e;
+    }
+  }
+
+  @FunctionalInterface
+  interface IdCursor {
+
+    List<String> next(String lastId, int limit) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface ChunkLoader {
+
+    List<SuchDokument> load(List<String> ids) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface ChunkSender {
+
+    void send(List<SuchDokument> suchDokumente) throws Exception;
+  }
+}
@@ -24,26 +24,28 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Lists;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Dokument;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentRepository;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentReindexer.ChunkLoader;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentReindexer.IdCursor;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrServiceException;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Collection;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
 
 /**
  * Created by udo.boysen@sbb.spk-berlin.de on 12.02.2020.
@@ -52,26 +54,39 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 @Slf4j
 public class SuchDokumentService implements SuchDokumentBoundary, Serializable {
 
+  static final int EXPORT_ROWS = 1000;
+
   private static final long serialVersionUID = 8472385579007592015L;
 
   private final SuchPort suchPort;
-  private final KulturObjektDokumentRepository kulturObjektDokumentRepository;
-  private final BeschreibungsRepository beschreibungsRepository;
-  private final ObjectMapper objectMapper;
+  private final SuchDokumentLoader suchDokumentLoader;
   private final int documentsPerUpdate;
+  private final int reindexThreads;
+  private final int reindexQueueSize;
 
   @Inject
   public SuchDokumentService(SuchPort suchPort,
-      KulturObjektDokumentRepository kulturObjektDokumentRepository,
-      BeschreibungsRepository beschreibungsRepository,
-      ObjectMapper objectMapper,
+      SuchDokumentLoader suchDokumentLoader,
       @ConfigProperty(name = "suchdokumentservice.reindexall.documents_per_update",
-          defaultValue = "20") int documentsPerUpdate) {
+          defaultValue = "20") int documentsPerUpdate,
+      @ConfigProperty(name = "suchdokumentservice.reindexall.threads",
+          defaultValue = "0") int reindexThreads,
+      @ConfigProperty(name = "suchdokumentservice.reindexall.queue_size",
+          defaultValue = "8") int reindexQueueSize) {
     this.suchPort = suchPort;
-    this.kulturObjektDokumentRepository = kulturObjektDokumentRepository;
-    this.beschreibungsRepository = beschreibungsRepository;
-    this.objectMapper = objectMapper;
+    this.suchDokumentLoader = suchDokumentLoader;
     this.documentsPerUpdate = documentsPerUpdate;
+    this.reindexThreads = reindexThreads > 0 ? reindexThreads : Runtime.getRuntime().availableProcessors();
+    this.reindexQueueSize = reindexQueueSize;
+  }
+
+  SuchDokumentService(SuchPort suchPort,
+      KulturObjektDokumentRepository kulturObjektDokumentRepository,
+      BeschreibungsRepository beschreibungsRepository,
+      ObjectMapper objectMapper,
+      int documentsPerUpdate) {
+    this(suchPort, new SuchDokumentLoader(kulturObjektDokumentRepository, beschreibungsRepository, objectMapper),
+        documentsPerUpdate, 1, 1);
   }
 
   @Transactional(rollbackOn = {Exception.class})
@@ -84,6 +99,23 @@ public class SuchDokumentService implements SuchDokumentBoundary, Serializable {
     log.info("KOD updated. (ID: {}, Signatur: {})", kod.getId(), kod.getGueltigeIdentifikation().getIdent());
   }
 
+  @Transactional(rollbackOn = {Exception.class})
+  @Override
+  public void kodsUebernehmen(final Collection<KulturObjektDokument> kods) throws SolrUebernahmeException {
+    if (Objects.isNull(kods) || kods.isEmpty()) {
+      return;
+    }
+    log.info("{} KODs uebernehmen into index...", kods.size());
+
+    SuchDokument[] suchDokumente = new SuchDokument[kods.size()];
+    int i = 0;
+    for (KulturObjektDokument kod : kods) {
+      suchDokumente[i++] = erzeugeSuchDokument(kod);
+    }
+    suchDokumentUebernehmen(suchDokumente);
+    log.info("{} KODs updated.", suchDokumente.length);
+  }
+
   @Transactional(rollbackOn = {Exception.class})
   @Override
   public void beschreibungUebernehmen(final Beschreibung beschreibung) throws SolrUebernahmeException {
@@ -94,47 +126,51 @@ public class SuchDokumentService implements SuchDokumentBoundary, Serializable {
     log.info("Beschreibung updated (ID: {} ).", beschreibung.getId());
   }
 
+  @Transactional(rollbackOn = {Exception.class})
   @Override
-  public void reindexAllKulturObjektDokumente() throws SolrUebernahmeException {
-    deleteAllByTyp(SuchDokumentTyp.KOD);
-
-    List<String> kodIds = kulturObjektDokumentRepository.listAll()
-        .stream().map(KulturObjektDokument::getId)
-        .collect(Collectors.toList());
+  public void kodTeilweiseUebernehmen(final KulturObjektDokument kod) throws SolrUebernahmeException {
+    if (Objects.isNull(kod)) {
+      throw new SolrUebernahmeException("KulturObjektDokument must not be null!");
+    }
 
-    List<List<String>> sublists = Lists.partition(kodIds, documentsPerUpdate);
+    suchDokumentUpdateUebernehmen(SuchDokumentMapper.mapTeilweise(kod, mapDokumentToJson(kod, kod.getId())));
+    log.info("KOD partially updated. (ID: {})", kod.getId());
+  }
 
-    log.info("Sending {} KODs to SOLR in {} sublists.", kodIds.size(), sublists.size());
-    int sublistCounter = 0;
-    for (List<String> sublist : sublists) {
-      log.info("Indexing sublist {}.", ++sublistCounter);
-      kodsUebernehmenOhneSOLRTransaktion(sublist);
+  @Transactional(rollbackOn = {Exception.class})
+  @Override
+  public void beschreibungTeilweiseUebernehmen(final Beschreibung beschreibung) throws SolrUebernahmeException {
+    if (Objects.isNull(beschreibung)) {
+      throw new SolrUebernahmeException("Beschreibung must not be null!");
     }
 
+    suchDokumentUpdateUebernehmen(
+        SuchDokumentMapper.mapTeilweise(beschreibung, mapDokumentToJson(beschreibung, beschreibung.getId())));
+    log.info("Beschreibung partially updated. (ID: {})", beschreibung.getId());
+  }
+
+  @Override
+  public void reindexAllKulturObjektDokumente() throws SolrUebernahmeException {
+    deleteAllByTyp(SuchDokumentTyp.KOD);
+
+    log.info("Sending KODs to SOLR with {} threads in chunks of {}.", reindexThreads, documentsPerUpdate);
+    long count = reindex(suchDokumentLoader::findKulturObjektDokumentIds,
+        suchDokumentLoader::loadKulturObjektDokumente);
+
     commitSOLR();
-    log.info("Send {} KODs to SOLR - Ready", kodIds.size());
+    log.info("Send {} KODs to SOLR - Ready", count);
   }
 
   @Override
   public void reindexAllBeschreibungen() throws SolrUebernahmeException {
     deleteAllByTyp(SuchDokumentTyp.BS);
 
-    List<String> beschreibungenIds = beschreibungsRepository.listAll()
-        .stream().map(Beschreibung::getId)
-        .collect(Collectors.toList());
-
-    List<List<String>> sublists = Lists.partition(beschreibungenIds, documentsPerUpdate);
-
-    log.info("Sending {} Beschreibungen to SOLR in {} sublists.", beschreibungenIds.size(), sublists.size());
-    int sublistCounter = 0;
-    for (List<String> sublist : sublists) {
-      log.info("Indexing sublist {}.", ++sublistCounter);
-      beschreibungenUebernehmenOhneSOLRTransaktion(sublist);
-    }
+    log.info("Sending Beschreibungen to SOLR with {} threads in chunks of {}.", reindexThreads,
+        documentsPerUpdate);
+    long count = reindex(suchDokumentLoader::findBeschreibungIds, suchDokumentLoader::loadBeschreibungen);
 
     commitSOLR();
-
-    log.info("Send {} Beschreibungen to SOLR - Ready", beschreibungenIds.size());
+    log.info("Send {} Beschreibungen to SOLR - Ready", count);
   }
 
   @Transactional(rollbackOn = {Exception.class})
@@ -159,27 +195,58 @@ public class SuchDokumentService implements SuchDokumentBoundary, Serializable {
     }
   }
 
+  @Transactional(rollbackOn = {Exception.class})
+  void suchDokumentUpdateUebernehmen(final SuchDokumentUpdate... suchDokumentUpdates)
+      throws SolrUebernahmeException {
+    try {
+      suchPort.partialUpdate(suchDokumentUpdates);
+    } catch (Exception e) {
+      log.error("Error during Dokument teilweise uebernehmen {}", Arrays.toString(suchDokumentUpdates), e);
+      throw new SolrUebernahmeException(e);
+    }
+  }
+
   @Override
   public Ergebnis search(final Suche suche) throws SolrServiceException {
     return suchPort.search(suche);
   }
 
-  void kodsUebernehmenOhneSOLRTransaktion(List<String> kodIds) throws SolrUebernahmeException {
-    List<SuchDokument> suchDokumente = new ArrayList<>(kodIds.size());
-    for (String kodId : kodIds) {
-      KulturObjektDokument kod = kulturObjektDokumentRepository.findById(kodId);
-      suchDokumente.add(erzeugeSuchDokument(kod));
+  @Override
+  public long export(final Suche suche, ErgebnisEintragConsumer consumer) throws SolrServiceException, IOException {
+    return suchPort.export(suche, EXPORT_ROWS, consumer);
+  }
+
+  long reindex(IdCursor idCursor, ChunkLoader chunkLoader) throws SolrUebernahmeException {
+    ExecutorService executorService = createReindexExecutor();
+    try {
+      return new SuchDokumentReindexer(executorService, reindexThreads, documentsPerUpdate, reindexQueueSize)
+          .reindex(idCursor, chunkLoader,
+              suchDokumente -> suchDokumentUebernehmenOhneTransaktion(suchDokumente.toArray(new SuchDokument[0])));
+    } catch (SolrUebernahmeException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error during reindex: {}", e.getMessage(), e);
+      throw new SolrUebernahmeException("Error during reindex: " + e.getMessage(), e);
+    } finally {
+      if (Objects.nonNull(executorService)) {
+        executorService.shutdown();
+      }
     }
-    suchDokumentUebernehmenOhneTransaktion(suchDokumente.toArray(new SuchDokument[0]));
   }
 
-  void beschreibungenUebernehmenOhneSOLRTransaktion(List<String> beschreibungenIds) throws SolrUebernahmeException {
-    List<SuchDokument> suchDokumente = new ArrayList<>(beschreibungenIds.size());
-    for (String beschreibungId : beschreibungenIds) {
-      Beschreibung beschreibung = beschreibungsRepository.findById(beschreibungId);
-      suchDokumente.add(erzeugeSuchDokument(beschreibung));
+  /**
+   * The workers must not share the transaction of the caller, every chunk is loaded in its own
+   * transaction. One additional thread is needed for sending the SuchDokumente to SOLR.
+   */
+  ExecutorService createReindexExecutor() {
+    if (reindexThreads <= 1) {
+      return null;
     }
-    suchDokumentUebernehmenOhneTransaktion(suchDokumente.toArray(new SuchDokument[0]));
+    return ManagedExecutor.builder()
+        .maxAsync(reindexThreads + 1)
+        .propagated(ThreadContext.NONE)
+        .cleared(ThreadContext.ALL_REMAINING)
+        .build();
   }
 
   void suchDokumentUebernehmenOhneTransaktion(final SuchDokument... suchDokumente)
@@ -218,26 +285,15 @@ public class SuchDokumentService implements SuchDokumentBoundary, Serializable {
   }
 
   SuchDokument erzeugeSuchDokument(final KulturObjektDokument kod) throws SolrUebernahmeException {
-    if (Objects.isNull(kod)) {
-      throw new SolrUebernahmeException("KulturObjektDokument must not be null!");
-    }
-
-    return SuchDokumentMapper.map(kod, mapDokumentToJson(kod, kod.getId()));
+    return suchDokumentLoader.erzeugeSuchDokument(kod);
   }
 
   SuchDokument erzeugeSuchDokument(final Beschreibung beschreibung) throws SolrUebernahmeException {
-    if (Objects.isNull(beschreibung)) {
-      throw new SolrUebernahmeException("Beschreibung must not be null!");
-    }
-    return SuchDokumentMapper.map(beschreibung, mapDokumentToJson(beschreibung, beschreibung.getId()));
+    return suchDokumentLoader.erzeugeSuchDokument(beschreibung);
   }
 
   String mapDokumentToJson(Dokument dokument, String id) throws SolrUebernahmeException {
-    try {
-      return objectMapper.writeValueAsString(dokument);
-    } catch (JsonProcessingException e) {
-      throw new SolrUebernahmeException("Could not write JSON String of Dokument: " + id, e);
-    }
+    return suchDokumentLoader.mapDokumentToJson(dokument, id);
   }
 
 }
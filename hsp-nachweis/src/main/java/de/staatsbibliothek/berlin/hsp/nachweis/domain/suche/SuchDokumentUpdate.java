@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrIndexFields;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Atomic update of single fields of an indexed SuchDokument.
+ * <p>
+ * Every field except the id holds a {@code set} modifier, so SOLR replaces only these fields and keeps all other
+ * fields of the stored document. The {@code _version_} constraint of 1 makes SOLR reject the update if no document
+ * with this id is indexed, instead of creating a new document that consists only of the changed fields. In this case
+ * the complete SuchDokument, if given, is added instead.
+ *
+ * @since 17.10.2026
+ */
+public class SuchDokumentUpdate extends SolrInputDocument {
+
+  public static final String MODIFIER_SET = "set";
+  public static final long VERSION_MUST_EXIST = 1L;
+
+  private static final long serialVersionUID = -2650874218650473811L;
+
+  private transient SuchDokument suchDokument;
+
+  private SuchDokumentUpdate(String id) {
+    setField(SolrIndexFields.FIELD_ID, Objects.requireNonNull(id, "id is required"));
+    setField(SolrIndexFields.FIELD_VERSION, VERSION_MUST_EXIST);
+  }
+
+  public static SuchDokumentUpdateBuilder builder(String id) {
+    return new SuchDokumentUpdateBuilder(id);
+  }
+
+  public String getId() {
+    return getFieldValueAsString(SolrIndexFields.FIELD_ID);
+  }
+
+  public Optional<SuchDokument> getSuchDokument() {
+    return Optional.ofNullable(suchDokument);
+  }
+
+  public Set<String> getChangedFields() {
+    return getFieldNames().stream()
+        .filter(name -> !SolrIndexFields.FIELD_ID.equals(name) && !SolrIndexFields.FIELD_VERSION.equals(name))
+        .collect(Collectors.toSet());
+  }
+
+  public Object getChangedValue(String field) {
+    Object value = getFieldValue(field);
+    return value instanceof Map ? ((Map<?, ?>) value).get(MODIFIER_SET) : null;
+  }
+
+  private String getFieldValueAsString(String field) {
+    Object value = getFieldValue(field);
+    return Objects.isNull(value) ? null : value.toString();
+  }
+
+  @Override
+  public String toString() {
+    return "SuchDokumentUpdate{id='" + getId() + "', changedFields=" + getChangedFields() + '}';
+  }
+
+  public static class SuchDokumentUpdateBuilder {
+
+    private final SuchDokumentUpdate suchDokumentUpdate;
+
+    private SuchDokumentUpdateBuilder(String id) {
+      suchDokumentUpdate = new SuchDokumentUpdate(id);
+    }
+
+    private SuchDokumentUpdateBuilder set(String field, Object value) {
+      suchDokumentUpdate.setField(field, Collections.singletonMap(MODIFIER_SET, value));
+      return this;
+    }
+
+    public SuchDokumentUpdateBuilder withContainsDigitalisat(Boolean containsDigitalisat) {
+      return set(SolrIndexFields.FIELD_CONTAINS_DIGITALISAT, containsDigitalisat);
+    }
+
+    public SuchDokumentUpdateBuilder withSearchableValues(String searchableValues) {
+      return set(SolrIndexFields.FIELD_SEARCHABLE_VALUES, searchableValues);
+    }
+
+    public SuchDokumentUpdateBuilder withSuchDokument(SuchDokument suchDokument) {
+      suchDokumentUpdate.suchDokument = suchDokument;
+      return this;
+    }
+
+    public SuchDokumentUpdate build() {
+      return suchDokumentUpdate;
+    }
+  }
+}
@@ -25,6 +25,7 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrServiceException;
+import java.io.IOException;
 
 /**
  * Created by udo.boysen@sbb.spk-berlin.de on 12.02.2020.
@@ -35,6 +36,8 @@ public interface SuchPort {
 
   void update(boolean deleteBeforeUpdate, final SuchDokument... suchDokumente) throws SolrServiceException;
 
+  void partialUpdate(final SuchDokumentUpdate... suchDokumentUpdates) throws SolrServiceException;
+
   void updateWithoutTransaction(boolean deleteBeforeUpdate, final SuchDokument... suchDokumente)
       throws SolrServiceException;
 
@@ -48,4 +51,11 @@ public interface SuchPort {
 
   Ergebnis search(final Suche suche) throws SolrServiceException;
 
+  /**
+   * Passes all results of the Suche to the consumer, reading {@code rows} results per request.
+   *
+   * @return the number of exported results
+   */
+  long export(final Suche suche, int rows, ErgebnisEintragConsumer consumer) throws SolrServiceException, IOException;
+
 }
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexService.IndexProgress;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checkpoint of an index job that sends the KODs in chunks.
+ * <p>
+ * The chunks are submitted in keyset order, but the workers may commit them in any order. The checkpoint is the last
+ * ID of the last chunk that was committed together with all chunks before it, so a resumed job continues after the
+ * checkpoint without skipping a KOD. Every advanced checkpoint is persisted with the progress of the job. After a
+ * failed chunk or if the job was cancelled, possibly on another node, {@link #isStopped()} returns true.
+ *
+ * @since 17.10.2026
+ */
+@Slf4j
+class IndexCheckpoint {
+
+  private final IndexJobStatusBoundary indexJobStatusBoundary;
+  private final IndexJobStatus indexJobStatus;
+  private final IndexProgress progress;
+  private final Deque<Chunk> chunks = new ArrayDeque<>();
+  private String checkpoint;
+  private long indexed;
+  private volatile boolean failed;
+  private volatile boolean cancelled;
+
+  /**
+   * @param indexJobStatusBoundary null to keep the checkpoint only in memory
+   * @param indexJobStatus         null to keep the checkpoint only in memory
+   */
+  IndexCheckpoint(IndexJobStatusBoundary indexJobStatusBoundary, IndexJobStatus indexJobStatus,
+      IndexProgress progress, String checkpoint, long indexed) {
+    this.indexJobStatusBoundary = indexJobStatusBoundary;
+    this.indexJobStatus = indexJobStatus;
+    this.progress = progress;
+    this.checkpoint = checkpoint;
+    this.indexed = indexed;
+  }
+
+  synchronized void submitted(String lastId) {
+    chunks.addLast(new Chunk(lastId));
+  }
+
+  synchronized void committed(String lastId, int count) {
+    for (Chunk chunk : chunks) {
+      if (chunk.lastId.equals(lastId)) {
+        chunk.committed = true;
+        chunk.count = count;
+        break;
+      }
+    }
+
+    boolean advanced = false;
+    while (!chunks.isEmpty() && chunks.peekFirst().committed) {
+      Chunk chunk = chunks.pollFirst();
+      checkpoint = chunk.lastId;
+      indexed += chunk.count;
+      advanced = true;
+    }
+
+    if (advanced && !failed) {
+      save();
+      if (isPersistent() && indexJobStatusBoundary.isCancelled(indexJobStatus.getId())) {
+        log.info("Index job {} was cancelled at checkpoint {}", indexJobStatus.getId(), checkpoint);
+        cancelled = true;
+      }
+    }
+  }
+
+  synchronized void failed(String lastId, Exception exception) {
+    log.error("Error during indexing of the chunk up to KOD {}, stopping after checkpoint {}", lastId, checkpoint,
+        exception);
+    failed = true;
+  }
+
+  /**
+   * Writes the heartbeat of the job, so it is not resumed by another node while a long chunk is sent.
+   */
+  void heartbeat() {
+    if (isPersistent() && !isStopped()) {
+      try {
+        indexJobStatusBoundary.heartbeat(indexJobStatus.getId());
+      } catch (RuntimeException e) {
+        log.warn("Unable to write the heartbeat of index job {}", indexJobStatus.getId(), e);
+      }
+    }
+  }
+
+  boolean isStopped() {
+    return failed || cancelled;
+  }
+
+  synchronized IndexJobState finish() {
+    IndexJobState state = failed ? IndexJobState.FAILED
+        : cancelled ? IndexJobState.CANCELLED : IndexJobState.FINISHED;
+    updateStatus();
+    if (isPersistent()) {
+      indexJobStatusBoundary.finish(indexJobStatus, state);
+      state = indexJobStatus.getState();
+    }
+    return state;
+  }
+
+  synchronized String getCheckpoint() {
+    return checkpoint;
+  }
+
+  synchronized long getIndexed() {
+    return indexed;
+  }
+
+  private void save() {
+    updateStatus();
+    if (isPersistent()) {
+      indexJobStatusBoundary.saveProgress(indexJobStatus);
+    }
+  }
+
+  private void updateStatus() {
+    progress.set(indexed);
+    if (Objects.nonNull(indexJobStatus)) {
+      indexJobStatus.setCheckpoint(checkpoint);
+    }
+  }
+
+  private boolean isPersistent() {
+    return Objects.nonNull(indexJobStatusBoundary) && Objects.nonNull(indexJobStatus);
+  }
+
+  private static class Chunk {
+
+    private final String lastId;
+    private boolean committed;
+    private int count;
+
+    Chunk(String lastId) {
+      this.lastId = lastId;
+    }
+  }
+}
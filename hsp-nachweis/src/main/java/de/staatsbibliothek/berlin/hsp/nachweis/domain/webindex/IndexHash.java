@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Content hash of a Beschreibung as it was last sent to the index together with its KOD.
+ *
+ * @since 17.10.2026
+ */
+@Entity
+@Table(name = "indexhash")
+public class IndexHash {
+
+  @Id
+  private String id;
+
+  @Column(name = "kod_id", length = 64, nullable = false)
+  private String kodId;
+
+  @Column(name = "hash", length = 64, nullable = false)
+  private String hash;
+
+  @Column(name = "indexdatum", nullable = false)
+  private LocalDateTime indexDatum;
+
+  public IndexHash() {
+  }
+
+  public IndexHash(String id, String kodId, String hash, LocalDateTime indexDatum) {
+    this.id = id;
+    this.kodId = kodId;
+    this.hash = hash;
+    this.indexDatum = indexDatum;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getKodId() {
+    return kodId;
+  }
+
+  public String getHash() {
+    return hash;
+  }
+
+  public LocalDateTime getIndexDatum() {
+    return indexDatum;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    IndexHash that = (IndexHash) o;
+    return Objects.equals(id, that.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id);
+  }
+
+  @Override
+  public String toString() {
+    return "IndexHash{" +
+        "id='" + id + '\'' +
+        ", kodId='" + kodId + '\'' +
+        ", hash='" + hash + '\'' +
+        ", indexDatum=" + indexDatum +
+        '}';
+  }
+}
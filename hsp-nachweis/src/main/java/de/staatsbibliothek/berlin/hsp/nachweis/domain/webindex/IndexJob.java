@@ -38,33 +38,71 @@ public class IndexJob {
   private String uriToIndexJobStatus;
   private Optional<String> kodId = Optional.empty();
   private Optional<ActivityStreamAction> activityStreamAction = Optional.empty();
+  private Optional<String> fromId = Optional.empty();
+  private Optional<String> toId = Optional.empty();
 
   private boolean withTransaction;
 
   public IndexJob(IndexJobStatusBoundary indexJobStatusBoundry, String kodId2, boolean withTransaction) {
-    indexJobStatus = indexJobStatusBoundry.save(
-        IndexJobStatusBuilder.anIndexJobStatus().withStatusInPercentage("0%").build());
-
-    indexJobStatus.ifPresentOrElse(
-        indexJobStatus1 -> uriToIndexJobStatus = "/rest/indexkods/status/" + indexJobStatus1.getId(),
-        () -> log.error("Couldn't save indexJobStatusFromService"));
-    this.kodId = Optional.of(kodId2);
-    this.withTransaction = withTransaction;
+    this(indexJobStatusBoundry, kodId2, null, withTransaction);
   }
 
   public IndexJob(IndexJobStatusBoundary indexJobStatusBoundry, String kodId,
       ActivityStreamAction activityStreamAction, boolean withTransaction) {
-    this(indexJobStatusBoundry, kodId, withTransaction);
+    this.kodId = Optional.of(kodId);
     this.activityStreamAction = Optional.ofNullable(activityStreamAction);
+    this.withTransaction = withTransaction;
+    indexJobStatus = saveIndexJobStatus(indexJobStatusBoundry);
   }
 
   public IndexJob(IndexJobStatusBoundary indexJobStatusBoundry) {
-    indexJobStatus = indexJobStatusBoundry.save(
-        IndexJobStatusBuilder.anIndexJobStatus().withStatusInPercentage("0%").build());
+    this(indexJobStatusBoundry, null, null);
+  }
+
+  /**
+   * Creates a job for the KODs with IDs greater than {@code fromId} and less than or equal to {@code toId}, so
+   * several jobs can split the KODs, e.g. on different nodes.
+   *
+   * @param fromId exclusive lower bound, null for the first KOD
+   * @param toId   inclusive upper bound, null for the last KOD
+   */
+  public IndexJob(IndexJobStatusBoundary indexJobStatusBoundry, String fromId, String toId) {
+    this.fromId = Optional.ofNullable(fromId);
+    this.toId = Optional.ofNullable(toId);
+    indexJobStatus = saveIndexJobStatus(indexJobStatusBoundry);
+  }
+
+  /**
+   * Resumes an interrupted, failed or cancelled job after its checkpoint.
+   */
+  public IndexJob(IndexJobStatus resumedIndexJobStatus) {
+    this.kodId = Optional.ofNullable(resumedIndexJobStatus.getKodId());
+    this.activityStreamAction = Optional.ofNullable(resumedIndexJobStatus.getAction());
+    this.fromId = Optional.ofNullable(resumedIndexJobStatus.getFromId());
+    this.toId = Optional.ofNullable(resumedIndexJobStatus.getToId());
+    this.withTransaction = resumedIndexJobStatus.isWithTransaction();
+    this.indexJobStatus = Optional.of(resumedIndexJobStatus);
+    this.uriToIndexJobStatus = createUriToIndexJobStatus(resumedIndexJobStatus);
+  }
 
-    indexJobStatus.ifPresentOrElse(
-        indexJobStatus1 -> uriToIndexJobStatus = "/rest/indexkods/status/" + indexJobStatus1.getId(), () ->
+  private Optional<IndexJobStatus> saveIndexJobStatus(IndexJobStatusBoundary indexJobStatusBoundry) {
+    IndexJobStatus newIndexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withStatusInPercentage("0%").build();
+    newIndexJobStatus.setKodId(kodId.orElse(null));
+    newIndexJobStatus.setAction(activityStreamAction.orElse(null));
+    newIndexJobStatus.setFromId(fromId.orElse(null));
+    newIndexJobStatus.setToId(toId.orElse(null));
+    newIndexJobStatus.setWithTransaction(withTransaction);
+
+    Optional<IndexJobStatus> savedIndexJobStatus = indexJobStatusBoundry.save(newIndexJobStatus);
+
+    savedIndexJobStatus.ifPresentOrElse(
+        indexJobStatus1 -> uriToIndexJobStatus = createUriToIndexJobStatus(indexJobStatus1), () ->
             log.error("Couldn't save indexJobStatusFromService"));
+    return savedIndexJobStatus;
+  }
+
+  private static String createUriToIndexJobStatus(IndexJobStatus indexJobStatus) {
+    return "/rest/indexkods/status/" + indexJobStatus.getId();
   }
 
   public Optional<String> getKodId() {
@@ -83,6 +121,14 @@ public class IndexJob {
     return activityStreamAction;
   }
 
+  public Optional<String> getFromId() {
+    return fromId;
+  }
+
+  public Optional<String> getToId() {
+    return toId;
+  }
+
   public boolean isWithTransaction() {
     return withTransaction;
   }
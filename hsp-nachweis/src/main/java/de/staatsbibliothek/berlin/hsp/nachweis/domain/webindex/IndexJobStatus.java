@@ -24,11 +24,19 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 @Entity
@@ -36,12 +44,65 @@ import javax.persistence.Table;
 @Cacheable
 public class IndexJobStatus {
 
+  /**
+   * A running job that did not write a heartbeat for this time is considered as interrupted and can be resumed.
+   */
+  public static final Duration STALE_AFTER = Duration.ofMinutes(10);
+
+  /**
+   * Interval of the heartbeat of a running job, independent of the time it takes to commit a chunk.
+   */
+  public static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+
   @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "indexjobstatus_seq")
+  @SequenceGenerator(name = "indexjobstatus_seq", sequenceName = "indexjobstatus_seq", allocationSize = 1)
   private long id;
 
   @Column
   private String statusInPercentage;
 
+  @Column(name = "state", length = 32)
+  @Enumerated(EnumType.STRING)
+  private IndexJobState state;
+
+  @Column(name = "kod_id", length = 64)
+  private String kodId;
+
+  @Column(name = "action", length = 32)
+  @Enumerated(EnumType.STRING)
+  private ActivityStreamAction action;
+
+  @Column(name = "with_transaction")
+  private boolean withTransaction;
+
+  @Column(name = "from_id", length = 64)
+  private String fromId;
+
+  @Column(name = "to_id", length = 64)
+  private String toId;
+
+  @Column(name = "checkpoint", length = 64)
+  private String checkpoint;
+
+  @Column(name = "total")
+  private long total;
+
+  @Column(name = "indexed")
+  private long indexed;
+
+  @Column(name = "indexed_at_start")
+  private long indexedAtStart;
+
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "heartbeat_at")
+  private LocalDateTime heartbeatAt;
+
   public IndexJobStatus() {
   }
 
@@ -66,6 +127,146 @@ public class IndexJobStatus {
     this.statusInPercentage = statusInPercentage;
   }
 
+  public IndexJobState getState() {
+    return state;
+  }
+
+  public void setState(IndexJobState state) {
+    this.state = state;
+  }
+
+  public String getKodId() {
+    return kodId;
+  }
+
+  public void setKodId(String kodId) {
+    this.kodId = kodId;
+  }
+
+  public ActivityStreamAction getAction() {
+    return action;
+  }
+
+  public void setAction(ActivityStreamAction action) {
+    this.action = action;
+  }
+
+  public boolean isWithTransaction() {
+    return withTransaction;
+  }
+
+  public void setWithTransaction(boolean withTransaction) {
+    this.withTransaction = withTransaction;
+  }
+
+  /**
+   * @return the exclusive lower bound of the KOD IDs of the job, null for the first KOD
+   */
+  public String getFromId() {
+    return fromId;
+  }
+
+  public void setFromId(String fromId) {
+    this.fromId = fromId;
+  }
+
+  /**
+   * @return the inclusive upper bound of the KOD IDs of the job, null for the last KOD
+   */
+  public String getToId() {
+    return toId;
+  }
+
+  public void setToId(String toId) {
+    this.toId = toId;
+  }
+
+  /**
+   * @return the ID of the last KOD of the last committed chunk. All KODs of the job up to this ID were sent.
+   */
+  public String getCheckpoint() {
+    return checkpoint;
+  }
+
+  public void setCheckpoint(String checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public void setTotal(long total) {
+    this.total = total;
+  }
+
+  public long getIndexed() {
+    return indexed;
+  }
+
+  public void setIndexed(long indexed) {
+    this.indexed = indexed;
+  }
+
+  public long getIndexedAtStart() {
+    return indexedAtStart;
+  }
+
+  public void setIndexedAtStart(long indexedAtStart) {
+    this.indexedAtStart = indexedAtStart;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(LocalDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  /**
+   * @return the time the node running the job last signalled that it is still alive
+   */
+  public LocalDateTime getHeartbeatAt() {
+    return heartbeatAt;
+  }
+
+  public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+    this.heartbeatAt = heartbeatAt;
+  }
+
+  /**
+   * @return the number of KODs sent per second since the job was (re)started
+   */
+  public double getDocumentsPerSecond() {
+    if (Objects.isNull(startedAt) || Objects.isNull(updatedAt)) {
+      return 0;
+    }
+    long millis = Duration.between(startedAt, updatedAt).toMillis();
+    return millis > 0 ? (indexed - indexedAtStart) * 1000d / millis : 0;
+  }
+
+  /**
+   * A job can be resumed if it did not finish and is not running anymore. A running job, that did not write a
+   * heartbeat for {@link #STALE_AFTER}, was interrupted, e.g. by a restart. The resume itself must claim the job with
+   * {@link IndexJobStatusRepository#claimForResume(long, LocalDateTime)}, which checks the same condition.
+   */
+  public boolean isResumable(LocalDateTime now) {
+    if (IndexJobState.FINISHED == state || withTransaction) {
+      return false;
+    }
+    return IndexJobState.RUNNING != state || Objects.isNull(heartbeatAt)
+        || heartbeatAt.plus(STALE_AFTER).isBefore(now);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -88,6 +289,10 @@ public class IndexJobStatus {
     return "IndexJobStatus{" +
         "id='" + id + '\'' +
         ", statusInPercentage='" + statusInPercentage + '\'' +
+        ", state=" + state +
+        ", checkpoint='" + checkpoint + '\'' +
+        ", indexed=" + indexed +
+        ", total=" + total +
         '}';
   }
 
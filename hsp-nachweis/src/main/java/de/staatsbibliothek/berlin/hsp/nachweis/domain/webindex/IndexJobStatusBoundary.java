@@ -33,4 +33,35 @@ public interface IndexJobStatusBoundary {
   Optional<IndexJobStatus> save(IndexJobStatus indexJobStatus);
 
   void delete(IndexJobStatus indexJobStatus);
+
+  /**
+   * Marks a running job as cancelled. The job stops after the chunks it is currently sending.
+   *
+   * @return the cancelled job, empty if there is no running job with the id
+   */
+  Optional<IndexJobStatus> cancel(long id);
+
+  boolean isCancelled(long id);
+
+  /**
+   * Sets a failed, cancelled or stale running job to running, only one of concurrent requests succeeds.
+   *
+   * @return the claimed job, empty if the job can't be resumed
+   */
+  Optional<IndexJobStatus> claimForResume(long id);
+
+  /**
+   * Signals that the node running the job is still alive.
+   */
+  void heartbeat(long id);
+
+  /**
+   * Persists checkpoint and progress of a running job.
+   */
+  void saveProgress(IndexJobStatus indexJobStatus);
+
+  /**
+   * Sets the final state of a running job. A cancelled job stays cancelled.
+   */
+  void finish(IndexJobStatus indexJobStatus, IndexJobState state);
 }
@@ -25,6 +25,57 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.CRUDRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface IndexJobStatusRepository extends CRUDRepository<IndexJobStatus, Long> {
+
+  /**
+   * Reads the state with a query, so the state changed by another node is not hidden by the second level cache.
+   */
+  default Optional<IndexJobState> findStateById(long id) {
+    return getEntityManager()
+        .createQuery("select s.state from IndexJobStatus s where s.id = ?1", IndexJobState.class)
+        .setParameter(1, id)
+        .getResultStream()
+        .findFirst();
+  }
+
+  /**
+   * Changes the state only if the job is still in the expected state.
+   *
+   * @return true if the state was changed
+   */
+  default boolean updateState(long id, IndexJobState expected, IndexJobState state) {
+    return update("state = ?1 where id = ?2 and state = ?3", state, id, expected) > 0;
+  }
+
+  /**
+   * Claims a failed, cancelled or stale running job for a resume by setting it to running with a new heartbeat. The
+   * condition is checked in the update, so of concurrent claims only one succeeds.
+   *
+   * @return true if the job was claimed
+   */
+  default boolean claimForResume(long id, LocalDateTime now) {
+    return update("state = ?1, heartbeatAt = ?2 where id = ?3 and withTransaction = false"
+            + " and (state in (?4, ?5) or (state = ?1 and (heartbeatAt is null or heartbeatAt < ?6)))",
+        IndexJobState.RUNNING, now, id, IndexJobState.FAILED, IndexJobState.CANCELLED,
+        now.minus(IndexJobStatus.STALE_AFTER)) > 0;
+  }
+
+  /**
+   * Writes the heartbeat of a running job.
+   */
+  default void heartbeat(long id, LocalDateTime now) {
+    update("heartbeatAt = ?1 where id = ?2 and state = ?3", now, id, IndexJobState.RUNNING);
+  }
+
+  /**
+   * Writes the progress of the job without touching its state, which may have been changed by another node.
+   */
+  default void updateProgress(IndexJobStatus indexJobStatus) {
+    update("checkpoint = ?1, indexed = ?2, statusInPercentage = ?3, updatedAt = ?4 where id = ?5",
+        indexJobStatus.getCheckpoint(), indexJobStatus.getIndexed(), indexJobStatus.getStatusInPercentage(),
+        indexJobStatus.getUpdatedAt(), indexJobStatus.getId());
+  }
 }
@@ -25,6 +25,8 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -52,6 +54,10 @@ public class IndexJobStatusService implements IndexJobStatusBoundary, Serializab
   @Override
   @Transactional(rollbackOn = {Exception.class})
   public Optional<IndexJobStatus> save(IndexJobStatus indexJobStatus) {
+    if (Objects.nonNull(indexJobStatus) && indexJobStatus.getId() == 0) {
+      indexJobStatusRepository.persist(indexJobStatus);
+      return Optional.of(indexJobStatus);
+    }
     return Optional.ofNullable(indexJobStatusRepository.save(indexJobStatus));
   }
 
@@ -60,4 +66,55 @@ public class IndexJobStatusService implements IndexJobStatusBoundary, Serializab
     indexJobStatusRepository.delete(indexJobStatus);
   }
 
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public Optional<IndexJobStatus> cancel(long id) {
+    if (!indexJobStatusRepository.updateState(id, IndexJobState.RUNNING, IndexJobState.CANCELLED)) {
+      return Optional.empty();
+    }
+    log.info("Cancelled index job {}", id);
+    return indexJobStatusRepository.findByIdOptional(id);
+  }
+
+  @Override
+  @Transactional
+  public boolean isCancelled(long id) {
+    return indexJobStatusRepository.findStateById(id)
+        .map(IndexJobState.CANCELLED::equals)
+        .orElse(false);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public Optional<IndexJobStatus> claimForResume(long id) {
+    if (!indexJobStatusRepository.claimForResume(id, LocalDateTime.now())) {
+      return Optional.empty();
+    }
+    log.info("Claimed index job {} for resume", id);
+    return indexJobStatusRepository.findByIdOptional(id);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void heartbeat(long id) {
+    indexJobStatusRepository.heartbeat(id, LocalDateTime.now());
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void saveProgress(IndexJobStatus indexJobStatus) {
+    indexJobStatusRepository.updateProgress(indexJobStatus);
+  }
+
+  @Override
+  @Transactional(rollbackOn = {Exception.class})
+  public void finish(IndexJobStatus indexJobStatus, IndexJobState state) {
+    indexJobStatusRepository.updateProgress(indexJobStatus);
+    if (indexJobStatusRepository.updateState(indexJobStatus.getId(), IndexJobState.RUNNING, state)) {
+      indexJobStatus.setState(state);
+    } else {
+      indexJobStatus.setState(indexJobStatusRepository.findStateById(indexJobStatus.getId()).orElse(state));
+    }
+  }
+
 }
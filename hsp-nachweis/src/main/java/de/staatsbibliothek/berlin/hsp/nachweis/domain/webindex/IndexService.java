@@ -22,6 +22,7 @@
  * SOFTWARE.
  */
 
+
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
 import static de.staatsbibliothek.berlin.hsp.nachweis.domain.bearbeiter.BearbeiterBoundary.SYSTEM_USERNAME;
@@ -29,16 +30,26 @@ import static de.staatsbibliothek.berlin.hsp.nachweis.domain.bearbeiter.Bearbeit
 import com.google.common.collect.Lists;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.event.DomainEvents.sendIndexJobEvent;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaIndexingNoneTransactionalProducer;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaIndexingProducer;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import java.text.DecimalFormat;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -48,6 +59,8 @@ import javax.inject.Inject;
 import javax.transaction.Transactional;
 import javax.transaction.Transactional.TxType;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.eclipse.microprofile.context.ThreadContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,10 +68,18 @@ import org.slf4j.LoggerFactory;
 public class IndexService {
 
   public static final Logger log = LoggerFactory.getLogger(IndexService.class);
+
+  static final long DEFAULT_PROGRESS_INTERVAL = 5000;
+  static final int BESCHREIBUNGEN_PER_QUERY = 1000;
+
   private final KulturObjektDokumentRepository kulturObjektDokumentRepository;
   private final KafkaIndexingProducer kafkaIndexingProducer;
   private final KafkaIndexingNoneTransactionalProducer kafkaIndexingNoneTransactionalProducer;
   private final int documentsPerUpdate;
+  private BeschreibungsRepository beschreibungsRepository;
+  private IndexJobStatusBoundary indexJobStatusBoundary;
+  private int indexThreads = 1;
+  private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
 
   @Inject
   public IndexService(
@@ -73,6 +94,25 @@ public class IndexService {
     this.documentsPerUpdate = documentsPerUpdate;
   }
 
+  @Inject
+  void setBeschreibungsRepository(BeschreibungsRepository beschreibungsRepository) {
+    this.beschreibungsRepository = beschreibungsRepository;
+  }
+
+  @Inject
+  void setIndexJobStatusBoundary(IndexJobStatusBoundary indexJobStatusBoundary) {
+    this.indexJobStatusBoundary = indexJobStatusBoundary;
+  }
+
+  @Inject
+  void setReindexConfig(
+      @ConfigProperty(name = "indexservice.reindexall.threads", defaultValue = "0") int indexThreads,
+      @ConfigProperty(name = "indexservice.reindexall.progress_interval", defaultValue = "5000")
+      long progressInterval) {
+    this.indexThreads = indexThreads > 0 ? indexThreads : Runtime.getRuntime().availableProcessors();
+    this.progressInterval = progressInterval;
+  }
+
   @Transactional
   public void indexKulturObjektDokumentWithKafkaTransaction(KulturObjektDokument kod,
       ActivityStreamAction activityStreamAction) {
@@ -81,7 +121,7 @@ public class IndexService {
 
   private void indexKulturObjektDokument(KulturObjektDokument kod, ActivityStreamAction activityStreamAction, KafkaIndexProducerBoundary kafkaIndexProducerBoundary) {
 
-    if (Objects.nonNull(kod) && Objects.nonNull(kod.getTeiXML()) && !kod.getTeiXML().isEmpty()) {
+    if (isIndexable(kod)) {
       log.info("indexKulturObjektDokument: kodId={}, activityStreamAction={}", kod.getId(), activityStreamAction);
 
       try {
@@ -98,19 +138,26 @@ public class IndexService {
 
     log.info("Received onSendFrontEndIndexEvent");
 
-    List<String> kods = findKodsForIndexJob(indexJob);
-
     ActivityStreamAction activityStreamAction = indexJob.getActivityStreamAction().orElse(ActivityStreamAction.ADD);
 
-    log.info("Start Indexing of KOD's {} ", kods.size());
-
     if (indexJob.isWithTransaction()) {
+      List<String> kods = findKodsForIndexJob(indexJob);
+
+      log.info("Start Indexing of KOD's {} ", kods.size());
+      startIndexJob(indexJob, kods.size(), 0);
+
       Consumer<BiConsumer<KulturObjektDokument, ActivityStreamAction>> indexAllKODs = createIndexAllKODsConsumer(
           indexJob,
           kods, activityStreamAction);
-      indexKODsWithKafkaTransaction(indexAllKODs);
+      IndexJobState state = IndexJobState.FAILED;
+      try {
+        indexKODsWithKafkaTransaction(indexAllKODs);
+        state = IndexJobState.FINISHED;
+      } finally {
+        finishIndexJob(indexJob, state);
+      }
     } else {
-      indexingInSublists(indexJob, kods, activityStreamAction);
+      indexingInChunks(indexJob, activityStreamAction);
     }
     log.info("Finishing Indexing of KOD's");
   }
@@ -121,28 +168,20 @@ public class IndexService {
     consumer.accept(this::indexKulturObjektDokumentWithKafkaTransaction);
   }
 
-  @Transactional(TxType.REQUIRES_NEW)
-  @TransactionConfiguration(timeout = 7200)
-  void indexKODsWithoutKafkaTransaction(Consumer<BiConsumer<KulturObjektDokument, ActivityStreamAction>> consumer) {
-    consumer.accept(this::indexKulturObjektDokumentWithoutTransaction);
-  }
-
   Consumer<BiConsumer<KulturObjektDokument, ActivityStreamAction>> createIndexAllKODsConsumer(IndexJob indexJob,
       Collection<String> kods, ActivityStreamAction activityStreamAction) {
 
     return indexConsumer -> {
-      float counter = 0;
+      IndexProgress progress = new IndexProgress(indexJob, kods.size(), progressInterval);
+      long counter = 0;
 
       for (String kodId : kods) {
         counter++;
         log.info("Starting FrontEnd Index Update for Kod Id {} number of KOD {} ", kodId, counter);
         indexConsumer.accept(kulturObjektDokumentRepository.findById(kodId), activityStreamAction);
-        final float actualStatusPercentage = counter / kods.size() * 100;
-        DecimalFormat df = new DecimalFormat("#.##");
-        indexJob.getIndexJobStatus()
-            .ifPresent(indexJobStatus -> indexJobStatus.setStatusInPercentage(df.format(actualStatusPercentage) + "%"));
+        progress.update(counter);
       }
-
+      progress.set(counter);
     };
   }
 
@@ -151,18 +190,224 @@ public class IndexService {
     indexKulturObjektDokument(kod, activityStreamAction, kafkaIndexingNoneTransactionalProducer);
   }
 
-  private void indexingInSublists(IndexJob indexJob, List<String> kods, ActivityStreamAction activityStreamAction) {
-    List<List<String>> subLists = Lists.partition(kods, this.documentsPerUpdate);
+  /**
+   * Reads the IDs of the KODs chunk by chunk with a keyset cursor. Every chunk is loaded and sent by one of at most
+   * {@code indexThreads} workers in its own transaction, so only a bounded number of chunks is held in memory.
+   * <p>
+   * After every committed chunk the checkpoint of the job is persisted. A resumed job continues after its
+   * checkpoint. The job stops after a failed chunk or if it was cancelled.
+   */
+  IndexJobState indexingInChunks(IndexJob indexJob, ActivityStreamAction activityStreamAction) {
+    Optional<IndexJobStatus> indexJobStatus = indexJob.getIndexJobStatus();
+    String checkpoint = indexJobStatus.map(IndexJobStatus::getCheckpoint).orElse(null);
+    long indexed = Objects.isNull(checkpoint) ? 0 : indexJobStatus.get().getIndexed();
+    if (Objects.isNull(checkpoint)) {
+      checkpoint = indexJob.getFromId().orElse(null);
+    }
+    long total = indexJob.getKodId().isPresent() ? 1
+        : countKods(indexJob.getFromId().orElse(null), indexJob.getToId().orElse(null));
+
+    IndexProgress progress = startIndexJob(indexJob, total, indexed);
+    IndexCheckpoint indexCheckpoint = new IndexCheckpoint(indexJobStatusBoundary, indexJobStatus.orElse(null),
+        progress, checkpoint, indexed);
+    int threads = getIndexThreads();
+    ExecutorService executorService = createIndexExecutor(threads);
+    ScheduledExecutorService heartbeat = startHeartbeat(indexCheckpoint);
+    Semaphore workers = new Semaphore(threads);
 
-    log.info("Sending {} KODs to Kafka in {} subLists.", kods.size(), subLists.size());
-    int subListCounter = 0;
-    for (List<String> sublist : subLists) {
-      log.info("Sending subList {}.", ++subListCounter);
+    log.info("Sending KODs to Kafka with {} threads in chunks of {} after {}.", threads, documentsPerUpdate,
+        checkpoint);
+    try {
+      String lastId = checkpoint;
+      List<String> ids;
 
-      Consumer<BiConsumer<KulturObjektDokument, ActivityStreamAction>> indexSublistKODs =
-          createIndexAllKODsConsumer(indexJob, sublist, activityStreamAction);
-      indexKODsWithoutKafkaTransaction(indexSublistKODs);
+      while (!indexCheckpoint.isStopped() && !(ids = nextKodIds(indexJob, lastId)).isEmpty()) {
+        lastId = ids.get(ids.size() - 1);
+        indexCheckpoint.submitted(lastId);
+        if (Objects.isNull(executorService)) {
+          indexChunk(ids, activityStreamAction, indexCheckpoint);
+        } else {
+          workers.acquire();
+          submitChunk(executorService, ids, activityStreamAction, workers, indexCheckpoint);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      indexCheckpoint.failed(indexCheckpoint.getCheckpoint(), e);
+    } catch (Exception e) {
+      indexCheckpoint.failed(indexCheckpoint.getCheckpoint(), e);
+    } finally {
+      if (Objects.nonNull(executorService)) {
+        workers.acquireUninterruptibly(threads);
+        executorService.shutdown();
+      }
+      if (Objects.nonNull(heartbeat)) {
+        heartbeat.shutdownNow();
+      }
     }
+    IndexJobState state = indexCheckpoint.finish();
+    log.info("Index job finished with state {} at checkpoint {}", state, indexCheckpoint.getCheckpoint());
+    return state;
+  }
+
+  private ScheduledExecutorService startHeartbeat(IndexCheckpoint indexCheckpoint) {
+    if (Objects.isNull(indexJobStatusBoundary)) {
+      return null;
+    }
+    ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "index-job-heartbeat");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long interval = IndexJobStatus.HEARTBEAT_INTERVAL.toMillis();
+    heartbeat.scheduleWithFixedDelay(indexCheckpoint::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    return heartbeat;
+  }
+
+  private void submitChunk(ExecutorService executorService, List<String> ids,
+      ActivityStreamAction activityStreamAction, Semaphore workers, IndexCheckpoint indexCheckpoint) {
+    try {
+      executorService.execute(() -> {
+        try {
+          indexChunk(ids, activityStreamAction, indexCheckpoint);
+        } finally {
+          workers.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      workers.release();
+      throw e;
+    }
+  }
+
+  private void indexChunk(List<String> ids, ActivityStreamAction activityStreamAction,
+      IndexCheckpoint indexCheckpoint) {
+    String lastId = ids.get(ids.size() - 1);
+    try {
+      if (!indexCheckpoint.isStopped()) {
+        indexCheckpoint.committed(lastId, indexChunk(ids, activityStreamAction));
+      }
+    } catch (Exception exception) {
+      indexCheckpoint.failed(lastId, exception);
+    }
+  }
+
+  /**
+   * Marks the job as running and persists its parameters, so it can be resumed.
+   */
+  private IndexProgress startIndexJob(IndexJob indexJob, long total, long indexed) {
+    indexJob.getIndexJobStatus().ifPresent(indexJobStatus -> {
+      LocalDateTime now = LocalDateTime.now();
+      indexJobStatus.setState(IndexJobState.RUNNING);
+      indexJobStatus.setTotal(total);
+      indexJobStatus.setIndexed(indexed);
+      indexJobStatus.setIndexedAtStart(indexed);
+      indexJobStatus.setStartedAt(now);
+      indexJobStatus.setUpdatedAt(now);
+      indexJobStatus.setHeartbeatAt(now);
+      if (Objects.nonNull(indexJobStatusBoundary)) {
+        indexJobStatusBoundary.save(indexJobStatus);
+      }
+    });
+    return new IndexProgress(indexJob, total, progressInterval);
+  }
+
+  private void finishIndexJob(IndexJob indexJob, IndexJobState state) {
+    indexJob.getIndexJobStatus().ifPresent(indexJobStatus -> {
+      indexJobStatus.setUpdatedAt(LocalDateTime.now());
+      if (Objects.nonNull(indexJobStatusBoundary)) {
+        indexJobStatusBoundary.finish(indexJobStatus, state);
+      } else {
+        indexJobStatus.setState(state);
+      }
+    });
+  }
+
+  /**
+   * Loads the KODs with the IDs of their Beschreibungen in one query and the Beschreibungen in one further query per
+   * {@value #BESCHREIBUNGEN_PER_QUERY} IDs. The Beschreibungen stay in the persistence context of the transaction, so
+   * the producer finds them there instead of loading them one by one.
+   * <p>
+   * If transaction batching is configured for the {@link KafkaIndexingProducer}, the KODs are sent in Kafka
+   * transactions of a limited size, otherwise without Kafka transaction.
+   *
+   * @return the number of sent KODs
+   */
+  @Transactional(TxType.REQUIRES_NEW)
+  @TransactionConfiguration(timeout = 7200)
+  int indexChunk(List<String> kodIds, ActivityStreamAction activityStreamAction) throws Exception {
+    List<KulturObjektDokument> kods = new ArrayList<>(kodIds.size());
+    for (KulturObjektDokument kod : kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(kodIds)) {
+      if (isIndexable(kod)) {
+        kods.add(kod);
+      } else {
+        log.error("Missing Elements for sending Kafka Message of KOD {}", kod.getId());
+      }
+    }
+
+    if (Objects.nonNull(beschreibungsRepository)) {
+      List<String> beschreibungIds = kods.stream()
+          .flatMap(kod -> kod.getBeschreibungenIDs().stream())
+          .distinct()
+          .collect(Collectors.toList());
+      for (List<String> ids : Lists.partition(beschreibungIds, BESCHREIBUNGEN_PER_QUERY)) {
+        beschreibungsRepository.findByIds(ids);
+      }
+    }
+
+    if (kafkaIndexingProducer.isTransactionBatching()) {
+      return kafkaIndexingProducer.sendKulturobjektDokumenteInTransactions(kods, activityStreamAction, true,
+          SYSTEM_USERNAME).size();
+    }
+    return kafkaIndexingNoneTransactionalProducer.sendKulturobjektDokumenteAsActivityStreamMessages(kods,
+        activityStreamAction, true, SYSTEM_USERNAME).size();
+  }
+
+  /**
+   * With transaction batching every worker holds up to two producers of the pool, one sends the next batch while the
+   * other commits the last one. The workers are limited to half of the pool, so they don't run out of producers.
+   */
+  int getIndexThreads() {
+    if (kafkaIndexingProducer.isTransactionBatching()) {
+      int maxThreads = Math.max(1, kafkaIndexingProducer.getProducerPoolSize() / 2);
+      if (indexThreads > maxThreads) {
+        log.warn("Reindex limited to {} instead of {} threads by kafka.producer.pool.size {}", maxThreads,
+            indexThreads, kafkaIndexingProducer.getProducerPoolSize());
+        return maxThreads;
+      }
+    }
+    return indexThreads;
+  }
+
+  /**
+   * The workers must not share the transaction of the caller, every chunk is sent in its own transaction.
+   */
+  ExecutorService createIndexExecutor(int threads) {
+    if (threads <= 1) {
+      return null;
+    }
+    return ManagedExecutor.builder()
+        .maxAsync(threads)
+        .propagated(ThreadContext.NONE)
+        .cleared(ThreadContext.ALL_REMAINING)
+        .build();
+  }
+
+  @Transactional
+  long countKods(String fromId, String toId) {
+    return kulturObjektDokumentRepository.countIdsBetween(fromId, toId);
+  }
+
+  @Transactional
+  List<String> findKodIds(String lastId, String toId, int limit) {
+    return kulturObjektDokumentRepository.findIdsAfter(lastId, toId, limit);
+  }
+
+  private List<String> nextKodIds(IndexJob indexJob, String lastId) {
+    if (indexJob.getKodId().isPresent()) {
+      return Objects.isNull(lastId) ? List.of(indexJob.getKodId().get()) : Collections.emptyList();
+    }
+    return findKodIds(lastId, indexJob.getToId().orElse(null), documentsPerUpdate);
   }
 
   private List<String> findKodsForIndexJob(IndexJob indexJob) {
@@ -171,10 +416,56 @@ public class IndexService {
     indexJob.getKodId()
         .ifPresentOrElse(
             kodId -> kulturObjektDokumentRepository.findByIdOptional(kodId).map(KulturObjektDokument::getId)
-                .ifPresent(kods::add), () ->
-                kods.addAll(kulturObjektDokumentRepository.listAll().stream().map(KulturObjektDokument::getId).collect(
-                    Collectors.toList()))
+                .ifPresent(kods::add), () -> {
+              String lastId = indexJob.getFromId().orElse(null);
+              List<String> ids;
+              while (!(ids = findKodIds(lastId, indexJob.getToId().orElse(null), documentsPerUpdate)).isEmpty()) {
+                kods.addAll(ids);
+                lastId = ids.get(ids.size() - 1);
+              }
+            }
         );
     return kods;
   }
+
+  private static boolean isIndexable(KulturObjektDokument kod) {
+    return Objects.nonNull(kod) && Objects.nonNull(kod.getTeiXML()) && !kod.getTeiXML().isEmpty();
+  }
+
+  /**
+   * Writes the progress of an IndexJob to its IndexJobStatus, at most once per interval.
+   */
+  static class IndexProgress {
+
+    private final IndexJob indexJob;
+    private final long total;
+    private final long interval;
+    private final DecimalFormat decimalFormat = new DecimalFormat("#.##");
+    private long nextUpdate;
+
+    IndexProgress(IndexJob indexJob, long total, long interval) {
+      this.indexJob = indexJob;
+      this.total = total;
+      this.interval = interval;
+    }
+
+    void update(long indexed) {
+      long now = System.currentTimeMillis();
+      if (now >= nextUpdate) {
+        nextUpdate = now + interval;
+        set(indexed);
+      }
+    }
+
+    void set(long indexed) {
+      float percentage = total > 0 ? Math.min(100f, (float) indexed / total * 100) : 100f;
+      String statusInPercentage = decimalFormat.format(percentage) + "%";
+      indexJob.getIndexJobStatus().ifPresent(indexJobStatus -> {
+        indexJobStatus.setStatusInPercentage(statusInPercentage);
+        indexJobStatus.setIndexed(indexed);
+        indexJobStatus.setUpdatedAt(LocalDateTime.now());
+      });
+      log.info("Indexed {} of {} KODs ({})", indexed, total, statusInPercentage);
+    }
+  }
 }
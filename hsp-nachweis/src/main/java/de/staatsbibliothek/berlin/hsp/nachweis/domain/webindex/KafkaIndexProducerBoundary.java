@@ -35,4 +35,11 @@ import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.
  */
 public interface KafkaIndexProducerBoundary {
   ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod, ActivityStreamAction action, boolean compressed, String actor) throws ActivityStreamsException;
+
+  /**
+   * @param fullResend if true, all Beschreibungen of the KOD are sent, even if delta indexing is enabled and they did
+   *                   not change since they were last sent
+   */
+  ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod, ActivityStreamAction action,
+      boolean compressed, String actor, boolean fullResend) throws ActivityStreamsException;
 }
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * Content-addressed store for large payloads that are not sent with a Kafka message, but referenced by their hash.
+ *
+ * @since 17.10.2026
+ */
+public interface BlobStore {
+
+  String HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * Stores the content if no blob with the same hash exists.
+   *
+   * @return the hash of the content
+   */
+  String store(byte[] content) throws IOException;
+
+  boolean exists(String hash);
+
+  Optional<byte[]> load(String hash) throws IOException;
+
+  /**
+   * @return the URI the consumers of a message can read the blob from
+   */
+  URI getUri(String hash);
+
+  /**
+   * @return the lower case hex SHA-256 hash of the content
+   */
+  static String hash(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+      byte[] hex = new byte[digest.length * 2];
+      byte[] digits = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+      for (int i = 0; i < digest.length; i++) {
+        hex[i * 2] = digits[(digest[i] >> 4) & 0x0f];
+        hex[i * 2 + 1] = digits[digest[i] & 0x0f];
+      }
+      return new String(hex, StandardCharsets.US_ASCII);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+    }
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore;
+
+import io.quarkus.runtime.StartupEvent;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * BlobStore in a local or mounted directory.
+ * <p>
+ * Every blob is a file named by its hash in a subdirectory named by the first two characters of the hash. New blobs
+ * are written to a temporary file and then moved, so a reader never sees a partly written blob. With
+ * {@code blobstore.baseUri} the blobs are referenced by the URI of a web server serving the directory, otherwise by
+ * their file URI.
+ * <p>
+ * The consumers do not acknowledge the blobs they read, so blobs are deleted after {@code blobstore.retention.hours}
+ * without being stored again. Storing an existing blob refreshes its modification time, so the retention of a blob
+ * starts with the last message referring to it. The expired blobs are deleted at startup and then every hour.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class FileSystemBlobStore implements BlobStore {
+
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+  static final int DEFAULT_RETENTION_HOURS = 168;
+  static final long CLEANUP_INTERVAL_MINUTES = 60;
+
+  private Path directory;
+  private URI baseUri;
+  private int retentionHours = DEFAULT_RETENTION_HOURS;
+  private ScheduledExecutorService cleanup;
+
+  FileSystemBlobStore() {
+  }
+
+  @Inject
+  public FileSystemBlobStore(@ConfigProperty(name = "blobstore.directory") String directory,
+      @ConfigProperty(name = "blobstore.baseUri") Optional<String> baseUri) {
+    this.directory = Paths.get(directory).toAbsolutePath();
+    this.baseUri = URI.create(withTrailingSlash(baseUri.orElseGet(() -> this.directory.toUri().toString())));
+  }
+
+  @Inject
+  void setRetentionHours(
+      @ConfigProperty(name = "blobstore.retention.hours", defaultValue = "168") int retentionHours) {
+    this.retentionHours = retentionHours;
+  }
+
+  void onStart(@Observes StartupEvent event) {
+    if (retentionHours <= 0) {
+      log.info("Blob retention disabled, blobs in {} are never deleted", directory);
+      return;
+    }
+    cleanup = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "blobstore-cleanup");
+      thread.setDaemon(true);
+      return thread;
+    });
+    cleanup.scheduleWithFixedDelay(this::deleteExpired, 0, CLEANUP_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  @PreDestroy
+  void stop() {
+    if (Objects.nonNull(cleanup)) {
+      cleanup.shutdownNow();
+    }
+  }
+
+  @Override
+  public String store(byte[] content) throws IOException {
+    Objects.requireNonNull(content, "content is required");
+    String hash = BlobStore.hash(content);
+    Path path = getPath(hash);
+    if (Files.exists(path)) {
+      Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+      log.debug("Blob {} already stored", hash);
+      return hash;
+    }
+
+    Files.createDirectories(path.getParent());
+    Path tempFile = Files.createTempFile(path.getParent(), hash, ".tmp");
+    try {
+      Files.write(tempFile, content);
+      Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+      log.debug("Stored blob {} with {} bytes", hash, content.length);
+    } catch (FileAlreadyExistsException e) {
+      log.debug("Blob {} stored concurrently", hash);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean exists(String hash) {
+    return Files.exists(getPath(hash));
+  }
+
+  @Override
+  public Optional<byte[]> load(String hash) throws IOException {
+    Path path = getPath(hash);
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+    return Optional.of(Files.readAllBytes(path));
+  }
+
+  @Override
+  public URI getUri(String hash) {
+    return baseUri.resolve(getRelativePath(hash));
+  }
+
+  /**
+   * Deletes the blobs that were not stored for {@code blobstore.retention.hours}.
+   *
+   * @return the number of deleted blobs
+   */
+  int deleteExpired() {
+    if (retentionHours <= 0 || !Files.isDirectory(directory)) {
+      return 0;
+    }
+    FileTime expired = FileTime.from(Instant.now().minus(retentionHours, ChronoUnit.HOURS));
+    int deleted = 0;
+    try (Stream<Path> files = Files.walk(directory, 2)) {
+      Iterator<Path> iterator = files.iterator();
+      while (iterator.hasNext()) {
+        Path path = iterator.next();
+        try {
+          if (isExpiredBlob(path, expired) && Files.deleteIfExists(path)) {
+            deleted++;
+          }
+        } catch (IOException e) {
+          log.warn("Unable to delete expired blob {}: {}", path, e.getMessage());
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Unable to delete expired blobs in {}: {}", directory, e.getMessage());
+    }
+    if (deleted > 0) {
+      log.info("Deleted {} blobs older than {} hours", deleted, retentionHours);
+    }
+    return deleted;
+  }
+
+  private static boolean isExpiredBlob(Path path, FileTime expired) throws IOException {
+    return HASH_PATTERN.matcher(path.getFileName().toString()).matches()
+        && Files.isRegularFile(path)
+        && Files.getLastModifiedTime(path).compareTo(expired) < 0;
+  }
+
+  private static String withTrailingSlash(String uri) {
+    return uri.endsWith("/") ? uri : uri + "/";
+  }
+
+  private Path getPath(String hash) {
+    return directory.resolve(getRelativePath(hash));
+  }
+
+  private String getRelativePath(String hash) {
+    if (Objects.isNull(hash) || !HASH_PATTERN.matcher(hash).matches()) {
+      throw new IllegalArgumentException("Invalid blob hash " + hash);
+    }
+    return hash.substring(0, 2) + "/" + hash;
+  }
+}
@@ -26,6 +26,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Utf8;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Katalog;
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
@@ -45,6 +46,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 
 /**
  * @author konrad.eichstaedt@sbb.spk-berlin.de on 29.03.23.
@@ -56,22 +58,42 @@ public class ActivityStreamMessageFactory {
   public static ActivityStream createMessageForKulturobjektDokument(KulturObjektDokument kod, ActivityStreamAction action, boolean compressed, String actor,
       BeschreibungsRepository beschreibungsRepository)
       throws ActivityStreamsException {
+    return createMessageForKulturobjektDokument(kod, action, compressed, actor, beschreibungsRepository, null, null);
+  }
+
+  /**
+   * @param claimCheck if not null, large TEI documents are sent as reference to the blob store
+   * @param delta      if not null, unchanged Beschreibungen are only listed in the message
+   */
+  static ActivityStream createMessageForKulturobjektDokument(KulturObjektDokument kod,
+      ActivityStreamAction action, boolean compressed, String actor,
+      BeschreibungsRepository beschreibungsRepository, KafkaClaimCheck claimCheck, KafkaIndexDelta.Delta delta)
+      throws ActivityStreamsException {
+    return createMessageForKulturobjektDokument(kod, action, compressed, actor, beschreibungsRepository, claimCheck,
+        delta, null);
+  }
+
+  /**
+   * @param teiBytes if not null, accepts the UTF-8 size of every TEI document added with its content to the message,
+   *                 or of the reference for a TEI document sent as claim check or listed as unchanged
+   */
+  static ActivityStream createMessageForKulturobjektDokument(KulturObjektDokument kod,
+      ActivityStreamAction action, boolean compressed, String actor,
+      BeschreibungsRepository beschreibungsRepository, KafkaClaimCheck claimCheck, KafkaIndexDelta.Delta delta,
+      LongConsumer teiBytes) throws ActivityStreamsException {
 
     checkKODAndActionTypeParameter(kod,action);
 
     ActivityStream message = createActivityStreamMessage(
         kod.getId(), action, actor);
 
-    ActivityStreamObject activityStreamObjectKOD = ActivityStreamObject.builder()
-        .withId(kod.getId())
-        .withContent(kod.getTeiXML())
-        .withCompressed(compressed)
-        .withType(ActivityStreamsDokumentTyp.KOD)
-        .build();
+    ActivityStreamObject activityStreamObjectKOD = createTeiObject(kod.getId(), ActivityStreamsDokumentTyp.KOD,
+        kod.getTeiXML(), compressed, claimCheck);
+    countTeiBytes(teiBytes, activityStreamObjectKOD, kod.getTeiXML());
 
     message.addObject(activityStreamObjectKOD);
 
-    addExternalBeschreibungenToMessage(kod, message,compressed, beschreibungsRepository);
+    addExternalBeschreibungenToMessage(kod, message,compressed, beschreibungsRepository, claimCheck, delta, teiBytes);
 
     return message;
   }
@@ -154,6 +176,18 @@ public class ActivityStreamMessageFactory {
 
   protected static void addExternalBeschreibungenToMessage(KulturObjektDokument kod, ActivityStream message, boolean compressed, BeschreibungsRepository beschreibungsRepository)
       throws ActivityStreamsException {
+    addExternalBeschreibungenToMessage(kod, message, compressed, beschreibungsRepository, null, null);
+  }
+
+  protected static void addExternalBeschreibungenToMessage(KulturObjektDokument kod, ActivityStream message,
+      boolean compressed, BeschreibungsRepository beschreibungsRepository, KafkaClaimCheck claimCheck,
+      KafkaIndexDelta.Delta delta) throws ActivityStreamsException {
+    addExternalBeschreibungenToMessage(kod, message, compressed, beschreibungsRepository, claimCheck, delta, null);
+  }
+
+  private static void addExternalBeschreibungenToMessage(KulturObjektDokument kod, ActivityStream message,
+      boolean compressed, BeschreibungsRepository beschreibungsRepository, KafkaClaimCheck claimCheck,
+      KafkaIndexDelta.Delta delta, LongConsumer teiBytes) throws ActivityStreamsException {
     if (kod.getBeschreibungenIDs() != null) {
 
       for (String beschreibungsID : kod.getBeschreibungenIDs()) {
@@ -170,12 +204,15 @@ public class ActivityStreamMessageFactory {
             throw new IllegalArgumentException("Can't send message because of needed parameter Beschreibung.");
           }
 
-          ActivityStreamObject activityStreamObjectBeschreibung = ActivityStreamObject.builder()
-              .withId(beschreibung.getId())
-              .withContent(beschreibung.getTeiXML())
-              .withCompressed(compressed)
-              .withType(ActivityStreamsDokumentTyp.BESCHREIBUNG)
-              .build();
+          ActivityStreamObject activityStreamObjectBeschreibung = Objects.isNull(delta) ? null
+              : delta.createUnchangedObject(beschreibung.getId(), ActivityStreamsDokumentTyp.BESCHREIBUNG,
+                  beschreibung.getTeiXML());
+
+          if (Objects.isNull(activityStreamObjectBeschreibung)) {
+            activityStreamObjectBeschreibung = createTeiObject(beschreibung.getId(),
+                ActivityStreamsDokumentTyp.BESCHREIBUNG, beschreibung.getTeiXML(), compressed, claimCheck);
+          }
+          countTeiBytes(teiBytes, activityStreamObjectBeschreibung, beschreibung.getTeiXML());
 
           message.addObject(activityStreamObjectBeschreibung);
         }
@@ -183,6 +220,39 @@ public class ActivityStreamMessageFactory {
     }
   }
 
+  static ActivityStreamObject createTeiObject(String id, ActivityStreamsDokumentTyp typ, String teiXML,
+      boolean compressed) throws ActivityStreamsException {
+    return ActivityStreamObject.builder()
+        .withId(id)
+        .withContent(teiXML)
+        .withCompressed(compressed)
+        .withType(typ)
+        .build();
+  }
+
+  private static ActivityStreamObject createTeiObject(String id, ActivityStreamsDokumentTyp typ, String teiXML,
+      boolean compressed, KafkaClaimCheck claimCheck) throws ActivityStreamsException {
+    return Objects.nonNull(claimCheck) ? claimCheck.createObject(id, typ, teiXML, compressed)
+        : createTeiObject(id, typ, teiXML, compressed);
+  }
+
+  /**
+   * Counts the TEI document if it is the content of the object, otherwise the name and url referring to it.
+   */
+  private static void countTeiBytes(LongConsumer teiBytes, ActivityStreamObject activityStreamObject,
+      String teiXML) {
+    if (Objects.isNull(teiBytes)) {
+      return;
+    }
+    String name = activityStreamObject.getName();
+    if (Objects.nonNull(name) && name.startsWith(KafkaClaimCheck.HASH_PREFIX)) {
+      teiBytes.accept(Utf8.encodedLength(name) + Utf8.encodedLength(Objects.toString(activityStreamObject.getUrl(),
+          "")));
+    } else {
+      teiBytes.accept(Utf8.encodedLength(teiXML));
+    }
+  }
+
   protected static void checkKODAndActionTypeParameter(KulturObjektDokument kulturObjektDokument, ActivityStreamAction action) {
     if(Objects.isNull(kulturObjektDokument) || Objects.isNull(kulturObjektDokument.getId()) || Objects.isNull(action) || Objects.isNull(kulturObjektDokument.getTeiXML()) || kulturObjektDokument.getTeiXML().isEmpty())
     {
@@ -24,9 +24,7 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.mapper.ObjectMapperFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.model.ActivityStreamMessage;
 import java.io.IOException;
 import java.util.Map;
@@ -36,6 +34,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Created by konrad.eichstaedt@sbb.spk-berlin.de on 06.06.2019.
+ * <p>
+ * Uses one ObjectReader for all messages, see {@link KafkaActivityStreamMessageSerializer#createObjectMapper()}.
  */
 public class KafkaActivityStreamMessageDeserializer implements Deserializer<ActivityStreamMessage> {
 
@@ -43,6 +43,9 @@ public class KafkaActivityStreamMessageDeserializer implements Deserializer<Acti
   private static final Logger logger = LoggerFactory
       .getLogger(KafkaActivityStreamMessageDeserializer.class);
 
+  private static final ObjectReader OBJECT_READER = KafkaActivityStreamMessageSerializer.createObjectMapper()
+      .readerFor(ActivityStreamMessage.class);
+
   @Override
   public void configure(Map<String, ?> configs, boolean isKey) {
 
@@ -51,13 +54,9 @@ public class KafkaActivityStreamMessageDeserializer implements Deserializer<Acti
   @Override
   public ActivityStreamMessage deserialize(String topic, byte[] data) {
 
-    ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
-    objectMapper.findAndRegisterModules();
-    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
     try {
 
-      return objectMapper.readValue(data, ActivityStreamMessage.class);
+      return OBJECT_READER.readValue(data);
 
     } catch (IOException e) {
 
@@ -24,11 +24,13 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.mapper.ObjectMapperFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 import org.apache.kafka.common.serialization.Serializer;
@@ -37,11 +39,33 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Created by konrad.eichstaedt@sbb.spk-berlin.de on 13.09.2019.
+ * <p>
+ * The ObjectMapper is configured once for all serializers, so the modules are not searched for every message. Each
+ * thread writes its messages into its own reused buffer, which is dropped if it grew beyond
+ * {@link #MAX_REUSED_BUFFER_SIZE} so that single large messages do not stay in memory.
  */
 public class KafkaActivityStreamMessageSerializer implements Serializer<ActivityStream> {
 
+  static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+  static final int MAX_REUSED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+  private static final ObjectWriter OBJECT_WRITER = createObjectMapper().writer();
+
+  private static final ThreadLocal<ReusableOutputStream> BUFFERS = ThreadLocal
+      .withInitial(() -> new ReusableOutputStream(INITIAL_BUFFER_SIZE));
+
   private Logger logger = LoggerFactory.getLogger(KafkaActivityStreamMessageSerializer.class);
 
+  /**
+   * @return the ObjectMapper for ActivityStream messages with all modules on the classpath
+   */
+  static ObjectMapper createObjectMapper() {
+    ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    objectMapper.findAndRegisterModules();
+    return objectMapper;
+  }
+
   @Override
   public void configure(Map<String, ?> configs, boolean isKey) {
 
@@ -54,14 +78,18 @@ public class KafkaActivityStreamMessageSerializer implements Serializer<Activity
       return new byte[0];
     }
 
-    ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
-    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    objectMapper.findAndRegisterModules();
-
+    ReusableOutputStream buffer = BUFFERS.get();
     try {
-      return objectMapper.writeValueAsBytes(data);
-    } catch (JsonProcessingException e) {
+      OBJECT_WRITER.writeValue(buffer, data);
+      return buffer.toByteArray();
+    } catch (IOException e) {
       logger.info("Error during serialization of activity stream message", e);
+    } finally {
+      if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+        BUFFERS.remove();
+      } else {
+        buffer.reset();
+      }
     }
 
     return new byte[0];
@@ -71,4 +99,15 @@ public class KafkaActivityStreamMessageSerializer implements Serializer<Activity
   public void close() {
 
   }
+
+  static class ReusableOutputStream extends ByteArrayOutputStream {
+
+    ReusableOutputStream(int size) {
+      super(size);
+    }
+
+    int capacity() {
+      return buf.length;
+    }
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.exceptions.ActivityStreamsException;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore.BlobStore;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Claim check for TEI payloads of Kafka messages.
+ * <p>
+ * TEI documents larger than {@code kafka.claimcheck.threshold} bytes are written to the {@link BlobStore} and the
+ * ActivityStreamObject only carries a reference: its name is {@code sha256:<hash>}, its url the URI of the blob and
+ * its content is empty. Because the store is content-addressed, an unchanged Beschreibung is stored only once, no
+ * matter how often its KOD is sent. A threshold of 0 or less sends all TEI documents with the message as before.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class KafkaClaimCheck {
+
+  public static final String HASH_PREFIX = "sha256:";
+  public static final String TEI_MEDIA_TYPE = "application/tei+xml";
+
+  private BlobStore blobStore;
+  private int threshold;
+
+  KafkaClaimCheck() {
+  }
+
+  @Inject
+  public KafkaClaimCheck(BlobStore blobStore,
+      @ConfigProperty(name = "kafka.claimcheck.threshold", defaultValue = "0") int threshold) {
+    this.blobStore = blobStore;
+    this.threshold = threshold;
+  }
+
+  public boolean isEnabled() {
+    return threshold > 0;
+  }
+
+  public static boolean isClaimCheck(ActivityStreamObject activityStreamObject) {
+    return Objects.nonNull(activityStreamObject.getName())
+        && activityStreamObject.getName().startsWith(HASH_PREFIX)
+        && Objects.nonNull(activityStreamObject.getUrl());
+  }
+
+  /**
+   * Creates the ActivityStreamObject for the TEI document, either with the TEI as content or with a reference to the
+   * stored TEI. If the TEI can not be stored, it is sent with the message.
+   */
+  ActivityStreamObject createObject(String id, ActivityStreamsDokumentTyp typ, String teiXML, boolean compressed)
+      throws ActivityStreamsException {
+    byte[] content = teiXML.getBytes(StandardCharsets.UTF_8);
+    if (isEnabled() && content.length > threshold) {
+      try {
+        String hash = blobStore.store(content);
+        log.debug("Sending {} {} with claim check {}", typ, id, hash);
+        return ActivityStreamObject.builder()
+            .withId(id)
+            .withType(typ)
+            .withName(HASH_PREFIX + hash)
+            .withUrl(blobStore.getUri(hash).toString())
+            .withMediaType(TEI_MEDIA_TYPE)
+            .withCompressed(false)
+            .build();
+      } catch (IOException e) {
+        log.warn("Unable to store TEI of {} {}, sending it with the message: {}", typ, id, e.getMessage());
+      }
+    }
+    return ActivityStreamMessageFactory.createTeiObject(id, typ, teiXML, compressed);
+  }
+}
@@ -43,10 +43,11 @@ import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -58,8 +59,8 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
@@ -73,14 +74,21 @@ import org.slf4j.LoggerFactory;
 public class KafkaImportConsumer {
 
   public static final Duration POLL_DURATION = Duration.ofSeconds(15);
+  static final Duration PARALLEL_POLL_DURATION = Duration.ofSeconds(1);
   private static final Duration MAX_POLL_INTERVAL = Duration.ofSeconds(7200L);
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(60L);
+  private static final long DEFAULT_COMMIT_INTERVAL = 5000L;
+  private static final int DEFAULT_COMMIT_COUNT = 100;
   private static final Logger logger = LoggerFactory.getLogger(KafkaImportConsumer.class);
   private String topic;
   private String bootstrapServer;
   private String groupId;
   private long startOffset;
   private int maxPollRecords;
+  private int workers;
+  private int maxInFlightPerPartition = 10;
   private Consumer<String, ActivityStream> consumer;
+  private KafkaOffsetTracker offsetTracker;
   private volatile boolean running = true;
   private BearbeiterBoundary bearbeiterBoundary;
   private Event<BeschreibungImport> neueBeschreibungImporteEvent;
@@ -117,6 +125,31 @@ public class KafkaImportConsumer {
     this.bearbeiterBoundary = bearbeiterBoundary;
     this.maxPollRecords = maxPollRecords;
     this.importVorgangBoundary = importVorgangBoundary;
+    this.offsetTracker = new KafkaOffsetTracker(DEFAULT_COMMIT_INTERVAL, DEFAULT_COMMIT_COUNT);
+  }
+
+  /**
+   * With {@code kafka.import.workers > 0} the records are processed concurrently by that many workers. Records with
+   * the same key keep their order, and at most {@code kafka.import.maxInFlightPerPartition} records per partition are
+   * processed at the same time before the partition is paused.
+   */
+  @Inject
+  void setWorkerConfig(@ConfigProperty(name = "kafka.import.workers", defaultValue = "0") int workers,
+      @ConfigProperty(name = "kafka.import.maxInFlightPerPartition", defaultValue = "10")
+      int maxInFlightPerPartition) {
+    this.workers = workers;
+    this.maxInFlightPerPartition = maxInFlightPerPartition;
+  }
+
+  /**
+   * Processed offsets are committed asynchronously after {@code kafka.import.commit.count} records or
+   * {@code kafka.import.commit.interval} milliseconds.
+   */
+  @Inject
+  void setCommitConfig(
+      @ConfigProperty(name = "kafka.import.commit.interval", defaultValue = "5000") long commitInterval,
+      @ConfigProperty(name = "kafka.import.commit.count", defaultValue = "100") int commitCount) {
+    this.offsetTracker = new KafkaOffsetTracker(commitInterval, commitCount);
   }
 
 
@@ -138,7 +171,7 @@ public class KafkaImportConsumer {
     this.consumer = new KafkaConsumer<>(props);
 
     consumer.subscribe(Collections.singletonList(topic),
-        new KafkaPartitionRebalanceListener(consumer, startOffset));
+        new KafkaPartitionRebalanceListener(consumer, startOffset, offsetTracker));
 
     logger
         .info("Kafka Import consumer created with following properties {} ", props);
@@ -149,48 +182,115 @@ public class KafkaImportConsumer {
       if (Objects.nonNull(consumer)) {
 
         logger
-            .info("Kafka Import consumer started reading topic");
-
-        while (running) {
-          final ConsumerRecords<String, ActivityStream> consumerRecords =
-              consumer.poll(POLL_DURATION);
-          if (consumerRecords != null && !consumerRecords.isEmpty()) {
-            for (ConsumerRecord<String, ActivityStream> record : consumerRecords) {
-                try {
-                  logger.info("Kafka Process Message Topic {} Partition {} Offset {} ",
-                      record.topic(),
-                      record.partition(),
-                      record.offset());
-
-                  processImportInProgress(record);
-
-                  processImportItem(record);
-
-                } catch (Exception ex) {
-                  logger.error("Problem with the kafka messages {}", ex.getMessage(), ex);
-                  processImportError(record.value(), String.format("%s\n%s", ex.getMessage(),
-                      Arrays.stream(ex.getSuppressed()).map(Throwable::getMessage).collect(
-                          Collectors.joining("\n"))));
-                } finally {
-                  Map<TopicPartition, OffsetAndMetadata> offsetsToCommit = new HashMap<>();
-                  TopicPartition topicPartition = new TopicPartition(record.topic(),
-                      record.partition());
-                  OffsetAndMetadata offsetAndMetadata = new OffsetAndMetadata(record.offset() + 1);
-                  offsetsToCommit.put(topicPartition, offsetAndMetadata);
-                  logger.info("Kafka Commit Message Partition {} Offset {} ",
-                      topicPartition.partition(),
-                      offsetAndMetadata.offset());
-                  consumer.commitSync(offsetsToCommit);
-                }
-              }
-            }
-          }
-          consumer.close();
-          logger.info("Closed kafka consumer");
+            .info("Kafka Import consumer started reading topic with {} workers", workers);
+
+        if (workers > 0) {
+          consumeParallel();
+        } else {
+          consumeSequential();
         }
+        offsetTracker.commitSync(consumer);
+        consumer.close();
+        logger.info("Closed kafka consumer {}", offsetTracker);
+      }
     });
   }
 
+  private void consumeSequential() {
+    while (running) {
+      final ConsumerRecords<String, ActivityStream> consumerRecords = poll(POLL_DURATION);
+      if (consumerRecords != null && !consumerRecords.isEmpty()) {
+        for (ConsumerRecord<String, ActivityStream> record : consumerRecords) {
+          offsetTracker.received(record);
+          try {
+            processRecord(record);
+          } finally {
+            offsetTracker.processed(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+            offsetTracker.commitIfDue(consumer);
+          }
+        }
+      }
+      offsetTracker.commitIfDue(consumer);
+    }
+  }
+
+  private void consumeParallel() {
+    KafkaRecordDispatcher<String, ActivityStream> dispatcher = new KafkaRecordDispatcher<>(workers,
+        maxInFlightPerPartition, managedExecutor, this::processRecord);
+    Set<TopicPartition> pausedPartitions = new HashSet<>();
+
+    while (running) {
+      final ConsumerRecords<String, ActivityStream> consumerRecords = poll(PARALLEL_POLL_DURATION);
+      if (consumerRecords != null) {
+        for (ConsumerRecord<String, ActivityStream> record : consumerRecords) {
+          offsetTracker.received(record);
+          dispatcher.dispatch(record);
+        }
+      }
+
+      Set<TopicPartition> assignment = consumer.assignment();
+      dispatcher.retainPartitions(assignment);
+      pausedPartitions.retainAll(assignment);
+
+      Set<TopicPartition> fullPartitions = dispatcher.getFullPartitions();
+      Set<TopicPartition> toResume = new HashSet<>(pausedPartitions);
+      toResume.removeAll(fullPartitions);
+      if (!toResume.isEmpty()) {
+        consumer.resume(toResume);
+        pausedPartitions.removeAll(toResume);
+      }
+      fullPartitions.removeAll(pausedPartitions);
+      if (!fullPartitions.isEmpty()) {
+        consumer.pause(fullPartitions);
+        pausedPartitions.addAll(fullPartitions);
+        logger.info("Kafka paused partitions {} with {} records in progress", fullPartitions,
+            dispatcher.getInFlight());
+      }
+
+      offsetTracker.processed(dispatcher.getCommittableOffsets());
+      offsetTracker.commitIfDue(consumer);
+    }
+
+    try {
+      if (!dispatcher.awaitCompletion(SHUTDOWN_TIMEOUT)) {
+        logger.warn("{} kafka records still in progress after {}, they will be processed again",
+            dispatcher.getInFlight(), SHUTDOWN_TIMEOUT);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    dispatcher.retainPartitions(consumer.assignment());
+    offsetTracker.processed(dispatcher.getCommittableOffsets());
+  }
+
+  private ConsumerRecords<String, ActivityStream> poll(Duration pollDuration) {
+    try {
+      return consumer.poll(pollDuration);
+    } catch (WakeupException e) {
+      logger.info("Kafka consumer woken up, running={}", running);
+      return null;
+    }
+  }
+
+  void processRecord(ConsumerRecord<String, ActivityStream> record) {
+    try {
+      logger.info("Kafka Process Message Topic {} Partition {} Offset {} ",
+          record.topic(),
+          record.partition(),
+          record.offset());
+
+      processImportInProgress(record);
+
+      processImportItem(record);
+
+    } catch (Exception ex) {
+      logger.error("Problem with the kafka messages {}", ex.getMessage(), ex);
+      processImportError(record.value(), String.format("%s\n%s", ex.getMessage(),
+          Arrays.stream(ex.getSuppressed()).map(Throwable::getMessage).collect(
+              Collectors.joining("\n"))));
+    }
+  }
+
   @Transactional(rollbackOn = {Exception.class}, value = TxType.REQUIRES_NEW)
   void processImportInProgress(ConsumerRecord<String, ActivityStream> record)
       throws ActivityStreamsException, JsonProcessingException {
@@ -250,8 +350,30 @@ public class KafkaImportConsumer {
     }
   }
 
+  /**
+   * Stops the polling loop. The consumer commits the processed offsets with {@code commitSync} before it is closed.
+   */
   public void stopConsumer() {
     this.running = false;
+    if (Objects.nonNull(consumer)) {
+      consumer.wakeup();
+    }
+  }
+
+  public Map<TopicPartition, Long> getLag() {
+    return offsetTracker.getLag();
+  }
+
+  public long getAverageCommitLatencyMillis() {
+    return offsetTracker.getAverageCommitLatencyMillis();
+  }
+
+  public long getMaxCommitLatencyMillis() {
+    return offsetTracker.getMaxCommitLatencyMillis();
+  }
+
+  public long getCommitFailures() {
+    return offsetTracker.getCommitFailures();
   }
 
 
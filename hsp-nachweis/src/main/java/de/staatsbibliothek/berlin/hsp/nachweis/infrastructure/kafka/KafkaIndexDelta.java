@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.exceptions.ActivityStreamsException;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexHash;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexHashRepository;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore.BlobStore;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Delta indexing of the Beschreibungen of a KOD.
+ * <p>
+ * The SHA-256 hash of the TEI of every Beschreibung sent to the index is stored in the {@link IndexHash} table. If
+ * {@code kafka.index.delta.enabled} is set, an UPDATE message only carries the Beschreibungen whose TEI changed since
+ * they were last sent. Every unchanged Beschreibung is listed in the message as manifest entry: an
+ * ActivityStreamObject with its id, its type and the name {@code sha256:<hash>}, but without content and url. ADD
+ * messages and messages sent with {@code fullResend} always carry all Beschreibungen, so a reindex repairs an index
+ * that lost documents.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class KafkaIndexDelta {
+
+  private IndexHashRepository indexHashRepository;
+  private boolean enabled;
+
+  KafkaIndexDelta() {
+  }
+
+  @Inject
+  public KafkaIndexDelta(IndexHashRepository indexHashRepository,
+      @ConfigProperty(name = "kafka.index.delta.enabled", defaultValue = "false") boolean enabled) {
+    this.indexHashRepository = indexHashRepository;
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public static boolean isUnchanged(ActivityStreamObject activityStreamObject) {
+    return Objects.nonNull(activityStreamObject.getName())
+        && activityStreamObject.getName().startsWith(KafkaClaimCheck.HASH_PREFIX)
+        && Objects.isNull(activityStreamObject.getUrl());
+  }
+
+  static String hash(String teiXML) {
+    return BlobStore.hash(teiXML.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Loads the hashes of the Beschreibungen last sent with the KOD.
+   *
+   * @return null if delta indexing is disabled
+   */
+  Delta start(KulturObjektDokument kod, ActivityStreamAction action, boolean fullResend) {
+    if (!enabled) {
+      return null;
+    }
+    Map<String, String> indexed = new HashMap<>();
+    for (IndexHash indexHash : indexHashRepository.findByKodId(kod.getId())) {
+      indexed.put(indexHash.getId(), indexHash.getHash());
+    }
+    return new Delta(kod.getId(), indexed, fullResend || !ActivityStreamAction.UPDATE.equals(action));
+  }
+
+  /**
+   * Stores the hashes of the Beschreibungen of a sent message. The hashes of a removed KOD are deleted.
+   */
+  @Transactional
+  void sent(Delta delta, ActivityStreamAction action) {
+    if (Objects.isNull(delta)) {
+      return;
+    }
+    if (ActivityStreamAction.REMOVE.equals(action)) {
+      indexHashRepository.deleteByKodId(delta.getKodId());
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    delta.getHashes().forEach((id, hash) -> {
+      if (!hash.equals(delta.getIndexed().get(id))) {
+        indexHashRepository.save(new IndexHash(id, delta.getKodId(), hash, now));
+      }
+    });
+    delta.getIndexed().keySet().stream()
+        .filter(id -> !delta.getHashes().containsKey(id))
+        .forEach(indexHashRepository::deleteById);
+    log.debug("Sent KOD {} with {} changed and {} unchanged Beschreibungen", delta.getKodId(),
+        delta.getHashes().size() - delta.getUnchanged(), delta.getUnchanged());
+  }
+
+  /**
+   * The hashes of the Beschreibungen of one message.
+   */
+  static class Delta {
+
+    private final String kodId;
+    private final Map<String, String> indexed;
+    private final boolean sendAll;
+    private final Map<String, String> hashes = new LinkedHashMap<>();
+    private int unchanged;
+
+    Delta(String kodId, Map<String, String> indexed, boolean sendAll) {
+      this.kodId = kodId;
+      this.indexed = indexed;
+      this.sendAll = sendAll;
+    }
+
+    /**
+     * Returns the manifest entry for the Beschreibung if it is unchanged since it was last sent, otherwise null.
+     */
+    ActivityStreamObject createUnchangedObject(String id, ActivityStreamsDokumentTyp typ, String teiXML)
+        throws ActivityStreamsException {
+      String hash = hash(teiXML);
+      hashes.put(id, hash);
+      if (sendAll || !hash.equals(indexed.get(id))) {
+        return null;
+      }
+      unchanged++;
+      return ActivityStreamObject.builder()
+          .withId(id)
+          .withType(typ)
+          .withName(KafkaClaimCheck.HASH_PREFIX + hash)
+          .build();
+    }
+
+    String getKodId() {
+      return kodId;
+    }
+
+    Map<String, String> getIndexed() {
+      return indexed;
+    }
+
+    Map<String, String> getHashes() {
+      return hashes;
+    }
+
+    int getUnchanged() {
+      return unchanged;
+    }
+
+    boolean isSendAll() {
+      return sendAll;
+    }
+  }
+}
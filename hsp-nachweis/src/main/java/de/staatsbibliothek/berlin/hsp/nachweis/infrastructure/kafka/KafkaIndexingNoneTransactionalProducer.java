@@ -32,14 +32,20 @@ import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.Activi
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.KafkaIndexProducerBoundary;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
@@ -64,6 +70,10 @@ public class KafkaIndexingNoneTransactionalProducer implements KafkaIndexProduce
 
   private BeschreibungsRepository beschreibungsRepository;
 
+  private KafkaClaimCheck claimCheck;
+
+  private KafkaIndexDelta indexDelta;
+
   @Inject
   public KafkaIndexingNoneTransactionalProducer(@ConfigProperty(name = "kafka.index.topic") String topic,
       @ConfigProperty(name = "kafka.bootstrapserver") String bootstrapserver,
@@ -74,6 +84,16 @@ public class KafkaIndexingNoneTransactionalProducer implements KafkaIndexProduce
     this.beschreibungsRepository = beschreibungsRepository;
   }
 
+  @Inject
+  void setClaimCheck(KafkaClaimCheck claimCheck) {
+    this.claimCheck = claimCheck;
+  }
+
+  @Inject
+  void setIndexDelta(KafkaIndexDelta indexDelta) {
+    this.indexDelta = indexDelta;
+  }
+
   @PostConstruct
   public void setup() {
 
@@ -98,24 +118,113 @@ public class KafkaIndexingNoneTransactionalProducer implements KafkaIndexProduce
   public void send(ActivityStream message) {
 
     if (Objects.nonNull(message)) {
-      logger.info("Sending message to kafka topic {} with id {} ", topic, message.getId());
+      sendWithoutFlush(message);
+      producer.flush();
+    }
+  }
+
+  private Future<RecordMetadata> sendWithoutFlush(ActivityStream message) {
+    logger.info("Sending message to kafka topic {} with id {} ", topic, message.getId());
 
-      final ProducerRecord<String, ActivityStream> record = new ProducerRecord(topic,
-          message.getId(), message);
+    final ProducerRecord<String, ActivityStream> record = new ProducerRecord(topic,
+        message.getId(), message);
 
-      producer.send(record, new KafkaLoggingCallback());
+    return producer.send(record, new KafkaLoggingCallback());
+  }
+
+  public ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod, ActivityStreamAction action, boolean compressed, String actor)
+      throws ActivityStreamsException {
+    return sendKulturobjektDokumentAsActivityStreamMessage(kod, action, compressed, actor, false);
+  }
+
+  public ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod,
+      ActivityStreamAction action, boolean compressed, String actor, boolean fullResend)
+      throws ActivityStreamsException {
+
+    List<SentDelta> sentDeltas = new ArrayList<>(1);
+    ActivityStream message = sendWithoutFlush(kod, action, compressed, actor, fullResend, sentDeltas);
+
+    producer.flush();
+    storeAcknowledgedDeltas(sentDeltas, action);
+
+    return message;
+  }
+
+  /**
+   * Sends the messages of all KODs and flushes the producer only once, so the producer can send the messages in
+   * batches. A KOD whose message can not be created is logged and skipped.
+   *
+   * @return the sent messages
+   */
+  public List<ActivityStream> sendKulturobjektDokumenteAsActivityStreamMessages(
+      Collection<KulturObjektDokument> kods, ActivityStreamAction action, boolean compressed, String actor) {
+    List<ActivityStream> messages = new ArrayList<>(kods.size());
+    List<SentDelta> sentDeltas = new ArrayList<>(kods.size());
+    try {
+      for (KulturObjektDokument kod : kods) {
+        try {
+          messages.add(sendWithoutFlush(kod, action, compressed, actor, false, sentDeltas));
+        } catch (Exception exception) {
+          logger.error("Error during index producer message creation for KOD {}", kod.getId(), exception);
+        }
+      }
+    } finally {
       producer.flush();
     }
+    storeAcknowledgedDeltas(sentDeltas, action);
+    return messages;
   }
 
-  public ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod, ActivityStreamAction action, boolean compressed, String actor)
+  private ActivityStream sendWithoutFlush(KulturObjektDokument kod, ActivityStreamAction action,
+      boolean compressed, String actor, boolean fullResend, List<SentDelta> sentDeltas)
       throws ActivityStreamsException {
 
-    ActivityStream message = createMessageForKulturobjektDokument(kod,action,compressed,actor,beschreibungsRepository);
+    KafkaIndexDelta.Delta delta = Objects.isNull(indexDelta) || Objects.isNull(kod) ? null
+        : indexDelta.start(kod, action, fullResend);
+
+    ActivityStream message = createMessageForKulturobjektDokument(kod,action,compressed,actor,beschreibungsRepository,
+        claimCheck, delta);
+
+    Future<RecordMetadata> acknowledgement = sendWithoutFlush(message);
 
-    send(message);
+    if (Objects.nonNull(delta)) {
+      sentDeltas.add(new SentDelta(delta, acknowledgement));
+    }
 
     return message;
   }
 
+  /**
+   * Stores the hashes of the messages acknowledged by kafka. Must be called after {@code flush()}, so every send is
+   * completed. The hashes of a message that kafka did not acknowledge are not stored, so the next UPDATE sends its
+   * Beschreibungen again.
+   */
+  void storeAcknowledgedDeltas(List<SentDelta> sentDeltas, ActivityStreamAction action) {
+    for (SentDelta sentDelta : sentDeltas) {
+      try {
+        sentDelta.acknowledgement.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        logger.warn("Interrupted while storing the index hashes, {} KODs are not stored", sentDeltas.size());
+        return;
+      } catch (ExecutionException e) {
+        logger.warn("KOD {} was not acknowledged by kafka, its index hashes are not stored",
+            sentDelta.delta.getKodId(), e.getCause());
+        continue;
+      }
+      indexDelta.sent(sentDelta.delta, action);
+    }
+  }
+
+  static class SentDelta {
+
+    private final KafkaIndexDelta.Delta delta;
+    private final Future<RecordMetadata> acknowledgement;
+
+    SentDelta(KafkaIndexDelta.Delta delta, Future<RecordMetadata> acknowledgement) {
+      this.delta = delta;
+      this.acknowledgement = acknowledgement;
+    }
+  }
+
 }
@@ -33,7 +33,16 @@ import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.beschreibungsimport.BeschreibungImport;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.KafkaIndexProducerBoundary;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.transaction.TransactionManager;
@@ -54,6 +63,16 @@ public class KafkaIndexingProducer extends KafkaTransactionalProducer implements
 
   private BeschreibungsRepository beschreibungsRepository;
 
+  private KafkaClaimCheck claimCheck;
+
+  private KafkaIndexDelta indexDelta;
+
+  private int batchMessages;
+
+  private long batchBytes;
+
+  private ExecutorService commitExecutor;
+
   @Inject
   public KafkaIndexingProducer(
       TransactionManager transactionManager,
@@ -66,6 +85,42 @@ public class KafkaIndexingProducer extends KafkaTransactionalProducer implements
     this.beschreibungsRepository = beschreibungsRepository;
   }
 
+  @Inject
+  void setClaimCheck(KafkaClaimCheck claimCheck) {
+    this.claimCheck = claimCheck;
+  }
+
+  @Inject
+  void setIndexDelta(KafkaIndexDelta indexDelta) {
+    this.indexDelta = indexDelta;
+  }
+
+  @Inject
+  void setTransactionBatchConfig(
+      @ConfigProperty(name = "kafka.index.transaction.batch.messages", defaultValue = "0") int batchMessages,
+      @ConfigProperty(name = "kafka.index.transaction.batch.megabytes", defaultValue = "16") int batchMegabytes) {
+    this.batchMessages = batchMessages;
+    this.batchBytes = batchMegabytes * 1024L * 1024L;
+  }
+
+  @Override
+  @PreDestroy
+  public void destroy() {
+    synchronized (this) {
+      if (Objects.nonNull(commitExecutor)) {
+        commitExecutor.shutdown();
+      }
+    }
+    super.destroy();
+  }
+
+  /**
+   * @return true if bulk index messages should be sent with {@link #sendKulturobjektDokumenteInTransactions}
+   */
+  public boolean isTransactionBatching() {
+    return batchMessages > 0;
+  }
+
   @Transactional
   public void send(ActivityStream message, BeschreibungImport beschreibungImportJob) {
 
@@ -77,11 +132,163 @@ public class KafkaIndexingProducer extends KafkaTransactionalProducer implements
   @Transactional
   public ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod, ActivityStreamAction action, boolean compressed, String actor)
       throws ActivityStreamsException {
+    return sendKulturobjektDokumentAsActivityStreamMessage(kod, action, compressed, actor, false);
+  }
+
+  @Transactional
+  public ActivityStream sendKulturobjektDokumentAsActivityStreamMessage(KulturObjektDokument kod,
+      ActivityStreamAction action, boolean compressed, String actor, boolean fullResend)
+      throws ActivityStreamsException {
 
-    ActivityStream message = createMessageForKulturobjektDokument(kod,action,compressed,actor,beschreibungsRepository);
+    KafkaIndexDelta.Delta delta = Objects.isNull(indexDelta) || Objects.isNull(kod) ? null
+        : indexDelta.start(kod, action, fullResend);
+
+    ActivityStream message = createMessageForKulturobjektDokument(kod,action,compressed,actor,beschreibungsRepository,
+        claimCheck, delta);
 
     send(message);
 
+    if (Objects.nonNull(delta)) {
+      indexDelta.sent(delta, action);
+    }
+
     return message;
   }
+
+  /**
+   * Sends the messages of the KODs in Kafka transactions of at most {@code kafka.index.transaction.batch.messages}
+   * messages or {@code kafka.index.transaction.batch.megabytes} MB of uncompressed TEI in the messages. A TEI sent as
+   * claim check or listed as unchanged only counts with its reference. The Kafka transactions are independent of the
+   * JTA transaction. While a batch is committed, the next batch is already sent with another producer of the pool. A
+   * KOD whose message can not be created is logged and skipped.
+   *
+   * @return the messages of all committed batches
+   * @throws Exception if a batch could not be sent or committed, after the open batches were aborted. The batches
+   *                   committed before stay committed.
+   */
+  public List<ActivityStream> sendKulturobjektDokumenteInTransactions(Collection<KulturObjektDokument> kods,
+      ActivityStreamAction action, boolean compressed, String actor) throws Exception {
+    List<ActivityStream> messages = new ArrayList<>(kods.size());
+    TransactionBatch batch = null;
+    TransactionBatch committing = null;
+
+    try {
+      for (KulturObjektDokument kod : kods) {
+        KafkaIndexDelta.Delta delta;
+        ActivityStream message;
+        AtomicLong teiBytes = new AtomicLong();
+        try {
+          delta = Objects.isNull(indexDelta) || Objects.isNull(kod) ? null : indexDelta.start(kod, action, false);
+          message = createMessageForKulturobjektDokument(kod, action, compressed, actor, beschreibungsRepository,
+              claimCheck, delta, teiBytes::addAndGet);
+        } catch (Exception exception) {
+          logger.error("Error during index producer message creation for KOD {}",
+              Objects.isNull(kod) ? null : kod.getId(), exception);
+          continue;
+        }
+
+        if (Objects.isNull(batch)) {
+          batch = new TransactionBatch(beginTransaction());
+        }
+        send(batch.txId, message);
+        batch.add(message, delta, teiBytes.get());
+
+        if (batch.messages.size() >= batchMessages || batch.bytes >= batchBytes) {
+          completeCommit(committing, messages, action);
+          committing = commitAsync(batch);
+          batch = null;
+        }
+      }
+
+      completeCommit(committing, messages, action);
+      committing = null;
+      if (Objects.nonNull(batch)) {
+        commitTransaction(batch.txId);
+        complete(batch, messages, action);
+        batch = null;
+      }
+    } finally {
+      if (Objects.nonNull(committing)) {
+        committing.commit.handle((result, exception) -> null).join();
+      }
+      if (Objects.nonNull(batch)) {
+        abort(batch);
+      }
+    }
+    return messages;
+  }
+
+  private TransactionBatch commitAsync(TransactionBatch batch) {
+    batch.commit = CompletableFuture.runAsync(() -> {
+      try {
+        commitTransaction(batch.txId);
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      }
+    }, getCommitExecutor());
+    return batch;
+  }
+
+  private void completeCommit(TransactionBatch batch, List<ActivityStream> messages, ActivityStreamAction action)
+      throws Exception {
+    if (Objects.isNull(batch)) {
+      return;
+    }
+    try {
+      batch.commit.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+    complete(batch, messages, action);
+  }
+
+  private void complete(TransactionBatch batch, List<ActivityStream> messages, ActivityStreamAction action) {
+    logger.info("Committed kafka transaction {} with {} messages", batch.txId, batch.messages.size());
+    messages.addAll(batch.messages);
+    if (Objects.nonNull(indexDelta)) {
+      for (KafkaIndexDelta.Delta delta : batch.deltas) {
+        indexDelta.sent(delta, action);
+      }
+    }
+  }
+
+  private void abort(TransactionBatch batch) {
+    try {
+      rollbackTransaction(batch.txId);
+    } catch (Exception e) {
+      logger.error("Unable to abort kafka transaction {}", batch.txId, e);
+    }
+  }
+
+  private synchronized ExecutorService getCommitExecutor() {
+    if (Objects.isNull(commitExecutor)) {
+      commitExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-index-commit");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return commitExecutor;
+  }
+
+  private static class TransactionBatch {
+
+    private final String txId;
+    private final List<ActivityStream> messages = new ArrayList<>();
+    private final List<KafkaIndexDelta.Delta> deltas = new ArrayList<>();
+    private long bytes;
+    private CompletableFuture<Void> commit;
+
+    TransactionBatch(String txId) {
+      this.txId = txId;
+    }
+
+    void add(ActivityStream message, KafkaIndexDelta.Delta delta, long size) {
+      messages.add(message);
+      if (Objects.nonNull(delta)) {
+        deltas.add(delta);
+      }
+      bytes += size;
+    }
+  }
 }
@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the processed offsets of a consumer and commits them in batches.
+ * <p>
+ * Instead of a blocking {@code commitSync} after every record, the offsets are committed with {@code commitAsync} as
+ * soon as {@code commitCount} offsets were processed or {@code commitIntervalMillis} elapsed since the last commit.
+ * Failed asynchronous commits are repeated with the next commit. Before partitions are revoked and before the consumer
+ * is closed the remaining offsets are committed with {@code commitSync}. Records processed after the last commit are
+ * processed again after a crash, as before.
+ * <p>
+ * The tracker must only be used by the polling thread of the consumer, the metrics can be read by any thread.
+ *
+ * @since 17.10.2026
+ */
+class KafkaOffsetTracker {
+
+  private static final Logger logger = LoggerFactory.getLogger(KafkaOffsetTracker.class);
+
+  private final long commitIntervalMillis;
+  private final int commitCount;
+  private final LongSupplier clock;
+  private final Map<TopicPartition, Long> processedOffsets = new ConcurrentHashMap<>();
+  private final Map<TopicPartition, Long> committedOffsets = new ConcurrentHashMap<>();
+  private final Map<TopicPartition, Long> receivedOffsets = new ConcurrentHashMap<>();
+  private final LongAdder commits = new LongAdder();
+  private final LongAdder commitFailures = new LongAdder();
+  private final LongAdder commitNanos = new LongAdder();
+  private final LongAccumulator maxCommitNanos = new LongAccumulator(Math::max, 0);
+  private int uncommittedCount;
+  private long lastCommit;
+
+  KafkaOffsetTracker(long commitIntervalMillis, int commitCount) {
+    this(commitIntervalMillis, commitCount, System::nanoTime);
+  }
+
+  KafkaOffsetTracker(long commitIntervalMillis, int commitCount, LongSupplier clock) {
+    if (commitCount < 1) {
+      throw new IllegalArgumentException("commitCount must be greater than 0, was " + commitCount);
+    }
+    this.commitIntervalMillis = commitIntervalMillis;
+    this.commitCount = commitCount;
+    this.clock = Objects.requireNonNull(clock, "clock is required");
+    this.lastCommit = clock.getAsLong();
+  }
+
+  /**
+   * Remembers the offset of a polled record to calculate the lag of the partition. The first record of a partition
+   * is at the committed position of the consumer group.
+   */
+  void received(ConsumerRecord<?, ?> record) {
+    TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
+    receivedOffsets.merge(topicPartition, record.offset() + 1, Math::max);
+    committedOffsets.putIfAbsent(topicPartition, record.offset());
+  }
+
+  /**
+   * Marks all records of the partition before {@code nextOffset} as processed.
+   */
+  void processed(TopicPartition topicPartition, long nextOffset) {
+    Long previous = processedOffsets.get(topicPartition);
+    if (Objects.isNull(previous) || previous < nextOffset) {
+      processedOffsets.put(topicPartition, nextOffset);
+      uncommittedCount++;
+    }
+  }
+
+  void processed(Map<TopicPartition, OffsetAndMetadata> offsets) {
+    offsets.forEach((topicPartition, offsetAndMetadata) -> processed(topicPartition, offsetAndMetadata.offset()));
+  }
+
+  /**
+   * Commits the processed offsets with {@code commitAsync} if the count or the time threshold is reached.
+   */
+  void commitIfDue(Consumer<?, ?> consumer) {
+    if (uncommittedCount == 0) {
+      return;
+    }
+    long now = clock.getAsLong();
+    if (uncommittedCount < commitCount && TimeUnit.NANOSECONDS.toMillis(now - lastCommit) < commitIntervalMillis) {
+      return;
+    }
+
+    Map<TopicPartition, OffsetAndMetadata> offsets = getUncommittedOffsets(processedOffsets.keySet());
+    uncommittedCount = 0;
+    lastCommit = now;
+    if (offsets.isEmpty()) {
+      return;
+    }
+
+    logger.debug("Kafka Commit Offsets async {}", offsets);
+    consumer.commitAsync(offsets, (committed, exception) -> {
+      if (Objects.isNull(exception)) {
+        committed(committed, now);
+      } else {
+        commitFailures.increment();
+        uncommittedCount++;
+        logger.warn("Unable to commit kafka offsets {}: {}", committed, exception.getMessage());
+      }
+    });
+  }
+
+  /**
+   * Commits the processed offsets of the given partitions with {@code commitSync}.
+   */
+  void commitSync(Consumer<?, ?> consumer, Collection<TopicPartition> topicPartitions) {
+    Map<TopicPartition, OffsetAndMetadata> offsets = getUncommittedOffsets(topicPartitions);
+    if (offsets.isEmpty()) {
+      return;
+    }
+
+    long start = clock.getAsLong();
+    try {
+      logger.info("Kafka Commit Offsets {}", offsets);
+      // a pending wakeup of the consumer is thrown once by the next blocking call
+      try {
+        consumer.commitSync(offsets);
+      } catch (WakeupException e) {
+        consumer.commitSync(offsets);
+      }
+      committed(offsets, start);
+    } catch (RuntimeException e) {
+      commitFailures.increment();
+      logger.warn("Unable to commit kafka offsets {}: {}", offsets, e.getMessage());
+    }
+  }
+
+  void commitSync(Consumer<?, ?> consumer) {
+    commitSync(consumer, processedOffsets.keySet());
+  }
+
+  /**
+   * Forgets the offsets of partitions that are no longer assigned, so that they are never committed again.
+   */
+  void removePartitions(Collection<TopicPartition> topicPartitions) {
+    processedOffsets.keySet().removeAll(topicPartitions);
+    committedOffsets.keySet().removeAll(topicPartitions);
+    receivedOffsets.keySet().removeAll(topicPartitions);
+  }
+
+  /**
+   * @return for every partition the number of received records that are not committed yet
+   */
+  Map<TopicPartition, Long> getLag() {
+    Map<TopicPartition, Long> lag = new HashMap<>();
+    receivedOffsets.forEach((topicPartition, receivedOffset) -> lag.put(topicPartition,
+        receivedOffset - committedOffsets.getOrDefault(topicPartition, receivedOffset)));
+    return lag;
+  }
+
+  long getCommits() {
+    return commits.sum();
+  }
+
+  long getCommitFailures() {
+    return commitFailures.sum();
+  }
+
+  long getAverageCommitLatencyMillis() {
+    long commitCount = commits.sum();
+    return commitCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(commitNanos.sum() / commitCount);
+  }
+
+  long getMaxCommitLatencyMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxCommitNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("KafkaOffsetTracker[commits=%d, commitFailures=%d, averageCommitLatencyMillis=%d, "
+            + "maxCommitLatencyMillis=%d, lag=%s]", getCommits(), getCommitFailures(),
+        getAverageCommitLatencyMillis(), getMaxCommitLatencyMillis(), getLag());
+  }
+
+  private Map<TopicPartition, OffsetAndMetadata> getUncommittedOffsets(Collection<TopicPartition> topicPartitions) {
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    for (TopicPartition topicPartition : topicPartitions) {
+      Long processedOffset = processedOffsets.get(topicPartition);
+      Long committedOffset = committedOffsets.get(topicPartition);
+      if (Objects.nonNull(processedOffset) && (Objects.isNull(committedOffset) || committedOffset < processedOffset)) {
+        offsets.put(topicPartition, new OffsetAndMetadata(processedOffset));
+      }
+    }
+    return offsets;
+  }
+
+  private void committed(Map<TopicPartition, OffsetAndMetadata> offsets, long start) {
+    long latency = clock.getAsLong() - start;
+    commits.increment();
+    commitNanos.add(latency);
+    maxCommitNanos.accumulate(latency);
+    offsets.forEach((topicPartition, offsetAndMetadata) -> {
+      if (processedOffsets.containsKey(topicPartition)) {
+        committedOffsets.merge(topicPartition, offsetAndMetadata.offset(), Math::max);
+      }
+    });
+  }
+}
@@ -25,6 +25,7 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
 import java.util.Collection;
+import java.util.Objects;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.common.TopicPartition;
@@ -43,14 +44,37 @@ public class KafkaPartitionRebalanceListener implements ConsumerRebalanceListene
 
   private final long startOffset;
 
+  private final KafkaOffsetTracker offsetTracker;
+
   public KafkaPartitionRebalanceListener(Consumer<?, ?> consumer, long startOffset) {
+    this(consumer, startOffset, null);
+  }
+
+  /**
+   * @param offsetTracker if not null, its processed offsets of revoked partitions are committed before the
+   *                      partitions are handed over to another consumer
+   */
+  KafkaPartitionRebalanceListener(Consumer<?, ?> consumer, long startOffset, KafkaOffsetTracker offsetTracker) {
     this.consumer = consumer;
     this.startOffset = startOffset;
+    this.offsetTracker = offsetTracker;
   }
 
   @Override
   public void onPartitionsRevoked(Collection<TopicPartition> topicPartitions) {
     LOGGER.info("Topic partitions {} revoked from consumer", topicPartitions);
+    if (Objects.nonNull(offsetTracker)) {
+      offsetTracker.commitSync(consumer, topicPartitions);
+      offsetTracker.removePartitions(topicPartitions);
+    }
+  }
+
+  @Override
+  public void onPartitionsLost(Collection<TopicPartition> topicPartitions) {
+    LOGGER.info("Topic partitions {} lost by consumer", topicPartitions);
+    if (Objects.nonNull(offsetTracker)) {
+      offsetTracker.removePartitions(topicPartitions);
+    }
   }
 
   @Override
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.apache.kafka.clients.producer.Producer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of transactional Kafka producers with stable transactional IDs {@code <prefix>-<slot>}.
+ * <p>
+ * A producer is created and initialized with {@code initTransactions()} only once per slot and is then leased to one
+ * JTA transaction after the other. After commit or abort the lease is released and the producer can be used by the
+ * next transaction. A producer that failed during commit or abort is closed and created again with the same
+ * transactional ID by the next lease, which also fences a zombie instance of it. Because the transactional IDs are
+ * stable, the prefix must be unique for every running service instance.
+ *
+ * @since 17.10.2026
+ */
+class KafkaProducerPool<K, V> implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(KafkaProducerPool.class);
+
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(15L);
+
+  private final String transactionalIdPrefix;
+  private final Duration maxWait;
+  private final Function<String, Producer<K, V>> producerFactory;
+  private final Producer<K, V>[] producers;
+  private final BlockingQueue<Integer> idleSlots;
+  private final AtomicInteger leased = new AtomicInteger();
+  private final LongAdder leases = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+  private volatile boolean closed;
+
+  @SuppressWarnings("unchecked")
+  KafkaProducerPool(String transactionalIdPrefix, int size, Duration maxWait,
+      Function<String, Producer<K, V>> producerFactory) {
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be greater than 0, was " + size);
+    }
+    this.transactionalIdPrefix = Objects.requireNonNull(transactionalIdPrefix, "transactionalIdPrefix is required");
+    this.maxWait = Objects.requireNonNull(maxWait, "maxWait is required");
+    this.producerFactory = Objects.requireNonNull(producerFactory, "producerFactory is required");
+    this.producers = new Producer[size];
+    this.idleSlots = new ArrayBlockingQueue<>(size);
+    for (int slot = 0; slot < size; slot++) {
+      idleSlots.add(slot);
+    }
+  }
+
+  /**
+   * Leases a producer and waits up to {@code maxWait} if all producers are leased.
+   *
+   * @throws IllegalStateException if no producer got idle in time or the pool is closed
+   */
+  Lease<K, V> lease() throws InterruptedException {
+    if (closed) {
+      throw new IllegalStateException("Kafka producer pool " + transactionalIdPrefix + " is closed");
+    }
+
+    long start = System.nanoTime();
+    Integer slot = idleSlots.poll(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+    long waited = System.nanoTime() - start;
+    waitNanos.add(waited);
+    maxWaitNanos.accumulate(waited);
+
+    if (Objects.isNull(slot)) {
+      throw new IllegalStateException("No kafka producer of pool " + transactionalIdPrefix + " got idle within "
+          + maxWait.toMillis() + " ms, " + leased.get() + " are leased");
+    }
+
+    try {
+      Producer<K, V> producer = getOrCreateProducer(slot);
+      leased.incrementAndGet();
+      leases.increment();
+      return new Lease<>(this, slot, producer);
+    } catch (RuntimeException e) {
+      idleSlots.add(slot);
+      throw e;
+    }
+  }
+
+  void release(Lease<K, V> lease, boolean broken) {
+    if (lease.released) {
+      return;
+    }
+    lease.released = true;
+
+    if (broken || closed) {
+      closeProducer(lease.slot);
+    }
+    leased.decrementAndGet();
+    idleSlots.add(lease.slot);
+  }
+
+  String getTransactionalId(int slot) {
+    return transactionalIdPrefix + "-" + slot;
+  }
+
+  int getSize() {
+    return producers.length;
+  }
+
+  int getLeased() {
+    return leased.get();
+  }
+
+  int getIdle() {
+    return idleSlots.size();
+  }
+
+  long getLeases() {
+    return leases.sum();
+  }
+
+  long getAverageWaitMillis() {
+    long leaseCount = leases.sum();
+    return leaseCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / leaseCount);
+  }
+
+  long getMaxWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    for (int slot = 0; slot < producers.length; slot++) {
+      closeProducer(slot);
+    }
+    logger.info("Closed kafka producer pool {}", this);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d, leased=%d, idle=%d, leases=%d, averageWaitMillis=%d, maxWaitMillis=%d]",
+        transactionalIdPrefix, getSize(), getLeased(), getIdle(), getLeases(), getAverageWaitMillis(),
+        getMaxWaitMillis());
+  }
+
+  private synchronized Producer<K, V> getOrCreateProducer(int slot) {
+    if (Objects.isNull(producers[slot])) {
+      String transactionalId = getTransactionalId(slot);
+      producers[slot] = producerFactory.apply(transactionalId);
+      logger.info("Created kafka producer with transactionalId={}", transactionalId);
+    }
+    return producers[slot];
+  }
+
+  private synchronized void closeProducer(int slot) {
+    Producer<K, V> producer = producers[slot];
+    producers[slot] = null;
+    if (Objects.nonNull(producer)) {
+      try {
+        producer.close(CLOSE_TIMEOUT);
+      } catch (Exception e) {
+        logger.warn("Unable to close kafka producer {}: {}", getTransactionalId(slot), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * A producer leased to one transaction.
+   */
+  static class Lease<K, V> {
+
+    private final KafkaProducerPool<K, V> pool;
+    private final int slot;
+    private final Producer<K, V> producer;
+    private volatile boolean released;
+
+    Lease(KafkaProducerPool<K, V> pool, int slot, Producer<K, V> producer) {
+      this.pool = pool;
+      this.slot = slot;
+      this.producer = Objects.requireNonNull(producer, "producer is required");
+    }
+
+    Producer<K, V> getProducer() {
+      return producer;
+    }
+
+    void release(boolean broken) {
+      if (Objects.nonNull(pool)) {
+        pool.release(this, broken);
+      } else if (broken) {
+        producer.close(CLOSE_TIMEOUT);
+      }
+    }
+  }
+}
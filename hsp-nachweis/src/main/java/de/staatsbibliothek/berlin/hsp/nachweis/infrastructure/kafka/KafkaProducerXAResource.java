@@ -47,13 +47,18 @@ public class KafkaProducerXAResource extends CommonXAResource {
   public KafkaProducerXAResource(KafkaTransactionalProducer transactionalProducer) {
     super(LoggerFactory.getLogger(KafkaProducerXAResource.class));
     this.transactionalProducer = transactionalProducer;
+    this.transactionTimeout = transactionalProducer.getTransactionTimeout();
   }
 
   //Begin
   @Override
   public boolean setTransactionTimeout(int transactionTimeout) throws XAException {
     logger.info("---->>>>setTransactionTimeout {}", transactionTimeout);
-    transactionalProducer.setTransactionTimeout(transactionTimeout);
+    if (transactionTimeout > transactionalProducer.getProducerTransactionTimeout()) {
+      logger.warn("Transaction timeout {} s exceeds the timeout {} s of the kafka producers", transactionTimeout,
+          transactionalProducer.getProducerTransactionTimeout());
+    }
+    this.transactionTimeout = transactionTimeout;
     return true;
   }
 
@@ -77,7 +82,7 @@ public class KafkaProducerXAResource extends CommonXAResource {
 
   @Override
   public int getTransactionTimeout() throws XAException {
-    return transactionalProducer.getTransactionTimeout();
+    return transactionTimeout;
   }
 
   @Override
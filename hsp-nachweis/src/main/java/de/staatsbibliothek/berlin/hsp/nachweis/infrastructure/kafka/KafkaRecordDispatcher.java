@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches consumer records to a fixed number of lanes that are processed concurrently.
+ * <p>
+ * Records with the same key, or without a key from the same partition, always go to the same lane and are processed
+ * there one after the other in the order of their offsets. Unrelated records run concurrently on the executor. The
+ * dispatcher tracks the in-flight offsets of every partition and only offers an offset for commit when all records
+ * before it are processed, so a crash never skips a record that was not processed yet.
+ * <p>
+ * All methods except the processing itself are called by the polling thread of the consumer.
+ *
+ * @since 17.10.2026
+ */
+class KafkaRecordDispatcher<K, V> {
+
+  private static final Logger logger = LoggerFactory.getLogger(KafkaRecordDispatcher.class);
+
+  private final int maxInFlightPerPartition;
+  private final Executor executor;
+  private final Consumer<ConsumerRecord<K, V>> handler;
+  private final CompletableFuture<?>[] lanes;
+  private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+  KafkaRecordDispatcher(int laneCount, int maxInFlightPerPartition, Executor executor,
+      Consumer<ConsumerRecord<K, V>> handler) {
+    if (laneCount < 1 || maxInFlightPerPartition < 1) {
+      throw new IllegalArgumentException("laneCount and maxInFlightPerPartition must be greater than 0");
+    }
+    this.maxInFlightPerPartition = maxInFlightPerPartition;
+    this.executor = Objects.requireNonNull(executor, "executor is required");
+    this.handler = Objects.requireNonNull(handler, "handler is required");
+    this.lanes = new CompletableFuture<?>[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = CompletableFuture.completedFuture(null);
+    }
+  }
+
+  void dispatch(ConsumerRecord<K, V> record) {
+    TopicPartition topicPartition = new TopicPartition(record.topic(), record.partition());
+    PartitionOffsets offsets = partitions.computeIfAbsent(topicPartition, tp -> new PartitionOffsets());
+    offsets.inFlight.add(record.offset());
+    offsets.nextOffset = Math.max(offsets.nextOffset, record.offset() + 1);
+
+    int lane = getLane(record);
+    synchronized (lanes) {
+      lanes[lane] = lanes[lane].thenRunAsync(() -> process(record, offsets), executor);
+    }
+  }
+
+  /**
+   * @return the partitions with at least {@code maxInFlightPerPartition} records that are not processed yet
+   */
+  Set<TopicPartition> getFullPartitions() {
+    return partitions.entrySet().stream()
+        .filter(entry -> entry.getValue().inFlight.size() >= maxInFlightPerPartition)
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * @return for every partition the offset up to which all records are processed, if it changed since the last call
+   */
+  Map<TopicPartition, OffsetAndMetadata> getCommittableOffsets() {
+    Map<TopicPartition, OffsetAndMetadata> committable = new HashMap<>();
+    partitions.forEach((topicPartition, offsets) -> {
+      Long firstInFlight = offsets.inFlight.ceiling(Long.MIN_VALUE);
+      long offset = Objects.nonNull(firstInFlight) ? firstInFlight : offsets.nextOffset;
+      if (offset > offsets.committedOffset) {
+        offsets.committedOffset = offset;
+        committable.put(topicPartition, new OffsetAndMetadata(offset));
+      }
+    });
+    return committable;
+  }
+
+  /**
+   * Forgets the offsets of all partitions that are no longer assigned, so that they are never committed by this
+   * consumer. Records of these partitions that are still in flight are processed again by the new owner.
+   */
+  void retainPartitions(Collection<TopicPartition> assignedPartitions) {
+    partitions.keySet().retainAll(assignedPartitions);
+  }
+
+  int getInFlight() {
+    return partitions.values().stream().mapToInt(offsets -> offsets.inFlight.size()).sum();
+  }
+
+  /**
+   * Waits until all dispatched records are processed.
+   *
+   * @return false if the timeout elapsed before
+   */
+  boolean awaitCompletion(Duration timeout) throws InterruptedException {
+    CompletableFuture<Void> all;
+    synchronized (lanes) {
+      all = CompletableFuture.allOf(lanes);
+    }
+    try {
+      all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    } catch (Exception e) {
+      logger.warn("Error while waiting for kafka records: {}", e.getMessage());
+      return getInFlight() == 0;
+    }
+  }
+
+  private int getLane(ConsumerRecord<K, V> record) {
+    int hash = Objects.nonNull(record.key()) ? record.key().hashCode() : record.partition();
+    return Math.floorMod(hash, lanes.length);
+  }
+
+  private void process(ConsumerRecord<K, V> record, PartitionOffsets offsets) {
+    try {
+      handler.accept(record);
+    } catch (Exception e) {
+      logger.error("Unable to process kafka record partition {} offset {}: {}", record.partition(),
+          record.offset(), e.getMessage(), e);
+    } finally {
+      offsets.inFlight.remove(record.offset());
+    }
+  }
+
+  private static class PartitionOffsets {
+
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private volatile long nextOffset = -1;
+    private volatile long committedOffset = -1;
+  }
+}
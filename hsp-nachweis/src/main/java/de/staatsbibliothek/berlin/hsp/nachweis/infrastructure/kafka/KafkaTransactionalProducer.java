@@ -27,15 +27,20 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 import static javax.transaction.Status.STATUS_ACTIVE;
 
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaProducerPool.Lease;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
+import javax.inject.Inject;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 import javax.transaction.Transactional;
@@ -44,6 +49,7 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,7 +61,10 @@ public class KafkaTransactionalProducer {
 
   public static final KafkaLoggingCallback KAFKA_LOGGING_CALLBACK = new KafkaLoggingCallback();
   final static Logger logger = LoggerFactory.getLogger(KafkaTransactionalProducer.class);
-  private static final Map<String, KafkaProducer<String, ActivityStream>> activeProducers = new ConcurrentHashMap<>();
+  private static final Map<String, Lease<String, ActivityStream>> activeProducers = new ConcurrentHashMap<>();
+  private static final int DEFAULT_POOL_SIZE = 4;
+  private static final long DEFAULT_POOL_MAX_WAIT = 30000L;
+  private static final int DEFAULT_PRODUCER_TRANSACTION_TIMEOUT = 14400;
 
   TransactionManager transactionManager;
 
@@ -67,6 +76,16 @@ public class KafkaTransactionalProducer {
 
   int transactionTimeout;
 
+  int poolSize = DEFAULT_POOL_SIZE;
+
+  long poolMaxWait = DEFAULT_POOL_MAX_WAIT;
+
+  int producerTransactionTimeout = DEFAULT_PRODUCER_TRANSACTION_TIMEOUT;
+
+  String instance;
+
+  private KafkaProducerPool<String, ActivityStream> producerPool;
+
   KafkaTransactionalProducer(TransactionManager transactionManager, String topic,
       String bootstrapserver,
       String groupid, int transactionTimeout) {
@@ -77,10 +96,56 @@ public class KafkaTransactionalProducer {
     this.transactionTimeout = transactionTimeout;
   }
 
+  @Inject
+  void setProducerPoolConfig(
+      @ConfigProperty(name = "kafka.producer.pool.size", defaultValue = "4") int poolSize,
+      @ConfigProperty(name = "kafka.producer.pool.maxWait", defaultValue = "30000") long poolMaxWait) {
+    this.poolSize = poolSize;
+    this.poolMaxWait = poolMaxWait;
+  }
+
+  /**
+   * The pooled producers are shared by all transactions, so their {@code transaction.timeout.ms} has to cover the
+   * longest JTA transaction that sends messages, in seconds. It must not exceed {@code transaction.max.timeout.ms}
+   * of the brokers.
+   */
+  @Inject
+  void setProducerTransactionTimeout(
+      @ConfigProperty(name = "kafka.producer.transactionTimeout", defaultValue = "14400") int timeout) {
+    this.producerTransactionTimeout = timeout;
+  }
+
+  /**
+   * The transactional IDs of the producer pool are {@code <groupid>-<instance>-<slot>}, so every running service
+   * instance needs its own {@code instance}. Otherwise the instances fence each other's producers. Without
+   * {@code kafka.producer.instance} the hostname is used.
+   */
+  @Inject
+  void setInstance(@ConfigProperty(name = "kafka.producer.instance") Optional<String> instance) {
+    this.instance = instance
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .orElseGet(KafkaTransactionalProducer::getHostName);
+    logger.info("Using kafka producer instance {} for the transactional ids of {}", this.instance, groupid);
+  }
+
+  static String getHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      throw new IllegalStateException("kafka.producer.instance is required, the hostname is unknown", e);
+    }
+  }
+
   @PreDestroy
   public void destroy() {
-    for (Producer<String, ActivityStream> producer : activeProducers.values()) {
-      CompletableFuture.runAsync(() -> producer.close(Duration.ofSeconds(15l)));
+    for (Lease<String, ActivityStream> lease : activeProducers.values()) {
+      CompletableFuture.runAsync(() -> lease.release(true));
+    }
+    synchronized (this) {
+      if (Objects.nonNull(producerPool)) {
+        producerPool.close();
+      }
     }
   }
 
@@ -89,16 +154,23 @@ public class KafkaTransactionalProducer {
   protected void send(ActivityStream message) {
 
     if (Objects.nonNull(message)) {
-      logger.info("Sending message to kafka topic {} with id {} ", topic, message.getId());
-      String txId = getTransactionId();
+      send(getTransactionId(), message);
+    }
+  }
 
-      KafkaProducer<String, ActivityStream> producer = getProducer(txId);
+  /**
+   * Sends the message in the Kafka transaction {@code txId}, that was started with {@link #beginTransaction()}
+   * independent of the JTA transaction.
+   */
+  void send(String txId, ActivityStream message) {
+    logger.info("Sending message to kafka topic {} with id {} ", topic, message.getId());
 
-      final ProducerRecord<String, ActivityStream> record = new ProducerRecord<>(topic,
-          message.getId(), message);
+    Producer<String, ActivityStream> producer = getProducer(txId);
 
-      producer.send(record, KAFKA_LOGGING_CALLBACK);
-    }
+    final ProducerRecord<String, ActivityStream> record = new ProducerRecord<>(topic,
+        message.getId(), message);
+
+    producer.send(record, KAFKA_LOGGING_CALLBACK);
   }
 
   String beginTransaction() {
@@ -106,27 +178,42 @@ public class KafkaTransactionalProducer {
   }
 
   String beginTransaction(String txId) {
-    KafkaProducer<String, ActivityStream> producer = getProducer(txId);
-    producer.beginTransaction();
+    Producer<String, ActivityStream> producer = getProducer(txId);
+    try {
+      producer.beginTransaction();
+    } catch (RuntimeException e) {
+      releaseProducer(txId, true);
+      throw e;
+    }
     return txId;
   }
 
   void commitTransaction(String txId) throws Exception {
-    KafkaProducer<String, ActivityStream> producer = getProducer(txId);
-    producer.commitTransaction();
-    closeProducer(txId);
+    Producer<String, ActivityStream> producer = getProducer(txId);
+    try {
+      producer.commitTransaction();
+    } catch (Exception e) {
+      releaseProducer(txId, true);
+      throw e;
+    }
+    releaseProducer(txId, false);
   }
 
   public void rollbackTransaction(String txId) throws Exception {
-    KafkaProducer<String, ActivityStream> producer = getProducer(txId);
-    producer.abortTransaction();
-    closeProducer(txId);
+    Producer<String, ActivityStream> producer = getProducer(txId);
+    try {
+      producer.abortTransaction();
+    } catch (Exception e) {
+      releaseProducer(txId, true);
+      throw e;
+    }
+    releaseProducer(txId, false);
   }
 
-  private void closeProducer(String txId) throws Exception {
-    KafkaProducer<String, ActivityStream> producer = activeProducers.remove(txId);
-    if (producer != null) {
-      producer.close(Duration.ofSeconds(15L));
+  private void releaseProducer(String txId, boolean broken) {
+    Lease<String, ActivityStream> lease = activeProducers.remove(txId);
+    if (lease != null) {
+      lease.release(broken);
     }
   }
 
@@ -142,47 +229,71 @@ public class KafkaTransactionalProducer {
     return groupid;
   }
 
-  private KafkaProducer<String, ActivityStream> getProducer(String txId) {
+  private Producer<String, ActivityStream> getProducer(String txId) {
     String producerTransactionKey = String.valueOf(txId);
-    if (!activeProducers.containsKey(producerTransactionKey)) {
-      Properties producerProperties = new Properties();
-      producerProperties.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapserver);
-      producerProperties.setProperty(ProducerConfig.CLIENT_ID_CONFIG, groupid + producerTransactionKey);
-      producerProperties.setProperty(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
-          StringSerializer.class.getName());
-      producerProperties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
-          KafkaActivityStreamMessageSerializer.class.getName());
-      producerProperties.setProperty(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, "500000000");
-      producerProperties.setProperty(ProducerConfig.BUFFER_MEMORY_CONFIG, "500000000");
-      producerProperties.setProperty(ProducerConfig.ACKS_CONFIG, "all");
-      producerProperties.setProperty(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
-      producerProperties
-          .setProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG, producerTransactionKey);
-      producerProperties
-          .setProperty(ProducerConfig.RETRIES_CONFIG, String.valueOf(Integer.MAX_VALUE));
-      producerProperties.setProperty(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, "5");
-
-      // Batch producing at compression to  encrease the throuthput
-      // Without Batch sending 1000 TEI XML in 90 Seconds
-      // With Batch sending 1000 TEI XML in 120 Seconds :(???
-      // Active MQ sending 1000 TEI XML in 4 Minutes
-
-      producerProperties.setProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
-      producerProperties.setProperty(ProducerConfig.LINGER_MS_CONFIG, "30");
-      producerProperties.setProperty(ProducerConfig.BATCH_SIZE_CONFIG, Integer.toString(32 * 1024));
-      producerProperties.setProperty(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG,
-          String.valueOf(Duration.ofSeconds(transactionTimeout).toMillis()));
-      producerProperties.setProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG,
-          String.valueOf(Duration.ofSeconds(900).toMillis()));
-
-      KafkaProducer<String, ActivityStream> producer = new KafkaProducer<>(producerProperties);
-      producer.initTransactions();
-      addProducer(producerTransactionKey, producer);
-      logger.debug("Created kafka producer with transactionalId={} {}", producerTransactionKey, producerProperties.entrySet().stream()
-          .map(objectObjectEntry -> objectObjectEntry.getKey() + ":" + objectObjectEntry.getValue())
-          .collect(Collectors.joining(";")));
+    Lease<String, ActivityStream> lease = activeProducers.get(producerTransactionKey);
+    if (Objects.isNull(lease)) {
+      try {
+        lease = getProducerPool().lease();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a kafka producer", e);
+      }
+      activeProducers.put(producerTransactionKey, lease);
+      logger.debug("Leased kafka producer for transactionID={} from pool {}", producerTransactionKey, producerPool);
     }
-    return activeProducers.get(producerTransactionKey);
+    return lease.getProducer();
+  }
+
+  synchronized KafkaProducerPool<String, ActivityStream> getProducerPool() {
+    if (Objects.isNull(producerPool)) {
+      if (Objects.isNull(instance)) {
+        throw new IllegalStateException("kafka.producer.instance is required for the transactional ids of " + groupid);
+      }
+      producerPool = new KafkaProducerPool<>(groupid + "-" + instance, poolSize, Duration.ofMillis(poolMaxWait),
+          this::createProducer);
+    }
+    return producerPool;
+  }
+
+  private Producer<String, ActivityStream> createProducer(String transactionalId) {
+    Properties producerProperties = new Properties();
+    producerProperties.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapserver);
+    producerProperties.setProperty(ProducerConfig.CLIENT_ID_CONFIG, transactionalId);
+    producerProperties.setProperty(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
+        StringSerializer.class.getName());
+    producerProperties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+        KafkaActivityStreamMessageSerializer.class.getName());
+    producerProperties.setProperty(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, "500000000");
+    producerProperties.setProperty(ProducerConfig.BUFFER_MEMORY_CONFIG, "500000000");
+    producerProperties.setProperty(ProducerConfig.ACKS_CONFIG, "all");
+    producerProperties.setProperty(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "true");
+    producerProperties
+        .setProperty(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
+    producerProperties
+        .setProperty(ProducerConfig.RETRIES_CONFIG, String.valueOf(Integer.MAX_VALUE));
+    producerProperties.setProperty(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, "5");
+
+    // Batch producing at compression to  encrease the throuthput
+    // Without Batch sending 1000 TEI XML in 90 Seconds
+    // With Batch sending 1000 TEI XML in 120 Seconds :(???
+    // Active MQ sending 1000 TEI XML in 4 Minutes
+
+    producerProperties.setProperty(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
+    producerProperties.setProperty(ProducerConfig.LINGER_MS_CONFIG, "30");
+    producerProperties.setProperty(ProducerConfig.BATCH_SIZE_CONFIG, Integer.toString(32 * 1024));
+    producerProperties.setProperty(ProducerConfig.TRANSACTION_TIMEOUT_CONFIG,
+        String.valueOf(Duration.ofSeconds(getProducerTransactionTimeout()).toMillis()));
+    producerProperties.setProperty(ProducerConfig.MAX_BLOCK_MS_CONFIG,
+        String.valueOf(Duration.ofSeconds(900).toMillis()));
+
+    KafkaProducer<String, ActivityStream> producer = new KafkaProducer<>(producerProperties);
+    producer.initTransactions();
+    logger.debug("Created kafka producer with transactionalId={} {}", transactionalId,
+        producerProperties.entrySet().stream()
+            .map(objectObjectEntry -> objectObjectEntry.getKey() + ":" + objectObjectEntry.getValue())
+            .collect(Collectors.joining(";")));
+    return producer;
   }
 
   @Transactional
@@ -208,15 +319,38 @@ public class KafkaTransactionalProducer {
     }
   }
 
-  void addProducer(String txId, KafkaProducer<String, ActivityStream> producer) {
-    activeProducers.put(txId, producer);
+  void addProducer(String txId, Producer<String, ActivityStream> producer) {
+    activeProducers.put(txId, new Lease<>(null, -1, producer));
+  }
+
+  public int getProducerPoolSize() {
+    return poolSize;
+  }
+
+  public int getLeasedProducers() {
+    return getProducerPool().getLeased();
+  }
+
+  public int getIdleProducers() {
+    return getProducerPool().getIdle();
+  }
+
+  public long getAverageProducerWaitMillis() {
+    return getProducerPool().getAverageWaitMillis();
+  }
+
+  public long getMaxProducerWaitMillis() {
+    return getProducerPool().getMaxWaitMillis();
   }
 
   public int getTransactionTimeout() {
     return transactionTimeout;
   }
 
-  public void setTransactionTimeout(int transactionTimeout) {
-    this.transactionTimeout = transactionTimeout;
+  /**
+   * @return the transaction timeout of the pooled producers in seconds
+   */
+  public int getProducerTransactionTimeout() {
+    return Math.max(transactionTimeout, producerTransactionTimeout);
   }
 }
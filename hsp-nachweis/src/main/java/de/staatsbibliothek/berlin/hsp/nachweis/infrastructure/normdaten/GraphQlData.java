@@ -24,8 +24,12 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -92,6 +96,8 @@ public class GraphQlData {
     @JsonProperty("create")
     private GNDEntityFact create;
 
+    private final Map<String, JsonNode> aliased = new HashMap<>();
+
     public GNDEntityFact getFindCorporateBodyWithID() {
       return findCorporateBodyWithID;
     }
@@ -120,6 +126,19 @@ public class GraphQlData {
       return create;
     }
 
+    /**
+     * @return the result of a query combined by {@link GraphQlQuery.Query#batch(Map)}, a NullNode if the query found
+     * nothing or null if the response has no result for the alias
+     */
+    public JsonNode getAliased(String alias) {
+      return aliased.get(alias);
+    }
+
+    @JsonAnySetter
+    void setAliased(String alias, JsonNode result) {
+      aliased.put(alias, result);
+    }
+
     @Override
     public String toString() {
       return "Data{" +
@@ -130,6 +149,7 @@ public class GraphQlData {
           ", findGNDEntityFacts=" + findGNDEntityFacts +
           ", findCorporateBodiesByPlaceId=" + findCorporateBodiesByPlaceId +
           ", create=" + create +
+          ", aliased=" + aliased +
           '}';
     }
   }
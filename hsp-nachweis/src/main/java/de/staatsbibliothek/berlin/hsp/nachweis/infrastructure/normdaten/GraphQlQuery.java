@@ -27,6 +27,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -131,6 +132,19 @@ public class GraphQlQuery {
           + " }");
     }
 
+    /**
+     * Combines several queries into one request. The result of each query is returned under its alias, see
+     * {@link GraphQlData.Data#getAliased(String)}.
+     *
+     * @param queries the queries by alias, the aliases must be valid GraphQL names
+     */
+    public static Query batch(Map<String, Query> queries) {
+      return new Query(queries.entrySet().stream()
+          .map(query -> query.getKey() + ": " + query.getValue().value
+              .substring(1, query.getValue().value.length() - 1).trim())
+          .collect(Collectors.joining(" ", "{ ", " }")));
+    }
+
     public static Query createGNDEntityFactAsNode(GNDEntityFact gndEntityFact) {
       String identifiers = Stream.ofNullable(gndEntityFact.getIdentifier())
           .flatMap(Set::stream)
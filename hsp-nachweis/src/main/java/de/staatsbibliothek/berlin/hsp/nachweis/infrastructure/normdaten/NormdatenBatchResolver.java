@@ -0,0 +1,233 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData.Data;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenCache.Lookup;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Resolves the Normdaten lookups of an import unit with a few combined GraphQL requests.
+ * <p>
+ * The lookups are collected in a {@link Batch} and sent as aliased queries, {@code normdaten.batch.size} per request.
+ * The results are stored in the {@link NormdatenCache}, from where the single lookups of the
+ * {@link NormdatenGraphQLService} serve them. Lookups that are already cached are not sent again. If a request fails,
+ * its lookups are left to the single lookups. A {@code normdaten.batch.size} of 0 or less or a disabled cache disables
+ * the batching.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class NormdatenBatchResolver {
+
+  static final String ALIAS_PREFIX = "q";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private NormdatenGraphQLPort normdatenGraphQLPort;
+  private NormdatenCache normdatenCache;
+  private int batchSize;
+
+  NormdatenBatchResolver() {
+  }
+
+  @Inject
+  public NormdatenBatchResolver(@RestClient NormdatenGraphQLPort normdatenGraphQLPort,
+      NormdatenCache normdatenCache,
+      @ConfigProperty(name = "normdaten.batch.size", defaultValue = "50") int batchSize) {
+    this.normdatenGraphQLPort = normdatenGraphQLPort;
+    this.normdatenCache = normdatenCache;
+    this.batchSize = batchSize;
+  }
+
+  public boolean isEnabled() {
+    return batchSize > 0 && Objects.nonNull(normdatenCache) && normdatenCache.isEnabled();
+  }
+
+  public Batch createBatch() {
+    return new Batch();
+  }
+
+  /**
+   * Resolves the lookups of the batch which are not cached yet.
+   *
+   * @return the number of GraphQL requests sent
+   */
+  public int resolve(Batch batch) {
+    if (!isEnabled() || batch.requests.isEmpty()) {
+      return 0;
+    }
+
+    List<Request> requests = batch.requests.stream()
+        .filter(request -> !normdatenCache.contains(request.lookup, request.nodeLabel, request.value, true))
+        .collect(Collectors.toList());
+
+    int count = 0;
+    for (int from = 0; from < requests.size(); from += batchSize) {
+      resolve(requests.subList(from, Math.min(from + batchSize, requests.size())));
+      count++;
+    }
+
+    log.info("Resolved {} of {} normdaten lookups with {} requests", requests.size(), batch.requests.size(), count);
+    return count;
+  }
+
+  private void resolve(List<Request> requests) {
+    Map<String, Query> queries = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      queries.put(ALIAS_PREFIX + i, requests.get(i).toQuery());
+    }
+
+    try {
+      GraphQlData graphQlData = normdatenGraphQLPort.findByQuery(new GraphQlQuery(Query.batch(queries)));
+      Optional<Data> data = Optional.ofNullable(graphQlData).map(GraphQlData::getData);
+      if (data.isEmpty()) {
+        log.warn("No data for {} batched normdaten lookups", requests.size());
+        return;
+      }
+
+      for (int i = 0; i < requests.size(); i++) {
+        Request request = requests.get(i);
+        JsonNode result = data.get().getAliased(ALIAS_PREFIX + i);
+        if (Objects.nonNull(result)) {
+          normdatenCache.put(request.lookup, request.nodeLabel, request.value, true, toGNDEntityFacts(result));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted during batched normdaten lookups", e);
+    } catch (Exception e) {
+      log.warn("Error during {} batched normdaten lookups, using single lookups", requests.size(), e);
+    }
+  }
+
+  static List<GNDEntityFact> toGNDEntityFacts(JsonNode result) {
+    if (result.isNull()) {
+      return Collections.emptyList();
+    }
+    if (!result.isArray()) {
+      return List.of(OBJECT_MAPPER.convertValue(result, GNDEntityFact.class));
+    }
+    List<GNDEntityFact> gndEntityFacts = new ArrayList<>();
+    for (JsonNode node : result) {
+      gndEntityFacts.add(OBJECT_MAPPER.convertValue(node, GNDEntityFact.class));
+    }
+    return gndEntityFacts;
+  }
+
+  /**
+   * The Normdaten lookups of an import unit, see {@link NormdatenBatchResolver#resolve(Batch)}.
+   */
+  public static class Batch {
+
+    private final Set<Request> requests = new LinkedHashSet<>();
+
+    Batch() {
+    }
+
+    /**
+     * Adds a lookup like {@link NormdatenGraphQLService#findOneByIdOrNameAndNodeLabel(String, String)}.
+     */
+    public Batch addIdOrName(String idOrName, String nodeLabel) {
+      if (Objects.nonNull(idOrName) && !idOrName.isBlank()) {
+        requests.add(new Request(Lookup.ID_OR_NAME, nodeLabel, idOrName));
+      }
+      return this;
+    }
+
+    /**
+     * Adds a lookup like {@link NormdatenGraphQLService#findLanguageById(String)}.
+     */
+    public Batch addLanguageId(String id) {
+      if (Objects.nonNull(id) && !id.isBlank()) {
+        requests.add(new Request(Lookup.LANGUAGE_ID, NormdatenReferenz.SPRACHE_TYPE_NAME, id));
+      }
+      return this;
+    }
+
+    public int size() {
+      return requests.size();
+    }
+  }
+
+  private static class Request {
+
+    private final Lookup lookup;
+    private final String nodeLabel;
+    private final String value;
+
+    Request(Lookup lookup, String nodeLabel, String value) {
+      this.lookup = lookup;
+      this.nodeLabel = nodeLabel;
+      this.value = NormdatenCache.normalize(value);
+    }
+
+    Query toQuery() {
+      if (lookup == Lookup.LANGUAGE_ID) {
+        return Query.findLanguageWithID(value, GNDEntityFact.FIELDS);
+      }
+      return Query.findGNDEntityFacts(value, nodeLabel, GNDEntityFact.FIELDS);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Request request = (Request) o;
+      return lookup == request.lookup && Objects.equals(nodeLabel, request.nodeLabel) && value.equals(request.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lookup, nodeLabel, value);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData.Data;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Field;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Cache of the GNDEntityFacts found by the Normdatenservice, with one section per node label.
+ * <p>
+ * The entries are keyed by the GND ID, HSP ID or name that was looked up. Names are normalized to NFC with trimmed and
+ * collapsed whitespace. Concurrent lookups of the same key wait for one GraphQL call. An entry older than
+ * {@code normdaten.cache.refresh} milliseconds is reloaded in the background on its next lookup, while the old value is
+ * still returned; it is removed after {@code normdaten.cache.expire} milliseconds. Failed calls and empty results are
+ * not cached, so a GNDEntityFact created under a differently written name is found right away. A
+ * {@code normdaten.cache.size} of 0 or less disables the cache.
+ *
+ * @since 17.10.2026
+ */
+@ApplicationScoped
+@Slf4j
+public class NormdatenCache {
+
+  private final Map<String, LoadingCache<Key, List<GNDEntityFact>>> sections = new ConcurrentHashMap<>();
+  private NormdatenGraphQLPort normdatenGraphQLPort;
+  private int size;
+  private long refreshMillis;
+  private long expireMillis;
+
+  NormdatenCache() {
+  }
+
+  @Inject
+  public NormdatenCache(@RestClient NormdatenGraphQLPort normdatenGraphQLPort,
+      @ConfigProperty(name = "normdaten.cache.size", defaultValue = "5000") int size,
+      @ConfigProperty(name = "normdaten.cache.refresh", defaultValue = "300000") long refreshMillis,
+      @ConfigProperty(name = "normdaten.cache.expire", defaultValue = "3600000") long expireMillis) {
+    this.normdatenGraphQLPort = normdatenGraphQLPort;
+    this.size = size;
+    this.refreshMillis = refreshMillis;
+    this.expireMillis = expireMillis;
+  }
+
+  public boolean isEnabled() {
+    return size > 0;
+  }
+
+  /**
+   * @param nodeLabel null to find GNDEntityFacts of all node labels
+   * @param idOrName  null to find all GNDEntityFacts of the node label
+   */
+  public List<GNDEntityFact> findByIdOrNameAndNodeLabel(String idOrName, String nodeLabel, boolean allFields) {
+    return get(Lookup.ID_OR_NAME, nodeLabel, idOrName, allFields);
+  }
+
+  public List<GNDEntityFact> findLanguageById(String id) {
+    return get(Lookup.LANGUAGE_ID, NormdatenReferenz.SPRACHE_TYPE_NAME, id, true);
+  }
+
+  public List<GNDEntityFact> findCorporateBodiesByPlaceId(String placeId, boolean allFields) {
+    return get(Lookup.CORPORATE_BODIES_BY_PLACE_ID, GNDEntityFact.CORPORATE_BODY_TYPE_NAME, placeId, allFields);
+  }
+
+  /**
+   * Removes the entries of a created or changed GNDEntityFact: all lookups of its IDs and names, the lists of its node
+   * label and, for a corporate body, the corporate bodies of all places.
+   */
+  public void invalidate(GNDEntityFact gndEntityFact) {
+    Set<String> values = Stream.concat(
+            Stream.of(gndEntityFact.getId(), gndEntityFact.getGndIdentifier(), gndEntityFact.getPreferredName()),
+            Stream.ofNullable(gndEntityFact.getVariantName()).flatMap(Collection::stream).map(VariantName::getName))
+        .filter(Objects::nonNull)
+        .map(NormdatenCache::normalize)
+        .collect(Collectors.toCollection(HashSet::new));
+    values.add(normalize(null));
+
+    boolean corporateBody = GNDEntityFact.CORPORATE_BODY_TYPE_NAME.equals(gndEntityFact.getTypeName());
+    for (String nodeLabel : new String[]{gndEntityFact.getTypeName(), null}) {
+      Optional.ofNullable(sections.get(sectionName(nodeLabel))).ifPresent(section ->
+          section.asMap().keySet().removeIf(key ->
+              key.lookup == Lookup.CORPORATE_BODIES_BY_PLACE_ID ? corporateBody : values.contains(key.value)));
+    }
+    log.debug("Invalidated {} {} in normdaten cache", gndEntityFact.getTypeName(), values);
+  }
+
+  public void invalidateAll() {
+    sections.values().forEach(LoadingCache::invalidateAll);
+  }
+
+  boolean contains(Lookup lookup, String nodeLabel, String value, boolean allFields) {
+    return Optional.ofNullable(sections.get(sectionName(nodeLabel)))
+        .map(section -> section.getIfPresent(new Key(lookup, nodeLabel, normalize(value), allFields)))
+        .isPresent();
+  }
+
+  /**
+   * Stores a result that was loaded outside of the cache, e.g. by the {@link NormdatenBatchResolver}. Empty results
+   * are not stored.
+   */
+  void put(Lookup lookup, String nodeLabel, String value, boolean allFields, List<GNDEntityFact> gndEntityFacts) {
+    if (gndEntityFacts.isEmpty()) {
+      return;
+    }
+    sections.computeIfAbsent(sectionName(nodeLabel), this::createSection)
+        .put(new Key(lookup, nodeLabel, normalize(value), allFields), copyOf(gndEntityFacts));
+  }
+
+  static String normalize(String idOrName) {
+    if (Objects.isNull(idOrName)) {
+      return "";
+    }
+    return Normalizer.normalize(idOrName, Form.NFC).trim().replaceAll("\\s+", " ");
+  }
+
+  @Override
+  public String toString() {
+    return sections.entrySet().stream()
+        .map(section -> section.getKey() + "[size=" + section.getValue().estimatedSize() + ", "
+            + section.getValue().stats() + "]")
+        .collect(Collectors.joining(", ", "NormdatenCache{", "}"));
+  }
+
+  private List<GNDEntityFact> get(Lookup lookup, String nodeLabel, String value, boolean allFields) {
+    List<GNDEntityFact> gndEntityFacts = sections.computeIfAbsent(sectionName(nodeLabel), this::createSection)
+        .get(new Key(lookup, nodeLabel, normalize(value), allFields));
+    return Objects.isNull(gndEntityFacts) ? Collections.emptyList() : gndEntityFacts;
+  }
+
+  private static String sectionName(String nodeLabel) {
+    return Objects.isNull(nodeLabel) ? "" : nodeLabel;
+  }
+
+  private LoadingCache<Key, List<GNDEntityFact>> createSection(String nodeLabel) {
+    log.info("Creating normdaten cache for {} with size {}", nodeLabel, size);
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        .maximumSize(size)
+        .recordStats();
+    if (refreshMillis > 0) {
+      builder.refreshAfterWrite(Duration.ofMillis(refreshMillis));
+    }
+    if (expireMillis > 0) {
+      builder.expireAfterWrite(Duration.ofMillis(expireMillis));
+    }
+    return builder.build(this::load);
+  }
+
+  /**
+   * @return null for an empty result, so that Caffeine does not store it
+   */
+  private List<GNDEntityFact> load(Key key) throws InterruptedException {
+    String value = key.value.isEmpty() ? null : key.value;
+    Set<Field> fields = key.allFields ? GNDEntityFact.FIELDS : GNDEntityFact.FIELDS_MIN;
+    Optional<Data> data;
+
+    switch (key.lookup) {
+      case LANGUAGE_ID:
+        data = findByQuery(new GraphQlQuery(Query.findLanguageWithID(value, fields)));
+        return data.map(Data::getFindLanguageWithID).map(List::of).orElse(null);
+      case CORPORATE_BODIES_BY_PLACE_ID:
+        data = findByQuery(new GraphQlQuery(Query.findCorporateBodiesByPlaceId(value, fields)));
+        return data.map(Data::getFindCorporateBodiesByPlaceId).filter(facts -> !facts.isEmpty())
+            .map(NormdatenCache::copyOf).orElse(null);
+      default:
+        data = findByQuery(new GraphQlQuery(Query.findGNDEntityFacts(value, key.nodeLabel, fields)));
+        return data.map(Data::getFindGNDEntityFacts).filter(facts -> !facts.isEmpty())
+            .map(NormdatenCache::copyOf).orElse(null);
+    }
+  }
+
+  private static List<GNDEntityFact> copyOf(List<GNDEntityFact> gndEntityFacts) {
+    return Collections.unmodifiableList(new ArrayList<>(gndEntityFacts));
+  }
+
+  private Optional<Data> findByQuery(GraphQlQuery query) throws InterruptedException {
+    GraphQlData graphQlData = normdatenGraphQLPort.findByQuery(query);
+    return Optional.ofNullable(graphQlData).map(GraphQlData::getData);
+  }
+
+  enum Lookup {
+    ID_OR_NAME,
+    LANGUAGE_ID,
+    CORPORATE_BODIES_BY_PLACE_ID
+  }
+
+  private static class Key {
+
+    private final Lookup lookup;
+    private final String nodeLabel;
+    private final String value;
+    private final boolean allFields;
+
+    Key(Lookup lookup, String nodeLabel, String value, boolean allFields) {
+      this.lookup = lookup;
+      this.nodeLabel = nodeLabel;
+      this.value = value;
+      this.allFields = allFields;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return allFields == key.allFields && lookup == key.lookup && Objects.equals(nodeLabel, key.nodeLabel)
+          && value.equals(key.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lookup, nodeLabel, value, allFields);
+    }
+  }
+}
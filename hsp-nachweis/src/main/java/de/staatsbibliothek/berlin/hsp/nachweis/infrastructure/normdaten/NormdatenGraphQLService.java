@@ -24,20 +24,21 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
 
-import com.google.inject.Inject;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData.Data;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Field;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
-import io.quarkus.cache.CacheInvalidateAll;
-import io.quarkus.cache.CacheResult;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
 import javax.transaction.TransactionManager;
 import javax.transaction.Transactional;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
@@ -52,12 +53,15 @@ import org.slf4j.LoggerFactory;
 public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource implements
     NormdatenGraphQLBoundary, Serializable {
 
-  public static final String CACHE_NAME_GRAPH_QL_DATA_BY_QUERY = "GraphQlDataByQuery";
   private static final long serialVersionUID = 8749302986118278223L;
   private static final Logger logger = LoggerFactory.getLogger(NormdatenGraphQLService.class);
 
   private final transient NormdatenGraphQLPort normdatenGraphQLPort;
 
+  private transient NormdatenCache normdatenCache;
+
+  private transient NormdatenSnapshot normdatenSnapshot;
+
   @Inject
   public NormdatenGraphQLService(@RestClient NormdatenGraphQLPort normdatenGraphQLPort,
       TransactionManager transactionManager) {
@@ -65,9 +69,18 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
     this.normdatenGraphQLPort = normdatenGraphQLPort;
   }
 
+  @Inject
+  void setNormdatenCache(NormdatenCache normdatenCache) {
+    this.normdatenCache = normdatenCache;
+  }
+
+  @Inject
+  void setNormdatenSnapshot(NormdatenSnapshot normdatenSnapshot) {
+    this.normdatenSnapshot = normdatenSnapshot;
+  }
+
   @Override
   @Transactional
-  @CacheResult(cacheName = CACHE_NAME_GRAPH_QL_DATA_BY_QUERY)
   public GraphQlData findByQuery(GraphQlQuery query) {
     if (Objects.isNull(query)) {
       return null;
@@ -86,6 +99,12 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
   public Optional<GNDEntityFact> findOneByIdOrNameAndNodeLabel(String idOrName,
       String nodeLabel) {
 
+    if (isCacheEnabled()) {
+      return findCached(() -> normdatenCache.findByIdOrNameAndNodeLabel(idOrName, nodeLabel, true))
+          .filter(gndEntityFacts -> gndEntityFacts.size() == 1)
+          .map(gndEntityFacts -> gndEntityFacts.get(0));
+    }
+
     GraphQlQuery query = new GraphQlQuery(Query.findGNDEntityFacts(idOrName, nodeLabel, GNDEntityFact.FIELDS));
     GraphQlData result = findByQuery(query);
 
@@ -103,6 +122,13 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
       return Collections.emptySet();
     }
 
+    if (isCacheEnabled()) {
+      return findCached(() -> normdatenCache.findByIdOrNameAndNodeLabel(idOrName, nodeLabel, allFields))
+          .stream()
+          .flatMap(Collection::stream)
+          .collect(Collectors.toSet());
+    }
+
     Set<Field> fields = allFields ? GNDEntityFact.FIELDS : GNDEntityFact.FIELDS_MIN;
     GraphQlQuery query = new GraphQlQuery(Query.findGNDEntityFacts(idOrName, nodeLabel, fields));
     GraphQlData result = findByQuery(query);
@@ -122,6 +148,11 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
       return Optional.empty();
     }
 
+    if (isCacheEnabled()) {
+      return findCached(() -> normdatenCache.findLanguageById(id))
+          .flatMap(gndEntityFacts -> gndEntityFacts.stream().findFirst());
+    }
+
     GraphQlQuery query = new GraphQlQuery(Query.findLanguageWithID(id, GNDEntityFact.FIELDS));
     GraphQlData graphQlData = findByQuery(query);
 
@@ -137,6 +168,13 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
       return Collections.emptySet();
     }
 
+    if (isCacheEnabled()) {
+      return findCached(() -> normdatenCache.findCorporateBodiesByPlaceId(id, allFields))
+          .stream()
+          .flatMap(Collection::stream)
+          .collect(Collectors.toSet());
+    }
+
     Set<Field> fields = allFields ? GNDEntityFact.FIELDS : GNDEntityFact.FIELDS_MIN;
     GraphQlQuery query = new GraphQlQuery(Query.findCorporateBodiesByPlaceId(id, fields));
     GraphQlData graphQlData = findByQuery(query);
@@ -151,7 +189,6 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
 
   @Override
   @Transactional
-  @CacheInvalidateAll(cacheName = CACHE_NAME_GRAPH_QL_DATA_BY_QUERY)
   public Optional<GNDEntityFact> createGNDEntityFactAsNode(GNDEntityFact gndEntityFact) {
 
     GraphQlQuery query;
@@ -163,9 +200,18 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
     }
     GraphQlData graphQlData = findByQuery(query);
 
-    return Optional.ofNullable(graphQlData)
+    Optional<GNDEntityFact> created = Optional.ofNullable(graphQlData)
         .flatMap(graph -> Optional.ofNullable(graph.getData()))
         .flatMap(data -> Optional.ofNullable(data.getCreate()));
+
+    if (isCacheEnabled()) {
+      normdatenCache.invalidate(gndEntityFact);
+      created.ifPresent(normdatenCache::invalidate);
+    }
+    if (created.isPresent() && Objects.nonNull(normdatenSnapshot)) {
+      normdatenSnapshot.invalidate(created.get().getTypeName());
+    }
+    return created;
   }
 
   @Transactional
@@ -174,10 +220,16 @@ public class NormdatenGraphQLService extends NormdatenServiceAccessXAResource im
     return normdatenGraphQLPort;
   }
 
-  @Override
-  @CacheInvalidateAll(cacheName = CACHE_NAME_GRAPH_QL_DATA_BY_QUERY)
-  void cleanUpCache() {
-    super.cleanUpCache();
-    logger.info("Clean up cache with the name {}", CACHE_NAME_GRAPH_QL_DATA_BY_QUERY);
+  private boolean isCacheEnabled() {
+    return Objects.nonNull(normdatenCache) && normdatenCache.isEnabled();
+  }
+
+  private Optional<List<GNDEntityFact>> findCached(Supplier<List<GNDEntityFact>> lookup) {
+    try {
+      return Optional.of(lookup.get());
+    } catch (Exception e) {
+      logger.error("Error calling normdatenGraphQLBoundary with the normdaten cache", e);
+      return Optional.empty();
+    }
   }
 }
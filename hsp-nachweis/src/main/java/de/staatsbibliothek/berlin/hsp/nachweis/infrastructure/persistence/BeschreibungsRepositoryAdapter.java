@@ -26,6 +26,8 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -59,6 +61,28 @@ public class BeschreibungsRepositoryAdapter implements BeschreibungsRepository {
     return list("katalogID", katalogID);
   }
 
+  @Override
+  public List<String> findIdsAfter(String lastId, int limit) {
+    TypedQuery<String> query;
+    if (Objects.isNull(lastId)) {
+      query = getEntityManager()
+          .createQuery("select b.id from Beschreibung b order by b.id", String.class);
+    } else {
+      query = getEntityManager()
+          .createQuery("select b.id from Beschreibung b where b.id > ?1 order by b.id", String.class)
+          .setParameter(1, lastId);
+    }
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public List<Beschreibung> findByIds(Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return list("id in ?1", ids);
+  }
+
   @Override
   public List<BeschreibungListDTO> findFilteredBeschreibungListDTOs(int first, int pageSize,
       Map<String, String> filterBy, Map<String, Boolean> sortByAsc) {
@@ -55,6 +55,16 @@ public interface CRUDRepository<Entity, Id> extends PanacheRepositoryBase<Entity
     return result;
   }
 
+  /**
+   * Writes the pending changes to the database and detaches all entities of the persistence context, so that
+   * entities saved in bulk do not accumulate in the session.
+   */
+  default void flushAndClear() {
+    EntityManager entityManager = getEntityManager();
+    entityManager.flush();
+    entityManager.clear();
+  }
+
   default boolean deleteByIdAndFlush(Id id) {
     boolean result = deleteById(id);
     flush();
@@ -25,14 +25,20 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikation;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentRepository;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.enterprise.context.ApplicationScoped;
 import javax.persistence.Query;
 import javax.persistence.Tuple;
@@ -49,6 +55,7 @@ public class KulturObjektDokumentRepositoryAdapter implements KulturObjektDokume
   public static final String QUERY_KODIDS_BESCHREIBUNGSIDS = "select k.kulturobjektdokument_id, k.beschreibungenids from kulturobjektdokument_beschreibungenids k";
   public static final String KOD_TUPLE_ALIAS = "kulturobjektdokument_id";
   public static final String BESCHREIBUNG_TUPLE_ALIAS = "beschreibungenids";
+  static final int IDENTS_PER_QUERY = 1000;
 
   @Override
   public Map<String, List<String>> getAllBeschreibungsIdsWithKodIDs() {
@@ -77,6 +84,75 @@ public class KulturObjektDokumentRepositoryAdapter implements KulturObjektDokume
     return result;
   }
 
+  @Override
+  public List<String> findIdsAfter(String lastId, int limit) {
+    TypedQuery<String> query;
+    if (Objects.isNull(lastId)) {
+      query = getEntityManager()
+          .createQuery("select k.id from KulturObjektDokument k order by k.id", String.class);
+    } else {
+      query = getEntityManager()
+          .createQuery("select k.id from KulturObjektDokument k where k.id > ?1 order by k.id", String.class)
+          .setParameter(1, lastId);
+    }
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public List<String> findIdsAfter(String lastId, String toId, int limit) {
+    if (Objects.isNull(toId)) {
+      return findIdsAfter(lastId, limit);
+    }
+    TypedQuery<String> query;
+    if (Objects.isNull(lastId)) {
+      query = getEntityManager()
+          .createQuery("select k.id from KulturObjektDokument k where k.id <= ?1 order by k.id", String.class)
+          .setParameter(1, toId);
+    } else {
+      query = getEntityManager()
+          .createQuery("select k.id from KulturObjektDokument k where k.id > ?1 and k.id <= ?2 order by k.id",
+              String.class)
+          .setParameter(1, lastId)
+          .setParameter(2, toId);
+    }
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public long countIdsBetween(String fromId, String toId) {
+    if (Objects.isNull(fromId) && Objects.isNull(toId)) {
+      return count();
+    } else if (Objects.isNull(fromId)) {
+      return count("id <= ?1", toId);
+    } else if (Objects.isNull(toId)) {
+      return count("id > ?1", fromId);
+    }
+    return count("id > ?1 and id <= ?2", fromId, toId);
+  }
+
+  @Override
+  public List<KulturObjektDokument> findByIds(Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return find("from KulturObjektDokument k"
+        + " left join fetch k.gueltigeIdentifikation"
+        + " where k.id in ?1", ids)
+        .list();
+  }
+
+  @Override
+  public List<KulturObjektDokument> findByIdsWithBeschreibungenIDs(Collection<String> ids) {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return find("select distinct k from KulturObjektDokument k"
+        + " left join fetch k.gueltigeIdentifikation"
+        + " left join fetch k.beschreibungenIDs"
+        + " where k.id in ?1", ids)
+        .list();
+  }
+
   @Override
   public KulturObjektDokument findByBeschreibung(String beschreibungId) {
     return find("from KulturObjektDokument k "
@@ -102,6 +178,59 @@ public class KulturObjektDokumentRepositoryAdapter implements KulturObjektDokume
         + " where gi.ident=?1 and bi.id=?2 and ao.id=?3", ident, besitzerID, aufbewahrungsOrtID).list();
   }
 
+  /**
+   * Selects the KODs with {@value #IDENTS_PER_QUERY} idents per query, so the index on the ident is used. The
+   * Besitzer and Aufbewahrungsorte of all Identifikationen restrict the query, the exact combination of ident, Besitzer
+   * and Aufbewahrungsort is compared in memory.
+   */
+  @Override
+  public List<KulturObjektDokument> findByGueltigeIdentifikationen(Collection<Identifikation> identifikationen) {
+    Set<List<String>> keys = identifikationen.stream()
+        .map(KulturObjektDokumentRepositoryAdapter::identifikationKey)
+        .collect(Collectors.toSet());
+    List<String> idents = identifikationen.stream()
+        .map(Identifikation::getIdent)
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList());
+    List<String> besitzer = identifikationen.stream()
+        .map(Identifikation::getBesitzer)
+        .filter(Objects::nonNull)
+        .map(NormdatenReferenz::getId)
+        .distinct()
+        .collect(Collectors.toList());
+    List<String> orte = identifikationen.stream()
+        .map(Identifikation::getAufbewahrungsOrt)
+        .filter(Objects::nonNull)
+        .map(NormdatenReferenz::getId)
+        .distinct()
+        .collect(Collectors.toList());
+    if (besitzer.isEmpty() || orte.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    List<KulturObjektDokument> result = new ArrayList<>();
+    for (int from = 0; from < idents.size(); from += IDENTS_PER_QUERY) {
+      List<KulturObjektDokument> kods = find("from KulturObjektDokument k "
+              + " join fetch k.gueltigeIdentifikation gi"
+              + " join fetch gi.besitzer bi"
+              + " join fetch gi.aufbewahrungsOrt ao"
+              + " where gi.ident in ?1 and bi.id in ?2 and ao.id in ?3",
+          idents.subList(from, Math.min(from + IDENTS_PER_QUERY, idents.size())), besitzer, orte)
+          .list();
+      kods.stream()
+          .filter(kod -> keys.contains(identifikationKey(kod.getGueltigeIdentifikation())))
+          .forEach(result::add);
+    }
+    return result;
+  }
+
+  private static List<String> identifikationKey(Identifikation identifikation) {
+    return Arrays.asList(identifikation.getIdent(),
+        Optional.ofNullable(identifikation.getBesitzer()).map(NormdatenReferenz::getId).orElse(null),
+        Optional.ofNullable(identifikation.getAufbewahrungsOrt()).map(NormdatenReferenz::getId).orElse(null));
+  }
+
   public Optional<KulturObjektDokument> findByIdentifikationIdentAndBesitzerNameAndAufbewahrungsortName(String ident, String besitzerName, String aufbewahrungsOrtName) {
     return find("select distinct k from KulturObjektDokument k"
         + " join k.gueltigeIdentifikation gi "
@@ -32,6 +32,8 @@ public interface SolrAPI {
 
   String QUERY_WILDCARD = "*";
 
+  String QUERY_MATCH_ALL = "*:*";
+
   String HIGHLIGHTING_METHOD_FASTVECTOR = "fastVector";
 
   String HIGHLIGHTING_ACTIVE_KEY = "hl";
@@ -58,4 +60,8 @@ public interface SolrAPI {
 
   String FIELD_SCORE = "score";
 
+  String CURSOR_MARK_KEY = "cursorMark";
+
+  String CURSOR_MARK_START = "*";
+
 }
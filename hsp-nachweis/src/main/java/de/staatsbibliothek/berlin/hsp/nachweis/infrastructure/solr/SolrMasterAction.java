@@ -25,6 +25,7 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentUpdate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -38,6 +39,7 @@ public class SolrMasterAction {
   private final SolrMasterActionType type;
   private List<String> idSToDelete;
   private List<SuchDokument> suchDokumentsToUpdate;
+  private List<SuchDokumentUpdate> suchDokumentUpdates;
 
   private SolrMasterAction(SolrMasterActionType type) {
     this.type = type;
@@ -65,6 +67,15 @@ public class SolrMasterAction {
     suchDokumentsToUpdate.addAll(Arrays.asList(suchDokuments));
   }
 
+  private SolrMasterAction(SuchDokumentUpdate... suchDokumentUpdates) {
+    if (suchDokumentUpdates == null || suchDokumentUpdates.length == 0) {
+      throw new IllegalArgumentException("Please provide at least one SuchDokumentUpdate");
+    }
+    type = SolrMasterActionType.PARTIAL_UPDATE;
+    this.suchDokumentUpdates = new ArrayList<>(suchDokumentUpdates.length);
+    this.suchDokumentUpdates.addAll(Arrays.asList(suchDokumentUpdates));
+  }
+
   public static SolrMasterAction newDeleteAll() {
     return new SolrMasterAction(SolrMasterActionType.DELETE_ALL);
   }
@@ -85,6 +96,10 @@ public class SolrMasterAction {
     return new SolrMasterAction(false, suchDokuments);
   }
 
+  public static SolrMasterAction newPartialUpdate(SuchDokumentUpdate... suchDokumentUpdates) {
+    return new SolrMasterAction(suchDokumentUpdates);
+  }
+
   public SolrMasterActionType getType() {
     return type;
   }
@@ -97,4 +112,8 @@ public class SolrMasterAction {
     return suchDokumentsToUpdate;
   }
 
+  public List<SuchDokumentUpdate> getSuchDokumentUpdates() {
+    return suchDokumentUpdates;
+  }
+
 }
@@ -29,5 +29,5 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
  * @since 25.02.21
  */
 public enum SolrMasterActionType {
-  UPDATE, DELETE_BEFORE_UPDATE, DELETE, DELETE_ALL
+  UPDATE, DELETE_BEFORE_UPDATE, PARTIAL_UPDATE, DELETE, DELETE_ALL
 }
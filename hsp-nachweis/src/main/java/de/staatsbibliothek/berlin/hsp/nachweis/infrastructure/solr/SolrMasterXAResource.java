@@ -29,6 +29,7 @@ import static javax.transaction.xa.XAException.XA_RBCOMMFAIL;
 import static javax.transaction.xa.XAException.XA_RBOTHER;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentUpdate;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.CommonXAResource;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.HSPXAException;
 import java.util.ArrayList;
@@ -146,6 +147,14 @@ public class SolrMasterXAResource extends CommonXAResource {
             storedActions.add(action);
           }
           break;
+        case PARTIAL_UPDATE:
+          List<SuchDokumentUpdate> suchDokumentUpdates = lastStoredAction.getSuchDokumentUpdates();
+          if (suchDokumentUpdates.size() < MAX_AGGREGATED_SUCH_DOCUMENTS_FOR_UPDATE) {
+            suchDokumentUpdates.addAll(action.getSuchDokumentUpdates());
+          } else {
+            storedActions.add(action);
+          }
+          break;
         case DELETE_ALL:
           logger.debug("Ignored second call to deleteAll");
           break;
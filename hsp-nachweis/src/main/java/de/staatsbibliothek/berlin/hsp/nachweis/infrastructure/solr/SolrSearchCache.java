@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache with a time to live for the results of SOLR searches.
+ * <p>
+ * If the cache is full, the least recently used entry is removed. {@link #invalidateAll(long)} removes all entries and
+ * increments the generation of the cache. A result is only stored by {@link #put(Object, Object, long)} if the cache is
+ * still in the generation that was read before the search was started, so a search running during a commit cannot put
+ * an outdated result into the cache. The cached values are not copied, callers have to store and hand out copies of
+ * mutable values.
+ *
+ * @since 17.10.2026
+ */
+class SolrSearchCache<K, V> {
+
+  private final String name;
+  private final int maxSize;
+  private final long ttlMillis;
+  private final LongSupplier clock;
+  private final Map<K, CacheEntry<V>> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+  private long generation;
+  private long blockedUntil;
+
+  SolrSearchCache(String name, int maxSize, long ttlMillis) {
+    this(name, maxSize, ttlMillis, System::currentTimeMillis);
+  }
+
+  SolrSearchCache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+    if (maxSize < 1 || ttlMillis < 1) {
+      throw new IllegalArgumentException("maxSize and ttlMillis must be greater than 0");
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.ttlMillis = ttlMillis;
+    this.clock = Objects.requireNonNull(clock, "clock is required");
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  synchronized Optional<V> get(K key) {
+    CacheEntry<V> entry = entries.get(key);
+    if (Objects.nonNull(entry) && entry.expiresAt <= clock.getAsLong()) {
+      entries.remove(key);
+      entry = null;
+    }
+
+    if (Objects.isNull(entry)) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    return Optional.of(entry.value);
+  }
+
+  synchronized long getGeneration() {
+    return generation;
+  }
+
+  synchronized boolean put(K key, V value, long expectedGeneration) {
+    Objects.requireNonNull(value, "value is required");
+    long now = clock.getAsLong();
+    if (expectedGeneration != generation || now < blockedUntil) {
+      return false;
+    }
+
+    entries.put(key, new CacheEntry<>(value, now + ttlMillis));
+    Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+    while (entries.size() > maxSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+    return true;
+  }
+
+  /**
+   * Removes all entries. If {@code quietMillis} is greater than 0, no results are stored for this time, e.g. until
+   * the slave has replicated the committed changes.
+   */
+  synchronized void invalidateAll(long quietMillis) {
+    entries.clear();
+    generation++;
+    blockedUntil = quietMillis > 0 ? clock.getAsLong() + quietMillis : 0;
+    invalidations.increment();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  String getName() {
+    return name;
+  }
+
+  long getHits() {
+    return hits.sum();
+  }
+
+  long getMisses() {
+    return misses.sum();
+  }
+
+  long getInvalidations() {
+    return invalidations.sum();
+  }
+
+  double getHitRate() {
+    long hitCount = getHits();
+    long requestCount = hitCount + getMisses();
+    return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[size=%d, hits=%d, misses=%d, hitRate=%.2f, invalidations=%d]", name, size(),
+        getHits(), getMisses(), getHitRate(), getInvalidations());
+  }
+
+  private static class CacheEntry<V> {
+
+    private final V value;
+    private final long expiresAt;
+
+    private CacheEntry(V value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -24,6 +24,9 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
 
+import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.CURSOR_MARK_KEY;
+import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.CURSOR_MARK_START;
+import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.FIELD_SCORE;
 import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.QUERY_WILDCARD;
 import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.SEARCH_DEFAULT_FIELD;
 import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAPI.SEARCH_OPERATOR_AND;
@@ -34,13 +37,16 @@ import static javax.transaction.Status.STATUS_ACTIVE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Ergebnis;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintrag;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintragConsumer;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.FilterCriteria;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Page;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentUpdate;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchPort;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
 import java.io.IOException;
@@ -53,8 +59,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.transaction.Transaction;
@@ -70,6 +79,7 @@ import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.client.solrj.response.json.BucketBasedJsonFacet;
 import org.apache.solr.client.solrj.response.json.NestableJsonFacet;
+import org.apache.solr.common.SolrException.ErrorCode;
 import org.apache.solr.common.params.CommonParams;
 import org.apache.solr.common.params.MultiMapSolrParams;
 import org.apache.solr.common.params.SolrParams;
@@ -89,11 +99,20 @@ public class SolrSuchAdapter implements SuchPort {
           SolrIndexFields.FIELD_TITEL,
           SolrIndexFields.FIELD_BESTANDHALTENDE_INSTITUTION_NAME,
           SolrIndexFields.FIELD_BESTANDHALTENDE_INSTITUTION_ORT);
+  /**
+   * A SOLR commit or rollback applies to all uncommitted changes of the core, so the transactions write, commit and
+   * roll back one after the other. Only the updates without transaction are sent concurrently by the update queue.
+   */
   private static final ReentrantLock lock = new ReentrantLock();
   private static final Map<String, SolrMasterXAResource> activeSolrXAResources = new ConcurrentHashMap<>();
+  private static final ObjectWriter QUERY_WRITER = createMapper().writer();
   protected TransactionManager transactionManager;
   protected HttpSolrClient slaveClient;
   protected HttpSolrClient masterClient;
+  protected SolrUpdateQueue updateQueue;
+  protected SolrSearchCache<String, Ergebnis> searchCache;
+  protected SolrSearchCache<String, Ergebnis> facetCache;
+  protected long cacheReplicationInterval;
   String core;
   String masterURL;
 
@@ -107,7 +126,13 @@ public class SolrSuchAdapter implements SuchPort {
       @ConfigProperty(name = "solr.url.slave") String slaveURL,
       @ConfigProperty(name = "solr.core") String core,
       @ConfigProperty(name = "solr.connectionTimeout") int connectionTimeout,
-      @ConfigProperty(name = "solr.socketTimeout") int socketTimeout) {
+      @ConfigProperty(name = "solr.socketTimeout") int socketTimeout,
+      @ConfigProperty(name = "solr.update.threads", defaultValue = "0") int updateThreads,
+      @ConfigProperty(name = "solr.update.queueSize", defaultValue = "100") int updateQueueSize,
+      @ConfigProperty(name = "solr.update.flushSize", defaultValue = "100") int updateFlushSize,
+      @ConfigProperty(name = "solr.cache.size", defaultValue = "0") int cacheSize,
+      @ConfigProperty(name = "solr.cache.ttl", defaultValue = "60000") long cacheTtl,
+      @ConfigProperty(name = "solr.cache.replicationInterval", defaultValue = "60000") long cacheReplicationInterval) {
     this.transactionManager = transactionManager;
     this.core = core;
     log.info("Initializing master client..");
@@ -120,11 +145,32 @@ public class SolrSuchAdapter implements SuchPort {
         .withConnectionTimeout(connectionTimeout)
         .withSocketTimeout(socketTimeout)
         .build();
+
+    if (updateThreads > 0) {
+      updateQueue = new SolrUpdateQueue(masterClient, core, updateQueueSize, updateThreads, updateFlushSize);
+    }
+
+    if (cacheSize > 0 && cacheTtl > 0) {
+      searchCache = new SolrSearchCache<>("searchCache", cacheSize, cacheTtl);
+      facetCache = new SolrSearchCache<>("facetCache", cacheSize, cacheTtl);
+      this.cacheReplicationInterval = masterURL.equals(slaveURL) ? 0 : cacheReplicationInterval;
+      log.info("Caching {} search results for {} ms, {} ms replication interval", cacheSize, cacheTtl,
+          this.cacheReplicationInterval);
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    if (Objects.nonNull(updateQueue)) {
+      updateQueue.close();
+    }
+    if (Objects.nonNull(searchCache)) {
+      log.info("Statistics of the search caches: {} {}", searchCache, facetCache);
+    }
   }
 
   static void addHighlightingToQuery(Suche suche, SolrQueryCommand queryCommand) {
-    if (suche.getHighlighting() != null && suche.getHighlighting().isActive() && !suche.getQuery()
-        .equals(QUERY_WILDCARD)) {
+    if (suche.getHighlighting() != null && suche.getHighlighting().isActive() && !isMatchAllQuery(suche)) {
       queryCommand.addParam(SolrAPI.HIGHLIGHTING_ACTIVE_KEY, SolrAPI.HIGHLIGHTING_ACTIVE_VALUE);
       queryCommand.addParam(SolrAPI.HIGHLIGHTING_QUERY_KEY,
           String.join(":" + suche.getQuery() + SolrAPI.HIGHLIGHTING_AND_OPERATOR,
@@ -148,12 +194,31 @@ public class SolrSuchAdapter implements SuchPort {
     }
   }
 
+  /**
+   * The id is always added as last sort criteria, so documents with the same score or sort value keep their order
+   * between the pages. Cursor paging requires it.
+   */
   static void addSortToQuery(Suche suche, SolrQueryCommand queryCommand) {
+    String sort = FIELD_SCORE + " desc";
     if (Objects.nonNull(suche.getSort())) {
-      String sort = suche.getSort().getCriteria().getSortField()
+      sort = suche.getSort().getCriteria().getSortField()
           + " " + suche.getSort().getType().name().toLowerCase();
-      queryCommand.setSort(sort);
     }
+    queryCommand.setSort(sort + ", " + SolrIndexFields.FIELD_ID + " asc");
+  }
+
+  static boolean isMatchAllQuery(Suche suche) {
+    return Objects.isNull(suche.getQuery()) || suche.getQuery().isBlank() || QUERY_WILDCARD.equals(suche.getQuery());
+  }
+
+  /**
+   * A missing query matches all documents.
+   */
+  static String createQueryString(Suche suche) {
+    if (Objects.isNull(suche.getQuery()) || suche.getQuery().isBlank()) {
+      return QUERY_MATCH_ALL;
+    }
+    return FIELD_SEARCHABLE_VALUES + ":" + suche.getQuery();
   }
 
   static ErgebnisEintrag mapEintrag(final SolrErgebnisEintrag solrEintrag) {
@@ -183,6 +248,10 @@ public class SolrSuchAdapter implements SuchPort {
   }
 
   static Ergebnis createErgebnis(final QueryResponse response, final Page page, Suche suche) {
+    return createErgebnis(response, page, suche, true);
+  }
+
+  static Ergebnis createErgebnis(final QueryResponse response, final Page page, Suche suche, boolean withFacets) {
 
     log.debug("SOLR RESPONSE DOCUMENT {} ", response);
 
@@ -196,8 +265,11 @@ public class SolrSuchAdapter implements SuchPort {
     if (Objects.nonNull(page) && Objects.nonNull(response.getResults())) {
       result.addErgebnisePageEnries(response.getResults(), page);
     }
+    result.setNextCursorMark(response.getNextCursorMark());
 
-    handleFacets(response, result);
+    if (withFacets) {
+      handleFacets(response, result);
+    }
 
     handleHighlightingResponse(suche, result, response.getHighlighting());
 
@@ -235,9 +307,7 @@ public class SolrSuchAdapter implements SuchPort {
   static void handleHighlightingResponse(Suche suche, Ergebnis result,
       Map<String, Map<String, List<String>>> highlighting) {
 
-    if (highlighting != null && !highlighting.isEmpty() && suche.getQuery().length() > 1 && !suche
-        .getQuery()
-        .equals("*")) {
+    if (highlighting != null && !highlighting.isEmpty() && !isMatchAllQuery(suche) && suche.getQuery().length() > 1) {
 
       log.info("start handle Highlighting");
 
@@ -304,16 +374,24 @@ public class SolrSuchAdapter implements SuchPort {
     storeActionInTransaction(update);
   }
 
+  @Transactional
+  @Override
+  public void partialUpdate(SuchDokumentUpdate... suchDokumentUpdates) throws SolrServiceException {
+    SolrMasterAction partialUpdate = SolrMasterAction.newPartialUpdate(suchDokumentUpdates);
+    storeActionInTransaction(partialUpdate);
+  }
+
   @Override
   public void updateWithoutTransaction(boolean deleteBeforeUpdate, final SuchDokument... suchDokumente)
       throws SolrServiceException {
-    updateIntern(deleteBeforeUpdate, suchDokumente);
+    updateIntern(deleteBeforeUpdate, true, suchDokumente);
   }
 
   @Override
   public void commitWithoutTransaction() throws SolrServiceException {
     try {
       masterClient.commit(core);
+      invalidateSearchCaches();
     } catch (Exception e) {
       log.error("Problem with the master-client commit {}", e.getMessage(), e);
       throw new SolrServiceException("Problem with the master-client commit " + e.getMessage(), e);
@@ -353,13 +431,13 @@ public class SolrSuchAdapter implements SuchPort {
     }
   }
 
-  private void updateIntern(boolean deleteBeforeUpdate, SuchDokument... suchDokumente)
-      throws SolrServiceException {
+  private void updateIntern(boolean deleteBeforeUpdate, boolean queued,
+      SuchDokument... suchDokumente) throws SolrServiceException {
     try {
       if (deleteBeforeUpdate) {
         deleteBeforeUpdate(false, suchDokumente);
       }
-      UpdateResponse updateResponse = masterClient.add(core, Arrays.asList(suchDokumente));
+      UpdateResponse updateResponse = add(Arrays.asList(suchDokumente), queued);
       if (updateResponse.getStatus() != STATUS_OK) {
         String message =
             "Unable to update solr document. Response status: " + updateResponse.getStatus();
@@ -375,6 +453,61 @@ public class SolrSuchAdapter implements SuchPort {
     }
   }
 
+  /**
+   * Every SuchDokumentUpdate is sent with its own request, because SOLR stops processing a request at the first
+   * document that does not exist. If a document is not indexed, its complete SuchDokument is added instead.
+   */
+  void partialUpdateIntern(List<SuchDokumentUpdate> suchDokumentUpdates) throws SolrServiceException {
+    for (SuchDokumentUpdate suchDokumentUpdate : suchDokumentUpdates) {
+      try {
+        UpdateResponse updateResponse = masterClient.add(core, suchDokumentUpdate);
+        if (updateResponse.getStatus() != STATUS_OK) {
+          String message = "Unable to update solr document " + suchDokumentUpdate.getId() + ". Response status: "
+              + updateResponse.getStatus();
+          if (updateResponse.getException() == null) {
+            throw new SolrServiceException(message);
+          }
+          throw new SolrServiceException(message, updateResponse.getException());
+        }
+      } catch (RemoteSolrException e) {
+        if (e.code() != ErrorCode.CONFLICT.code) {
+          log.error("Problem with the partial update of the document {}", suchDokumentUpdate, e);
+          throw new SolrServiceException("Problem with the partial update of the document " + suchDokumentUpdate, e);
+        }
+        addNotIndexed(suchDokumentUpdate);
+      } catch (SolrServerException | IOException e) {
+        log.error("Problem with the partial update of the document {}", suchDokumentUpdate, e);
+        throw new SolrServiceException("Problem with the partial update of the document " + suchDokumentUpdate, e);
+      }
+    }
+  }
+
+  private void addNotIndexed(SuchDokumentUpdate suchDokumentUpdate) throws SolrServiceException {
+    Optional<SuchDokument> suchDokument = suchDokumentUpdate.getSuchDokument();
+    if (suchDokument.isEmpty()) {
+      log.warn("Skipped partial update of {}, the document is not indexed", suchDokumentUpdate);
+      return;
+    }
+    log.warn("Partial update of {} rejected, the document is not indexed. Adding the complete document.",
+        suchDokumentUpdate);
+    updateIntern(false, false, suchDokument.get());
+  }
+
+  /**
+   * Only updates outside of a transaction may use the update queue. The queue merges the documents of all callers into
+   * shared requests, so a failing request would also fail the documents of other transactions.
+   */
+  UpdateResponse add(List<SuchDokument> suchDokumente, boolean queued) throws Exception {
+    if (!queued || Objects.isNull(updateQueue)) {
+      return masterClient.add(core, suchDokumente);
+    }
+    try {
+      return updateQueue.add(suchDokumente).get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
+
   void deleteBeforeUpdate(boolean withCommit, SuchDokument... suchDokumente) throws Exception {
     try {
       int size = suchDokumente.length;
@@ -438,15 +571,47 @@ public class SolrSuchAdapter implements SuchPort {
     }
   }
 
+  /**
+   * Searches in the SOLR slave. If the search caches are enabled, the results are cached by the normalized Suche and
+   * the facets are cached by query and filter only, so paging and sorting do not compute the facets again.
+   */
   @Override
   public Ergebnis search(Suche suche) throws SolrServiceException {
+    if (Objects.isNull(searchCache)) {
+      return searchIntern(suche, true);
+    }
+
+    String searchKey = createSearchKey(suche);
+    Optional<Ergebnis> cachedErgebnis = searchCache.get(searchKey);
+    if (cachedErgebnis.isPresent()) {
+      log.debug("Found cached search result for {}", searchKey);
+      return cachedErgebnis.get().copy();
+    }
+
+    long generation = searchCache.getGeneration();
+    String facetKey = createFacetKey(suche);
+    Optional<Ergebnis> cachedFacets = facetCache.get(facetKey);
+
+    Ergebnis ergebnis = searchIntern(suche, cachedFacets.isEmpty());
+    cachedFacets.ifPresent(ergebnis::copyFacetCounts);
+
+    searchCache.put(searchKey, ergebnis.copy(), generation);
+    if (cachedFacets.isEmpty()) {
+      Ergebnis facets = new Ergebnis();
+      facets.copyFacetCounts(ergebnis);
+      facetCache.put(facetKey, facets, generation);
+    }
+    return ergebnis;
+  }
+
+  private Ergebnis searchIntern(Suche suche, boolean withFacets) throws SolrServiceException {
 
     log.debug("Starting Searching in Solr {} ", suche);
 
     Map<String, String[]> queryParamMap = new HashMap<>();
 
     try {
-      String jsonQuery = createQuery(suche);
+      String jsonQuery = createQuery(suche, withFacets);
       queryParamMap.put(CommonParams.JSON, new String[]{jsonQuery});
       SolrParams queryParams = new MultiMapSolrParams(queryParamMap);
       QueryResponse response = slaveClient.query(core, queryParams, METHOD.POST);
@@ -465,35 +630,97 @@ public class SolrSuchAdapter implements SuchPort {
         }
       }
 
-      return createErgebnis(response, suche.getPage(), suche);
+      return createErgebnis(response, suche.getPage(), suche, withFacets);
     } catch (SolrServerException | IOException e) {
       log.error("Problem with the search {}", e.getMessage(), e);
       throw new SolrServiceException("Problem with the search " + suche, e);
     }
   }
 
+  /**
+   * Walks through all results of the Suche with cursorMarks, without facets and highlighting and without the
+   * search caches. Only one page of {@code rows} results is held in memory at the same time.
+   *
+   * @return the number of exported results
+   */
+  @Override
+  public long export(Suche suche, int rows, ErgebnisEintragConsumer consumer) throws SolrServiceException, IOException {
+    if (rows < 1) {
+      throw new IllegalArgumentException("rows must be greater than 0, was " + rows);
+    }
+    Objects.requireNonNull(consumer, "consumer is required");
+
+    Suche exportSuche = Suche.builder()
+        .withQuery(suche.getQuery())
+        .withSort(suche.getSort())
+        .build();
+    exportSuche.getFilter().putAll(suche.getFilter());
+
+    long exported = 0;
+    String cursorMark = CURSOR_MARK_START;
+    while (true) {
+      exportSuche.setPage(new Page(rows, cursorMark));
+      Ergebnis ergebnis = searchIntern(exportSuche, false);
+
+      for (ErgebnisEintrag eintrag : ergebnis.getEintragListe()) {
+        consumer.accept(eintrag);
+        exported++;
+      }
+
+      if (ergebnis.getEintragListe().isEmpty() || Objects.isNull(ergebnis.getNextCursorMark())
+          || cursorMark.equals(ergebnis.getNextCursorMark())) {
+        break;
+      }
+      cursorMark = ergebnis.getNextCursorMark();
+    }
+    log.info("Exported {} search results for {}", exported, suche.getQuery());
+    return exported;
+  }
+
   String createQuery(final Suche suche) throws JsonProcessingException {
-    final SolrQueryCommand queryCommand = new SolrQueryCommand(
-        FIELD_SEARCHABLE_VALUES + ":" + suche.getQuery());
+    return createQuery(suche, true);
+  }
+
+  String createQuery(final Suche suche, boolean withFacets) throws JsonProcessingException {
+    final SolrQueryCommand queryCommand = new SolrQueryCommand(createQueryString(suche));
 
     if (Objects.nonNull(suche.getPage())) {
       queryCommand.setLimit(suche.getPage().getNumberOfRows());
-      queryCommand.setOffset(suche.getPage().getOffset());
+      if (suche.getPage().isCursorPaging()) {
+        queryCommand.addParam(CURSOR_MARK_KEY, suche.getPage().getCursorMark());
+      } else {
+        queryCommand.setOffset(suche.getPage().getOffset());
+      }
     }
 
     addSortToQuery(suche, queryCommand);
 
     addFilterToQuery(suche, queryCommand);
 
-    addFacetsToQuery(queryCommand);
+    if (withFacets) {
+      addFacetsToQuery(queryCommand);
+    }
 
     addHighlightingToQuery(suche, queryCommand);
 
     addQueryOperatorAndDefaultSearchField(queryCommand);
 
-    final ObjectMapper mapper = createMapper();
+    return QUERY_WRITER.writeValueAsString(queryCommand);
+  }
 
-    return mapper.writerWithDefaultPrettyPrinter().writeValueAsString(queryCommand);
+  static String createSearchKey(Suche suche) {
+    return createFacetKey(suche)
+        + "|sort=" + (Objects.nonNull(suche.getSort())
+        ? suche.getSort().getCriteria() + " " + suche.getSort().getType() : "")
+        + "|page=" + (Objects.nonNull(suche.getPage())
+        ? suche.getPage().getNumberOfRows() + "," + suche.getPage().getOffset() + ","
+        + Objects.toString(suche.getPage().getCursorMark(), "") : "")
+        + "|highlighting=" + Objects.toString(suche.getHighlighting(), "");
+  }
+
+  static String createFacetKey(Suche suche) {
+    return "query=" + suche.getQuery()
+        + "|filter=" + (Objects.nonNull(suche.getFilter()) ? new TreeMap<>(suche.getFilter()) : "{}");
   }
 
   private void addFacetsToQuery(SolrQueryCommand queryCommand) {
@@ -518,32 +745,14 @@ public class SolrSuchAdapter implements SuchPort {
   }
 
   void prepareTransaction(String txId) throws SolrServiceException {
+    lock.lock();
     try {
-      lock.lock();
       SolrMasterXAResource currentXAResource = activeSolrXAResources.get(txId);
       if (currentXAResource == null) {
         log.warn("Current SOLR XAResource is null");
         throw new SolrServiceException("Current SOLR XAResource is null");
       }
-      List<SolrMasterAction> storedActions = currentXAResource.getStoredActions();
-      for (SolrMasterAction action : storedActions) {
-        switch (action.getType()) {
-          case UPDATE:
-          case DELETE_BEFORE_UPDATE:
-            List<SuchDokument> suchDokumentsToUpdate = action.getSuchDokumentsToUpdate();
-            updateIntern(action.getType() == DELETE_BEFORE_UPDATE,
-                suchDokumentsToUpdate.toArray(new SuchDokument[0]));
-            break;
-          case DELETE:
-            List<String> idSToDelete = action.getIdSToDelete();
-            deleteIntern(idSToDelete.toArray(new String[0]));
-            break;
-          case DELETE_ALL:
-            deleteAllIntern();
-            break;
-        }
-      }
-      commitTransaction(txId);
+      executeStoredActions(txId, currentXAResource.getStoredActions());
     } catch (Exception e) {
       log.error("Problem with the commit transaction {}", e.getMessage(), e);
       rollbackTransaction(txId);
@@ -553,9 +762,34 @@ public class SolrSuchAdapter implements SuchPort {
     }
   }
 
+  private void executeStoredActions(String txId, List<SolrMasterAction> storedActions) throws SolrServiceException {
+    for (SolrMasterAction action : storedActions) {
+      switch (action.getType()) {
+        case UPDATE:
+        case DELETE_BEFORE_UPDATE:
+          List<SuchDokument> suchDokumentsToUpdate = action.getSuchDokumentsToUpdate();
+          updateIntern(action.getType() == DELETE_BEFORE_UPDATE, false,
+              suchDokumentsToUpdate.toArray(new SuchDokument[0]));
+          break;
+        case PARTIAL_UPDATE:
+          partialUpdateIntern(action.getSuchDokumentUpdates());
+          break;
+        case DELETE:
+          List<String> idSToDelete = action.getIdSToDelete();
+          deleteIntern(idSToDelete.toArray(new String[0]));
+          break;
+        case DELETE_ALL:
+          deleteAllIntern();
+          break;
+      }
+    }
+    commitTransaction(txId);
+  }
+
   void commitTransaction(String txId) throws SolrServiceException {
     try {
       masterClient.commit(core);
+      invalidateSearchCaches();
       activeSolrXAResources.remove(txId);
     } catch (Exception e) {
       log.error("Problem with the commit transaction {}", e.getMessage(), e);
@@ -564,16 +798,32 @@ public class SolrSuchAdapter implements SuchPort {
   }
 
   void rollbackTransaction(String txId) throws SolrServiceException {
+    lock.lock();
     try {
       masterClient.rollback(core);
+      invalidateSearchCaches();
       activeSolrXAResources.remove(txId);
     } catch (Exception e) {
       log.error("Problem with the transaction rollback  {}", e.getMessage(), e);
       throw new SolrServiceException("Problem with the transaction rollback " + e.getMessage(), e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The searches go to the slave, which sees the committed changes only after its next replication. So no results are
+   * cached until the slave has replicated the committed changes.
+   */
+  void invalidateSearchCaches() {
+    if (Objects.nonNull(searchCache)) {
+      searchCache.invalidateAll(cacheReplicationInterval);
+      facetCache.invalidateAll(cacheReplicationInterval);
+      log.debug("Invalidated search caches {} {}", searchCache, facetCache);
     }
   }
 
-  ObjectMapper createMapper() {
+  static ObjectMapper createMapper() {
     final ObjectMapper mapper = new ObjectMapper();
     mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
 
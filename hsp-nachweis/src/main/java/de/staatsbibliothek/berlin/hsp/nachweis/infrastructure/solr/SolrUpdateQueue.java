@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+
+/**
+ * Bounded queue for SOLR updates in the style of the ConcurrentUpdateSolrClient.
+ * <p>
+ * Callers put their SuchDokumente into the queue and get a future that is completed as soon as the
+ * documents are sent to SOLR. If the queue is full, {@link #add(List)} blocks until one of the runner
+ * threads has taken an entry. Each runner takes the next entry and all further entries that are
+ * already waiting, up to {@code flushSize} documents, and sends them with one update request. If this
+ * request fails, the futures of all entries of the request complete exceptionally, so every caller
+ * learns about the failure of its own documents.
+ <p>
+ * Documents of different callers end up in the same request and SOLR commits and rollbacks always
+ * affect the whole core, so the queue is only used for updates outside of transactions, e.g. by the
+ * reindex jobs.
+ *
+ * @since 17.10.2026
+ */
+@Slf4j
+class SolrUpdateQueue implements AutoCloseable {
+
+  private static final long POLL_TIMEOUT_MILLIS = 250;
+
+  private final SolrClient solrClient;
+  private final String core;
+  private final int flushSize;
+  private final BlockingQueue<PendingUpdate> queue;
+  private final ExecutorService runners;
+  private volatile boolean closed;
+
+  SolrUpdateQueue(SolrClient solrClient, String core, int queueSize, int threads, int flushSize) {
+    if (queueSize < 1 || threads < 1 || flushSize < 1) {
+      throw new IllegalArgumentException("queueSize, threads and flushSize must be greater than 0");
+    }
+    this.solrClient = Objects.requireNonNull(solrClient, "solrClient is required");
+    this.core = core;
+    this.flushSize = flushSize;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+
+    AtomicInteger threadCounter = new AtomicInteger();
+    this.runners = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "solr-update-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < threads; i++) {
+      runners.execute(this::run);
+    }
+    log.info("Started SOLR update queue with {} threads, queueSize {} and flushSize {}", threads, queueSize,
+        flushSize);
+  }
+
+  CompletableFuture<UpdateResponse> add(List<SuchDokument> suchDokumente) throws InterruptedException {
+    Objects.requireNonNull(suchDokumente, "suchDokumente is required");
+    if (closed) {
+      throw new IllegalStateException("SOLR update queue is closed");
+    }
+    PendingUpdate pendingUpdate = new PendingUpdate(suchDokumente);
+    queue.put(pendingUpdate);
+    return pendingUpdate.future;
+  }
+
+  int size() {
+    return queue.size();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    runners.shutdown();
+    try {
+      if (!runners.awaitTermination(30, TimeUnit.SECONDS)) {
+        log.warn("SOLR update queue not empty after 30 seconds, {} updates are discarded", queue.size());
+        runners.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      runners.shutdownNow();
+    }
+
+    PendingUpdate pendingUpdate;
+    while ((pendingUpdate = queue.poll()) != null) {
+      pendingUpdate.future.completeExceptionally(new IllegalStateException("SOLR update queue is closed"));
+    }
+  }
+
+  private void run() {
+    try {
+      while (!closed || !queue.isEmpty()) {
+        PendingUpdate first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (Objects.nonNull(first)) {
+          send(collectBatch(first));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private List<PendingUpdate> collectBatch(PendingUpdate first) {
+    List<PendingUpdate> batch = new ArrayList<>();
+    batch.add(first);
+    int documents = first.suchDokumente.size();
+
+    PendingUpdate next;
+    while (documents < flushSize && (next = queue.poll()) != null) {
+      batch.add(next);
+      documents += next.suchDokumente.size();
+    }
+    return batch;
+  }
+
+  private void send(List<PendingUpdate> batch) {
+    List<SuchDokument> suchDokumente = new ArrayList<>();
+    for (PendingUpdate pendingUpdate : batch) {
+      suchDokumente.addAll(pendingUpdate.suchDokumente);
+    }
+
+    try {
+      UpdateResponse updateResponse = solrClient.add(core, suchDokumente);
+      log.debug("Sent {} documents of {} updates to SOLR", suchDokumente.size(), batch.size());
+      for (PendingUpdate pendingUpdate : batch) {
+        pendingUpdate.future.complete(updateResponse);
+      }
+    } catch (Exception e) {
+      log.error("Unable to send {} documents to SOLR: {}", suchDokumente.size(), e.getMessage(), e);
+      for (PendingUpdate pendingUpdate : batch) {
+        pendingUpdate.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private static class PendingUpdate {
+
+    private final List<SuchDokument> suchDokumente;
+    private final CompletableFuture<UpdateResponse> future = new CompletableFuture<>();
+
+    private PendingUpdate(List<SuchDokument> suchDokumente) {
+      this.suchDokumente = suchDokumente;
+    }
+  }
+}
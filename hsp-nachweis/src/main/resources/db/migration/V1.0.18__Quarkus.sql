@@ -0,0 +1,40 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+create sequence if not exists indexjobstatus_seq start with 1 increment by 1;
+
+alter table indexjobstatus
+    add column if not exists state            varchar(32),
+    add column if not exists kod_id           varchar(64),
+    add column if not exists action           varchar(32),
+    add column if not exists with_transaction boolean not null default false,
+    add column if not exists from_id          varchar(64),
+    add column if not exists to_id            varchar(64),
+    add column if not exists checkpoint       varchar(64),
+    add column if not exists total            bigint  not null default 0,
+    add column if not exists indexed          bigint  not null default 0,
+    add column if not exists indexed_at_start bigint  not null default 0,
+    add column if not exists started_at       timestamp,
+    add column if not exists updated_at       timestamp,
+    add column if not exists heartbeat_at     timestamp;
@@ -33,6 +33,7 @@ import static org.mockito.Mockito.when;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
@@ -88,4 +89,23 @@ public class AutocompleteNormdatenControllerTest {
     verify(normdatenReferenzBoundary, times(2)).findAllByIdOrNameAndType(any(), any(), anyBoolean());
   }
 
+  @Test
+  void testAutocompleteWithNormdatenSnapshot() {
+    NormdatenReferenz berlin = new NormdatenReferenz("1", "Berlin", "4005728-8",
+        GNDEntityFact.PLACE_TYPE_NAME);
+
+    when(normdatenReferenzBoundary.findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true))
+        .thenReturn(Set.of(berlin));
+
+    AutocompleteNormdatenController controller = new AutocompleteNormdatenController(normdatenReferenzBoundary);
+    controller.setNormdatenSnapshot(new NormdatenSnapshot(normdatenReferenzBoundary, true, 0));
+    assertEquals(1, controller.autocompleteOrt("Ber").size());
+    assertEquals(1, controller.autocompleteOrt("berlin").size());
+    assertEquals(0, controller.autocompleteOrt("Bonn").size());
+    assertEquals(0, controller.autocompletePerson("Martin").size());
+    verify(normdatenReferenzBoundary, times(1)).findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true);
+    verify(normdatenReferenzBoundary, times(1)).findAllByIdOrNameAndType("Martin", NormdatenReferenz.PERSON_TYPE_NAME,
+        false);
+  }
+
 }
@@ -27,6 +27,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.application.controller;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +36,7 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokumen
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument.KulturObjektDokumentBuilder;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJob;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobState;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatus;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatus.IndexJobStatusBuilder;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatusBoundary;
@@ -111,4 +113,74 @@ class IndexRestControllerTest {
 
     verify(indexJobEvent, times(1)).fireAsync(Mockito.any());
   }
+
+  @Test
+  void testIndexingKodsFromTo() {
+    given()
+        .when().post("/rest/indexkods?from=HSP-4&to=HSP-8")
+        .then()
+        .statusCode(201);
+
+    verify(indexJobStatusBoundry, times(1)).save(Mockito.argThat(indexJobStatus ->
+        "HSP-4".equals(indexJobStatus.getFromId()) && "HSP-8".equals(indexJobStatus.getToId())));
+    verify(indexJobEvent, times(1)).fireAsync(Mockito.any());
+  }
+
+  @Test
+  void testResumeIndexJob() {
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(3L).build();
+    indexJobStatus.setState(IndexJobState.FAILED);
+    indexJobStatus.setCheckpoint("HSP-4");
+    when(indexJobStatusBoundry.findById(3L)).thenReturn(Optional.of(indexJobStatus));
+    when(indexJobStatusBoundry.claimForResume(3L)).thenReturn(Optional.of(indexJobStatus));
+
+    given()
+        .when().post("/rest/indexkods/status/3/resume")
+        .then()
+        .statusCode(201)
+        .body("uriToIndexJobStatus", equalTo("/rest/indexkods/status/3"));
+
+    verify(indexJobEvent, times(1)).fireAsync(Mockito.any());
+  }
+
+  @Test
+  void testResumeFinishedIndexJob() {
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(4L).build();
+    indexJobStatus.setState(IndexJobState.FINISHED);
+    when(indexJobStatusBoundry.findById(4L)).thenReturn(Optional.of(indexJobStatus));
+    when(indexJobStatusBoundry.claimForResume(4L)).thenReturn(Optional.empty());
+
+    given()
+        .when().post("/rest/indexkods/status/4/resume")
+        .then()
+        .statusCode(409);
+
+    given()
+        .when().post("/rest/indexkods/status/5/resume")
+        .then()
+        .statusCode(404);
+
+    verify(indexJobEvent, never()).fireAsync(Mockito.any());
+  }
+
+  @Test
+  void testCancelIndexJob() {
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(6L).build();
+    indexJobStatus.setState(IndexJobState.CANCELLED);
+    when(indexJobStatusBoundry.findById(6L)).thenReturn(Optional.of(indexJobStatus));
+    when(indexJobStatusBoundry.cancel(6L)).thenReturn(Optional.of(indexJobStatus));
+
+    given()
+        .when().post("/rest/indexkods/status/6/cancel")
+        .then()
+        .statusCode(200)
+        .body("state", equalTo("CANCELLED"));
+
+    when(indexJobStatusBoundry.cancel(6L)).thenReturn(Optional.empty());
+
+    given()
+        .when().post("/rest/indexkods/status/6/cancel")
+        .then()
+        .statusCode(409);
+  }
 }
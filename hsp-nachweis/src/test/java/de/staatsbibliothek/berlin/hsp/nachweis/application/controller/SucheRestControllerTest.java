@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.application.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintrag;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintragConsumer;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentBoundary;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * @since 17.10.2026
+ */
+class SucheRestControllerTest {
+
+  SuchDokumentBoundary suchDokumentBoundary;
+  SucheRestController testling;
+
+  static ErgebnisEintrag createEintrag(String id, String signatur) {
+    ErgebnisEintrag eintrag = new ErgebnisEintrag();
+    eintrag.setId(id);
+    eintrag.setTyp(SuchDokumentTyp.KOD);
+    eintrag.setSignatur(signatur);
+    eintrag.setAutoren(Arrays.asList("Autor A", "Autor B"));
+    return eintrag;
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    suchDokumentBoundary = mock(SuchDokumentBoundary.class);
+    testling = new SucheRestController(suchDokumentBoundary, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    when(suchDokumentBoundary.export(any(Suche.class), any(ErgebnisEintragConsumer.class))).thenAnswer(invocation -> {
+      ErgebnisEintragConsumer consumer = invocation.getArgument(1);
+      consumer.accept(createEintrag("HSP-1", "Cod. 1"));
+      consumer.accept(createEintrag("HSP-2", "Cod. \"2\""));
+      return 2L;
+    });
+  }
+
+  @Test
+  void testExportCsv() throws Exception {
+    Response response = testling.export("Cod", "KOD", false, false, false, false, null, null, null, null, null,
+        "csv");
+
+    assertEquals(200, response.getStatus());
+    String[] lines = write((StreamingOutput) response.getEntity()).split("\r\n");
+
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("\"id\";\"typ\";\"signatur\""));
+    assertTrue(lines[1].startsWith("\"HSP-1\";\"KOD\";\"Cod. 1\";;"));
+    assertTrue(lines[1].endsWith(";\"Autor A, Autor B\""));
+    assertTrue(lines[2].startsWith("\"HSP-2\";\"KOD\";\"Cod. \"\"2\"\"\";;"));
+
+    ArgumentCaptor<Suche> suche = ArgumentCaptor.forClass(Suche.class);
+    verify(suchDokumentBoundary).export(suche.capture(), any(ErgebnisEintragConsumer.class));
+    assertEquals("Cod", suche.getValue().getQuery());
+    assertEquals("KOD", suche.getValue().getFilter().values().iterator().next());
+  }
+
+  @Test
+  void testExportJson() throws Exception {
+    Response response = testling.export(null, null, false, false, false, false, null, null, null, null, null,
+        "json");
+
+    assertEquals(200, response.getStatus());
+    JsonNode json = new ObjectMapper().readTree(write((StreamingOutput) response.getEntity()));
+
+    assertEquals(2, json.size());
+    assertEquals("HSP-1", json.get(0).get("id").asText());
+    assertEquals("Cod. \"2\"", json.get(1).get("signatur").asText());
+  }
+
+  @Test
+  void testExportUnknownFormat() {
+    assertEquals(400, testling.export("Cod", null, false, false, false, false, null, null, null, null, null,
+        "xml").getStatus());
+  }
+
+  @Test
+  void testExportWithFilter() {
+    Response response = testling.export("Cod", "KOD", true, true, false, true, "extern",
+        Arrays.asList("Staatsbibliothek zu Berlin", "Bayerische Staatsbibliothek"),
+        Collections.singletonList("Autor A"),
+        "2026-01-01", "2026-10-01", "csv");
+
+    assertEquals(200, response.getStatus());
+
+    Suche expected = Suche.builder()
+        .withQuery("Cod")
+        .withFilterSuchDokumentTyp(SuchDokumentTyp.KOD)
+        .withFilterContainsDigitalisat(true)
+        .withFilterContainsBuchschmuck(true)
+        .withFilterPubliziert(true)
+        .withFilterVerwaltungsTyp(VerwaltungsTyp.EXTERN)
+        .withFilterBestandshaltendeInstitutionen("Staatsbibliothek zu Berlin", "Bayerische Staatsbibliothek")
+        .withFilterAutoren("Autor A")
+        .withFilterLastUpdateFrom(LocalDate.of(2026, 1, 1))
+        .withFilterLastUpdateTo(LocalDate.of(2026, 10, 1))
+        .build();
+
+    ArgumentCaptor<Suche> suche = ArgumentCaptor.forClass(Suche.class);
+    verify(suchDokumentBoundary).export(suche.capture(), any(ErgebnisEintragConsumer.class));
+    assertEquals(expected.getFilter(), suche.getValue().getFilter());
+  }
+
+  @Test
+  void testExportWithInvalidFilter() {
+    assertEquals(400, testling.export("Cod", null, false, false, false, false, "unbekannt", null, null, null, null,
+        "csv").getStatus());
+    assertEquals(400, testling.export("Cod", null, false, false, false, false, null, null, null, "01.01.2026", null,
+        "csv").getStatus());
+  }
+
+  private String write(StreamingOutput streamingOutput) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    streamingOutput.write(outputStream);
+    return outputStream.toString(StandardCharsets.UTF_8);
+  }
+}
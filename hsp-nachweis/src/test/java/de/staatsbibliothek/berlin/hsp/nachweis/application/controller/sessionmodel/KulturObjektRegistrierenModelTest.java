@@ -27,11 +27,14 @@ package de.staatsbibliothek.berlin.hsp.nachweis.application.controller.sessionmo
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz.NormdatenReferenzBuilder;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues;
@@ -39,12 +42,16 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.bearbeiter.BearbeiterBound
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierenException;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierenException.ERROR_TYPE;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistrierungListener;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.KulturObjektDokumentRegistry;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren.SignaturDatei;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenReferenzBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.sperre.exception.SperreAlreadyExistException;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -82,10 +89,8 @@ public class KulturObjektRegistrierenModelTest {
       throws IOException, KulturObjektDokumentRegistrierenException, SperreAlreadyExistException {
     FileUploadEvent event = mock(FileUploadEvent.class);
     UploadedFile file = mock(UploadedFile.class);
-    byte[] content = new byte[1024];
 
     when(event.getFile()).thenReturn(file);
-    when(file.getContent()).thenReturn(content);
 
     NormdatenReferenz koerperschaftViewModel = new NormdatenReferenz("1",
         "Staatsbibliothek zu Berlin",
@@ -113,14 +118,15 @@ public class KulturObjektRegistrierenModelTest {
     model.handleFileUpload(event);
 
     verify(kulturObjektDokumentBoundary, times(1)).registrieren(
-        bearbeiterBoundary.getUnbekannterBearbeiter(), orteViewModel, koerperschaftViewModel,
-        content);
+        eq(bearbeiterBoundary.getUnbekannterBearbeiter()), eq(orteViewModel), eq(koerperschaftViewModel),
+        any(SignaturDatei.class), any(KulturObjektDokumentRegistrierungListener.class));
 
     model.setOrteViewModel(orteViewModel);
     model.setKoerperschaftViewModel(koerperschaftViewModel);
 
-    when(kulturObjektDokumentBoundary.registrieren(bearbeiterBoundary.getUnbekannterBearbeiter(),
-        orteViewModel, koerperschaftViewModel, content))
+    when(kulturObjektDokumentBoundary.registrieren(eq(bearbeiterBoundary.getUnbekannterBearbeiter()),
+        eq(orteViewModel), eq(koerperschaftViewModel), any(SignaturDatei.class),
+        any(KulturObjektDokumentRegistrierungListener.class)))
         .thenThrow(new KulturObjektDokumentRegistrierenException("Fehler",
             ERROR_TYPE.TECHNICAL, null));
 
@@ -131,6 +137,53 @@ public class KulturObjektRegistrierenModelTest {
     assertEquals(ERROR_TYPE.TECHNICAL, model.getError().getErrorType());
   }
 
+  @Test
+  void testHandleFileUploadFailureAfterCommittedBatch()
+      throws IOException, KulturObjektDokumentRegistrierenException, SperreAlreadyExistException {
+    FileUploadEvent event = mock(FileUploadEvent.class);
+    when(event.getFile()).thenReturn(mock(UploadedFile.class));
+
+    NormdatenReferenz koerperschaftViewModel = new NormdatenReferenz("1", "Staatsbibliothek zu Berlin",
+        "234234-x", NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    NormdatenReferenz orteViewModel = createNormDatenOrt();
+
+    KulturObjektRegistrierenModel model = new KulturObjektRegistrierenModel(
+        kulturObjektDokumentBoundary, bearbeiterBoundary, normdatenReferenzBoundary);
+
+    KulturObjektDokument kod = KulturObjektDokumentRegistry.create(orteViewModel, koerperschaftViewModel,
+        List.of("Cod. 1"));
+
+    when(kulturObjektDokumentBoundary.registrieren(any(), any(), any(), any(SignaturDatei.class),
+        any(KulturObjektDokumentRegistrierungListener.class)))
+        .thenAnswer(invocation -> {
+          KulturObjektDokumentRegistrierungListener listener = invocation.getArgument(4);
+          listener.registriert(List.of(kod), 1, 2, true);
+          throw new KulturObjektDokumentRegistrierenException("Fehler", ERROR_TYPE.TECHNICAL, null);
+        });
+
+    model.setOrteViewModel(orteViewModel);
+    model.setKoerperschaftViewModel(koerperschaftViewModel);
+    model.handleFileUpload(event);
+
+    assertEquals("Fehler", model.getError().getMessage());
+    assertEquals(1, model.getRegistrierteKODs().size());
+    assertEquals("Cod. 1", model.getRegistrierteKODs().iterator().next().getSignatur());
+
+    when(kulturObjektDokumentBoundary.registrieren(any(), any(), any(), any(SignaturDatei.class),
+        any(KulturObjektDokumentRegistrierungListener.class)))
+        .thenAnswer(invocation -> {
+          KulturObjektDokumentRegistrierungListener listener = invocation.getArgument(4);
+          listener.registriert(List.of(kod), 1, 2, false);
+          throw new KulturObjektDokumentRegistrierenException("Fehler", ERROR_TYPE.TECHNICAL, null);
+        });
+
+    model.setOrteViewModel(orteViewModel);
+    model.setKoerperschaftViewModel(koerperschaftViewModel);
+    model.handleFileUpload(event);
+
+    assertNull(model.getRegistrierteKODs());
+  }
+
   @Test
   void testneuRegistrieren() throws IOException {
     NormdatenReferenz modelKoerperschaft = new NormdatenReferenz(
@@ -26,6 +26,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.application.model;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Ergebnis;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.ErgebnisEintrag;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Page;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentBoundary;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentService;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
@@ -79,6 +80,33 @@ class LazyResearchErgebnisViewModelTest {
     Assertions.assertEquals(11, testling.suche.getPage().getOffset());
   }
 
+  @Test
+  void testLoadWithCursorMark() throws SolrServiceException {
+    final SuchDokumentBoundary suchDokumentService = Mockito.mock(SuchDokumentService.class);
+    final LazyResearchErgebnisViewModel testling = new LazyResearchErgebnisViewModel(suchDokumentService);
+
+    final Suche suche = Suche.builder().build();
+    final Ergebnis ergebnis = new Ergebnis();
+    ergebnis.setEintragListe(new ArrayList<>());
+    ergebnis.setNextCursorMark("AoE1");
+    Mockito.when(suchDokumentService.search(suche)).thenReturn(ergebnis);
+
+    testling.suche = suche;
+
+    testling.load(0, 25, null, null, null);
+    Assertions.assertEquals(Page.CURSOR_MARK_START, testling.suche.getPage().getCursorMark());
+
+    testling.load(25, 25, null, null, null);
+    Assertions.assertEquals("AoE1", testling.suche.getPage().getCursorMark());
+
+    testling.load(100, 25, null, null, null);
+    Assertions.assertFalse(testling.suche.getPage().isCursorPaging());
+    Assertions.assertEquals(100, testling.suche.getPage().getOffset());
+
+    testling.load(25, 10, null, null, null);
+    Assertions.assertFalse(testling.suche.getPage().isCursorPaging());
+  }
+
   @Test
   void testGetRowData() {
     final SuchDokumentBoundary suchDokumentService = Mockito.mock(SuchDokumentService.class);
@@ -803,7 +803,7 @@ class BeschreibungsServiceTest {
             && "https://target.de/40170459".equals(purl.getTarget().toASCIIString())
     ));
 
-    verify(suchDokumentServiceMOCK, times(1)).beschreibungUebernehmen(any(Beschreibung.class));
+    verify(suchDokumentServiceMOCK, times(1)).beschreibungTeilweiseUebernehmen(any(Beschreibung.class));
     verify(indexServiceMock, times(1))
         .indexKulturObjektDokumentWithKafkaTransaction(any(KulturObjektDokument.class),
             any(ActivityStreamAction.class));
@@ -36,7 +36,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -116,6 +119,7 @@ import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntit
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence.IdentifikationRepositoryAdapter;
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -124,9 +128,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -463,7 +469,8 @@ class KulturObjektDokumentServiceTest {
         teiXmlTransformationServiceMock,
         teiXmlValidationServiceMock);
 
-    when(kulturObjektDokumentRepositoryMOCK.findByIdentifikationIdentAndBesitzerIDAndAufbewahrungsortID("Cbm Cat. 1", koerperschaft.getId(), ort.getId()))
+    when(kulturObjektDokumentRepositoryMOCK.findByGueltigeIdentifikationen(
+        argThat(identifikationen -> identifikationen.contains(identifikation))))
         .thenReturn(List.of(kulturObjektDokumentAlreadyExist));
 
     Throwable exceptionThatWasThrown = assertThrows(KulturObjektDokumentRegistrierenException.class,
@@ -516,6 +523,95 @@ class KulturObjektDokumentServiceTest {
         exceptionThatWasThrown.getErrorType());
   }
 
+  @Test
+  void testRegistrierenSignaturDatei() throws Exception {
+    Path csvFile = Paths.get("src", "test", "resources", "BSB_SignList.csv");
+
+    NormdatenReferenz ort = new NormdatenReferenz(TEIValues.UUID_PREFIX + UUID.randomUUID(), "Berlin", "4005728-8");
+    NormdatenReferenz koerperschaft = new NormdatenReferenz(TEIValues.UUID_PREFIX + UUID.randomUUID(),
+        "Staatsbibliothek zu Berlin", "234234-x");
+
+    KulturObjektDokumentService service = new KulturObjektDokumentService(
+        kulturObjektDokumentRepositoryMOCK,
+        identifikationRepositoryMOCK,
+        suchDokumentServiceMOCK,
+        beschreibungServiceMOCK, dokumentSperreServiceMOCK, kafkaIndexingProducerMOCK,
+        beschreibungsRepositoryMOCK,
+        purlServiceMOCK,
+        papierkorbServiceMOCK,
+        false,
+        teiXmlTransformationServiceMock,
+        teiXmlValidationServiceMock);
+    service.setRegistrierungConfig(20, 50);
+
+    List<Long> fortschritt = new ArrayList<>();
+    Set<String> signaturen = new HashSet<>();
+
+    long registriert = service.registrieren(new Bearbeiter("1", "Unbekannter Tester"), ort, koerperschaft,
+        () -> Files.newInputStream(csvFile), (kods, anzahl, gesamt, committed) -> {
+          kods.forEach(kod -> signaturen.add(kod.getGueltigeSignatur()));
+          fortschritt.add(anzahl);
+          assertEquals(53, gesamt);
+        });
+
+    assertEquals(53, registriert);
+    assertEquals(List.of(20L, 40L, 53L), fortschritt);
+    assertEquals(53, signaturen.size());
+    assertTrue(signaturen.contains("Cbm Cat. 1"));
+
+    verify(kulturObjektDokumentRepositoryMOCK, times(3)).findByGueltigeIdentifikationen(any());
+    verify(kulturObjektDokumentRepositoryMOCK, times(53)).save(any());
+    verify(suchDokumentServiceMOCK, times(3)).kodsUebernehmen(any());
+  }
+
+  @Test
+  void testRegistrierenSignaturDateiWithErrors() throws Exception {
+    Path csvFile = Paths.get("src", "test", "resources", "BSB_SignList.csv");
+
+    NormdatenReferenz ort = new NormdatenReferenz(TEIValues.UUID_PREFIX + UUID.randomUUID(), "Berlin", "4005728-8");
+    NormdatenReferenz koerperschaft = new NormdatenReferenz(TEIValues.UUID_PREFIX + UUID.randomUUID(),
+        "Staatsbibliothek zu Berlin", "234234-x");
+
+    KulturObjektDokumentService service = new KulturObjektDokumentService(
+        kulturObjektDokumentRepositoryMOCK,
+        identifikationRepositoryMOCK,
+        suchDokumentServiceMOCK,
+        beschreibungServiceMOCK, dokumentSperreServiceMOCK, kafkaIndexingProducerMOCK,
+        beschreibungsRepositoryMOCK,
+        purlServiceMOCK,
+        papierkorbServiceMOCK,
+        false,
+        teiXmlTransformationServiceMock,
+        teiXmlValidationServiceMock);
+
+    byte[] mehrfach = (Files.readString(csvFile, StandardCharsets.UTF_8) + "\"Ms. lat. oct. 118\"\n")
+        .getBytes(StandardCharsets.UTF_8);
+
+    KulturObjektDokumentRegistrierenException exception = assertThrows(
+        KulturObjektDokumentRegistrierenException.class,
+        () -> service.registrieren(new Bearbeiter("1", "Unbekannter Tester"), ort, koerperschaft,
+            () -> new ByteArrayInputStream(mehrfach), null));
+
+    assertEquals("Gültige Signatur mehrfach in Datei vorhanden: Ms. lat. oct. 118", exception.getMessage());
+    assertEquals(ERROR_TYPE.GUELTIGE_SIGNATUR_IN_DATEI, exception.getErrorType());
+    assertEquals(1, exception.getKodFailureList().size());
+
+    StringBuilder csv = new StringBuilder();
+    for (int i = 0; i < 6000; i++) {
+      csv.append("\"Cod. ").append(i).append("\"\n");
+    }
+    byte[] latin1 = (csv + "\"Cod. I.2.2º 1\"\n").getBytes(StandardCharsets.ISO_8859_1);
+
+    exception = assertThrows(KulturObjektDokumentRegistrierenException.class,
+        () -> service.registrieren(new Bearbeiter("1", "Unbekannter Tester"), ort, koerperschaft,
+            () -> new ByteArrayInputStream(latin1), null));
+
+    assertTrue(exception.getMessage().startsWith("Signaturen CSV Datei hat keine UTF-8- oder US-ASCII-Codierung!"),
+        exception.getMessage());
+
+    verify(kulturObjektDokumentRepositoryMOCK, never()).save(any());
+  }
+
   @Test
   void testregistrierenWithTechnicalError() {
     Path csvFile = Paths.get("src", "test", "resources", "BSB_SignList.csv");
@@ -600,8 +696,7 @@ class KulturObjektDokumentServiceTest {
         .withGueltigerIdentifikation(unkownIdentifikation)
         .build();
 
-    when(kulturObjektDokumentRepositoryMOCK.findByIdentifikationIdentAndBesitzerIDAndAufbewahrungsortID("Signatur", "1",
-        "2"))
+    when(kulturObjektDokumentRepositoryMOCK.findByGueltigeIdentifikationen(List.of(identifikation)))
         .thenReturn(List.of(kulturObjektDokumentAlreadyExist));
 
     List<KulturObjektDokument> result;
@@ -618,6 +713,11 @@ class KulturObjektDokumentServiceTest {
     assertNotNull(result);
     assertTrue(result.isEmpty());
 
+    result = service.checkIfKulturObjektAlreadyExists(List.of());
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    verify(kulturObjektDokumentRepositoryMOCK, times(3)).findByGueltigeIdentifikationen(any());
   }
 
   @Test
@@ -697,12 +797,51 @@ class KulturObjektDokumentServiceTest {
 
     verify(kulturObjektDokumentRepositoryMOCK, times(1)).save(kulturObjektDokument);
 
-    verify(suchDokumentServiceMOCK, times(1)).kodUebernehmen(kulturObjektDokument);
+    verify(kulturObjektDokumentRepositoryMOCK, times(1)).flushAndClear();
+
+    verify(suchDokumentServiceMOCK, times(1)).kodsUebernehmen(List.of(kulturObjektDokument));
 
     verify(kafkaIndexingProducerMOCK, times(1)).sendKulturobjektDokumentAsActivityStreamMessage(
         kulturObjektDokument, ActivityStreamAction.ADD,true,SYSTEM_USERNAME);
   }
 
+  @Test
+  void testsaveKulturObjektDokumentInSystemInChunks() throws Exception {
+    List<KulturObjektDokument> kods = List.of(createKulturObjektDokument(), createKulturObjektDokument(),
+        createKulturObjektDokument());
+
+    KulturObjektDokumentService service = new KulturObjektDokumentService(
+        kulturObjektDokumentRepositoryMOCK,
+        identifikationRepositoryMOCK,
+        suchDokumentServiceMOCK,
+        beschreibungServiceMOCK, dokumentSperreServiceMOCK, kafkaIndexingProducerMOCK,
+        beschreibungsRepositoryMOCK,
+        purlServiceMOCK,
+        papierkorbServiceMOCK,
+        false,
+        teiXmlTransformationServiceMock,
+        teiXmlValidationServiceMock);
+    service.setRegistrierungConfig(2, 1);
+
+    service.saveKulturObjektDokumentInSystem(kods);
+
+    verify(kulturObjektDokumentRepositoryMOCK, times(3)).save(any());
+    verify(kulturObjektDokumentRepositoryMOCK, times(3)).flushAndClear();
+    verify(suchDokumentServiceMOCK, times(1)).kodsUebernehmen(kods.subList(0, 2));
+    verify(suchDokumentServiceMOCK, times(1)).kodsUebernehmen(kods.subList(2, 3));
+    verify(kafkaIndexingProducerMOCK, times(3)).sendKulturobjektDokumentAsActivityStreamMessage(
+        any(), eq(ActivityStreamAction.ADD), eq(true), eq(SYSTEM_USERNAME));
+
+    Mockito.doThrow(new SolrUebernahmeException("Solr Fehler!")).when(suchDokumentServiceMOCK)
+        .kodsUebernehmen(kods.subList(2, 3));
+
+    Throwable error = Assertions.assertThrows(KulturObjektDokumentRegistrierenException.class,
+        () -> service.saveKulturObjektDokumentInSystem(kods));
+
+    assertEquals("1 Kulturobjektdokumente konnten nicht gespeichert werden! Solr Fehler! "
+        + "Bereits gespeichert wurden 2 von 3 Kulturobjektdokumenten.", error.getMessage());
+  }
+
   @Test
   void testAddKulturObjektDokumentToActivityStreamMessage() throws Exception {
     ActivityStream message = ActivityStream.builder().build();
@@ -828,7 +967,7 @@ class KulturObjektDokumentServiceTest {
 
     verify(kulturObjektDokumentRepositoryMOCK, times(1)).save(result);
 
-    verify(suchDokumentServiceMOCK, times(1)).kodUebernehmen(result);
+    verify(suchDokumentServiceMOCK, times(1)).kodTeilweiseUebernehmen(result);
 
     verify(kafkaIndexingProducerMOCK, times(1)).sendKulturobjektDokumentAsActivityStreamMessage(
         result,ActivityStreamAction.UPDATE,true,SYSTEM_USERNAME);
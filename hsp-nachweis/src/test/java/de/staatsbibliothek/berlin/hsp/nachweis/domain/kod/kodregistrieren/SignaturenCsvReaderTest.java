@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodregistrieren;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.KulturObjektDokumentService;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class SignaturenCsvReaderTest {
+
+  @Test
+  void testReadSignaturen() throws Exception {
+    String csv = "\uFEFF\"Cbm Cat. 1\"$\"Codices bavarici monacenses Catalogi 1\"$\"Clm 1330\"\r\n"
+        + "\r\n"
+        + "  \"Cbm Cat. 10\" $ \"Cbm. Cat. 10\"\n"
+        + "\"Cbm Cat. 10 a\"$\"\"$\"Cbm Cat. 10(A\"\n";
+
+    try (SignaturenCsvReader reader = new SignaturenCsvReader(new StringReader(csv))) {
+      assertEquals(List.of("Cbm Cat. 1", "Codices bavarici monacenses Catalogi 1", "Clm 1330"),
+          reader.readSignaturen());
+      assertEquals(List.of("Cbm Cat. 10", "Cbm. Cat. 10"), reader.readSignaturen());
+      assertEquals(List.of("Cbm Cat. 10 a"), reader.readSignaturen());
+      assertNull(reader.readSignaturen());
+      assertEquals(3, reader.getLineNumber());
+    }
+  }
+
+  @Test
+  void testReadSignaturenWithoutLineBreakAtEnd() throws Exception {
+    try (SignaturenCsvReader reader = new SignaturenCsvReader(new StringReader("\"Cbm Cat. 1\"$\"Clm\n1330\""))) {
+      assertEquals(List.of("Cbm Cat. 1", "Clm1330"), reader.readSignaturen());
+      assertNull(reader.readSignaturen());
+    }
+  }
+
+  @Test
+  void testBlankLinesAreSkippedLikeTheScanner() throws Exception {
+    String csv = "\"Cbm Cat. 1\"$\"Clm 1330\"\r\n"
+        + "\r\n"
+        + "\n"
+        + "\"Cbm Cat. 2\"\n"
+        + "   \n"
+        + "\"Cbm Cat. 3\"$\"\"$\"Cbm Cat. 3a\"\n"
+        + "\n"
+        + "\n";
+
+    List<List<String>> scanned = new ArrayList<>();
+    try (Scanner scanner = new Scanner(csv)) {
+      scanner.useDelimiter(KulturObjektDokumentService.PATTERN_END_CSV_LINE);
+      while (scanner.hasNext()) {
+        String line = scanner.next();
+        if (line.trim().isEmpty()) {
+          break;
+        }
+        scanned.add(KulturObjektDokumentRegistry.splitSignaturen(line));
+      }
+    }
+
+    List<List<String>> read = new ArrayList<>();
+    try (SignaturenCsvReader reader = new SignaturenCsvReader(new StringReader(csv))) {
+      List<String> signaturen;
+      while ((signaturen = reader.readSignaturen()) != null) {
+        read.add(signaturen);
+      }
+    }
+
+    assertEquals(List.of(List.of("Cbm Cat. 1", "Clm 1330"), List.of("Cbm Cat. 2"), List.of("Cbm Cat. 3")), read);
+    assertEquals(scanned, read);
+  }
+
+  @Test
+  void testReadSignaturenFromFile() throws IOException, KulturObjektDokumentRegistrierenException {
+    Path csvFile = Paths.get("src", "test", "resources", "BSB_SignList.csv");
+
+    int lines = 0;
+    try (SignaturenCsvReader reader = new SignaturenCsvReader(
+        new InputStreamReader(Files.newInputStream(csvFile), StandardCharsets.UTF_8))) {
+      while (reader.readSignaturen() != null) {
+        lines++;
+      }
+    }
+    assertEquals(53, lines);
+  }
+
+  @Test
+  void testReadSignaturenWithErrors() {
+    assertError("\"\"$\"Cbm. Cat. 1\"\n", "Wrong CSV Signatur file. -> GültigeSignatur is leer.");
+    assertError("\"Cbm Cat. 1\"\"Cbm. Cat. 1\"\n", "More or less then two quotes.");
+    assertError("\"Cbm Cat. 1\"$\"Cbm. Cat. 1\n", "More or less then two quotes.");
+    assertError("Cbm Cat. 1$\"Cbm. Cat. 1\"\n", "Line has to start with \" and it has to end with \"");
+    assertError("\"Cbm Cat. 1\"$\n\"Cbm Cat. 2\"\n", "Line has to start with \" and it has to end with \"");
+  }
+
+  private void assertError(String csv, String message) {
+    KulturObjektDokumentRegistrierenException exception = assertThrows(
+        KulturObjektDokumentRegistrierenException.class,
+        () -> new SignaturenCsvReader(new StringReader(csv)).readSignaturen());
+    assertTrue(exception.getMessage().startsWith(message), exception.getMessage());
+  }
+
+}
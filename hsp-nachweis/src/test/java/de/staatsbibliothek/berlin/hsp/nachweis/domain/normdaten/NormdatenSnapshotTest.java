@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz.NormdatenReferenzBuilder;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VarianterName;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class NormdatenSnapshotTest {
+
+  private final NormdatenReferenz stabi = new NormdatenReferenzBuilder()
+      .withId("NORM-1")
+      .withName("Staatsbibliothek zu Berlin")
+      .withGndID("2031364-6")
+      .addVarianterName(new VarianterName("SBB-PK", null))
+      .build();
+
+  private final NormdatenReferenz hab = new NormdatenReferenzBuilder()
+      .withId("NORM-2")
+      .withName("Herzog August Bibliothek")
+      .withGndID("1004201-5")
+      .build();
+
+  private final NormdatenReferenz ub = new NormdatenReferenzBuilder()
+      .withId("NORM-3")
+      .withName("Universitätsbibliothek Leipzig")
+      .withGndID("36132-6")
+      .build();
+
+  private NormdatenReferenzBoundary boundary;
+  private NormdatenSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    boundary = mock(NormdatenReferenzBoundary.class);
+    when(boundary.findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true))
+        .thenReturn(Set.of(stabi, hab, ub));
+    snapshot = new NormdatenSnapshot(boundary, true, 0);
+  }
+
+  @Test
+  void testFindAll() {
+    assertEquals(List.of(hab, stabi, ub), snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME));
+    assertEquals(List.of(hab, stabi, ub), snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME));
+
+    verify(boundary, times(1)).findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+  }
+
+  @Test
+  void testFindByPrefix() {
+    assertEquals(List.of(stabi), find("Staats"));
+    assertEquals(List.of(stabi), find(" berlin "));
+    assertEquals(List.of(stabi), find("sbb"));
+    assertEquals(List.of(stabi), find("PK"));
+    assertEquals(List.of(hab), find("Bibl"));
+    assertEquals(List.of(ub), find("universitätsbibliothek"));
+    assertEquals(List.of(ub), find("Universität"));
+    assertEquals(List.of(hab), find("1004201"));
+    assertEquals(List.of(ub), find("norm-3"));
+    assertTrue(find("Bonn").isEmpty());
+    assertTrue(find(" ").isEmpty());
+
+    verify(boundary, times(1)).findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+  }
+
+  @Test
+  void testNotAvailable() {
+    when(boundary.findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true))
+        .thenThrow(new IllegalStateException("Normdatenservice not available"));
+
+    assertTrue(snapshot.findAll(NormdatenReferenz.ORT_TYPE_NAME).isEmpty());
+    assertFalse(snapshot.findByPrefix("Berlin", NormdatenReferenz.ORT_TYPE_NAME).isPresent());
+    assertFalse(snapshot.findByPrefix("Berlin", NormdatenReferenz.PERSON_TYPE_NAME).isPresent());
+
+    verify(boundary, times(2)).findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true);
+  }
+
+  @Test
+  void testDisabled() {
+    snapshot = new NormdatenSnapshot(boundary, false, 0);
+
+    assertEquals(List.of(hab, stabi, ub), snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME));
+    assertFalse(snapshot.findByPrefix("Staats", NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME).isPresent());
+  }
+
+  @Test
+  void testRefresh() {
+    List<NormdatenReferenz> before = snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+
+    snapshot.refresh(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    assertSame(before, snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME));
+
+    NormdatenReferenz renamed = new NormdatenReferenzBuilder()
+        .withId("NORM-2")
+        .withName("Herzog August Bibliothek Wolfenbüttel")
+        .withGndID("1004201-5")
+        .build();
+    NormdatenReferenz stabiCopy = new NormdatenReferenzBuilder()
+        .withId("NORM-1")
+        .withName("Staatsbibliothek zu Berlin")
+        .withGndID("2031364-6")
+        .addVarianterName(new VarianterName("SBB-PK", null))
+        .build();
+    when(boundary.findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true))
+        .thenReturn(Set.of(stabiCopy, renamed));
+
+    snapshot.refresh(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    List<NormdatenReferenz> after = snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    assertNotSame(before, after);
+    assertEquals(2, after.size());
+    assertSame(renamed, after.get(0));
+    assertSame(stabi, after.get(1));
+    assertEquals(List.of(renamed), find("wolfen"));
+    assertTrue(find("Leipzig").isEmpty());
+  }
+
+  @Test
+  void testInvalidate() {
+    snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    when(boundary.findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true))
+        .thenReturn(Set.of(new NormdatenReferenzBuilder().withId("NORM-4").withName("Berlin").build()));
+    snapshot.findAll(NormdatenReferenz.ORT_TYPE_NAME);
+
+    when(boundary.findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true))
+        .thenReturn(Set.of(stabi, hab));
+    snapshot.invalidate(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+
+    assertEquals(List.of(hab, stabi), snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME));
+    assertEquals(1, snapshot.findAll(NormdatenReferenz.ORT_TYPE_NAME).size());
+    verify(boundary, times(2)).findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+    verify(boundary, times(1)).findAllByIdOrNameAndType(null, NormdatenReferenz.ORT_TYPE_NAME, true);
+  }
+
+  @Test
+  void testStaleTypeIsRefreshedOnUse() {
+    AtomicLong clock = new AtomicLong(1000);
+    snapshot = new NormdatenSnapshot(boundary, true, 100, clock::get, Runnable::run);
+
+    snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    clock.addAndGet(99);
+    snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    verify(boundary, times(1)).findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+
+    clock.addAndGet(1);
+    snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    snapshot.findAll(NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    verify(boundary, times(2)).findAllByIdOrNameAndType(null, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+    verify(boundary, times(0)).findAllByIdOrNameAndType(null, NormdatenReferenz.PERSON_TYPE_NAME, true);
+  }
+
+  private List<NormdatenReferenz> find(String prefix) {
+    Optional<List<NormdatenReferenz>> found = snapshot.findByPrefix(prefix, NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME);
+    assertTrue(found.isPresent());
+    return found.get();
+  }
+}
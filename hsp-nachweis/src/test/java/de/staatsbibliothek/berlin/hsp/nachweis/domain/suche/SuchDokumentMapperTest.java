@@ -41,7 +41,9 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.Identifikation.Id
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.PublikationsTyp;
 import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrIndexFields;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
@@ -152,4 +154,48 @@ class SuchDokumentMapperTest {
     assertNull(suchDokument.getPubliziert());
     assertEquals(0, suchDokument.getAutoren().size());
   }
+
+  @Test
+  void testMapTeilweiseKOD() {
+    final KulturObjektDokument kod = new KulturObjektDokumentBuilder()
+        .withId("1234")
+        .withGueltigerIdentifikation(new IdentifikationBuilder()
+            .withIdentTyp(IdentTyp.GUELTIGE_SIGNATUR)
+            .withIdent("Signatur")
+            .build())
+        .withDigitalisaten(Set.of(Digitalisat.DigitalisatBuilder().withID("DIGI-1").build()))
+        .build();
+
+    SuchDokumentUpdate suchDokumentUpdate = SuchDokumentMapper.mapTeilweise(kod, "kodAsJson");
+
+    assertNotNull(suchDokumentUpdate);
+    assertEquals("1234", suchDokumentUpdate.getId());
+    assertEquals(Set.of(SolrIndexFields.FIELD_CONTAINS_DIGITALISAT, SolrIndexFields.FIELD_SEARCHABLE_VALUES),
+        suchDokumentUpdate.getChangedFields());
+    assertEquals(Boolean.TRUE, suchDokumentUpdate.getChangedValue(SolrIndexFields.FIELD_CONTAINS_DIGITALISAT));
+    assertEquals("kodAsJson", suchDokumentUpdate.getChangedValue(SolrIndexFields.FIELD_SEARCHABLE_VALUES));
+    assertEquals(Map.of(SuchDokumentUpdate.MODIFIER_SET, "kodAsJson"),
+        suchDokumentUpdate.getFieldValue(SolrIndexFields.FIELD_SEARCHABLE_VALUES));
+    assertEquals(SuchDokumentUpdate.VERSION_MUST_EXIST,
+        suchDokumentUpdate.getFieldValue(SolrIndexFields.FIELD_VERSION));
+
+    assertTrue(suchDokumentUpdate.getSuchDokument().isPresent());
+    assertEquals("1234", suchDokumentUpdate.getSuchDokument().get().getId());
+    assertEquals("Signatur", suchDokumentUpdate.getSuchDokument().get().getSignatur());
+  }
+
+  @Test
+  void testMapTeilweiseBeschreibung() {
+    Beschreibung beschreibung = new Beschreibung.BeschreibungsBuilder()
+        .withId("123")
+        .build();
+
+    SuchDokumentUpdate suchDokumentUpdate = SuchDokumentMapper.mapTeilweise(beschreibung, "beschreibungAsJson");
+
+    assertEquals("123", suchDokumentUpdate.getId());
+    assertEquals(Set.of(SolrIndexFields.FIELD_SEARCHABLE_VALUES), suchDokumentUpdate.getChangedFields());
+    assertEquals("beschreibungAsJson", suchDokumentUpdate.getChangedValue(SolrIndexFields.FIELD_SEARCHABLE_VALUES));
+    assertTrue(suchDokumentUpdate.getSuchDokument().isPresent());
+    assertEquals("123", suchDokumentUpdate.getSuchDokument().get().getId());
+  }
 }
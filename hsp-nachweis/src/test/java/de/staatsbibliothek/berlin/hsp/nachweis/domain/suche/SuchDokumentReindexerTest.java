@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.suche;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentReindexer.ChunkLoader;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentReindexer.IdCursor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class SuchDokumentReindexerTest {
+
+  static final List<String> IDS = IntStream.range(0, 1005)
+      .mapToObj(i -> String.format("HSP-%05d", i))
+      .collect(Collectors.toList());
+
+  static final IdCursor ID_CURSOR = (lastId, limit) -> IDS.stream()
+      .filter(id -> lastId == null || id.compareTo(lastId) > 0)
+      .limit(limit)
+      .collect(Collectors.toList());
+
+  static final ChunkLoader CHUNK_LOADER = ids -> ids.stream()
+      .map(id -> SuchDokument.builder().withId(id).build())
+      .collect(Collectors.toList());
+
+  ExecutorService executorService;
+
+  @BeforeEach
+  void setUp() {
+    executorService = Executors.newFixedThreadPool(5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  void testReindexParallel() throws Exception {
+    Set<String> sentIds = ConcurrentHashMap.newKeySet();
+    AtomicInteger chunks = new AtomicInteger();
+
+    long count = new SuchDokumentReindexer(executorService, 4, 20, 2)
+        .reindex(ID_CURSOR, CHUNK_LOADER, suchDokumente -> {
+          chunks.incrementAndGet();
+          suchDokumente.forEach(suchDokument -> sentIds.add(suchDokument.getId()));
+        });
+
+    assertEquals(IDS.size(), count);
+    assertEquals(Set.copyOf(IDS), sentIds);
+    assertEquals(51, chunks.get());
+  }
+
+  @Test
+  void testReindexSequential() throws Exception {
+    List<String> sentIds = new ArrayList<>();
+
+    long count = new SuchDokumentReindexer(null, 4, 100, 1)
+        .reindex(ID_CURSOR, CHUNK_LOADER, suchDokumente -> suchDokumente
+            .forEach(suchDokument -> sentIds.add(suchDokument.getId())));
+
+    assertEquals(IDS.size(), count);
+    assertEquals(IDS, sentIds);
+  }
+
+  @Test
+  void testReindexLoaderFailure() {
+    ChunkLoader failingLoader = ids -> {
+      if (ids.contains("HSP-00500")) {
+        throw new SolrUebernahmeException("Loader failed");
+      }
+      return CHUNK_LOADER.load(ids);
+    };
+
+    SolrUebernahmeException exception = assertThrows(SolrUebernahmeException.class,
+        () -> new SuchDokumentReindexer(executorService, 4, 20, 2)
+            .reindex(ID_CURSOR, failingLoader, suchDokumente -> {
+            }));
+
+    assertEquals("Loader failed", exception.getMessage());
+  }
+
+  @Test
+  void testReindexSenderFailure() {
+    AtomicInteger chunks = new AtomicInteger();
+
+    SolrUebernahmeException exception = assertThrows(SolrUebernahmeException.class,
+        () -> new SuchDokumentReindexer(executorService, 4, 20, 2)
+            .reindex(ID_CURSOR, CHUNK_LOADER, suchDokumente -> {
+              chunks.incrementAndGet();
+              throw new SolrUebernahmeException("Sender failed");
+            }));
+
+    assertEquals("Sender failed", exception.getMessage());
+    assertTrue(chunks.get() < 51);
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new SuchDokumentReindexer(executorService, 0, 20, 2));
+    assertThrows(IllegalArgumentException.class, () -> new SuchDokumentReindexer(executorService, 4, 0, 2));
+    assertThrows(IllegalArgumentException.class, () -> new SuchDokumentReindexer(executorService, 4, 20, 0));
+  }
+}
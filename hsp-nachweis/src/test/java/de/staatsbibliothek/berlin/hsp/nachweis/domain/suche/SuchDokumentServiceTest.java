@@ -49,6 +49,7 @@ import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrServiceEx
 import io.quarkus.test.TestTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import javax.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -89,6 +90,20 @@ class SuchDokumentServiceTest {
     Mockito.verify(suchPortMock, Mockito.times(1)).update(eq(true), any(SuchDokument.class));
   }
 
+  @Test
+  void testKodsUebernehmen() throws Exception {
+    SuchDokumentService testling = createTestling();
+
+    testling.kodsUebernehmen(List.of());
+    Mockito.verifyNoInteractions(suchPortMock);
+
+    testling.kodsUebernehmen(List.of(createKulturObjektDokument("HSP-323", "456"),
+        createKulturObjektDokument("HSP-324", "457")));
+
+    Mockito.verify(suchPortMock, Mockito.times(1))
+        .update(eq(true), any(SuchDokument.class), any(SuchDokument.class));
+  }
+
   @Test
   void testBeschreibungUebernehmen() throws Exception {
     SuchDokumentService testling = createTestling();
@@ -107,6 +122,37 @@ class SuchDokumentServiceTest {
     assertTrue(exception.getMessage().contains("Test"));
   }
 
+  @Test
+  void testKodTeilweiseUebernehmen() throws Exception {
+    SuchDokumentService testling = createTestling();
+
+    KulturObjektDokument kod = createKulturObjektDokument("HSP-323", "456");
+
+    testling.kodTeilweiseUebernehmen(kod);
+
+    Mockito.verify(suchPortMock, Mockito.times(1)).partialUpdate(any(SuchDokumentUpdate.class));
+    Mockito.verify(suchPortMock, Mockito.never()).update(anyBoolean(), any(SuchDokument.class));
+
+    assertThrows(SolrUebernahmeException.class, () -> testling.kodTeilweiseUebernehmen(null));
+  }
+
+  @Test
+  void testBeschreibungTeilweiseUebernehmen() throws Exception {
+    SuchDokumentService testling = createTestling();
+
+    Beschreibung beschreibung = createBeschreibung("HSP-1", "123");
+
+    testling.beschreibungTeilweiseUebernehmen(beschreibung);
+
+    Mockito.verify(suchPortMock, Mockito.times(1)).partialUpdate(any(SuchDokumentUpdate.class));
+
+    Mockito.doThrow(new SolrServiceException("Test"))
+        .when(suchPortMock).partialUpdate(any(SuchDokumentUpdate.class));
+    SolrUebernahmeException exception = assertThrows(SolrUebernahmeException.class,
+        () -> testling.beschreibungTeilweiseUebernehmen(beschreibung));
+    assertTrue(exception.getMessage().contains("Test"));
+  }
+
   @Test
   void testSuchDokumentUebernehmen() throws SolrServiceException, SolrUebernahmeException {
     SuchDokumentService testling = createTestling();
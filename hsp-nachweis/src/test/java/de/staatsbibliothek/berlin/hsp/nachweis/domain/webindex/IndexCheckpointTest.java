@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatus.IndexJobStatusBuilder;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexService.IndexProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class IndexCheckpointTest {
+
+  private IndexJobStatusBoundary indexJobStatusBoundary;
+  private IndexJobStatus indexJobStatus;
+  private IndexCheckpoint indexCheckpoint;
+
+  @BeforeEach
+  void setUp() {
+    indexJobStatusBoundary = mock(IndexJobStatusBoundary.class);
+    indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(7L).build();
+    indexJobStatus.setState(IndexJobState.RUNNING);
+    doAnswer(invocation -> {
+      indexJobStatus.setState(invocation.getArgument(1));
+      return null;
+    }).when(indexJobStatusBoundary).finish(any(), any());
+
+    IndexJob indexJob = new IndexJob(indexJobStatus);
+    indexCheckpoint = new IndexCheckpoint(indexJobStatusBoundary, indexJobStatus,
+        new IndexProgress(indexJob, 40, 0), null, 0);
+  }
+
+  @Test
+  void testHeartbeat() {
+    indexCheckpoint.heartbeat();
+    verify(indexJobStatusBoundary, times(1)).heartbeat(7L);
+
+    indexCheckpoint.failed("HSP-a", new IllegalStateException("test"));
+    indexCheckpoint.heartbeat();
+    verify(indexJobStatusBoundary, times(1)).heartbeat(7L);
+  }
+
+  @Test
+  void testCommittedAdvancesOnlyContiguousChunks() {
+    indexCheckpoint.submitted("HSP-a");
+    indexCheckpoint.submitted("HSP-b");
+    indexCheckpoint.submitted("HSP-c");
+
+    indexCheckpoint.committed("HSP-b", 10);
+    assertNull(indexCheckpoint.getCheckpoint());
+    assertEquals(0, indexCheckpoint.getIndexed());
+    verify(indexJobStatusBoundary, never()).saveProgress(indexJobStatus);
+
+    indexCheckpoint.committed("HSP-a", 10);
+    assertEquals("HSP-b", indexCheckpoint.getCheckpoint());
+    assertEquals(20, indexCheckpoint.getIndexed());
+    assertEquals("HSP-b", indexJobStatus.getCheckpoint());
+    assertEquals("50%", indexJobStatus.getStatusInPercentage());
+
+    indexCheckpoint.committed("HSP-c", 10);
+    assertEquals("HSP-c", indexCheckpoint.getCheckpoint());
+    assertEquals(30, indexJobStatus.getIndexed());
+    verify(indexJobStatusBoundary, times(2)).saveProgress(indexJobStatus);
+  }
+
+  @Test
+  void testCancelled() {
+    when(indexJobStatusBoundary.isCancelled(7L)).thenReturn(true);
+
+    indexCheckpoint.submitted("HSP-a");
+    indexCheckpoint.committed("HSP-a", 10);
+
+    assertTrue(indexCheckpoint.isStopped());
+
+    assertEquals(IndexJobState.CANCELLED, indexCheckpoint.finish());
+    verify(indexJobStatusBoundary, times(1)).finish(indexJobStatus, IndexJobState.CANCELLED);
+  }
+
+  @Test
+  void testFailed() {
+    indexCheckpoint.submitted("HSP-a");
+    indexCheckpoint.submitted("HSP-b");
+
+    indexCheckpoint.committed("HSP-a", 10);
+    indexCheckpoint.failed("HSP-b", new IllegalStateException("test"));
+
+    assertTrue(indexCheckpoint.isStopped());
+    assertEquals("HSP-a", indexCheckpoint.getCheckpoint());
+
+    assertEquals(IndexJobState.FAILED, indexCheckpoint.finish());
+    verify(indexJobStatusBoundary, times(1)).finish(indexJobStatus, IndexJobState.FAILED);
+  }
+
+  @Test
+  void testFinishedWithoutPersistence() {
+    IndexCheckpoint inMemory = new IndexCheckpoint(null, null,
+        new IndexProgress(new IndexJob(indexJobStatus), 10, 0), "HSP-0", 5);
+
+    inMemory.submitted("HSP-a");
+    inMemory.committed("HSP-a", 5);
+
+    assertFalse(inMemory.isStopped());
+    assertEquals(IndexJobState.FINISHED, inMemory.finish());
+    assertEquals(10, inMemory.getIndexed());
+    assertNull(indexJobStatus.getCheckpoint());
+  }
+}
@@ -24,10 +24,17 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatus.IndexJobStatusBuilder;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -65,4 +72,58 @@ class IndexJobStatusServiceTest {
     verify(indexJobStatusRepository, times(1)).delete(indexJobStatus);
 
   }
+
+  @Test
+  void testSaveNew() {
+    IndexJobStatusRepository indexJobStatusRepository = Mockito.mock(IndexJobStatusRepository.class);
+    IndexJobStatusService service = new IndexJobStatusService(indexJobStatusRepository);
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().build();
+
+    assertEquals(Optional.of(indexJobStatus), service.save(indexJobStatus));
+
+    verify(indexJobStatusRepository, times(1)).persist(indexJobStatus);
+    verify(indexJobStatusRepository, never()).save(indexJobStatus);
+  }
+
+  @Test
+  void testCancel() {
+    IndexJobStatusRepository indexJobStatusRepository = Mockito.mock(IndexJobStatusRepository.class);
+    IndexJobStatusService service = new IndexJobStatusService(indexJobStatusRepository);
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(123).build();
+
+    when(indexJobStatusRepository.updateState(123L, IndexJobState.RUNNING, IndexJobState.CANCELLED))
+        .thenReturn(true);
+    when(indexJobStatusRepository.findByIdOptional(123L)).thenReturn(Optional.of(indexJobStatus));
+
+    assertEquals(Optional.of(indexJobStatus), service.cancel(123L));
+    assertEquals(Optional.empty(), service.cancel(124L));
+  }
+
+  @Test
+  void testClaimForResume() {
+    IndexJobStatusRepository indexJobStatusRepository = Mockito.mock(IndexJobStatusRepository.class);
+    IndexJobStatusService service = new IndexJobStatusService(indexJobStatusRepository);
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(123).build();
+
+    when(indexJobStatusRepository.claimForResume(eq(123L), any(LocalDateTime.class))).thenReturn(true);
+    when(indexJobStatusRepository.findByIdOptional(123L)).thenReturn(Optional.of(indexJobStatus));
+
+    assertEquals(Optional.of(indexJobStatus), service.claimForResume(123L));
+    assertEquals(Optional.empty(), service.claimForResume(124L));
+    verify(indexJobStatusRepository, never()).findByIdOptional(124L);
+  }
+
+  @Test
+  void testFinishAfterCancel() {
+    IndexJobStatusRepository indexJobStatusRepository = Mockito.mock(IndexJobStatusRepository.class);
+    IndexJobStatusService service = new IndexJobStatusService(indexJobStatusRepository);
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(123).build();
+
+    when(indexJobStatusRepository.findStateById(123L)).thenReturn(Optional.of(IndexJobState.CANCELLED));
+
+    service.finish(indexJobStatus, IndexJobState.FINISHED);
+
+    assertEquals(IndexJobState.CANCELLED, indexJobStatus.getState());
+    verify(indexJobStatusRepository, times(1)).updateProgress(indexJobStatus);
+  }
 }
@@ -25,10 +25,15 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexJobStatus.IndexJobStatusBuilder;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -50,4 +55,53 @@ class IndexJobTest {
     assertEquals("/rest/indexkods/status/23", indexJob.getUriToIndexJobStatus());
   }
 
+  @Test
+  void testResume() {
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(24L).build();
+    indexJobStatus.setFromId("HSP-1");
+    indexJobStatus.setToId("HSP-8");
+    indexJobStatus.setCheckpoint("HSP-4");
+    indexJobStatus.setState(IndexJobState.FAILED);
+
+    indexJob = new IndexJob(indexJobStatus);
+
+    assertEquals("/rest/indexkods/status/24", indexJob.getUriToIndexJobStatus());
+    assertEquals(Optional.of("HSP-1"), indexJob.getFromId());
+    assertEquals(Optional.of("HSP-8"), indexJob.getToId());
+    assertEquals(Optional.empty(), indexJob.getKodId());
+    verify(indexJobStatusBoundry, never()).save(any());
+  }
+
+  @Test
+  void testIsResumable() {
+    LocalDateTime now = LocalDateTime.now();
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(25L).build();
+
+    indexJobStatus.setState(IndexJobState.RUNNING);
+    indexJobStatus.setHeartbeatAt(now.minusMinutes(1));
+    indexJobStatus.setUpdatedAt(now.minus(IndexJobStatus.STALE_AFTER).minusMinutes(1));
+    assertFalse(indexJobStatus.isResumable(now));
+
+    indexJobStatus.setHeartbeatAt(now.minus(IndexJobStatus.STALE_AFTER).minusMinutes(1));
+    assertTrue(indexJobStatus.isResumable(now));
+
+    indexJobStatus.setState(IndexJobState.CANCELLED);
+    assertTrue(indexJobStatus.isResumable(now));
+
+    indexJobStatus.setState(IndexJobState.FINISHED);
+    assertFalse(indexJobStatus.isResumable(now));
+  }
+
+  @Test
+  void testDocumentsPerSecond() {
+    LocalDateTime now = LocalDateTime.now();
+    IndexJobStatus indexJobStatus = IndexJobStatusBuilder.anIndexJobStatus().withId(26L).build();
+    indexJobStatus.setIndexedAtStart(1000);
+    indexJobStatus.setIndexed(3000);
+    indexJobStatus.setStartedAt(now.minusSeconds(10));
+    indexJobStatus.setUpdatedAt(now);
+
+    assertEquals(200d, indexJobStatus.getDocumentsPerSecond());
+  }
+
 }
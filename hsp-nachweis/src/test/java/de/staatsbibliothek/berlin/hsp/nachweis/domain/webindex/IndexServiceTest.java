@@ -26,9 +26,13 @@ package de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex;
 
 import static de.staatsbibliothek.berlin.hsp.nachweis.domain.bearbeiter.BearbeiterBoundary.SYSTEM_USERNAME;
 import static java.nio.file.Files.newInputStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -41,6 +45,7 @@ import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.IdentTyp;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEI2BeschreibungMapper;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.TEIValues;
 import de.staatsbibliothek.berlin.hsp.mapper.tei.teifactories.KODTemplateMapper;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
 import de.staatsbibliothek.berlin.hsp.messaging.objectfactory.TEIObjectFactory;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
@@ -111,14 +116,15 @@ class IndexServiceTest {
 
     KulturObjektDokument kod = createDummyKulturObjektDokument(beschreibung);
 
-    when(kulturObjektDokumentRepository.findByIdOptional(any())).thenReturn(Optional.of(kod));
-    when(kulturObjektDokumentRepository.findById(any())).thenReturn(kod);
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of("1"))).thenReturn(List.of(kod));
 
     IndexJob indexJob = new IndexJob(indexJobStatusBoundry, "1", false);
 
     indexService.onSendFrontEndIndexEvent(indexJob);
 
-    verify(kafkaIndexingNoneTransactionalProducer, times(1)).sendKulturobjektDokumentAsActivityStreamMessage(kod,ActivityStreamAction.ADD,true,SYSTEM_USERNAME);
+    verify(kafkaIndexingNoneTransactionalProducer, times(1)).sendKulturobjektDokumenteAsActivityStreamMessages(
+        List.of(kod), ActivityStreamAction.ADD, true, SYSTEM_USERNAME);
+    verify(kulturObjektDokumentRepository, never()).findIdsAfter(any(), any(), anyInt());
   }
 
   @Test
@@ -134,16 +140,139 @@ class IndexServiceTest {
 
     KulturObjektDokument kod2 = createDummyKulturObjektDokument(beschreibung);
 
-    when(kulturObjektDokumentRepository.listAll()).thenReturn(List.of(kod, kod2));
-    when(kulturObjektDokumentRepository.findById(kod.getId())).thenReturn(kod);
-    when(kulturObjektDokumentRepository.findById(kod2.getId())).thenReturn(kod2);
+    when(kulturObjektDokumentRepository.findIdsAfter(null, null, DOCUMENTS_PER_UPDATE))
+        .thenReturn(List.of(kod.getId(), kod2.getId()));
+    when(kulturObjektDokumentRepository.findIdsAfter(kod2.getId(), null, DOCUMENTS_PER_UPDATE))
+        .thenReturn(List.of());
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of(kod.getId(), kod2.getId())))
+        .thenReturn(List.of(kod, kod2));
 
     IndexJob indexJob = new IndexJob(indexJobStatusBoundry);
 
     indexService.onSendFrontEndIndexEvent(indexJob);
 
-    verify(kafkaIndexingNoneTransactionalProducer, times(2)).sendKulturobjektDokumentAsActivityStreamMessage(any(),any(),
-        eq(true),eq(SYSTEM_USERNAME));
+    verify(kafkaIndexingNoneTransactionalProducer, times(1)).sendKulturobjektDokumenteAsActivityStreamMessages(
+        eq(List.of(kod, kod2)), any(), eq(true), eq(SYSTEM_USERNAME));
+    verify(kulturObjektDokumentRepository, never()).listAll();
+    verify(kulturObjektDokumentRepository, never()).findById(any());
+  }
+
+  @Test
+  void testIndexingInChunks() throws Exception {
+    TEI2BeschreibungMapper beschreibungMapper = new TEI2BeschreibungMapper();
+    Beschreibung beschreibung = beschreibungMapper.map(tei).get(0);
+
+    KulturObjektDokument kod = createDummyKulturObjektDokument(beschreibung);
+    KulturObjektDokument kod2 = createDummyKulturObjektDokument(beschreibung);
+
+    when(indexJobStatusRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(kulturObjektDokumentRepository.countIdsBetween(null, null)).thenReturn(2L);
+    when(kulturObjektDokumentRepository.findIdsAfter(null, null, 1)).thenReturn(List.of(kod.getId()));
+    when(kulturObjektDokumentRepository.findIdsAfter(kod.getId(), null, 1)).thenReturn(List.of(kod2.getId()));
+    when(kulturObjektDokumentRepository.findIdsAfter(kod2.getId(), null, 1)).thenReturn(List.of());
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of(kod.getId())))
+        .thenReturn(List.of(kod));
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of(kod2.getId())))
+        .thenReturn(List.of(kod2));
+    when(kafkaIndexingNoneTransactionalProducer.sendKulturobjektDokumenteAsActivityStreamMessages(any(), any(),
+        eq(true), eq(SYSTEM_USERNAME))).thenReturn(List.of(mock(ActivityStream.class)));
+
+    IndexService chunkedIndexService = new IndexService(kulturObjektDokumentRepository, kafkaIndexingProducer,
+        kafkaIndexingNoneTransactionalProducer, 1);
+    chunkedIndexService.setBeschreibungsRepository(beschreibungsRepository);
+    chunkedIndexService.setIndexJobStatusBoundary(indexJobStatusBoundry);
+    chunkedIndexService.setReindexConfig(1, 60000);
+
+    IndexJob indexJob = new IndexJob(indexJobStatusBoundry);
+    assertEquals(IndexJobState.FINISHED, chunkedIndexService.indexingInChunks(indexJob, ActivityStreamAction.ADD));
+
+    verify(kafkaIndexingNoneTransactionalProducer, times(2)).sendKulturobjektDokumenteAsActivityStreamMessages(
+        any(), eq(ActivityStreamAction.ADD), eq(true), eq(SYSTEM_USERNAME));
+    verify(beschreibungsRepository, times(2)).findByIds(List.of("1"));
+    verify(beschreibungsRepository, never()).findByIdOptional(any());
+    assertEquals("100%", indexJob.getIndexJobStatus().orElseThrow().getStatusInPercentage());
+    assertEquals(kod2.getId(), indexJob.getIndexJobStatus().orElseThrow().getCheckpoint());
+    assertEquals(2, indexJob.getIndexJobStatus().orElseThrow().getIndexed());
+    verify(indexJobStatusRepository, times(2)).updateProgress(any());
+  }
+
+  @Test
+  void testResumeIndexingInChunks() throws Exception {
+    TEI2BeschreibungMapper beschreibungMapper = new TEI2BeschreibungMapper();
+    Beschreibung beschreibung = beschreibungMapper.map(tei).get(0);
+
+    KulturObjektDokument kod = createDummyKulturObjektDokument(beschreibung);
+    KulturObjektDokument kod2 = createDummyKulturObjektDokument(beschreibung);
+
+    IndexJobStatus indexJobStatus = IndexJobStatus.IndexJobStatusBuilder.anIndexJobStatus().withId(5L).build();
+    indexJobStatus.setState(IndexJobState.FAILED);
+    indexJobStatus.setCheckpoint(kod.getId());
+    indexJobStatus.setIndexed(1);
+
+    when(indexJobStatusRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(kulturObjektDokumentRepository.countIdsBetween(null, null)).thenReturn(2L);
+    when(kulturObjektDokumentRepository.findIdsAfter(kod.getId(), null, 1)).thenReturn(List.of(kod2.getId()));
+    when(kulturObjektDokumentRepository.findIdsAfter(kod2.getId(), null, 1)).thenReturn(List.of());
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of(kod2.getId())))
+        .thenReturn(List.of(kod2));
+    when(kafkaIndexingNoneTransactionalProducer.sendKulturobjektDokumenteAsActivityStreamMessages(any(), any(),
+        eq(true), eq(SYSTEM_USERNAME))).thenReturn(List.of(mock(ActivityStream.class)));
+
+    IndexService chunkedIndexService = new IndexService(kulturObjektDokumentRepository, kafkaIndexingProducer,
+        kafkaIndexingNoneTransactionalProducer, 1);
+    chunkedIndexService.setIndexJobStatusBoundary(indexJobStatusBoundry);
+    chunkedIndexService.setReindexConfig(1, 60000);
+
+    assertEquals(IndexJobState.FINISHED,
+        chunkedIndexService.indexingInChunks(new IndexJob(indexJobStatus), ActivityStreamAction.ADD));
+
+    verify(kulturObjektDokumentRepository, never()).findIdsAfter(null, null, 1);
+    verify(kafkaIndexingNoneTransactionalProducer, times(1)).sendKulturobjektDokumenteAsActivityStreamMessages(
+        List.of(kod2), ActivityStreamAction.ADD, true, SYSTEM_USERNAME);
+    assertEquals(2, indexJobStatus.getIndexed());
+    assertEquals(1, indexJobStatus.getIndexedAtStart());
+    assertEquals("100%", indexJobStatus.getStatusInPercentage());
+  }
+
+  @Test
+  void testIndexingInChunksStopsAfterFailedChunk() throws Exception {
+    TEI2BeschreibungMapper beschreibungMapper = new TEI2BeschreibungMapper();
+    Beschreibung beschreibung = beschreibungMapper.map(tei).get(0);
+
+    KulturObjektDokument kod = createDummyKulturObjektDokument(beschreibung);
+
+    when(indexJobStatusRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(kulturObjektDokumentRepository.countIdsBetween(null, null)).thenReturn(2L);
+    when(kulturObjektDokumentRepository.findIdsAfter(null, null, 1)).thenReturn(List.of(kod.getId()));
+    when(kulturObjektDokumentRepository.findByIdsWithBeschreibungenIDs(List.of(kod.getId())))
+        .thenThrow(new IllegalStateException("test"));
+
+    IndexService chunkedIndexService = new IndexService(kulturObjektDokumentRepository, kafkaIndexingProducer,
+        kafkaIndexingNoneTransactionalProducer, 1);
+    chunkedIndexService.setIndexJobStatusBoundary(indexJobStatusBoundry);
+    chunkedIndexService.setReindexConfig(1, 60000);
+
+    IndexJob indexJob = new IndexJob(indexJobStatusBoundry);
+    assertEquals(IndexJobState.FAILED, chunkedIndexService.indexingInChunks(indexJob, ActivityStreamAction.ADD));
+
+    verify(kulturObjektDokumentRepository, never()).findIdsAfter(kod.getId(), null, 1);
+    assertNull(indexJob.getIndexJobStatus().orElseThrow().getCheckpoint());
+  }
+
+  @Test
+  void testIndexThreadsLimitedByProducerPool() {
+    IndexService chunkedIndexService = new IndexService(kulturObjektDokumentRepository, kafkaIndexingProducer,
+        kafkaIndexingNoneTransactionalProducer, 1);
+    chunkedIndexService.setReindexConfig(8, 60000);
+    when(kafkaIndexingProducer.getProducerPoolSize()).thenReturn(4);
+
+    assertEquals(8, chunkedIndexService.getIndexThreads());
+
+    when(kafkaIndexingProducer.isTransactionBatching()).thenReturn(true);
+    assertEquals(2, chunkedIndexService.getIndexThreads());
+
+    when(kafkaIndexingProducer.getProducerPoolSize()).thenReturn(1);
+    assertEquals(1, chunkedIndexService.getIndexThreads());
   }
 
   @Test
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @since 17.10.2026
+ */
+class FileSystemBlobStoreTest {
+
+  static final byte[] CONTENT = "<TEI/>".getBytes(StandardCharsets.UTF_8);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testHash() {
+    assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", BlobStore.hash(new byte[0]));
+  }
+
+  @Test
+  void testStoreAndLoad() throws Exception {
+    FileSystemBlobStore blobStore = new FileSystemBlobStore(directory.toString(), Optional.empty());
+
+    String hash = blobStore.store(CONTENT);
+
+    assertEquals(BlobStore.hash(CONTENT), hash);
+    assertTrue(blobStore.exists(hash));
+    assertTrue(Files.exists(directory.resolve(hash.substring(0, 2)).resolve(hash)));
+    assertArrayEquals(CONTENT, blobStore.load(hash).orElseThrow());
+    assertEquals(directory.toUri().resolve(hash.substring(0, 2) + "/" + hash), blobStore.getUri(hash));
+  }
+
+  @Test
+  void testStoreExistingBlob() throws Exception {
+    FileSystemBlobStore blobStore = new FileSystemBlobStore(directory.toString(), Optional.empty());
+
+    String hash = blobStore.store(CONTENT);
+    Path path = directory.resolve(hash.substring(0, 2)).resolve(hash);
+    FileTime lastModified = FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS));
+    Files.setLastModifiedTime(path, lastModified);
+
+    assertEquals(hash, blobStore.store(CONTENT));
+    assertTrue(Files.getLastModifiedTime(path).compareTo(lastModified) > 0);
+    assertArrayEquals(CONTENT, blobStore.load(hash).orElseThrow());
+    try (Stream<Path> files = Files.list(path.getParent())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void testDeleteExpired() throws Exception {
+    FileSystemBlobStore blobStore = new FileSystemBlobStore(directory.toString(), Optional.empty());
+    blobStore.setRetentionHours(24);
+
+    String expired = blobStore.store(CONTENT);
+    String kept = blobStore.store("<TEI>kept</TEI>".getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(directory.resolve(expired.substring(0, 2)).resolve(expired),
+        FileTime.from(Instant.now().minus(25, ChronoUnit.HOURS)));
+    Path otherFile = Files.writeString(directory.resolve("README"), "not a blob");
+    Files.setLastModifiedTime(otherFile, FileTime.from(Instant.now().minus(25, ChronoUnit.HOURS)));
+
+    assertEquals(1, blobStore.deleteExpired());
+    assertFalse(blobStore.exists(expired));
+    assertTrue(blobStore.exists(kept));
+    assertTrue(Files.exists(otherFile));
+
+    blobStore.setRetentionHours(0);
+    Files.setLastModifiedTime(directory.resolve(kept.substring(0, 2)).resolve(kept),
+        FileTime.from(Instant.now().minus(25, ChronoUnit.HOURS)));
+    assertEquals(0, blobStore.deleteExpired());
+    assertTrue(blobStore.exists(kept));
+  }
+
+  @Test
+  void testBaseUri() {
+    FileSystemBlobStore blobStore = new FileSystemBlobStore(directory.toString(),
+        Optional.of("http://localhost:8080/blobstore"));
+    String hash = BlobStore.hash(CONTENT);
+
+    assertEquals(URI.create("http://localhost:8080/blobstore/" + hash.substring(0, 2) + "/" + hash),
+        blobStore.getUri(hash));
+    assertFalse(blobStore.exists(hash));
+  }
+
+  @Test
+  void testInvalidHash() throws Exception {
+    FileSystemBlobStore blobStore = new FileSystemBlobStore(directory.toString(), Optional.empty());
+
+    assertThrows(IllegalArgumentException.class, () -> blobStore.load("../../etc/passwd"));
+    assertEquals(Optional.empty(), blobStore.load(BlobStore.hash(CONTENT)));
+  }
+}
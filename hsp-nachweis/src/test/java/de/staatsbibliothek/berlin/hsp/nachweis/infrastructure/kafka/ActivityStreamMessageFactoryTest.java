@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -49,9 +50,12 @@ import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.impl.mapper.Obje
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportUploadDatei;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgang;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore.BlobStore;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -138,6 +142,48 @@ public class ActivityStreamMessageFactoryTest {
     assertEquals("Konrad",message.getActor().getName());
   }
 
+  @Test
+  void testCreateMessageForKODCountsTeiBytes() throws ActivityStreamsException {
+    BeschreibungsRepository beschreibungsRepository = Mockito.mock(BeschreibungsRepository.class);
+    KulturObjektDokument kulturObjektDokument = new KulturObjektDokumentBuilder().withId("KOD1")
+        .withTEIXml("<xml>Überlieferung</xml>")
+        .build();
+    Beschreibung external = new BeschreibungsBuilder().withId("BESCHREIBUNG1").withVerwaltungsTyp(
+        VerwaltungsTyp.EXTERN).withTEIXml("<xml></xml>").build();
+    kulturObjektDokument.addBeschreibungsdokument(external.getId());
+    when(beschreibungsRepository.findByIdOptional(external.getId())).thenReturn(Optional.of(external));
+
+    AtomicLong teiBytes = new AtomicLong();
+    createMessageForKulturobjektDokument(kulturObjektDokument, ActivityStreamAction.ADD, true, "Konrad",
+        beschreibungsRepository, null, null, teiBytes::addAndGet);
+
+    assertEquals(25 + 11, teiBytes.get());
+  }
+
+  @Test
+  void testCreateMessageForKODCountsClaimCheckReferences() throws Exception {
+    BeschreibungsRepository beschreibungsRepository = Mockito.mock(BeschreibungsRepository.class);
+    KulturObjektDokument kulturObjektDokument = new KulturObjektDokumentBuilder().withId("KOD1")
+        .withTEIXml("<xml>Überlieferung</xml>")
+        .build();
+    Beschreibung external = new BeschreibungsBuilder().withId("BESCHREIBUNG1").withVerwaltungsTyp(
+        VerwaltungsTyp.EXTERN).withTEIXml("<xml></xml>").build();
+    kulturObjektDokument.addBeschreibungsdokument(external.getId());
+    when(beschreibungsRepository.findByIdOptional(external.getId())).thenReturn(Optional.of(external));
+
+    BlobStore blobStore = Mockito.mock(BlobStore.class);
+    when(blobStore.store(any())).thenReturn("abc");
+    when(blobStore.getUri("abc")).thenReturn(URI.create("http://localhost/blobstore/abc"));
+    KafkaClaimCheck claimCheck = new KafkaClaimCheck(blobStore, 20);
+
+    AtomicLong teiBytes = new AtomicLong();
+    ActivityStream message = createMessageForKulturobjektDokument(kulturObjektDokument, ActivityStreamAction.ADD,
+        true, "Konrad", beschreibungsRepository, claimCheck, null, teiBytes::addAndGet);
+
+    assertTrue(KafkaClaimCheck.isClaimCheck(message.getObjects().get(0)));
+    assertEquals("sha256:abc".length() + "http://localhost/blobstore/abc".length() + 11, teiBytes.get());
+  }
+
   @Test
   void testCreateMessageForKatalog() throws ActivityStreamsException {
 
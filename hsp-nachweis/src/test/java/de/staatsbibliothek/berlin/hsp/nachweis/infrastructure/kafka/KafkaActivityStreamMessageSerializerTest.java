@@ -26,7 +26,10 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.exceptions.ActivityStreamsException;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
 import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -49,4 +52,48 @@ public class KafkaActivityStreamMessageSerializerTest {
 
     Assertions.assertTrue(serializer.serialize("test", message).length > 0);
   }
+
+  @Test
+  public void testSerializeAndDeserializeWithReusedBuffer() throws ActivityStreamsException {
+
+    KafkaActivityStreamMessageSerializer serializer = new KafkaActivityStreamMessageSerializer();
+    KafkaActivityStreamMessageDeserializer deserializer = new KafkaActivityStreamMessageDeserializer();
+
+    ActivityStream large = createMessage("large",
+        "x".repeat(KafkaActivityStreamMessageSerializer.MAX_REUSED_BUFFER_SIZE));
+    ActivityStream small = createMessage("small", "<TEI/>");
+
+    byte[] largeBytes = serializer.serialize("test", large);
+    byte[] smallBytes = serializer.serialize("test", small);
+
+    Assertions.assertTrue(largeBytes.length > KafkaActivityStreamMessageSerializer.MAX_REUSED_BUFFER_SIZE);
+    Assertions.assertTrue(smallBytes.length < largeBytes.length);
+    Assertions.assertArrayEquals(smallBytes, serializer.serialize("test", small));
+
+    ActivityStream deserialized = deserializer.deserialize("test", smallBytes);
+    Assertions.assertEquals("small", deserialized.getId());
+    Assertions.assertEquals("<TEI/>",
+        new String(deserialized.getObjects().get(0).getContent(), StandardCharsets.UTF_8));
+
+    Assertions.assertEquals("large", deserializer.deserialize("test", largeBytes).getId());
+  }
+
+  @Test
+  public void testSerializeNull() {
+    Assertions.assertEquals(0, new KafkaActivityStreamMessageSerializer().serialize("test", null).length);
+  }
+
+  private ActivityStream createMessage(String id, String content) throws ActivityStreamsException {
+    return ActivityStream.builder()
+        .withId(id)
+        .withType(ActivityStreamAction.ADD)
+        .withActorName("konrad")
+        .addObject(ActivityStreamObject.builder()
+            .withId(id)
+            .withType(ActivityStreamsDokumentTyp.BESCHREIBUNG)
+            .withContent(content)
+            .withCompressed(false)
+            .build())
+        .build();
+  }
 }
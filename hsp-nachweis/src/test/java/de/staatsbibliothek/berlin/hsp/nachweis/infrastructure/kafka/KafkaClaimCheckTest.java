@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamsDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.blobstore.BlobStore;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class KafkaClaimCheckTest {
+
+  static final String TEI = "<TEI><text>Westphal</text></TEI>";
+  static final String HASH = BlobStore.hash(TEI.getBytes(StandardCharsets.UTF_8));
+
+  BlobStore blobStore;
+
+  @BeforeEach
+  void setUp() {
+    blobStore = mock(BlobStore.class);
+    when(blobStore.getUri(HASH)).thenReturn(URI.create("http://localhost/blobstore/" + HASH));
+  }
+
+  @Test
+  void testGivenThresholdZero_SendInline() throws Exception {
+    KafkaClaimCheck claimCheck = new KafkaClaimCheck(blobStore, 0);
+
+    ActivityStreamObject object = claimCheck.createObject("HSP-1", ActivityStreamsDokumentTyp.BESCHREIBUNG, TEI,
+        false);
+
+    assertFalse(claimCheck.isEnabled());
+    assertFalse(KafkaClaimCheck.isClaimCheck(object));
+    assertEquals(TEI, new String(object.getContent(), StandardCharsets.UTF_8));
+    verify(blobStore, never()).store(any());
+  }
+
+  @Test
+  void testGivenSmallTEI_SendInline() throws Exception {
+    KafkaClaimCheck claimCheck = new KafkaClaimCheck(blobStore, TEI.length());
+
+    ActivityStreamObject object = claimCheck.createObject("HSP-1", ActivityStreamsDokumentTyp.BESCHREIBUNG, TEI,
+        false);
+
+    assertTrue(claimCheck.isEnabled());
+    assertFalse(KafkaClaimCheck.isClaimCheck(object));
+    assertEquals(TEI, new String(object.getContent(), StandardCharsets.UTF_8));
+    verify(blobStore, never()).store(any());
+  }
+
+  @Test
+  void testGivenLargeTEI_SendReference() throws Exception {
+    when(blobStore.store(any())).thenReturn(HASH);
+    KafkaClaimCheck claimCheck = new KafkaClaimCheck(blobStore, 10);
+
+    ActivityStreamObject object = claimCheck.createObject("HSP-1", ActivityStreamsDokumentTyp.BESCHREIBUNG, TEI,
+        true);
+
+    assertTrue(KafkaClaimCheck.isClaimCheck(object));
+    assertEquals("HSP-1", object.getId());
+    assertEquals(KafkaClaimCheck.HASH_PREFIX + HASH, object.getName());
+    assertEquals("http://localhost/blobstore/" + HASH, object.getUrl());
+    assertEquals(KafkaClaimCheck.TEI_MEDIA_TYPE, object.getMediaType());
+    assertFalse(object.isCompressed());
+    verify(blobStore).store(TEI.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testGivenStoreFails_SendInline() throws Exception {
+    when(blobStore.store(any())).thenThrow(new IOException("disk full"));
+    KafkaClaimCheck claimCheck = new KafkaClaimCheck(blobStore, 10);
+
+    ActivityStreamObject object = claimCheck.createObject("HSP-1", ActivityStreamsDokumentTyp.BESCHREIBUNG, TEI,
+        false);
+
+    assertFalse(KafkaClaimCheck.isClaimCheck(object));
+    assertNull(object.getUrl());
+    assertEquals(TEI, new String(object.getContent(), StandardCharsets.UTF_8));
+  }
+}
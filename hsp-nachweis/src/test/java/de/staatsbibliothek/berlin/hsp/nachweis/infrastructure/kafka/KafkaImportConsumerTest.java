@@ -24,7 +24,10 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
+import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaImportConsumer.PARALLEL_POLL_DURATION;
 import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaImportConsumer.POLL_DURATION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 
 import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
@@ -37,12 +40,14 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.beschreibungs
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.digitalisatimport.DigitalisatImport;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.katalog.katalogimport.KatalogImport;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.kod.kodimport.KulturObjektDokumentImport;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgang;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgangBoundary;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import javax.enterprise.event.Event;
@@ -50,6 +55,7 @@ import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
 import org.apache.kafka.common.TopicPartition;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.junit.jupiter.api.Assertions;
@@ -287,6 +293,68 @@ public class KafkaImportConsumerTest {
     Mockito.verify(consumer, Mockito.atLeast(1)).poll(POLL_DURATION);
   }
 
+  @Test
+  public void testGivenSetup_CommitOffsetsOnStop() throws ExecutionException, InterruptedException {
+
+    KafkaImportConsumer kafkaImportConsumer = new KafkaImportConsumer("MyTopic", "localhost:9092",
+        "nachweis", -1l, 1, neueBeschreibungImporteEvent,
+        neueDigitalisatImporteEvent, neueKulturObjektDokumentImporteEvent, neueKatalogImporteEvent,
+        managedExecutor, mock(BearbeiterBoundary.class), importVorgangBoundary);
+
+    kafkaImportConsumer.setConsumer(consumer);
+
+    Mockito.when(consumer.poll(POLL_DURATION))
+        .thenReturn(createConsumerRecords(2, importKatalogMessage))
+        .thenReturn(ConsumerRecords.empty());
+
+    CompletableFuture<Void> cf1 = CompletableFuture
+        .runAsync(kafkaImportConsumer::startConsumer);
+
+    Thread.sleep(100);
+
+    kafkaImportConsumer.stopConsumer();
+
+    cf1.get();
+
+    Mockito.verify(consumer, Mockito.timeout(5000)).close();
+    Mockito.verify(consumer).wakeup();
+    Mockito.verify(consumer).commitSync(Map.of(new TopicPartition("MyTopic", 0), new OffsetAndMetadata(2)));
+    Mockito.verify(consumer, Mockito.never()).commitAsync(any(), any());
+  }
+
+  @Test
+  public void testGivenWorkers_ConsumeParallel() throws Exception {
+
+    KafkaImportConsumer kafkaImportConsumer = new KafkaImportConsumer("MyTopic", "localhost:9092",
+        "nachweis", -1l, 1, neueBeschreibungImporteEvent,
+        neueDigitalisatImporteEvent, neueKulturObjektDokumentImporteEvent, neueKatalogImporteEvent,
+        managedExecutor, mock(BearbeiterBoundary.class), importVorgangBoundary);
+    kafkaImportConsumer.setWorkerConfig(2, 10);
+    kafkaImportConsumer.setCommitConfig(0, 100);
+    kafkaImportConsumer.setConsumer(consumer);
+
+    TopicPartition topicPartition = new TopicPartition("MyTopic", 0);
+    Mockito.when(consumer.poll(PARALLEL_POLL_DURATION))
+        .thenReturn(createConsumerRecords(3, importKODMessage))
+        .thenReturn(ConsumerRecords.empty());
+    Mockito.when(consumer.assignment()).thenReturn(Set.of(topicPartition));
+    Mockito.when(importVorgangBoundary.getImportVorgang(any())).thenReturn(new ImportVorgang());
+
+    CompletableFuture<Void> cf1 = CompletableFuture
+        .runAsync(kafkaImportConsumer::startConsumer);
+
+    Mockito.verify(consumer, Mockito.timeout(5000))
+        .commitAsync(eq(Map.of(topicPartition, new OffsetAndMetadata(3))), any());
+
+    kafkaImportConsumer.stopConsumer();
+
+    cf1.get();
+
+    Mockito.verify(consumer, Mockito.timeout(5000)).close();
+    Mockito.verify(consumer, Mockito.never()).poll(POLL_DURATION);
+    Mockito.verify(neueKulturObjektDokumentImporteEvent, Mockito.times(3)).fire(any());
+  }
+
   private ConsumerRecords createConsumerRecords(final int count, ActivityStream message) {
     final String topic = "MyTopic";
     final int partition = 0;
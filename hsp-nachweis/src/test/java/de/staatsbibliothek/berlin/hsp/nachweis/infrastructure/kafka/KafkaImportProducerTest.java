@@ -26,6 +26,7 @@ package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
@@ -42,6 +43,7 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.xmldataimport.ImportVorgan
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.MockedTransactionManager;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import javax.transaction.SystemException;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.junit.jupiter.api.Test;
@@ -77,6 +79,49 @@ class KafkaImportProducerTest extends MockedTransactionManager {
 
   }
 
+  @Test
+  void testProducerPoolWithInstance() {
+    KafkaImportProducer kafkaImportProducer = new KafkaImportProducer(transactionManagerMOCK, "tei-import",
+        "localhost:9092", "import", 900);
+
+    assertThrows(IllegalStateException.class, kafkaImportProducer::getProducerPool);
+
+    kafkaImportProducer.setInstance(Optional.of("nachweis-7f9c4"));
+
+    assertEquals("import-nachweis-7f9c4-0", kafkaImportProducer.getProducerPool().getTransactionalId(0));
+  }
+
+  @Test
+  void testProducerInstanceDefaultsToHostName() {
+    KafkaImportProducer kafkaImportProducer = new KafkaImportProducer(transactionManagerMOCK, "tei-import",
+        "localhost:9092", "import", 900);
+
+    kafkaImportProducer.setInstance(Optional.of(" "));
+    assertEquals(KafkaTransactionalProducer.getHostName(), kafkaImportProducer.instance);
+
+    kafkaImportProducer.setInstance(Optional.empty());
+    assertEquals(KafkaTransactionalProducer.getHostName(), kafkaImportProducer.instance);
+  }
+
+  @Test
+  void testTransactionTimeoutOfPooledProducers() throws Exception {
+    KafkaImportProducer kafkaImportProducer = new KafkaImportProducer(transactionManagerMOCK, "tei-import",
+        "localhost:9092", "import", 900);
+    kafkaImportProducer.setProducerTransactionTimeout(7200);
+
+    KafkaProducerXAResource xaResource = new KafkaProducerXAResource(kafkaImportProducer);
+    assertEquals(900, xaResource.getTransactionTimeout());
+
+    xaResource.setTransactionTimeout(3600);
+
+    assertEquals(3600, xaResource.getTransactionTimeout());
+    assertEquals(900, kafkaImportProducer.getTransactionTimeout());
+    assertEquals(7200, kafkaImportProducer.getProducerTransactionTimeout());
+
+    kafkaImportProducer.setProducerTransactionTimeout(600);
+    assertEquals(900, kafkaImportProducer.getProducerTransactionTimeout());
+  }
+
   @Test
   void testSendingMessage() throws ActivityStreamsException, SystemException {
 
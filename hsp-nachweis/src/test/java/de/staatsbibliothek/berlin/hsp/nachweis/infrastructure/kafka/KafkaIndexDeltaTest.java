@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.ActivityStreamMessageFactory.createMessageForKulturobjektDokument;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.Beschreibung.BeschreibungsBuilder;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument;
+import de.staatsbibliothek.berlin.hsp.domainmodel.aggregates.KulturObjektDokument.KulturObjektDokumentBuilder;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.VerwaltungsTyp;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStream;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.ActivityStreamObject;
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexHash;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.webindex.IndexHashRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * @since 17.10.2026
+ */
+class KafkaIndexDeltaTest {
+
+  static final String TEI_UNCHANGED = "<TEI><text>unchanged</text></TEI>";
+  static final String TEI_CHANGED = "<TEI><text>changed</text></TEI>";
+
+  IndexHashRepository indexHashRepository;
+  BeschreibungsRepository beschreibungsRepository;
+  KulturObjektDokument kod;
+
+  @BeforeEach
+  void setUp() {
+    indexHashRepository = mock(IndexHashRepository.class);
+    beschreibungsRepository = mock(BeschreibungsRepository.class);
+
+    kod = new KulturObjektDokumentBuilder().withId("KOD1").withTEIXml("<xml></xml>").build();
+    Beschreibung unchanged = new BeschreibungsBuilder().withId("BESCHREIBUNG1")
+        .withVerwaltungsTyp(VerwaltungsTyp.EXTERN).withTEIXml(TEI_UNCHANGED).build();
+    Beschreibung changed = new BeschreibungsBuilder().withId("BESCHREIBUNG2")
+        .withVerwaltungsTyp(VerwaltungsTyp.EXTERN).withTEIXml(TEI_CHANGED).build();
+    kod.addBeschreibungsdokument(unchanged.getId());
+    kod.addBeschreibungsdokument(changed.getId());
+    when(beschreibungsRepository.findByIdOptional(unchanged.getId())).thenReturn(Optional.of(unchanged));
+    when(beschreibungsRepository.findByIdOptional(changed.getId())).thenReturn(Optional.of(changed));
+
+    LocalDateTime indexDatum = LocalDateTime.now().minusDays(1);
+    when(indexHashRepository.findByKodId("KOD1")).thenReturn(List.of(
+        new IndexHash("BESCHREIBUNG1", "KOD1", KafkaIndexDelta.hash(TEI_UNCHANGED), indexDatum),
+        new IndexHash("BESCHREIBUNG2", "KOD1", KafkaIndexDelta.hash("<TEI/>"), indexDatum),
+        new IndexHash("BESCHREIBUNG3", "KOD1", KafkaIndexDelta.hash("<TEI/>"), indexDatum)));
+  }
+
+  @Test
+  void testGivenDisabled_SendAll() {
+    KafkaIndexDelta indexDelta = new KafkaIndexDelta(indexHashRepository, false);
+
+    assertFalse(indexDelta.isEnabled());
+    assertNull(indexDelta.start(kod, ActivityStreamAction.UPDATE, false));
+    verify(indexHashRepository, never()).findByKodId(anyString());
+  }
+
+  @Test
+  void testGivenUpdate_SendChanged() throws Exception {
+    KafkaIndexDelta indexDelta = new KafkaIndexDelta(indexHashRepository, true);
+
+    KafkaIndexDelta.Delta delta = indexDelta.start(kod, ActivityStreamAction.UPDATE, false);
+    ActivityStream message = createMessageForKulturobjektDokument(kod, ActivityStreamAction.UPDATE, false, "Konrad",
+        beschreibungsRepository, null, delta);
+
+    assertEquals(3, message.getObjects().size());
+    ActivityStreamObject unchanged = message.getObjects().get(1);
+    assertEquals("BESCHREIBUNG1", unchanged.getId());
+    assertTrue(KafkaIndexDelta.isUnchanged(unchanged));
+    assertEquals(KafkaClaimCheck.HASH_PREFIX + KafkaIndexDelta.hash(TEI_UNCHANGED), unchanged.getName());
+    ActivityStreamObject changed = message.getObjects().get(2);
+    assertEquals("BESCHREIBUNG2", changed.getId());
+    assertFalse(KafkaIndexDelta.isUnchanged(changed));
+    assertEquals(1, delta.getUnchanged());
+
+    indexDelta.sent(delta, ActivityStreamAction.UPDATE);
+
+    ArgumentCaptor<IndexHash> saved = ArgumentCaptor.forClass(IndexHash.class);
+    verify(indexHashRepository).save(saved.capture());
+    assertEquals("BESCHREIBUNG2", saved.getValue().getId());
+    assertEquals(KafkaIndexDelta.hash(TEI_CHANGED), saved.getValue().getHash());
+    verify(indexHashRepository).deleteById("BESCHREIBUNG3");
+  }
+
+  @Test
+  void testGivenFullResend_SendAll() throws Exception {
+    KafkaIndexDelta indexDelta = new KafkaIndexDelta(indexHashRepository, true);
+
+    for (KafkaIndexDelta.Delta delta : List.of(indexDelta.start(kod, ActivityStreamAction.UPDATE, true),
+        indexDelta.start(kod, ActivityStreamAction.ADD, false))) {
+      ActivityStream message = createMessageForKulturobjektDokument(kod, ActivityStreamAction.UPDATE, false,
+          "Konrad", beschreibungsRepository, null, delta);
+
+      assertEquals(3, message.getObjects().size());
+      assertTrue(message.getObjects().stream().noneMatch(KafkaIndexDelta::isUnchanged));
+      assertEquals(0, delta.getUnchanged());
+    }
+  }
+
+  @Test
+  void testGivenRemove_DeleteHashes() {
+    KafkaIndexDelta indexDelta = new KafkaIndexDelta(indexHashRepository, true);
+
+    indexDelta.sent(indexDelta.start(kod, ActivityStreamAction.REMOVE, false), ActivityStreamAction.REMOVE);
+
+    verify(indexHashRepository).deleteByKodId("KOD1");
+    verify(indexHashRepository, never()).save(any());
+  }
+}
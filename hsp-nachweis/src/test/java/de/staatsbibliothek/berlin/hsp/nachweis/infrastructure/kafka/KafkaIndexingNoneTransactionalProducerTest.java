@@ -24,7 +24,17 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import de.staatsbibliothek.berlin.hsp.messaging.activitystreams.api.model.enums.ActivityStreamAction;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.BeschreibungsRepository;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaIndexingNoneTransactionalProducer.SentDelta;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -45,4 +55,24 @@ public class KafkaIndexingNoneTransactionalProducerTest {
     Assertions.assertNotNull(producer);
 
   }
+
+  @Test
+  void testStoreAcknowledgedDeltas() {
+    KafkaIndexDelta indexDelta = Mockito.mock(KafkaIndexDelta.class);
+    KafkaIndexingNoneTransactionalProducer producer = new KafkaIndexingNoneTransactionalProducer("index",
+        "localhost:9092", "nachweis", beschreibungsRepository);
+    producer.setIndexDelta(indexDelta);
+
+    KafkaIndexDelta.Delta acknowledged = new KafkaIndexDelta.Delta("HSP-1", Collections.emptyMap(), true);
+    KafkaIndexDelta.Delta failed = new KafkaIndexDelta.Delta("HSP-2", Collections.emptyMap(), true);
+    CompletableFuture<RecordMetadata> failure = new CompletableFuture<>();
+    failure.completeExceptionally(new KafkaException("test"));
+
+    producer.storeAcknowledgedDeltas(Arrays.asList(
+        new SentDelta(acknowledged, CompletableFuture.completedFuture(null)),
+        new SentDelta(failed, failure)), ActivityStreamAction.UPDATE);
+
+    verify(indexDelta).sent(acknowledged, ActivityStreamAction.UPDATE);
+    verify(indexDelta, never()).sent(failed, ActivityStreamAction.UPDATE);
+  }
 }
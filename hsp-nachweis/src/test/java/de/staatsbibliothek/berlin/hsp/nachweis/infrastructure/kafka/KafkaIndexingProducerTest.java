@@ -25,9 +25,13 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,6 +48,9 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.Beschreibungs
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.beschreibungsimport.BeschreibungImport;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.beschreibung.beschreibungsimport.ImportStatus;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.MockedTransactionManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -51,7 +58,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.transaction.SystemException;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -155,4 +164,54 @@ public class KafkaIndexingProducerTest extends MockedTransactionManager {
 
     verify(kafkaProducer,times(1)).send(any(),any());
   }
+
+  @Test
+  void testSendKulturobjektDokumenteInTransactions() throws Exception {
+    Producer<String, ActivityStream> kafkaProducer = mock(Producer.class);
+    KafkaIndexingProducer producer = createBatchingProducer(kafkaProducer, 2);
+
+    List<ActivityStream> messages = producer.sendKulturobjektDokumenteInTransactions(createKODs(5),
+        ActivityStreamAction.ADD, true, "Konrad");
+
+    assertEquals(5, messages.size());
+    verify(kafkaProducer, times(5)).send(any(), any());
+    verify(kafkaProducer, times(3)).beginTransaction();
+    verify(kafkaProducer, times(3)).commitTransaction();
+    verify(kafkaProducer, never()).abortTransaction();
+    assertEquals(0, producer.getLeasedProducers());
+  }
+
+  @Test
+  void testSendKulturobjektDokumenteInTransactionsAbortsAfterFailedCommit() throws Exception {
+    Producer<String, ActivityStream> kafkaProducer = mock(Producer.class);
+    doThrow(new KafkaException("test")).when(kafkaProducer).commitTransaction();
+    KafkaIndexingProducer producer = createBatchingProducer(kafkaProducer, 2);
+
+    assertThrows(KafkaException.class, () -> producer.sendKulturobjektDokumenteInTransactions(createKODs(5),
+        ActivityStreamAction.ADD, true, "Konrad"));
+
+    verify(kafkaProducer, times(1)).abortTransaction();
+    assertEquals(0, producer.getLeasedProducers());
+  }
+
+  private KafkaIndexingProducer createBatchingProducer(Producer<String, ActivityStream> kafkaProducer,
+      int batchMessages) {
+    KafkaIndexingProducer producer = Mockito.spy(new KafkaIndexingProducer(transactionManagerMOCK, "index",
+        "localhost:9092", "nachweis", 900, beschreibungsRepository));
+    producer.setTransactionBatchConfig(batchMessages, 16);
+    KafkaProducerPool<String, ActivityStream> pool = new KafkaProducerPool<>("nachweis-test", 2,
+        Duration.ofSeconds(10), transactionalId -> kafkaProducer);
+    doReturn(pool).when(producer).getProducerPool();
+
+    assertTrue(producer.isTransactionBatching());
+    return producer;
+  }
+
+  private List<KulturObjektDokument> createKODs(int count) {
+    List<KulturObjektDokument> kods = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      kods.add(new KulturObjektDokumentBuilder().withId("KOD" + i).withTEIXml("<xml></xml>").build());
+    }
+    return kods;
+  }
 }
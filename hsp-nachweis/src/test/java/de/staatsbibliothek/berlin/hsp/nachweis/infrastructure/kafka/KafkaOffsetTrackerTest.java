@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class KafkaOffsetTrackerTest {
+
+  static final TopicPartition PARTITION = new TopicPartition("topic", 0);
+
+  AtomicLong clock;
+  Consumer<String, String> consumer;
+  KafkaOffsetTracker offsetTracker;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    clock = new AtomicLong();
+    consumer = mock(Consumer.class);
+    offsetTracker = new KafkaOffsetTracker(1000, 3, clock::get);
+    doAnswer(invocation -> {
+      Map<TopicPartition, OffsetAndMetadata> offsets = invocation.getArgument(0);
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+      ((OffsetCommitCallback) invocation.getArgument(1)).onComplete(offsets, null);
+      return null;
+    }).when(consumer).commitAsync(anyMap(), any());
+  }
+
+  @Test
+  void testCommitAfterCount() {
+    for (long offset = 0; offset < 3; offset++) {
+      offsetTracker.received(new ConsumerRecord<>("topic", 0, offset, "key", "value"));
+      offsetTracker.processed(PARTITION, offset + 1);
+      offsetTracker.commitIfDue(consumer);
+    }
+
+    verify(consumer, times(1)).commitAsync(eq(Map.of(PARTITION, new OffsetAndMetadata(3))), any());
+    assertEquals(1, offsetTracker.getCommits());
+    assertEquals(20, offsetTracker.getAverageCommitLatencyMillis());
+    assertEquals(Map.of(PARTITION, 0L), offsetTracker.getLag());
+  }
+
+  @Test
+  void testCommitAfterInterval() {
+    offsetTracker.received(new ConsumerRecord<>("topic", 0, 10L, "key", "value"));
+    offsetTracker.processed(PARTITION, 11);
+    offsetTracker.commitIfDue(consumer);
+    verify(consumer, never()).commitAsync(anyMap(), any());
+    assertEquals(Map.of(PARTITION, 1L), offsetTracker.getLag());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+    offsetTracker.commitIfDue(consumer);
+
+    verify(consumer).commitAsync(eq(Map.of(PARTITION, new OffsetAndMetadata(11))), any());
+    assertEquals(Map.of(PARTITION, 0L), offsetTracker.getLag());
+  }
+
+  @Test
+  void testFailedCommitIsRepeated() {
+    doAnswer(invocation -> {
+      ((OffsetCommitCallback) invocation.getArgument(1)).onComplete(invocation.getArgument(0),
+          new IllegalStateException("failed"));
+      return null;
+    }).when(consumer).commitAsync(anyMap(), any());
+    offsetTracker.processed(PARTITION, 5);
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+    offsetTracker.commitIfDue(consumer);
+    assertEquals(1, offsetTracker.getCommitFailures());
+
+    offsetTracker.commitSync(consumer);
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(5)));
+    assertEquals(1, offsetTracker.getCommits());
+  }
+
+  @Test
+  void testCommitSyncAfterWakeup() {
+    doThrow(new WakeupException()).doNothing().when(consumer).commitSync(anyMap());
+    offsetTracker.processed(PARTITION, 5);
+
+    offsetTracker.commitSync(consumer);
+
+    verify(consumer, times(2)).commitSync(Map.of(PARTITION, new OffsetAndMetadata(5)));
+    assertEquals(1, offsetTracker.getCommits());
+    assertEquals(0, offsetTracker.getCommitFailures());
+  }
+
+  @Test
+  void testRevokedPartitionsAreNotCommitted() {
+    TopicPartition other = new TopicPartition("topic", 1);
+    offsetTracker.processed(PARTITION, 5);
+    offsetTracker.processed(other, 7);
+
+    offsetTracker.commitSync(consumer, List.of(other));
+    offsetTracker.removePartitions(List.of(other));
+    offsetTracker.commitSync(consumer);
+
+    verify(consumer).commitSync(Map.of(other, new OffsetAndMetadata(7)));
+    verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(5)));
+  }
+
+  @Test
+  void testInvalidCommitCount() {
+    assertThrows(IllegalArgumentException.class, () -> new KafkaOffsetTracker(1000, 0));
+  }
+}
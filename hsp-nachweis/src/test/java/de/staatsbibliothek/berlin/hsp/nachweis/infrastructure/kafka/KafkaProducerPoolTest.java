@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka.KafkaProducerPool.Lease;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.kafka.clients.producer.Producer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class KafkaProducerPoolTest {
+
+  List<String> transactionalIds;
+  List<Producer<String, String>> producers;
+  KafkaProducerPool<String, String> pool;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    transactionalIds = new ArrayList<>();
+    producers = new ArrayList<>();
+    pool = new KafkaProducerPool<>("nachweis-index", 2, Duration.ofMillis(50), transactionalId -> {
+      Producer<String, String> producer = mock(Producer.class);
+      transactionalIds.add(transactionalId);
+      producers.add(producer);
+      return producer;
+    });
+  }
+
+  @Test
+  void testLeaseReusesProducer() throws InterruptedException {
+    Lease<String, String> lease = pool.lease();
+    assertEquals(1, pool.getLeased());
+    assertEquals(1, pool.getIdle());
+    lease.release(false);
+
+    Lease<String, String> first = pool.lease();
+    Lease<String, String> second = pool.lease();
+    first.release(false);
+    second.release(false);
+    Lease<String, String> third = pool.lease();
+
+    assertEquals(List.of("nachweis-index-0", "nachweis-index-1"), transactionalIds);
+    assertNotSame(first.getProducer(), second.getProducer());
+    assertSame(lease.getProducer(), second.getProducer());
+    assertSame(first.getProducer(), third.getProducer());
+    assertEquals(4, pool.getLeases());
+    verify(producers.get(0), never()).close(any(Duration.class));
+  }
+
+  @Test
+  void testLeaseTimeout() throws InterruptedException {
+    pool.lease();
+    pool.lease();
+
+    assertThrows(IllegalStateException.class, () -> pool.lease());
+    assertEquals(2, pool.getLeased());
+    assertEquals(0, pool.getIdle());
+  }
+
+  @Test
+  void testBrokenProducerIsReplaced() throws InterruptedException {
+    Lease<String, String> lease = pool.lease();
+    lease.release(true);
+    lease.release(true);
+
+    pool.lease();
+    Lease<String, String> next = pool.lease();
+
+    verify(lease.getProducer()).close(any(Duration.class));
+    assertNotSame(lease.getProducer(), next.getProducer());
+    assertEquals(List.of("nachweis-index-0", "nachweis-index-1", "nachweis-index-0"), transactionalIds);
+    assertEquals(2, pool.getLeased());
+  }
+
+  @Test
+  void testClose() throws InterruptedException {
+    Lease<String, String> lease = pool.lease();
+    pool.close();
+
+    verify(lease.getProducer()).close(any(Duration.class));
+    assertThrows(IllegalStateException.class, () -> pool.lease());
+  }
+
+  @Test
+  void testInvalidSize() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new KafkaProducerPool<String, String>("test", 0, Duration.ZERO, transactionalId -> null));
+  }
+}
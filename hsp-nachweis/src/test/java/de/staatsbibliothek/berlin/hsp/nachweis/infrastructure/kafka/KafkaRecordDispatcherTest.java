@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class KafkaRecordDispatcherTest {
+
+  static final TopicPartition PARTITION = new TopicPartition("topic", 0);
+
+  ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testOrderPerKey() throws InterruptedException {
+    List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+    KafkaRecordDispatcher<String, String> dispatcher = new KafkaRecordDispatcher<>(3, 100, executor,
+        record -> processed.add(record.offset()));
+
+    for (long offset = 0; offset < 50; offset++) {
+      dispatcher.dispatch(new ConsumerRecord<>("topic", 0, offset, "key", "value"));
+    }
+
+    assertTrue(dispatcher.awaitCompletion(Duration.ofSeconds(5)));
+    List<Long> expected = new ArrayList<>();
+    for (long offset = 0; offset < 50; offset++) {
+      expected.add(offset);
+    }
+    assertEquals(expected, processed);
+    assertEquals(Map.of(PARTITION, new OffsetAndMetadata(50)), dispatcher.getCommittableOffsets());
+    assertEquals(Map.of(), dispatcher.getCommittableOffsets());
+  }
+
+  @Test
+  void testCommitOnlyContiguousOffsets() throws InterruptedException {
+    CountDownLatch blocked = new CountDownLatch(1);
+    KafkaRecordDispatcher<String, String> dispatcher = new KafkaRecordDispatcher<>(2, 2, executor, record -> {
+      if ("slow".equals(record.key())) {
+        try {
+          blocked.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 0, 0L, "fast", "value"));
+    assertTrue(dispatcher.awaitCompletion(Duration.ofSeconds(5)));
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 0, 1L, "slow", "value"));
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 0, 2L, "fast", "value"));
+
+    assertEquals(Set.of(PARTITION), dispatcher.getFullPartitions());
+    assertEquals(Map.of(PARTITION, new OffsetAndMetadata(1)), dispatcher.getCommittableOffsets());
+
+    blocked.countDown();
+    assertTrue(dispatcher.awaitCompletion(Duration.ofSeconds(5)));
+    assertEquals(Set.of(), dispatcher.getFullPartitions());
+    assertEquals(Map.of(PARTITION, new OffsetAndMetadata(3)), dispatcher.getCommittableOffsets());
+  }
+
+  @Test
+  void testFailingRecordDoesNotBlockLane() throws InterruptedException {
+    List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+    KafkaRecordDispatcher<String, String> dispatcher = new KafkaRecordDispatcher<>(1, 10, executor, record -> {
+      if (record.offset() == 0) {
+        throw new IllegalStateException("failed");
+      }
+      processed.add(record.offset());
+    });
+
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 0, 0L, "key", "value"));
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 0, 1L, "key", "value"));
+
+    assertTrue(dispatcher.awaitCompletion(Duration.ofSeconds(5)));
+    assertEquals(List.of(1L), processed);
+    assertEquals(0, dispatcher.getInFlight());
+  }
+
+  @Test
+  void testRetainPartitions() {
+    KafkaRecordDispatcher<String, String> dispatcher = new KafkaRecordDispatcher<>(1, 10, executor, record -> {
+    });
+    dispatcher.dispatch(new ConsumerRecord<>("topic", 1, 0L, null, "value"));
+
+    dispatcher.retainPartitions(Set.of(PARTITION));
+
+    assertEquals(Map.of(), dispatcher.getCommittableOffsets());
+  }
+
+  @Test
+  void testInvalidConfig() {
+    assertThrows(IllegalArgumentException.class, () -> new KafkaRecordDispatcher<String, String>(0, 1, executor,
+        record -> {
+        }));
+  }
+}
@@ -29,7 +29,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact.GNDEntityFactBuilder;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Field;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +95,18 @@ public class GraphQlQueryTest {
         query.getQuery());
   }
 
+  @Test
+  public void testBatch() {
+    Map<String, Query> queries = new LinkedHashMap<>();
+    queries.put("q0", Query.findGNDEntityFacts(NAME, "Place", GNDEntityFact.FIELDS_MIN));
+    queries.put("q1", Query.findLanguageWithID(ID, GNDEntityFact.FIELDS_MIN));
+
+    GraphQlQuery query = new GraphQlQuery(Query.batch(queries));
+    assertEquals("{ q0: findGNDEntityFacts (idOrName:\"" + NAME + "\", nodeLabel:\"Place\") {" + FIELDS_SET_STRING
+            + "} q1: findLanguageWithID (id:\"" + ID + "\")  {" + FIELDS_SET_STRING + "} }",
+        query.getQuery());
+  }
+
   @Test
   public void testCreateGNDEntityFactAsNode() {
     GNDEntityFact wolfenbuettel = new GNDEntityFactBuilder()
@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import de.staatsbibliothek.berlin.hsp.domainmodel.valueobjects.NormdatenReferenz;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenBatchResolver.Batch;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenCache.Lookup;
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.rest.client.RestClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class NormdatenBatchResolverTest {
+
+  private static final String BERLIN = "{\"id\":\"NORM-1\",\"typeName\":\"Place\",\"gndIdentifier\":\"4005728-8\","
+      + "\"preferredName\":\"Berlin\"}";
+  private static final String SBB = "{\"id\":\"NORM-2\",\"typeName\":\"CorporateBody\","
+      + "\"gndIdentifier\":\"2031364-6\",\"preferredName\":\"Staatsbibliothek zu Berlin\"}";
+  private static final String GERMAN = "{\"id\":\"NORM-3\",\"typeName\":\"Language\",\"gndIdentifier\":\"de\","
+      + "\"preferredName\":\"Deutsch\"}";
+
+  private WireMockServer server;
+  private NormdatenGraphQLPort port;
+
+  @BeforeEach
+  void setUp() {
+    server = new WireMockServer(options().dynamicPort());
+    server.start();
+
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(1)
+        .withRequestBody(containing("q0: "))
+        .willReturn(okJson("{\"data\":{\"q0\":[" + BERLIN + "],\"q1\":[" + SBB + "],\"q2\":" + GERMAN
+            + ",\"q3\":[]}}")));
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(2)
+        .withRequestBody(containing("Berlin"))
+        .willReturn(okJson("{\"data\":{\"findGNDEntityFacts\":[" + BERLIN + "]}}")));
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(2)
+        .withRequestBody(containing("2031364-6"))
+        .willReturn(okJson("{\"data\":{\"findGNDEntityFacts\":[" + SBB + "]}}")));
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(2)
+        .withRequestBody(containing("findLanguageWithID"))
+        .willReturn(okJson("{\"data\":{\"findLanguageWithID\":" + GERMAN + "}}")));
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(3)
+        .willReturn(okJson("{\"data\":{\"findGNDEntityFacts\":[]}}")));
+
+    port = RestClientBuilder.newBuilder()
+        .baseUri(URI.create(server.baseUrl() + "/graphql"))
+        .build(NormdatenGraphQLPort.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  @Test
+  void testResolveWithOneRequest() {
+    NormdatenCache cache = new NormdatenCache(port, 100, 60000, 120000);
+    NormdatenBatchResolver resolver = new NormdatenBatchResolver(port, cache, 50);
+
+    assertEquals(1, resolver.resolve(createBatch(resolver)));
+    lookupAll(cache);
+
+    server.verify(1, postRequestedFor(urlEqualTo("/graphql")));
+    assertEquals("Berlin", cache.findByIdOrNameAndNodeLabel("Berlin", NormdatenReferenz.ORT_TYPE_NAME, true)
+        .get(0).getPreferredName());
+    assertEquals("Staatsbibliothek zu Berlin", cache.findByIdOrNameAndNodeLabel("2031364-6",
+        NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true).get(0).getPreferredName());
+    assertEquals("NORM-3", cache.findLanguageById("de").get(0).getId());
+    assertTrue(cache.findByIdOrNameAndNodeLabel("Atlantis", NormdatenReferenz.ORT_TYPE_NAME, true).isEmpty());
+
+    assertEquals(0, resolver.resolve(createBatch(resolver)));
+    server.verify(1, postRequestedFor(urlEqualTo("/graphql")));
+  }
+
+  @Test
+  void testResolveWithoutBatching() {
+    NormdatenCache cache = new NormdatenCache(port, 100, 60000, 120000);
+    NormdatenBatchResolver resolver = new NormdatenBatchResolver(port, cache, 0);
+
+    assertFalse(resolver.isEnabled());
+    assertEquals(0, resolver.resolve(createBatch(resolver)));
+    lookupAll(cache);
+
+    server.verify(4, postRequestedFor(urlEqualTo("/graphql")));
+  }
+
+  @Test
+  void testResolveWithError() {
+    server.stubFor(post(urlEqualTo("/graphql"))
+        .atPriority(1)
+        .withRequestBody(containing("q0: "))
+        .willReturn(aResponse().withStatus(500)));
+    NormdatenCache cache = new NormdatenCache(port, 100, 60000, 120000);
+    NormdatenBatchResolver resolver = new NormdatenBatchResolver(port, cache, 50);
+
+    assertEquals(1, resolver.resolve(createBatch(resolver)));
+    assertFalse(cache.contains(Lookup.ID_OR_NAME, NormdatenReferenz.ORT_TYPE_NAME, "Berlin", true));
+
+    lookupAll(cache);
+    server.verify(5, postRequestedFor(urlEqualTo("/graphql")));
+  }
+
+  @Test
+  void testToGNDEntityFacts() throws Exception {
+    ObjectMapper mapper = new ObjectMapper();
+
+    assertTrue(NormdatenBatchResolver.toGNDEntityFacts(mapper.readTree("null")).isEmpty());
+    assertEquals(List.of("NORM-3"), NormdatenBatchResolver.toGNDEntityFacts(mapper.readTree(GERMAN)).stream()
+        .map(GNDEntityFact::getId)
+        .collect(Collectors.toList()));
+    assertEquals(List.of("NORM-1", "NORM-2"),
+        NormdatenBatchResolver.toGNDEntityFacts(mapper.readTree("[" + BERLIN + "," + SBB + "]")).stream()
+            .map(GNDEntityFact::getId)
+            .collect(Collectors.toList()));
+  }
+
+  private Batch createBatch(NormdatenBatchResolver resolver) {
+    return resolver.createBatch()
+        .addIdOrName("Berlin", NormdatenReferenz.ORT_TYPE_NAME)
+        .addIdOrName("2031364-6", NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME)
+        .addLanguageId("de")
+        .addIdOrName("Atlantis", NormdatenReferenz.ORT_TYPE_NAME)
+        .addIdOrName(" Berlin ", NormdatenReferenz.ORT_TYPE_NAME)
+        .addLanguageId(null);
+  }
+
+  private void lookupAll(NormdatenCache cache) {
+    cache.findByIdOrNameAndNodeLabel("Berlin", NormdatenReferenz.ORT_TYPE_NAME, true);
+    cache.findByIdOrNameAndNodeLabel("2031364-6", NormdatenReferenz.KOERPERSCHAFT_TYPE_NAME, true);
+    cache.findLanguageById("de");
+    cache.findByIdOrNameAndNodeLabel("Atlantis", NormdatenReferenz.ORT_TYPE_NAME, true);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact.GNDEntityFactBuilder;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData.Data;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.NormdatenCache.Lookup;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class NormdatenCacheTest {
+
+  private final GNDEntityFact berlin = new GNDEntityFactBuilder()
+      .withId("NORM-1")
+      .withTypeName(GNDEntityFact.PLACE_TYPE_NAME)
+      .withGndIdentifier("4005728-8")
+      .withPreferredName("Berlin")
+      .build();
+
+  private NormdatenGraphQLPort port;
+  private NormdatenCache cache;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    port = mock(NormdatenGraphQLPort.class);
+    when(port.findByQuery(any())).thenReturn(createGraphQlData(List.of(berlin)));
+    cache = new NormdatenCache(port, 100, 60000, 120000);
+  }
+
+  @Test
+  void testFindByIdOrNameAndNodeLabel() throws InterruptedException {
+    assertEquals(List.of(berlin), cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    assertEquals(List.of(berlin), cache.findByIdOrNameAndNodeLabel(" Berlin ", GNDEntityFact.PLACE_TYPE_NAME, true));
+
+    verify(port, times(1)).findByQuery(any());
+    verify(port, times(1)).findByQuery(new GraphQlQuery(
+        Query.findGNDEntityFacts("Berlin", GNDEntityFact.PLACE_TYPE_NAME, GNDEntityFact.FIELDS)));
+
+    cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, false);
+    cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.CORPORATE_BODY_TYPE_NAME, true);
+    verify(port, times(3)).findByQuery(any());
+  }
+
+  @Test
+  void testConcurrentLookupsAreCoalesced() throws Exception {
+    CountDownLatch called = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(port.findByQuery(any())).thenAnswer(invocation -> {
+      called.countDown();
+      release.await(10, TimeUnit.SECONDS);
+      return createGraphQlData(List.of(berlin));
+    });
+
+    CompletableFuture<List<GNDEntityFact>> first = CompletableFuture.supplyAsync(
+        () -> cache.findByIdOrNameAndNodeLabel("4005728-8", GNDEntityFact.PLACE_TYPE_NAME, true));
+    assertTrue(called.await(10, TimeUnit.SECONDS));
+    CompletableFuture<List<GNDEntityFact>> second = CompletableFuture.supplyAsync(
+        () -> cache.findByIdOrNameAndNodeLabel("4005728-8", GNDEntityFact.PLACE_TYPE_NAME, true));
+    release.countDown();
+
+    assertEquals(List.of(berlin), first.get(10, TimeUnit.SECONDS));
+    assertEquals(List.of(berlin), second.get(10, TimeUnit.SECONDS));
+    verify(port, times(1)).findByQuery(any());
+  }
+
+  @Test
+  void testInvalidate() throws InterruptedException {
+    cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true);
+    cache.findByIdOrNameAndNodeLabel("Potsdam", GNDEntityFact.PLACE_TYPE_NAME, true);
+    cache.findByIdOrNameAndNodeLabel(null, GNDEntityFact.PLACE_TYPE_NAME, true);
+    verify(port, times(3)).findByQuery(any());
+
+    cache.invalidate(berlin);
+
+    cache.findByIdOrNameAndNodeLabel("Potsdam", GNDEntityFact.PLACE_TYPE_NAME, true);
+    verify(port, times(3)).findByQuery(any());
+    cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true);
+    cache.findByIdOrNameAndNodeLabel(null, GNDEntityFact.PLACE_TYPE_NAME, true);
+    verify(port, times(5)).findByQuery(any());
+  }
+
+  @Test
+  void testFailedLookupsAreNotCached() throws InterruptedException {
+    when(port.findByQuery(any())).thenThrow(new IllegalStateException("test"))
+        .thenReturn(createGraphQlData(List.of(berlin)));
+
+    assertThrows(IllegalStateException.class,
+        () -> cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    assertEquals(List.of(berlin), cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    verify(port, times(2)).findByQuery(any());
+  }
+
+  @Test
+  void testEmptyResultsAreNotCached() throws InterruptedException {
+    when(port.findByQuery(any())).thenReturn(createGraphQlData(List.of()))
+        .thenReturn(createGraphQlData(List.of(berlin)));
+
+    assertEquals(List.of(), cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    assertFalse(cache.contains(Lookup.ID_OR_NAME, GNDEntityFact.PLACE_TYPE_NAME, "Berlin", true));
+
+    cache.put(Lookup.ID_OR_NAME, GNDEntityFact.PLACE_TYPE_NAME, "berlin", true, List.of());
+    assertFalse(cache.contains(Lookup.ID_OR_NAME, GNDEntityFact.PLACE_TYPE_NAME, "berlin", true));
+
+    assertEquals(List.of(berlin), cache.findByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    verify(port, times(2)).findByQuery(any());
+  }
+
+  @Test
+  void testNormalize() {
+    assertEquals("", NormdatenCache.normalize(null));
+    assertEquals("Bad Homburg", NormdatenCache.normalize("  Bad \t Homburg "));
+    assertEquals("\u00e9", NormdatenCache.normalize("e\u0301"));
+  }
+
+  static GraphQlData createGraphQlData(List<GNDEntityFact> gndEntityFacts) {
+    GraphQlData graphQlData = mock(GraphQlData.class);
+    Data data = mock(Data.class);
+    when(graphQlData.getData()).thenReturn(data);
+    when(data.getFindGNDEntityFacts()).thenReturn(gndEntityFacts);
+    when(data.getFindCorporateBodiesByPlaceId()).thenReturn(gndEntityFacts);
+    when(data.getFindLanguageWithID()).thenReturn(gndEntityFacts.isEmpty() ? null : gndEntityFacts.get(0));
+    return graphQlData;
+  }
+}
@@ -24,10 +24,17 @@
 
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.normdaten.NormdatenSnapshot;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.MockedTransactionManager;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GNDEntityFact.GNDEntityFactBuilder;
+import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlData.Data;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.normdaten.GraphQlQuery.Query;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -78,6 +85,25 @@ class NormdatenGraphQLServiceTest extends MockedTransactionManager {
         .findByQuery(new GraphQlQuery(Query.findCorporateBodiesByPlaceId("1", GNDEntityFact.FIELDS_MIN)));
   }
 
+  @Test
+  void testFindWithNormdatenCache() throws InterruptedException {
+    GNDEntityFact berlin = new GNDEntityFactBuilder()
+        .withId("NORM-1")
+        .withTypeName(GNDEntityFact.PLACE_TYPE_NAME)
+        .withPreferredName("Berlin")
+        .build();
+    Mockito.when(port.findByQuery(Mockito.any())).thenReturn(NormdatenCacheTest.createGraphQlData(List.of(berlin)));
+    service.setNormdatenCache(new NormdatenCache(port, 100, 60000, 120000));
+
+    assertEquals(Optional.of(berlin), service.findOneByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME));
+    assertEquals(Set.of(berlin), service.findAllByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME, true));
+    Mockito.verify(port, Mockito.times(1)).findByQuery(Mockito.any());
+
+    service.createGNDEntityFactAsNode(berlin);
+    service.findOneByIdOrNameAndNodeLabel("Berlin", GNDEntityFact.PLACE_TYPE_NAME);
+    Mockito.verify(port, Mockito.times(3)).findByQuery(Mockito.any());
+  }
+
   @Test
   void testCreateGNDEntityFactAsNode() throws Exception {
     GNDEntityFact gndEntityFact = new GNDEntityFactBuilder()
@@ -92,4 +118,23 @@ class NormdatenGraphQLServiceTest extends MockedTransactionManager {
 
   }
 
+  @Test
+  void testCreateGNDEntityFactAsNodeInvalidatesSnapshot() throws Exception {
+    GNDEntityFact berlin = new GNDEntityFactBuilder()
+        .withId("NORM-1")
+        .withTypeName(GNDEntityFact.PLACE_TYPE_NAME)
+        .withPreferredName("Berlin")
+        .build();
+    GraphQlData graphQlData = Mockito.mock(GraphQlData.class);
+    Data data = Mockito.mock(Data.class);
+    Mockito.when(graphQlData.getData()).thenReturn(data);
+    Mockito.when(data.getCreate()).thenReturn(berlin);
+    Mockito.when(port.findByQuery(Mockito.any())).thenReturn(graphQlData);
+    NormdatenSnapshot normdatenSnapshot = Mockito.mock(NormdatenSnapshot.class);
+    service.setNormdatenSnapshot(normdatenSnapshot);
+
+    assertEquals(Optional.of(berlin), service.createGNDEntityFactAsNode(berlin));
+    Mockito.verify(normdatenSnapshot, Mockito.times(1)).invalidate(GNDEntityFact.PLACE_TYPE_NAME);
+  }
+
 }
@@ -25,6 +25,7 @@
 package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.persistence;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -48,6 +49,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import javax.inject.Inject;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -107,6 +109,36 @@ public class KulturObjektDokumentRepositoryAdapterTest {
         kodalreadyExist.getGueltigeIdentifikation().getBesitzer().getId(), kodalreadyExist.getGueltigeIdentifikation().getAufbewahrungsOrt().getId()).size());
   }
 
+  @Test
+  @TestTransaction
+  void testFindByGueltigeIdentifikationen() {
+    KulturObjektDokument kodalreadyExist = createKOD();
+    kodRepository.deleteAll();
+    kodRepository.save(kodalreadyExist);
+
+    Identifikation gueltigeSignatur = kodalreadyExist.getGueltigeIdentifikation();
+    Identifikation andererBesitzer = new IdentifikationBuilder()
+        .withIdent(gueltigeSignatur.getIdent())
+        .withIdentTyp(IdentTyp.GUELTIGE_SIGNATUR)
+        .withBesitzer(new NormdatenReferenz("NORM-other", "Andere Bibliothek", ""))
+        .withAufbewahrungsOrt(gueltigeSignatur.getAufbewahrungsOrt())
+        .build();
+    Identifikation unbekannt = new IdentifikationBuilder()
+        .withIdent("Unbekannt")
+        .withIdentTyp(IdentTyp.GUELTIGE_SIGNATUR)
+        .withBesitzer(gueltigeSignatur.getBesitzer())
+        .withAufbewahrungsOrt(gueltigeSignatur.getAufbewahrungsOrt())
+        .build();
+
+    List<KulturObjektDokument> kods = kodRepository.findByGueltigeIdentifikationen(
+        List.of(unbekannt, gueltigeSignatur, andererBesitzer));
+    assertEquals(1, kods.size());
+    assertEquals(kodalreadyExist.getId(), kods.get(0).getId());
+
+    assertTrue(kodRepository.findByGueltigeIdentifikationen(List.of(andererBesitzer, unbekannt)).isEmpty());
+    assertTrue(kodRepository.findByGueltigeIdentifikationen(List.of()).isEmpty());
+  }
+
   @Test
   @TestTransaction
   void testfindByIdentifikationIdentAndBesitzerNameAndAufbewahrungsortName() {
@@ -170,6 +202,24 @@ public class KulturObjektDokumentRepositoryAdapterTest {
     assertEquals(3, kodFromDatabase.get().getAlternativeIdentifikationen().size());
   }
 
+  @Test
+  @TestTransaction
+  void testFindByIdsBatchFetchesCollections() {
+    KulturObjektDokument first = createKOD("first-");
+    KulturObjektDokument second = createKOD("second-");
+    kodRepository.deleteAll();
+    kodRepository.saveAndFlush(first);
+    kodRepository.saveAndFlush(second);
+    kodRepository.getEntityManager().clear();
+
+    List<KulturObjektDokument> kods = kodRepository.findByIds(List.of(first.getId(), second.getId()));
+    assertEquals(2, kods.size());
+    assertFalse(Hibernate.isInitialized(kods.get(1).getAlternativeIdentifikationen()));
+
+    assertEquals(3, kods.get(0).getAlternativeIdentifikationen().size());
+    assertTrue(Hibernate.isInitialized(kods.get(1).getAlternativeIdentifikationen()));
+  }
+
   void checkKOD(KulturObjektDokument kodOriginal, KulturObjektDokument kod) {
     assertEquals(kodOriginal, kod);
     assertEquals(kodOriginal.getGueltigeIdentifikation(), kod.getGueltigeIdentifikation());
@@ -178,15 +228,19 @@ public class KulturObjektDokumentRepositoryAdapterTest {
   }
 
   KulturObjektDokument createKOD() {
-    NormdatenReferenz bamberg = new NormdatenReferenz("123", "Bamberg", "", "Place");
+    return createKOD("");
+  }
+
+  KulturObjektDokument createKOD(String idPrefix) {
+    NormdatenReferenz bamberg = new NormdatenReferenz(idPrefix + "123", "Bamberg", "", "Place");
     bamberg.getVarianterName().add(new VarianterName("Bamsberg","de"));
-    NormdatenReferenz stabiBamberg = new NormdatenReferenz("456", "Staatsbibliothek Bamberg",
+    NormdatenReferenz stabiBamberg = new NormdatenReferenz(idPrefix + "456", "Staatsbibliothek Bamberg",
         "http://d-nb.info/gnd/2022477-1", "CorporateBody");
     stabiBamberg.getVarianterName().add(new VarianterName("StabiBamberg","de"));
 
-    NormdatenReferenz berlin = new NormdatenReferenz("1234", "Berlin", "", "Place");
+    NormdatenReferenz berlin = new NormdatenReferenz(idPrefix + "1234", "Berlin", "", "Place");
     berlin.getVarianterName().add(new VarianterName("Berlin","de"));
-    NormdatenReferenz stabiBerlin = new NormdatenReferenz("4567", "Staatsbibliothek Berlin",
+    NormdatenReferenz stabiBerlin = new NormdatenReferenz(idPrefix + "4567", "Staatsbibliothek Berlin",
         "http://d-nb.info/gnd/2022477-1", "CorporateBody");
     stabiBerlin.getVarianterName().add(new VarianterName("StabbiBerlin","de"));
 
@@ -196,25 +250,25 @@ public class KulturObjektDokumentRepositoryAdapterTest {
         .withRegistrierungsDatum(LocalDateTime.now())
         .withTEIXml("<TEI/>")
         .withGueltigerIdentifikation(new IdentifikationBuilder()
-            .withId("18")
+            .withId(idPrefix + "18")
             .withIdent("Msc.Can.18")
             .withIdentTyp(IdentTyp.GUELTIGE_SIGNATUR)
             .withBesitzer(stabiBamberg)
             .withAufbewahrungsOrt(bamberg).build())
         .addAlternativeIdentifikation(new IdentifikationBuilder()
-            .withId("181")
+            .withId(idPrefix + "181")
             .withIdent("Msc.Can.18#1")
             .withIdentTyp(IdentTyp.ALTSIGNATUR)
             .withBesitzer(stabiBamberg)
             .withAufbewahrungsOrt(bamberg).build())
         .addAlternativeIdentifikation(new IdentifikationBuilder()
-            .withId("182")
+            .withId(idPrefix + "182")
             .withIdent("Msc.Can.18#2")
             .withIdentTyp(IdentTyp.ALTSIGNATUR)
             .withBesitzer(stabiBamberg)
             .withAufbewahrungsOrt(bamberg).build())
         .addAlternativeIdentifikation(new IdentifikationBuilder()
-            .withId("183")
+            .withId(idPrefix + "183")
             .withIdent("Msc.Can.18#3")
             .withIdentTyp(IdentTyp.ALTSIGNATUR)
             .withBesitzer(stabiBerlin)
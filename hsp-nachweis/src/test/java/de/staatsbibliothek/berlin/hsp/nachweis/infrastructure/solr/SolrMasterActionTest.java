@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentUpdate;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -98,4 +99,17 @@ class SolrMasterActionTest {
     assertTrue(action.getSuchDokumentsToUpdate().stream().anyMatch(sd -> "1".equals(sd.getId())));
   }
 
+  @Test
+  void testNewPartialUpdate() {
+    SuchDokumentUpdate suchDokumentUpdate = SuchDokumentUpdate.builder("1").withContainsDigitalisat(true).build();
+    SolrMasterAction action = SolrMasterAction.newPartialUpdate(suchDokumentUpdate);
+
+    assertNotNull(action);
+    assertEquals(SolrMasterActionType.PARTIAL_UPDATE, action.getType());
+    assertNull(action.getIdSToDelete());
+    assertNull(action.getSuchDokumentsToUpdate());
+    assertEquals(1, action.getSuchDokumentUpdates().size());
+    assertEquals("1", action.getSuchDokumentUpdates().get(0).getId());
+  }
+
 }
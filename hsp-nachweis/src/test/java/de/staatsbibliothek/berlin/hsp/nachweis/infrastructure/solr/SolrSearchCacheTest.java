@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class SolrSearchCacheTest {
+
+  AtomicLong clock;
+  SolrSearchCache<String, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    clock = new AtomicLong(1000);
+    cache = new SolrSearchCache<>("testCache", 2, 100, clock::get);
+  }
+
+  @Test
+  void testGetAndPut() {
+    assertEquals(Optional.empty(), cache.get("a"));
+    assertTrue(cache.put("a", "A", cache.getGeneration()));
+
+    assertEquals(Optional.of("A"), cache.get("a"));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+    assertEquals(0.5, cache.getHitRate());
+  }
+
+  @Test
+  void testExpiration() {
+    cache.put("a", "A", cache.getGeneration());
+
+    clock.addAndGet(99);
+    assertEquals(Optional.of("A"), cache.get("a"));
+
+    clock.addAndGet(1);
+    assertEquals(Optional.empty(), cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void testLeastRecentlyUsedIsRemoved() {
+    cache.put("a", "A", cache.getGeneration());
+    cache.put("b", "B", cache.getGeneration());
+    cache.get("a");
+    cache.put("c", "C", cache.getGeneration());
+
+    assertEquals(2, cache.size());
+    assertEquals(Optional.of("A"), cache.get("a"));
+    assertEquals(Optional.empty(), cache.get("b"));
+    assertEquals(Optional.of("C"), cache.get("c"));
+  }
+
+  @Test
+  void testInvalidateAll() {
+    long generation = cache.getGeneration();
+    cache.put("a", "A", generation);
+
+    cache.invalidateAll(0);
+
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getInvalidations());
+    assertFalse(cache.put("b", "B", generation));
+    assertTrue(cache.put("b", "B", cache.getGeneration()));
+  }
+
+  @Test
+  void testInvalidateAllWithQuietPeriod() {
+    cache.invalidateAll(50);
+
+    assertFalse(cache.put("a", "A", cache.getGeneration()));
+
+    clock.addAndGet(50);
+    assertTrue(cache.put("a", "A", cache.getGeneration()));
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new SolrSearchCache<>("testCache", 0, 100));
+    assertThrows(IllegalArgumentException.class, () -> new SolrSearchCache<>("testCache", 2, 0));
+  }
+}
@@ -28,15 +28,18 @@ import static de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr.SolrAP
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -51,6 +54,7 @@ import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SortCriteria;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SortType;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentTyp;
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokumentUpdate;
 import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.Suche;
 import de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.jta.MockedTransactionManager;
 import java.time.LocalDate;
@@ -63,16 +67,21 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrRequest.METHOD;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient.RemoteSolrException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.client.solrj.response.json.NestableJsonFacet;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.SolrParams;
 import org.apache.solr.common.util.NamedList;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 /**
@@ -124,6 +133,85 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
     verify(masterClient, times(2)).add(anyString(), anyList());
   }
 
+  @Test
+  void testUpdateWithUpdateQueue() throws Exception {
+    final SuchDokument test = SuchDokument.builder()
+        .withId("JUNIT Test")
+        .withTitel("some title")
+        .withSuchDokumentTyp(SuchDokumentTyp.BS)
+        .build();
+
+    final UpdateResponse response = mock(UpdateResponse.class);
+    final HttpSolrClient queueClient = mock(HttpSolrClient.class);
+    when(masterClient.add(anyString(), anyList())).thenReturn(response);
+    when(queueClient.add(anyString(), anyList())).thenReturn(response);
+    when(response.getStatus()).thenReturn(0);
+
+    try (SolrUpdateQueue updateQueue = new SolrUpdateQueue(queueClient, testling.core, 10, 2, 10)) {
+      testling.updateQueue = updateQueue;
+
+      testling.update(test);
+      testling.prepareTransaction(txId);
+      testling.updateWithoutTransaction(false, test);
+    } finally {
+      testling.updateQueue = null;
+    }
+
+    verify(masterClient, times(1)).add(eq("testCore"), anyList());
+    verify(masterClient, times(1)).commit(eq("testCore"));
+    verify(queueClient, times(1)).add(eq("testCore"), anyList());
+  }
+
+  @Test
+  void testPartialUpdate() throws Exception {
+    final SuchDokumentUpdate indexed = SuchDokumentUpdate.builder("indexed")
+        .withContainsDigitalisat(true)
+        .build();
+    final SuchDokument notIndexedSuchDokument = SuchDokument.builder()
+        .withId("notIndexed")
+        .withSuchDokumentTyp(SuchDokumentTyp.KOD)
+        .build();
+    final SuchDokumentUpdate notIndexed = SuchDokumentUpdate.builder("notIndexed")
+        .withContainsDigitalisat(false)
+        .withSuchDokument(notIndexedSuchDokument)
+        .build();
+    final SuchDokumentUpdate notIndexedWithoutSuchDokument = SuchDokumentUpdate.builder("notIndexed")
+        .withContainsDigitalisat(false)
+        .build();
+
+    final UpdateResponse response = mock(UpdateResponse.class);
+    when(response.getStatus()).thenReturn(0);
+    when(masterClient.add(anyString(), eq(indexed))).thenReturn(response);
+    when(masterClient.add(anyString(), eq(List.of(notIndexedSuchDokument)))).thenReturn(response);
+    when(masterClient.add(anyString(), eq(notIndexed)))
+        .thenThrow(new RemoteSolrException("localhost", 409, "version conflict", null));
+
+    testling.partialUpdate(indexed, notIndexed);
+    testling.prepareTransaction(txId);
+
+    verify(masterClient, times(1)).add(eq("testCore"), eq(indexed));
+    verify(masterClient, times(1)).add(eq("testCore"), eq(notIndexed));
+    verify(masterClient, times(1)).add(eq("testCore"), eq(List.of(notIndexedSuchDokument)));
+    verify(masterClient, never()).deleteById(anyString(), anyList());
+    verify(masterClient, times(1)).commit(eq("testCore"));
+
+    when(masterClient.add(anyString(), eq(notIndexedWithoutSuchDokument)))
+        .thenThrow(new RemoteSolrException("localhost", 409, "version conflict", null));
+
+    testling.partialUpdate(notIndexedWithoutSuchDokument);
+    testling.prepareTransaction(txId);
+
+    verify(masterClient, times(1)).add(eq("testCore"), anyList());
+    verify(masterClient, times(2)).commit(eq("testCore"));
+
+    when(masterClient.add(anyString(), eq(indexed)))
+        .thenThrow(new RemoteSolrException("localhost", 500, "server error", null));
+
+    testling.partialUpdate(indexed);
+    assertThrows(SolrServiceException.class, () -> testling.prepareTransaction(txId));
+    verify(masterClient, times(1)).rollback(eq("testCore"));
+  }
+
   @Test
   void createErgebnis() {
     SolrErgebnisEintrag solrErgebnisEintrag = new SolrErgebnisEintrag();
@@ -226,7 +314,7 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
     SolrQueryCommand queryCommand = new SolrQueryCommand("searchableValues_t:" + suche.getQuery());
 
     SolrSuchAdapter.addSortToQuery(suche, queryCommand);
-    assertEquals("signatur_t asc", queryCommand.getSort());
+    assertEquals("signatur_t asc, id asc", queryCommand.getSort());
   }
 
   @Test
@@ -238,7 +326,7 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
     SolrQueryCommand queryCommand = new SolrQueryCommand("searchableValues_t:" + suche.getQuery());
 
     SolrSuchAdapter.addSortToQuery(suche, queryCommand);
-    assertEquals("score desc", queryCommand.getSort());
+    assertEquals("score desc, id asc", queryCommand.getSort());
   }
 
   @Test
@@ -351,20 +439,138 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
     verify(masterClient, times(1)).deleteByQuery(eq(testling.core), anyString());
   }
 
+  @Test
+  void testSearchWithCache() throws Exception {
+    final HttpSolrClient slaveClient = mock(HttpSolrClient.class);
+    final QueryResponse response = mock(QueryResponse.class);
+    when(response.getStatus()).thenReturn(0);
+    when(response.getBeans(SolrErgebnisEintrag.class)).thenReturn(new ArrayList<>());
+    when(slaveClient.query(eq("testCore"), any(SolrParams.class), eq(METHOD.POST))).thenReturn(response);
+
+    testling.slaveClient = slaveClient;
+    testling.searchCache = new SolrSearchCache<>("searchCache", 10, 60000);
+    testling.facetCache = new SolrSearchCache<>("facetCache", 10, 60000);
+
+    final Suche suche = Suche.builder()
+        .withQuery("Test")
+        .withFilterPubliziert(true)
+        .build();
+    suche.setPage(new Page(25, 0));
+
+    Ergebnis ergebnis = testling.search(suche);
+    Ergebnis cachedErgebnis = testling.search(suche);
+    assertEquals(ergebnis, cachedErgebnis);
+    assertNotSame(ergebnis, cachedErgebnis);
+    cachedErgebnis.setNOfErgebnis(42);
+    assertEquals(ergebnis, testling.search(suche));
+
+    suche.setPage(new Page(25, 25));
+    testling.search(suche);
+
+    ArgumentCaptor<SolrParams> queryParams = ArgumentCaptor.forClass(SolrParams.class);
+    verify(slaveClient, times(2)).query(eq("testCore"), queryParams.capture(), eq(METHOD.POST));
+    assertTrue(queryParams.getAllValues().get(0).get(CommonParams.JSON).contains("\"facet\""));
+    assertFalse(queryParams.getAllValues().get(1).get(CommonParams.JSON).contains("\"facet\""));
+    assertEquals(2, testling.searchCache.getHits());
+    assertEquals(1, testling.facetCache.getHits());
+
+    testling.commitWithoutTransaction();
+    testling.search(suche);
+
+    verify(slaveClient, times(3)).query(eq("testCore"), any(SolrParams.class), eq(METHOD.POST));
+
+    testling.cacheReplicationInterval = 60000;
+    testling.commitWithoutTransaction();
+    testling.search(suche);
+    testling.search(suche);
+
+    verify(slaveClient, times(5)).query(eq("testCore"), any(SolrParams.class), eq(METHOD.POST));
+    assertEquals(0, testling.searchCache.size());
+  }
+
+  @Test
+  void testExport() throws Exception {
+    final HttpSolrClient slaveClient = mock(HttpSolrClient.class);
+    final QueryResponse firstPage = createQueryResponse("AoE1", "1", "2");
+    final QueryResponse secondPage = createQueryResponse("AoE2", "3");
+    final QueryResponse lastPage = createQueryResponse("AoE2");
+    when(slaveClient.query(eq("testCore"), any(SolrParams.class), eq(METHOD.POST)))
+        .thenReturn(firstPage, secondPage, lastPage);
+
+    testling.slaveClient = slaveClient;
+    testling.searchCache = new SolrSearchCache<>("searchCache", 10, 60000);
+    testling.facetCache = new SolrSearchCache<>("facetCache", 10, 60000);
+
+    final Suche suche = Suche.builder()
+        .withQuery("Test")
+        .withFilterPubliziert(true)
+        .withHighlighting(true)
+        .build();
+    final List<String> ids = new ArrayList<>();
+
+    assertEquals(3, testling.export(suche, 2, eintrag -> ids.add(eintrag.getId())));
+    assertEquals(Arrays.asList("1", "2", "3"), ids);
+
+    ArgumentCaptor<SolrParams> queryParams = ArgumentCaptor.forClass(SolrParams.class);
+    verify(slaveClient, times(3)).query(eq("testCore"), queryParams.capture(), eq(METHOD.POST));
+    String firstQuery = queryParams.getAllValues().get(0).get(CommonParams.JSON);
+    assertTrue(firstQuery.contains("\"cursorMark\":\"*\""));
+    assertTrue(firstQuery.contains("\"sort\":\"score desc, id asc\""));
+    assertTrue(firstQuery.contains("publiziert_b"));
+    assertFalse(firstQuery.contains("\"facet\""));
+    assertFalse(firstQuery.contains("\"hl\""));
+    assertTrue(queryParams.getAllValues().get(1).get(CommonParams.JSON).contains("\"cursorMark\":\"AoE1\""));
+    assertEquals(0, testling.searchCache.size());
+  }
+
+  @Test
+  void testCreateQueryWithCursorMark() throws JsonProcessingException {
+    final Suche suche = Suche.builder()
+        .withQuery("Test")
+        .withSort(new Sort(SortCriteria.SIGNATUR, SortType.ASC))
+        .build();
+    suche.setPage(new Page(25, "AoE1"));
+
+    String query = testling.createQuery(suche);
+
+    assertTrue(query.contains("\"limit\":25"));
+    assertFalse(query.contains("\"offset\""));
+    assertTrue(query.contains("\"cursorMark\":\"AoE1\""));
+    assertTrue(query.contains("\"sort\":\"" + SolrIndexFields.FIELD_SIGNATUR + " asc, id asc\""));
+  }
+
+  @Test
+  void testCreateSearchKey() {
+    final Suche suche = Suche.builder()
+        .withQuery("Test")
+        .withFilterPubliziert(true)
+        .build();
+    suche.setPage(new Page(25, 0));
+
+    final Suche otherPage = Suche.builder()
+        .withQuery("Test")
+        .withFilterPubliziert(true)
+        .build();
+    otherPage.setPage(new Page(25, 25));
+
+    assertEquals(SolrSuchAdapter.createFacetKey(suche), SolrSuchAdapter.createFacetKey(otherPage));
+    assertFalse(SolrSuchAdapter.createSearchKey(suche).equals(SolrSuchAdapter.createSearchKey(otherPage)));
+  }
+
   @Test
   void testCreateQuery() throws JsonProcessingException {
-    String result = "{  \"query\" : \"searchableValues_t:*\",  \"limit\" : 25,  \"offset\" : 12,  \"facet\" : {    "
-        + "\"verwaltungsTyp\" : {      \"type\" : \"terms\",      \"field\" : \"verwaltungsTyp_s\",      "
-        + "\"limit\" : 2,      \"mincount\" : 0    },    \"institutionen\" : {      \"type\" : \"terms\",      "
-        + "\"field\" : \"bestandhaltendeInstitutionName_s\",      \"limit\" : 99,      \"mincount\" : 0    },    "
-        + "\"autoren\" : {      \"type\" : \"terms\",      \"field\" : \"autoren\",      \"limit\" : 99,      "
-        + "\"mincount\" : 0    },    \"containsDigitalisat\" : {      \"type\" : \"terms\",      "
-        + "\"field\" : \"containsDigitalisat_b\",      \"limit\" : 2,      \"mincount\" : 0    },    "
-        + "\"typ\" : {      \"type\" : \"terms\",      \"field\" : \"typ_s\",      \"limit\" : 2,      "
-        + "\"mincount\" : 0    },    \"containsBeschreibung\" : {      \"type\" : \"terms\",      "
-        + "\"field\" : \"containsBeschreibung_b\",      \"limit\" : 2,      \"mincount\" : 0    },    "
-        + "\"publiziert\" : {      \"type\" : \"terms\",      \"field\" : \"publiziert_b\",      \"limit\" : 2,      "
-        + "\"mincount\" : 0    }  },  \"params\" : {    \"df\" : \"searchableValues_t\",    \"q.op\" : \"AND\"  }}";
+    String result = "{\"query\":\"searchableValues_t:*\",\"limit\":25,\"offset\":12,"
+        + "\"sort\":\"score desc, id asc\","
+        + "\"facet\":{\"verwaltungsTyp\":{\"type\":\"terms\",\"field\":\"verwaltungsTyp_s\","
+        + "\"limit\":2,\"mincount\":0},\"institutionen\":{\"type\":\"terms\","
+        + "\"field\":\"bestandhaltendeInstitutionName_s\",\"limit\":99,\"mincount\":0},"
+        + "\"autoren\":{\"type\":\"terms\",\"field\":\"autoren\",\"limit\":99,\"mincount\":0},"
+        + "\"containsDigitalisat\":{\"type\":\"terms\",\"field\":\"containsDigitalisat_b\","
+        + "\"limit\":2,\"mincount\":0},\"typ\":{\"type\":\"terms\",\"field\":\"typ_s\",\"limit\":2,"
+        + "\"mincount\":0},\"containsBeschreibung\":{\"type\":\"terms\","
+        + "\"field\":\"containsBeschreibung_b\",\"limit\":2,\"mincount\":0},"
+        + "\"publiziert\":{\"type\":\"terms\",\"field\":\"publiziert_b\",\"limit\":2,"
+        + "\"mincount\":0}},\"params\":{\"df\":\"searchableValues_t\",\"q.op\":\"AND\"}}";
 
     final Suche suche = Suche.builder()
         .withQuery("*")
@@ -374,7 +580,20 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
 
     String suchejson = new SolrSuchAdapter().createQuery(suche);
 
-    assertEquals(result.replaceAll("[\r\n]", ""), suchejson.replaceAll("[\r\n]", ""));
+    assertEquals(result, suchejson);
+  }
+
+  @Test
+  void testCreateQueryWithoutQuery() throws JsonProcessingException {
+    final Suche suche = Suche.builder()
+        .withHighlighting(true)
+        .build();
+    suche.setQuery(null);
+
+    String query = new SolrSuchAdapter().createQuery(suche);
+
+    assertTrue(query.contains("\"query\":\"*:*\""));
+    assertFalse(query.contains("\"hl\""));
   }
 
   @Test
@@ -446,4 +665,19 @@ class SolrSuchAdapterTest extends MockedTransactionManager {
         () -> testling.deleteBeforeUpdate(true, suchDokumente));
     assertEquals("Unable to delete solr entry with iDs = [S-1, S-2]", exception.getMessage());
   }
+
+  private static QueryResponse createQueryResponse(String nextCursorMark, String... ids) {
+    final QueryResponse response = mock(QueryResponse.class);
+    final List<SolrErgebnisEintrag> eintraege = new ArrayList<>();
+    for (String id : ids) {
+      SolrErgebnisEintrag eintrag = new SolrErgebnisEintrag();
+      eintrag.id = id;
+      eintrag.typ = "KOD";
+      eintraege.add(eintrag);
+    }
+    when(response.getStatus()).thenReturn(0);
+    when(response.getBeans(SolrErgebnisEintrag.class)).thenReturn(eintraege);
+    when(response.getNextCursorMark()).thenReturn(nextCursorMark);
+    return response;
+  }
 }
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 Staatsbibliothek zu Berlin - Preußischer Kulturbesitz
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package de.staatsbibliothek.berlin.hsp.nachweis.infrastructure.solr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.staatsbibliothek.berlin.hsp.nachweis.domain.suche.SuchDokument;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 17.10.2026
+ */
+class SolrUpdateQueueTest {
+
+  static final String CORE = "testCore";
+
+  HttpSolrClient solrClient;
+  UpdateResponse updateResponse;
+  List<Integer> requestSizes;
+  CountDownLatch firstRequestStarted;
+  CountDownLatch releaseRequests;
+
+  static List<SuchDokument> createSuchDokumente(String prefix, int count) {
+    List<SuchDokument> suchDokumente = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      suchDokumente.add(SuchDokument.builder().withId(prefix + i).build());
+    }
+    return suchDokumente;
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    solrClient = mock(HttpSolrClient.class);
+    updateResponse = mock(UpdateResponse.class);
+    requestSizes = new ArrayList<>();
+    firstRequestStarted = new CountDownLatch(1);
+    releaseRequests = new CountDownLatch(1);
+
+    when(solrClient.add(eq(CORE), anyList())).thenAnswer(invocation -> {
+      synchronized (requestSizes) {
+        requestSizes.add(invocation.<List<?>>getArgument(1).size());
+      }
+      firstRequestStarted.countDown();
+      assertTrue(releaseRequests.await(5, TimeUnit.SECONDS));
+      return updateResponse;
+    });
+  }
+
+  @Test
+  void testAddMergesWaitingUpdates() throws Exception {
+    try (SolrUpdateQueue updateQueue = new SolrUpdateQueue(solrClient, CORE, 10, 1, 5)) {
+      CompletableFuture<UpdateResponse> first = updateQueue.add(createSuchDokumente("a", 1));
+      assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+
+      CompletableFuture<UpdateResponse> second = updateQueue.add(createSuchDokumente("b", 2));
+      CompletableFuture<UpdateResponse> third = updateQueue.add(createSuchDokumente("c", 2));
+      CompletableFuture<UpdateResponse> fourth = updateQueue.add(createSuchDokumente("d", 2));
+      releaseRequests.countDown();
+
+      assertSame(updateResponse, first.get(5, TimeUnit.SECONDS));
+      assertSame(updateResponse, second.get(5, TimeUnit.SECONDS));
+      assertSame(updateResponse, third.get(5, TimeUnit.SECONDS));
+      assertSame(updateResponse, fourth.get(5, TimeUnit.SECONDS));
+    }
+
+    assertEquals(List.of(1, 6), requestSizes);
+  }
+
+  @Test
+  void testAddBlocksIfQueueIsFull() throws Exception {
+    try (SolrUpdateQueue updateQueue = new SolrUpdateQueue(solrClient, CORE, 1, 1, 5)) {
+      updateQueue.add(createSuchDokumente("a", 1));
+      assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+      updateQueue.add(createSuchDokumente("b", 1));
+
+      CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> {
+        try {
+          updateQueue.add(createSuchDokumente("c", 1));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+
+      Thread.sleep(200);
+      assertFalse(blocked.isDone());
+      assertEquals(1, updateQueue.size());
+
+      releaseRequests.countDown();
+      blocked.get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void testAddFailsAllMergedUpdates() throws Exception {
+    doThrow(new IOException("SOLR not available")).when(solrClient).add(eq(CORE), anyList());
+
+    try (SolrUpdateQueue updateQueue = new SolrUpdateQueue(solrClient, CORE, 10, 2, 5)) {
+      CompletableFuture<UpdateResponse> update = updateQueue.add(createSuchDokumente("a", 3));
+
+      ExecutionException exception = assertThrows(ExecutionException.class,
+          () -> update.get(5, TimeUnit.SECONDS));
+      assertTrue(exception.getCause() instanceof IOException);
+    }
+  }
+
+  @Test
+  void testAddAfterClose() {
+    SolrUpdateQueue updateQueue = new SolrUpdateQueue(solrClient, CORE, 10, 1, 5);
+    updateQueue.close();
+
+    assertThrows(IllegalStateException.class, () -> updateQueue.add(createSuchDokumente("a", 1)));
+  }
+
+  @Test
+  void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new SolrUpdateQueue(solrClient, CORE, 0, 1, 5));
+    assertThrows(IllegalArgumentException.class, () -> new SolrUpdateQueue(solrClient, CORE, 10, 0, 5));
+    assertThrows(IllegalArgumentException.class, () -> new SolrUpdateQueue(solrClient, CORE, 10, 1, 0));
+  }
+}